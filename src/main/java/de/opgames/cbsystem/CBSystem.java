@@ -15,6 +15,7 @@ import de.opgames.cbsystem.teleport.TeleportManager;
 import de.opgames.cbsystem.utils.ConfigManager;
 import de.opgames.cbsystem.utils.MessageManager;
 import de.opgames.cbsystem.utils.SoundManager;
+import de.opgames.cbsystem.warp.WarpManager;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -34,6 +35,7 @@ public class CBSystem extends JavaPlugin {
     private EconomyManager economyManager;
     private PlotManager plotManager;
     private TeleportManager teleportManager;
+    private WarpManager warpManager;
     private AuctionManager auctionManager;
     private BankManager bankManager;
     private ScoreboardManager scoreboardManager;
@@ -75,11 +77,31 @@ public class CBSystem extends JavaPlugin {
     public void onDisable() {
         getLogger().info("CBSystem wird deaktiviert...");
         
+        // Laufende Bank-Vorgänge abschließen (ändern noch Guthaben)
+        if (bankManager != null) {
+            bankManager.shutdown();
+        }
+        
         // Alle Spielerdaten speichern
         if (playerDataManager != null) {
             playerDataManager.saveAllPlayerData();
         }
         
+        // Ausstehende Warp-Änderungen schreiben
+        if (warpManager != null) {
+            warpManager.shutdown();
+        }
+        
+        // Ausstehende Auktions-Änderungen schreiben
+        if (auctionManager != null) {
+            auctionManager.shutdown();
+        }
+        
+        // Transaktions-Journal leeren
+        if (economyManager != null) {
+            economyManager.shutdown();
+        }
+        
         // Datenbankverbindungen schließen
         if (databaseManager != null) {
             databaseManager.closeConnections();
@@ -121,6 +143,9 @@ public class CBSystem extends JavaPlugin {
             // Teleport Manager initialisieren
             teleportManager = new TeleportManager(this);
             
+            // Warp Manager initialisieren
+            warpManager = new WarpManager(this);
+            
             // Auction Manager initialisieren
             auctionManager = new AuctionManager(this);
             
@@ -270,6 +295,10 @@ public class CBSystem extends JavaPlugin {
         return bankManager;
     }
     
+    public WarpManager getWarpManager() {
+        return warpManager;
+    }
+    
     public ScoreboardManager getScoreboardManager() {
         return scoreboardManager;
     }
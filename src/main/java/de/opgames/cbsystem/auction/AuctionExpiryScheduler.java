@@ -0,0 +1,175 @@
+package de.opgames.cbsystem.auction;
+
+import de.opgames.cbsystem.CBSystem;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Hashed Timing Wheel für Auktionsabläufe.
+ * Einfügen und Abbrechen sind O(1); ein Main-Thread-Task rückt das Rad jede Sekunde vor
+ * und übergibt fällige Auktionen gebündelt (begrenzt pro Tick) an den Ablauf-Handler.
+ * Im selben Task läuft minütlich die Aufräumarbeit (z.B. Ausdünnen der Verkaufshistorie).
+ * Auktionen laufen damit sekundengenau ab, ohne alle Auktionen zu scannen.
+ */
+public class AuctionExpiryScheduler {
+
+    private static final int WHEEL_SIZE = 512;       // Slots à TICK_MS
+    private static final long TICK_MS = 1000L;
+    private static final int MAX_EXPIRIES_PER_TICK = 50;
+    private static final int HOUSEKEEPING_TICKS = 60;
+
+    private final CBSystem plugin;
+    private final Consumer<AuctionItem> expiryHandler;
+    private final Runnable housekeeping;
+
+    @SuppressWarnings("unchecked")
+    private final Set<Timeout>[] wheel = new Set[WHEEL_SIZE];
+    private final Map<Integer, Timeout> timeouts = new HashMap<>();
+    private final ArrayDeque<AuctionItem> due = new ArrayDeque<>();
+
+    private int cursor;
+    private long cursorTime;
+    private int ticksSinceHousekeeping;
+    private BukkitTask task;
+
+    public AuctionExpiryScheduler(CBSystem plugin, Consumer<AuctionItem> expiryHandler, Runnable housekeeping) {
+        this.plugin = plugin;
+        this.expiryHandler = expiryHandler;
+        this.housekeeping = housekeeping;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new LinkedHashSet<>();
+        }
+        this.cursorTime = System.currentTimeMillis();
+    }
+
+    /**
+     * Startet den Main-Thread-Task (jede Sekunde)
+     */
+    public void start() {
+        task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 20L, 20L);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Plant den Ablauf einer Auktion zu ihrem expiresAt-Zeitpunkt
+     */
+    public synchronized void schedule(AuctionItem auction) {
+        schedule(auction, auction.getExpiresAt());
+    }
+
+    /**
+     * Plant den Ablauf einer Auktion zu einem abweichenden Zeitpunkt (z.B. erneuter Versuch nach einem Fehler)
+     */
+    public synchronized void schedule(AuctionItem auction, long at) {
+        cancel(auction.getId());
+
+        long delay = at - cursorTime;
+        if (delay <= 0) {
+            due.add(auction);
+            return;
+        }
+
+        long ticks = (delay + TICK_MS - 1) / TICK_MS;
+        int slot = (int) ((cursor + ticks) % WHEEL_SIZE);
+        Timeout timeout = new Timeout(auction, slot, (ticks - 1) / WHEEL_SIZE);
+        wheel[slot].add(timeout);
+        timeouts.put(auction.getId(), timeout);
+    }
+
+    /**
+     * Bricht den geplanten Ablauf ab (Verkauf, Abbruch, Admin-Entfernung)
+     */
+    public synchronized void cancel(int auctionId) {
+        Timeout timeout = timeouts.remove(auctionId);
+        if (timeout != null) {
+            wheel[timeout.slot].remove(timeout);
+        } else {
+            due.removeIf(auction -> auction.getId() == auctionId);
+        }
+    }
+
+    public synchronized int getScheduledCount() {
+        return timeouts.size() + due.size();
+    }
+
+    private void tick() {
+        List<AuctionItem> batch = collectDue(System.currentTimeMillis());
+
+        for (AuctionItem auction : batch) {
+            try {
+                expiryHandler.accept(auction);
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(java.util.logging.Level.SEVERE,
+                    "Fehler beim Ablauf der Auktion #" + auction.getId(), e);
+            }
+        }
+
+        if (!batch.isEmpty() && plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("Auktionshaus: " + batch.size() + " Auktionen abgelaufen.");
+        }
+
+        if (++ticksSinceHousekeeping >= HOUSEKEEPING_TICKS) {
+            ticksSinceHousekeeping = 0;
+            try {
+                housekeeping.run();
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(java.util.logging.Level.SEVERE, "Fehler beim Aufräumen des Auktionshauses", e);
+            }
+        }
+    }
+
+    /**
+     * Rückt das Rad bis {@code now} vor und entnimmt höchstens MAX_EXPIRIES_PER_TICK fällige Auktionen
+     */
+    private synchronized List<AuctionItem> collectDue(long now) {
+        while (cursorTime + TICK_MS <= now) {
+            cursor = (cursor + 1) % WHEEL_SIZE;
+            cursorTime += TICK_MS;
+
+            Iterator<Timeout> iterator = wheel[cursor].iterator();
+            while (iterator.hasNext()) {
+                Timeout timeout = iterator.next();
+                if (timeout.rounds > 0) {
+                    timeout.rounds--;
+                    continue;
+                }
+                iterator.remove();
+                timeouts.remove(timeout.auction.getId());
+                due.add(timeout.auction);
+            }
+        }
+
+        List<AuctionItem> batch = new ArrayList<>(Math.min(due.size(), MAX_EXPIRIES_PER_TICK));
+        while (!due.isEmpty() && batch.size() < MAX_EXPIRIES_PER_TICK) {
+            batch.add(due.poll());
+        }
+        return batch;
+    }
+
+    private static class Timeout {
+        private final AuctionItem auction;
+        private final int slot;
+        private long rounds;
+
+        Timeout(AuctionItem auction, int slot, long rounds) {
+            this.auction = auction;
+            this.slot = slot;
+            this.rounds = rounds;
+        }
+    }
+}
@@ -13,8 +13,10 @@ public class AuctionItem {
     private final double price;
     private final long createdAt;
     private final long expiresAt;
-    private boolean sold;
+    private volatile boolean sold;
     private UUID buyer;
+    private String buyerName;
+    private long soldAt;
     
     public AuctionItem(int id, UUID seller, String sellerName, ItemStack item, double price, long duration) {
         this.id = id;
@@ -28,6 +30,24 @@ public class AuctionItem {
         this.buyer = null;
     }
     
+    /**
+     * Konstruktor für aus der Datenbank geladene Auktionen
+     */
+    public AuctionItem(int id, UUID seller, String sellerName, ItemStack item, double price,
+                       long createdAt, long expiresAt, boolean sold, UUID buyer, String buyerName, long soldAt) {
+        this.id = id;
+        this.seller = seller;
+        this.sellerName = sellerName;
+        this.item = item.clone();
+        this.price = price;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+        this.sold = sold;
+        this.buyer = buyer;
+        this.buyerName = buyerName;
+        this.soldAt = soldAt;
+    }
+    
     // Getters
     public int getId() { return id; }
     public UUID getSeller() { return seller; }
@@ -38,6 +58,8 @@ public class AuctionItem {
     public long getExpiresAt() { return expiresAt; }
     public boolean isSold() { return sold; }
     public UUID getBuyer() { return buyer; }
+    public String getBuyerName() { return buyerName; }
+    public long getSoldAt() { return soldAt; }
     
     public boolean isExpired() {
         return System.currentTimeMillis() > expiresAt && !sold;
@@ -48,8 +70,14 @@ public class AuctionItem {
     }
     
     public void markAsSold(UUID buyer) {
-        this.sold = true;
+        markAsSold(buyer, null);
+    }
+    
+    public void markAsSold(UUID buyer, String buyerName) {
         this.buyer = buyer;
+        this.buyerName = buyerName;
+        this.soldAt = System.currentTimeMillis();
+        this.sold = true;
     }
     
     public String getFormattedTimeRemaining() {
@@ -0,0 +1,181 @@
+package de.opgames.cbsystem.auction;
+
+import de.opgames.cbsystem.CBSystem;
+import de.opgames.cbsystem.database.DatabaseManager;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Persistentes Postfach für Auktions-Items, die nicht direkt zurückgegeben werden konnten
+ * (z.B. abgelaufene Auktionen eines Offline-Verkäufers). Die Items werden beim nächsten
+ * Join ausgeliefert.
+ */
+public class AuctionMailbox {
+
+    private final CBSystem plugin;
+    private final DatabaseManager databaseManager;
+
+    // Spieler, deren Postfach gerade ausgeliefert wird (verhindert doppelte Auslieferung)
+    private final Set<UUID> delivering = ConcurrentHashMap.newKeySet();
+
+    // Items, die nicht gespeichert werden konnten; sie bleiben bis zum nächsten Join im Speicher
+    private final Map<UUID, List<Map.Entry<ItemStack, String>>> pending = new ConcurrentHashMap<>();
+
+    public AuctionMailbox(CBSystem plugin) {
+        this.plugin = plugin;
+        this.databaseManager = plugin.getDatabaseManager();
+    }
+
+    /**
+     * Legt ein Item asynchron im Postfach eines Spielers ab.
+     * Ohne Datenbank oder bei einem Fehler wird es bis zum nächsten Join im Speicher gehalten.
+     */
+    public void deposit(UUID playerId, ItemStack item, String reason) {
+        if (!databaseManager.isDatabaseEnabled()) {
+            plugin.getLogger().warning("Auktions-Postfach: Keine Datenbank, Item für " + playerId + " wird bis zum nächsten Join im Speicher gehalten.");
+            keep(playerId, item, reason);
+            return;
+        }
+
+        String itemData = AuctionStore.serializeItem(item);
+        databaseManager.executeAsync(() -> {
+            String sql = "INSERT INTO cb_auction_mailbox (player_uuid, item_data, reason) VALUES (?, ?, ?)";
+            try (Connection connection = databaseManager.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, playerId.toString());
+                statement.setString(2, itemData);
+                statement.setString(3, reason);
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Speichern eines Postfach-Items für " + playerId + ":", e);
+                keep(playerId, item, reason);
+            }
+        });
+    }
+
+    private void keep(UUID playerId, ItemStack item, String reason) {
+        pending.merge(playerId, List.of(Map.entry(item, reason)), (current, added) -> {
+            List<Map.Entry<ItemStack, String>> merged = new ArrayList<>(current);
+            merged.addAll(added);
+            return merged;
+        });
+    }
+
+    /**
+     * Liefert alle Postfach-Items an einen Spieler aus.
+     * Die Einträge werden in einer Transaktion gelesen und gelöscht, die Items danach
+     * auf dem Main-Thread übergeben. Ist der Spieler inzwischen offline, wandern sie zurück ins Postfach.
+     */
+    public void deliver(Player player) {
+        UUID playerId = player.getUniqueId();
+
+        List<Map.Entry<ItemStack, String>> kept = pending.remove(playerId);
+        if (kept != null) {
+            handOver(player, kept);
+        }
+
+        if (!databaseManager.isDatabaseEnabled()) return;
+        if (!delivering.add(playerId)) return;
+
+        databaseManager.executeAsync(() -> {
+            List<Map.Entry<ItemStack, String>> items;
+            try {
+                items = takeAll(playerId);
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Laden des Auktions-Postfachs für " + playerId + ":", e);
+                delivering.remove(playerId);
+                return;
+            }
+
+            if (items.isEmpty()) {
+                delivering.remove(playerId);
+                return;
+            }
+
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                delivering.remove(playerId);
+
+                if (!player.isOnline()) {
+                    items.forEach(entry -> deposit(playerId, entry.getKey(), entry.getValue()));
+                    return;
+                }
+
+                handOver(player, items);
+            });
+        });
+    }
+
+    /**
+     * Übergibt Postfach-Items an einen Online-Spieler (Main-Thread), volle Inventare droppen den Rest
+     */
+    private void handOver(Player player, List<Map.Entry<ItemStack, String>> items) {
+        for (Map.Entry<ItemStack, String> entry : items) {
+            Map<Integer, ItemStack> leftover = player.getInventory().addItem(entry.getKey());
+            for (ItemStack rest : leftover.values()) {
+                player.getWorld().dropItemNaturally(player.getLocation(), rest);
+            }
+        }
+
+        plugin.getMessageManager().sendMessage(player, "auction.mailbox-delivered",
+            "count", String.valueOf(items.size()));
+    }
+
+    private List<Map.Entry<ItemStack, String>> takeAll(UUID playerId) throws SQLException {
+        List<Map.Entry<ItemStack, String>> items = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>();
+
+        try (Connection connection = databaseManager.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                String select = "SELECT id, item_data, reason FROM cb_auction_mailbox WHERE player_uuid = ? FOR UPDATE";
+                try (PreparedStatement statement = connection.prepareStatement(select)) {
+                    statement.setString(1, playerId.toString());
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            int id = resultSet.getInt("id");
+                            ItemStack item = AuctionStore.deserializeItem(resultSet.getString("item_data"));
+                            if (item != null) {
+                                ids.add(id);
+                                items.add(Map.entry(item, resultSet.getString("reason")));
+                            } else {
+                                // Eintrag bleibt zur manuellen Prüfung erhalten
+                                plugin.getLogger().warning("Postfach-Eintrag #" + id + " enthält ein ungültiges Item.");
+                            }
+                        }
+                    }
+                }
+
+                if (!ids.isEmpty()) {
+                    try (PreparedStatement statement = connection.prepareStatement("DELETE FROM cb_auction_mailbox WHERE id = ?")) {
+                        for (int id : ids) {
+                            statement.setInt(1, id);
+                            statement.addBatch();
+                        }
+                        statement.executeBatch();
+                    }
+                }
+
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+
+        return items;
+    }
+}
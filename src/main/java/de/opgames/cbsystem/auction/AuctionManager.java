@@ -1,33 +1,40 @@
 package de.opgames.cbsystem.auction;
 
 import de.opgames.cbsystem.CBSystem;
+import de.opgames.cbsystem.economy.BalanceLedger;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class AuctionManager {
     
     private final CBSystem plugin;
-    private final Map<Integer, AuctionItem> activeAuctions;
-    private final AtomicInteger nextId;
+    private final AuctionStore store;
+    private final AuctionExpiryScheduler expiryScheduler;
+    private final AuctionMailbox mailbox;
     
     // Konfiguration
     private static final long DEFAULT_AUCTION_DURATION = 24 * 60 * 60 * 1000; // 24 Stunden
     private static final double AUCTION_TAX_PERCENTAGE = 0.05; // 5% Steuer
     private static final int MAX_AUCTIONS_PER_PLAYER = 5;
+    private static final long EXPIRY_RETRY_MS = 60 * 1000; // Erneuter Versuch, wenn das Postfach nicht gespeichert werden konnte
     
     public AuctionManager(CBSystem plugin) {
         this.plugin = plugin;
-        this.activeAuctions = new ConcurrentHashMap<>();
-        this.nextId = new AtomicInteger(1);
-        
-        // Cleanup-Task alle 5 Minuten
-        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::cleanupExpiredAuctions, 6000L, 6000L);
+        this.store = new AuctionStore(plugin);
+        this.expiryScheduler = new AuctionExpiryScheduler(plugin, this::handleExpiredAuction, this::pruneSoldHistory);
+        this.mailbox = new AuctionMailbox(plugin);
+        
+        // Auktionen aus der Datenbank laden und ihren Ablauf planen
+        store.load();
+        for (AuctionItem auction : store.getActiveView()) {
+            expiryScheduler.schedule(auction);
+        }
+        expiryScheduler.start();
     }
     
     public boolean createAuction(Player seller, ItemStack item, double price) {
@@ -46,36 +53,35 @@ public class AuctionManager {
             return false;
         }
         
-        if (getPlayerActiveAuctions(seller.getUniqueId()).size() >= MAX_AUCTIONS_PER_PLAYER) {
+        if (store.getActiveCount(seller.getUniqueId()) >= MAX_AUCTIONS_PER_PLAYER) {
             plugin.getMessageManager().sendMessage(seller, "auction.max-auctions-reached", 
                 "max", String.valueOf(MAX_AUCTIONS_PER_PLAYER));
             return false;
         }
         
-        // Steuer berechnen
+        // Item im Inventar prüfen
+        if (!seller.getInventory().containsAtLeast(item, item.getAmount())) {
+            plugin.getMessageManager().sendMessage(seller, "auction.item-not-found");
+            return false;
+        }
+        
+        // Steuer abziehen - das Ergebnis der Abbuchung ist die Guthabenprüfung
         double tax = price * AUCTION_TAX_PERCENTAGE;
-        if (!plugin.getEconomyManager().hasBalance(seller.getUniqueId(), tax)) {
+        if (!plugin.getEconomyManager().withdrawBalance(seller.getUniqueId(), tax,
+                "Auktionshaus-Steuer für: " + item.getType().name())) {
             plugin.getMessageManager().sendMessage(seller, "auction.insufficient-funds-tax",
                 "tax", plugin.getEconomyManager().formatBalance(tax));
             return false;
         }
         
         // Item aus Inventar entfernen
-        if (!seller.getInventory().containsAtLeast(item, item.getAmount())) {
-            plugin.getMessageManager().sendMessage(seller, "auction.item-not-found");
-            return false;
-        }
-        
         seller.getInventory().removeItem(item);
         
-        // Steuer abziehen
-        plugin.getEconomyManager().withdrawBalance(seller.getUniqueId(), tax, 
-            "Auktionshaus-Steuer für: " + item.getType().name());
-        
         // Auktion erstellen
-        int id = nextId.getAndIncrement();
+        int id = store.nextId();
         AuctionItem auction = new AuctionItem(id, seller.getUniqueId(), seller.getName(), item, price, duration);
-        activeAuctions.put(id, auction);
+        store.add(auction);
+        expiryScheduler.schedule(auction);
         
         plugin.getMessageManager().sendMessage(seller, "auction.created",
             "item", getItemDisplayName(item),
@@ -85,9 +91,45 @@ public class AuctionManager {
         return true;
     }
     
-    public boolean buyAuction(Player buyer, int auctionId) {
-        AuctionItem auction = activeAuctions.get(auctionId);
+    /**
+     * Kauft eine Auktion. Käufer und Verkäufer werden in einer Überweisung belastet bzw. gutgeschrieben.
+     * Ist das Konto eines Offline-Verkäufers nicht geladen, wird es zuerst asynchron geladen und der Kauf
+     * danach auf dem Main-Thread abgeschlossen.
+     *
+     * @param callback erhält auf dem Main-Thread, ob der Kauf durchgeführt wurde
+     */
+    public void buyAuction(Player buyer, int auctionId, Consumer<Boolean> callback) {
+        AuctionItem auction = store.get(auctionId);
+        if (!canBuy(buyer, auction)) {
+            callback.accept(false);
+            return;
+        }
+        
+        UUID sellerId = auction.getSeller();
+        if (plugin.getPlayerDataManager().getPlayerData(sellerId) != null) {
+            callback.accept(completePurchase(buyer, auctionId));
+            return;
+        }
         
+        plugin.getPlayerDataManager().loadPlayerDataAsync(sellerId).thenAccept(sellerData ->
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                if (!buyer.isOnline()) return;
+                
+                if (sellerData == null) {
+                    plugin.getLogger().warning("Konto des Verkäufers " + sellerId + " für Auktion #" + auctionId
+                        + " konnte nicht geladen werden.");
+                    plugin.getMessageManager().sendMessage(buyer, "auction.seller-unavailable");
+                    callback.accept(false);
+                    return;
+                }
+                callback.accept(completePurchase(buyer, auctionId));
+            }));
+    }
+    
+    /**
+     * Prüft alle Kaufbedingungen außer dem Guthaben (das prüft die Überweisung selbst)
+     */
+    private boolean canBuy(Player buyer, AuctionItem auction) {
         if (auction == null) {
             plugin.getMessageManager().sendMessage(buyer, "auction.not-found");
             return false;
@@ -108,28 +150,42 @@ public class AuctionManager {
             return false;
         }
         
-        // Geld prüfen
-        if (!plugin.getEconomyManager().hasBalance(buyer.getUniqueId(), auction.getPrice())) {
-            plugin.getMessageManager().sendMessage(buyer, "auction.insufficient-funds",
-                "price", plugin.getEconomyManager().formatBalance(auction.getPrice()));
-            return false;
-        }
-        
         // Inventar-Platz prüfen
         if (!hasInventorySpace(buyer, auction.getItem())) {
             plugin.getMessageManager().sendMessage(buyer, "auction.inventory-full");
             return false;
         }
         
-        // Transaktion durchführen
-        plugin.getEconomyManager().withdrawBalance(buyer.getUniqueId(), auction.getPrice(),
-            "Auktionshaus-Kauf: " + auction.getItem().getType().name());
+        return true;
+    }
+    
+    /**
+     * Schließt den Kauf ab (Main-Thread). Die Bedingungen werden erneut geprüft, da zwischen
+     * dem Laden des Verkäuferkontos und dem Abschluss ein anderer Spieler gekauft haben kann.
+     */
+    private boolean completePurchase(Player buyer, int auctionId) {
+        AuctionItem auction = store.get(auctionId);
+        if (!canBuy(buyer, auction)) {
+            return false;
+        }
         
-        plugin.getEconomyManager().addBalance(auction.getSeller(), auction.getPrice(),
-            "Auktionshaus-Verkauf: " + auction.getItem().getType().name());
+        // Transaktion durchführen - ohne vollständige Zahlung wird kein Item herausgegeben
+        long cents = BalanceLedger.toCents(auction.getPrice());
+        List<BalanceLedger.Transfer> payment = List.of(new BalanceLedger.Transfer(buyer.getUniqueId(), auction.getSeller(), cents));
+        if (!plugin.getEconomyManager().transferAll(payment, "Auktionshaus-Kauf: " + auction.getItem().getType().name())) {
+            if (plugin.getPlayerDataManager().getPlayerData(auction.getSeller()) == null) {
+                plugin.getMessageManager().sendMessage(buyer, "auction.seller-unavailable");
+            } else {
+                plugin.getMessageManager().sendMessage(buyer, "auction.insufficient-funds",
+                    "amount", plugin.getEconomyManager().formatBalance(auction.getPrice()));
+            }
+            return false;
+        }
         
         buyer.getInventory().addItem(auction.getItem());
-        auction.markAsSold(buyer.getUniqueId());
+        auction.markAsSold(buyer.getUniqueId(), buyer.getName());
+        expiryScheduler.cancel(auctionId);
+        store.markSold(auction);
         
         // Nachrichten senden
         plugin.getMessageManager().sendMessage(buyer, "auction.purchased",
@@ -150,7 +206,7 @@ public class AuctionManager {
     }
     
     public boolean cancelAuction(Player seller, int auctionId) {
-        AuctionItem auction = activeAuctions.get(auctionId);
+        AuctionItem auction = store.get(auctionId);
         
         if (auction == null) {
             plugin.getMessageManager().sendMessage(seller, "auction.not-found");
@@ -176,7 +232,8 @@ public class AuctionManager {
             plugin.getMessageManager().sendMessage(seller, "auction.item-dropped");
         }
         
-        activeAuctions.remove(auctionId);
+        expiryScheduler.cancel(auctionId);
+        store.remove(auctionId);
         
         plugin.getMessageManager().sendMessage(seller, "auction.cancelled",
             "item", getItemDisplayName(auction.getItem()));
@@ -185,54 +242,83 @@ public class AuctionManager {
     }
     
     public List<AuctionItem> getActiveAuctions() {
-        return activeAuctions.values().stream()
-            .filter(auction -> !auction.isSold() && !auction.isExpired())
-            .sorted((a, b) -> Long.compare(b.getCreatedAt(), a.getCreatedAt()))
-            .toList();
+        return store.getActive(0, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Holt eine Seite der aktiven Auktionen (neueste zuerst), ohne alle Auktionen zu sortieren
+     */
+    public List<AuctionItem> getActiveAuctions(int offset, int limit) {
+        return store.getActive(offset, limit);
     }
     
     public List<AuctionItem> getPlayerActiveAuctions(UUID playerId) {
-        return activeAuctions.values().stream()
-            .filter(auction -> auction.getSeller().equals(playerId) && !auction.isSold() && !auction.isExpired())
-            .sorted((a, b) -> Long.compare(b.getCreatedAt(), a.getCreatedAt()))
-            .toList();
+        return store.getActiveBySeller(playerId);
     }
     
     public List<AuctionItem> getPlayerSoldAuctions(UUID playerId) {
-        return activeAuctions.values().stream()
-            .filter(auction -> auction.getSeller().equals(playerId) && auction.isSold())
-            .sorted((a, b) -> Long.compare(b.getCreatedAt(), a.getCreatedAt()))
-            .toList();
+        return store.getSoldBySeller(playerId);
     }
     
-    private void cleanupExpiredAuctions() {
-        List<AuctionItem> expired = activeAuctions.values().stream()
-            .filter(AuctionItem::isExpired)
-            .toList();
+    /**
+     * Wird vom Ablauf-Scheduler auf dem Main-Thread für jede fällige Auktion aufgerufen
+     */
+    private void handleExpiredAuction(AuctionItem auction) {
+        // Inzwischen verkauft oder entfernt
+        if (auction.isSold() || store.get(auction.getId()) != auction) {
+            return;
+        }
         
-        for (AuctionItem auction : expired) {
-            // Item an Verkäufer zurückgeben (wenn online)
-            Player seller = Bukkit.getPlayer(auction.getSeller());
-            if (seller != null && seller.isOnline()) {
-                if (hasInventorySpace(seller, auction.getItem())) {
-                    seller.getInventory().addItem(auction.getItem());
-                    plugin.getMessageManager().sendMessage(seller, "auction.expired-returned",
-                        "item", getItemDisplayName(auction.getItem()));
-                } else {
-                    seller.getWorld().dropItemNaturally(seller.getLocation(), auction.getItem());
-                    plugin.getMessageManager().sendMessage(seller, "auction.expired-dropped",
-                        "item", getItemDisplayName(auction.getItem()));
-                }
+        // Item an Verkäufer zurückgeben, bei Offline-Verkäufern ins Postfach
+        Player seller = Bukkit.getPlayer(auction.getSeller());
+        if (seller != null && seller.isOnline()) {
+            store.remove(auction.getId());
+            if (hasInventorySpace(seller, auction.getItem())) {
+                seller.getInventory().addItem(auction.getItem());
+                plugin.getMessageManager().sendMessage(seller, "auction.expired-returned",
+                    "item", getItemDisplayName(auction.getItem()));
+            } else {
+                seller.getWorld().dropItemNaturally(seller.getLocation(), auction.getItem());
+                plugin.getMessageManager().sendMessage(seller, "auction.expired-dropped",
+                    "item", getItemDisplayName(auction.getItem()));
             }
-            
-            activeAuctions.remove(auction.getId());
+        } else {
+            returnToMailbox(auction, "EXPIRED");
         }
-        
-        if (!expired.isEmpty()) {
-            plugin.getLogger().info("Auktionshaus: " + expired.size() + " abgelaufene Auktionen bereinigt.");
+    }
+    
+    /**
+     * Entfernt eine Auktion und legt ihr Item im Postfach des Verkäufers ab. Mit Datenbank geschieht
+     * beides in einer Transaktion; schlägt sie fehl, bleibt die Auktion bestehen und der Ablauf
+     * wird nach EXPIRY_RETRY_MS erneut versucht.
+     */
+    private void returnToMailbox(AuctionItem auction, String reason) {
+        if (plugin.getDatabaseManager().isDatabaseEnabled()) {
+            store.moveToMailbox(auction, reason, failed ->
+                expiryScheduler.schedule(failed, System.currentTimeMillis() + EXPIRY_RETRY_MS));
+        } else {
+            store.remove(auction.getId());
+            mailbox.deposit(auction.getSeller(), auction.getItem(), reason);
+        }
+    }
+    
+    /**
+     * Läuft minütlich im Ablauf-Task und hält die Verkaufshistorie auf SOLD_HISTORY_MS begrenzt
+     */
+    private void pruneSoldHistory() {
+        int pruned = store.pruneSoldHistory();
+        if (pruned > 0 && plugin.getConfigManager().isDebugEnabled()) {
+            plugin.getLogger().info("Auktionshaus: " + pruned + " alte Verkäufe aus dem Speicher entfernt.");
         }
     }
     
+    /**
+     * Liefert beim Join die Items aus dem Auktions-Postfach aus
+     */
+    public void deliverMailbox(Player player) {
+        mailbox.deliver(player);
+    }
+    
     private boolean hasInventorySpace(Player player, ItemStack item) {
         return player.getInventory().firstEmpty() != -1 || 
                canStackInExistingSlots(player, item);
@@ -269,51 +355,38 @@ public class AuctionManager {
     }
     
     public int getActiveAuctionCount() {
-        return (int) activeAuctions.values().stream()
-            .filter(auction -> !auction.isSold() && !auction.isExpired())
-            .count();
+        return store.getActiveCount();
     }
     
     public AuctionItem getAuction(int id) {
-        return activeAuctions.get(id);
+        return store.get(id);
     }
     
     // Erweiterte Suchfunktionen
     public List<AuctionItem> searchAuctions(String searchTerm) {
         String term = searchTerm.toLowerCase();
-        return activeAuctions.values().stream()
+        // Der Index ist bereits nach Erstellzeit sortiert
+        return store.getActiveView().stream()
             .filter(auction -> !auction.isSold() && !auction.isExpired())
             .filter(auction -> getItemDisplayName(auction.getItem()).toLowerCase().contains(term) ||
                              auction.getSellerName().toLowerCase().contains(term))
-            .sorted((a, b) -> Long.compare(b.getCreatedAt(), a.getCreatedAt()))
             .toList();
     }
     
     public List<AuctionItem> getAuctionsByCategory(String category) {
-        return activeAuctions.values().stream()
-            .filter(auction -> !auction.isSold() && !auction.isExpired())
-            .filter(auction -> getItemCategory(auction.getItem()).equalsIgnoreCase(category))
-            .sorted((a, b) -> Long.compare(b.getCreatedAt(), a.getCreatedAt()))
-            .toList();
+        return store.getActiveByCategory(category);
     }
     
     public List<AuctionItem> getAuctionsByPriceRange(double minPrice, double maxPrice) {
-        return activeAuctions.values().stream()
-            .filter(auction -> !auction.isSold() && !auction.isExpired())
-            .filter(auction -> auction.getPrice() >= minPrice && auction.getPrice() <= maxPrice)
-            .sorted((a, b) -> Double.compare(a.getPrice(), b.getPrice()))
-            .toList();
+        return store.getActiveByPriceRange(minPrice, maxPrice);
     }
     
     public List<AuctionItem> getAuctionsBySeller(UUID sellerId) {
-        return activeAuctions.values().stream()
-            .filter(auction -> auction.getSeller().equals(sellerId) && !auction.isSold() && !auction.isExpired())
-            .sorted((a, b) -> Long.compare(b.getCreatedAt(), a.getCreatedAt()))
-            .toList();
+        return store.getActiveBySeller(sellerId);
     }
     
     // Kategorien-System
-    private String getItemCategory(ItemStack item) {
+    static String getItemCategory(ItemStack item) {
         return switch (item.getType()) {
             case DIAMOND, EMERALD, GOLD_INGOT, IRON_INGOT, NETHERITE_INGOT -> "Wertvoll";
             case STONE, COBBLESTONE, DIRT, SAND, GRAVEL -> "Baumaterial";
@@ -331,7 +404,7 @@ public class AuctionManager {
     // Statistiken
     public Map<String, Integer> getCategoryStats() {
         Map<String, Integer> stats = new HashMap<>();
-        for (AuctionItem auction : activeAuctions.values()) {
+        for (AuctionItem auction : store.getActiveView()) {
             if (!auction.isSold() && !auction.isExpired()) {
                 String category = getItemCategory(auction.getItem());
                 stats.put(category, stats.getOrDefault(category, 0) + 1);
@@ -341,7 +414,7 @@ public class AuctionManager {
     }
     
     public double getTotalValue() {
-        return activeAuctions.values().stream()
+        return store.getActiveView().stream()
             .filter(auction -> !auction.isSold() && !auction.isExpired())
             .mapToDouble(AuctionItem::getPrice)
             .sum();
@@ -359,44 +432,51 @@ public class AuctionManager {
     
     // Admin-Funktionen
     public boolean removeAuction(int auctionId) {
-        AuctionItem auction = activeAuctions.remove(auctionId);
-        if (auction != null) {
+        expiryScheduler.cancel(auctionId);
+        AuctionItem auction = store.get(auctionId);
+        if (auction != null && !auction.isSold()) {
             // Item an Verkäufer zurückgeben
             Player seller = Bukkit.getPlayer(auction.getSeller());
             if (seller != null && seller.isOnline()) {
+                store.remove(auctionId);
                 if (hasInventorySpace(seller, auction.getItem())) {
                     seller.getInventory().addItem(auction.getItem());
                 } else {
                     seller.getWorld().dropItemNaturally(seller.getLocation(), auction.getItem());
                 }
+            } else {
+                returnToMailbox(auction, "REMOVED");
             }
             return true;
         }
-        return false;
+        return auction != null && store.remove(auctionId) != null;
     }
     
     public void clearAllAuctions() {
-        for (AuctionItem auction : new ArrayList<>(activeAuctions.values())) {
+        for (AuctionItem auction : new ArrayList<>(store.getActiveView())) {
             removeAuction(auction.getId());
         }
     }
     
     // Top-Seller
     public Map<UUID, Integer> getTopSellers(int limit) {
-        return activeAuctions.values().stream()
-            .filter(auction -> auction.isSold())
-            .collect(Collectors.groupingBy(
-                AuctionItem::getSeller,
-                Collectors.collectingAndThen(Collectors.counting(), Math::toIntExact)
-            ))
-            .entrySet().stream()
-            .sorted(Map.Entry.<UUID, Integer>comparingByValue().reversed())
+        return store.getSoldIndex().entrySet().stream()
+            .filter(entry -> !entry.getValue().isEmpty())
+            .sorted((a, b) -> Integer.compare(b.getValue().size(), a.getValue().size()))
             .limit(limit)
             .collect(Collectors.toMap(
                 Map.Entry::getKey,
-                Map.Entry::getValue,
+                entry -> entry.getValue().size(),
                 (e1, e2) -> e1,
                 LinkedHashMap::new
             ));
     }
+    
+    /**
+     * Schreibt ausstehende Änderungen und beendet den Schreib-Thread
+     */
+    public void shutdown() {
+        expiryScheduler.stop();
+        store.shutdown();
+    }
 }
@@ -0,0 +1,455 @@
+package de.opgames.cbsystem.auction;
+
+import de.opgames.cbsystem.CBSystem;
+import de.opgames.cbsystem.database.DatabaseManager;
+import org.bukkit.Material;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.inventory.ItemStack;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Persistenter Auktions-Speicher mit In-Memory-Indizes.
+ * Alle Auktionen liegen im Speicher und werden beim Start aus cb_auctions geladen;
+ * Änderungen werden inkrementell und in Reihenfolge über einen eigenen Schreib-Thread
+ * zurückgeschrieben. Sekundärindizes (Verkäufer, Kategorie, Preis) halten
+ * Seitenabfragen bei O(log n + Seite) statt einer Sortierung aller Auktionen.
+ */
+public class AuctionStore {
+
+    // Wie lange verkaufte Auktionen für "Meine Auktionen" und Top-Verkäufer im Speicher bleiben
+    private static final long SOLD_HISTORY_MS = 7L * 24 * 60 * 60 * 1000;
+
+    private static final Comparator<AuctionItem> NEWEST_FIRST = Comparator
+        .comparingLong(AuctionItem::getCreatedAt).reversed()
+        .thenComparing(Comparator.comparingInt(AuctionItem::getId).reversed());
+
+    private static final Comparator<AuctionItem> OLDEST_SALE_FIRST = Comparator
+        .comparingLong(AuctionItem::getSoldAt)
+        .thenComparingInt(AuctionItem::getId);
+
+    private static final Comparator<AuctionItem> BY_PRICE = Comparator
+        .comparingDouble(AuctionItem::getPrice)
+        .thenComparingInt(AuctionItem::getId);
+
+    private final CBSystem plugin;
+    private final DatabaseManager databaseManager;
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    // Primär- und Sekundärindizes der aktiven Auktionen
+    private final Map<Integer, AuctionItem> byId = new ConcurrentHashMap<>();
+    private final NavigableSet<AuctionItem> active = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+    private final NavigableSet<AuctionItem> byPrice = new ConcurrentSkipListSet<>(BY_PRICE);
+    private final Map<UUID, NavigableSet<AuctionItem>> activeBySeller = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<AuctionItem>> activeByCategory = new ConcurrentHashMap<>();
+
+    // Verkaufte Auktionen (Historie), nach Verkaufszeit für das Ausdünnen
+    private final Map<UUID, NavigableSet<AuctionItem>> soldBySeller = new ConcurrentHashMap<>();
+    private final NavigableSet<AuctionItem> soldByTime = new ConcurrentSkipListSet<>(OLDEST_SALE_FIRST);
+
+    // Ein Thread, damit INSERT/UPDATE/DELETE derselben Auktion in Reihenfolge ankommen
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "CBSystem-AuctionStore");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AuctionStore(CBSystem plugin) {
+        this.plugin = plugin;
+        this.databaseManager = plugin.getDatabaseManager();
+    }
+
+    /**
+     * Lädt alle aktiven und die kürzlich verkauften Auktionen in den Speicher
+     */
+    public void load() {
+        if (!databaseManager.isDatabaseEnabled()) return;
+
+        String sql = """
+            SELECT id, seller_uuid, seller_name, item_data, price, created_at, expires_at,
+                   sold, buyer_uuid, buyer_name, sold_at
+            FROM cb_auctions
+            WHERE sold = FALSE OR sold_at >= ?
+        """;
+
+        int loaded = 0, maxId = 0;
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setTimestamp(1, new Timestamp(System.currentTimeMillis() - SOLD_HISTORY_MS));
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    int id = resultSet.getInt("id");
+                    maxId = Math.max(maxId, id);
+
+                    ItemStack item = deserializeItem(resultSet.getString("item_data"));
+                    if (item == null) {
+                        plugin.getLogger().warning("Auktion #" + id + " enthält ein ungültiges Item und wird übersprungen.");
+                        continue;
+                    }
+
+                    String buyer = resultSet.getString("buyer_uuid");
+                    Timestamp soldAt = resultSet.getTimestamp("sold_at");
+                    boolean sold = resultSet.getBoolean("sold");
+
+                    AuctionItem auction = new AuctionItem(
+                        id,
+                        UUID.fromString(resultSet.getString("seller_uuid")),
+                        resultSet.getString("seller_name"),
+                        item,
+                        resultSet.getDouble("price"),
+                        resultSet.getTimestamp("created_at").getTime(),
+                        resultSet.getTimestamp("expires_at").getTime(),
+                        sold,
+                        buyer != null ? UUID.fromString(buyer) : null,
+                        resultSet.getString("buyer_name"),
+                        soldAt != null ? soldAt.getTime() : 0L
+                    );
+
+                    if (auction.isSold()) {
+                        byId.put(id, auction);
+                        indexSold(auction);
+                    } else {
+                        index(auction);
+                    }
+                    loaded++;
+                }
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Fehler beim Laden der Auktionen:", e);
+        }
+
+        // IDs werden lokal vergeben, damit neue Auktionen sofort verfügbar sind
+        nextId.set(Math.max(maxId + 1, getMaxStoredId() + 1));
+
+        plugin.getLogger().info("Auktionshaus: " + loaded + " Auktionen geladen (" + active.size() + " aktiv).");
+    }
+
+    private int getMaxStoredId() {
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT COALESCE(MAX(id), 0) FROM cb_auctions");
+             ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.WARNING, "Fehler beim Ermitteln der höchsten Auktions-ID:", e);
+            return 0;
+        }
+    }
+
+    public int nextId() {
+        return nextId.getAndIncrement();
+    }
+
+    // ==================== Mutationen ====================
+
+    /**
+     * Fügt eine neue Auktion hinzu und schreibt sie asynchron in die Datenbank
+     */
+    public void add(AuctionItem auction) {
+        index(auction);
+
+        String itemData = serializeItem(auction.getItem());
+        write("Speichern der Auktion #" + auction.getId(), connection -> {
+            String sql = """
+                INSERT INTO cb_auctions (id, seller_uuid, seller_name, item_data, price, created_at, expires_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setInt(1, auction.getId());
+                statement.setString(2, auction.getSeller().toString());
+                statement.setString(3, auction.getSellerName());
+                statement.setString(4, itemData);
+                statement.setDouble(5, auction.getPrice());
+                statement.setTimestamp(6, new Timestamp(auction.getCreatedAt()));
+                statement.setTimestamp(7, new Timestamp(auction.getExpiresAt()));
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Verschiebt eine verkaufte Auktion aus den aktiven Indizes in die Historie
+     */
+    public void markSold(AuctionItem auction) {
+        unindexActive(auction);
+        indexSold(auction);
+
+        write("Aktualisieren der Auktion #" + auction.getId(), connection -> {
+            String sql = "UPDATE cb_auctions SET sold = TRUE, buyer_uuid = ?, buyer_name = ?, sold_at = ? WHERE id = ?";
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, auction.getBuyer() != null ? auction.getBuyer().toString() : null);
+                statement.setString(2, auction.getBuyerName());
+                statement.setTimestamp(3, new Timestamp(auction.getSoldAt()));
+                statement.setInt(4, auction.getId());
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Entfernt eine Auktion (abgebrochen, abgelaufen oder durch Admin entfernt)
+     */
+    public AuctionItem remove(int auctionId) {
+        AuctionItem auction = byId.remove(auctionId);
+        if (auction == null) return null;
+
+        unindexActive(auction);
+        unindexSold(auction);
+
+        write("Löschen der Auktion #" + auctionId, connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("DELETE FROM cb_auctions WHERE id = ?")) {
+                statement.setInt(1, auctionId);
+                statement.executeUpdate();
+            }
+        });
+        return auction;
+    }
+
+    /**
+     * Entfernt eine Auktion und legt ihr Item in derselben Transaktion im Postfach des Verkäufers ab.
+     * Schlägt die Transaktion fehl, wird sie zurückgerollt und die Auktion wieder aufgenommen;
+     * onFailure läuft dann auf dem Main-Thread, um einen erneuten Versuch zu planen.
+     */
+    public void moveToMailbox(AuctionItem auction, String reason, Consumer<AuctionItem> onFailure) {
+        if (!byId.remove(auction.getId(), auction)) return;
+        unindexActive(auction);
+
+        String itemData = serializeItem(auction.getItem());
+        writer.execute(() -> {
+            try (Connection connection = databaseManager.getConnection()) {
+                connection.setAutoCommit(false);
+                try {
+                    try (PreparedStatement statement = connection.prepareStatement("DELETE FROM cb_auctions WHERE id = ?")) {
+                        statement.setInt(1, auction.getId());
+                        statement.executeUpdate();
+                    }
+
+                    String sql = "INSERT INTO cb_auction_mailbox (player_uuid, item_data, reason) VALUES (?, ?, ?)";
+                    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                        statement.setString(1, auction.getSeller().toString());
+                        statement.setString(2, itemData);
+                        statement.setString(3, reason);
+                        statement.executeUpdate();
+                    }
+
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Verschieben der Auktion #" + auction.getId() + " ins Postfach:", e);
+
+                // Beim Herunterfahren bleibt die Auktion in der Datenbank und läuft nach dem Neustart erneut ab
+                if (plugin.isEnabled()) {
+                    plugin.getServer().getScheduler().runTask(plugin, () -> {
+                        index(auction);
+                        onFailure.accept(auction);
+                    });
+                }
+            }
+        });
+    }
+
+    /**
+     * Entfernt verkaufte Auktionen, die älter als SOLD_HISTORY_MS sind, aus Historie und Primärindex
+     * (nur Speicher, die Datenbankzeilen bleiben erhalten)
+     */
+    public int pruneSoldHistory() {
+        long cutoff = System.currentTimeMillis() - SOLD_HISTORY_MS;
+        int pruned = 0;
+
+        for (AuctionItem auction : soldByTime) {
+            if (auction.getSoldAt() >= cutoff) break;
+            unindexSold(auction);
+            byId.remove(auction.getId(), auction);
+            pruned++;
+        }
+        return pruned;
+    }
+
+    // ==================== Abfragen ====================
+
+    public AuctionItem get(int auctionId) {
+        return byId.get(auctionId);
+    }
+
+    public int getActiveCount() {
+        return active.size();
+    }
+
+    public int getActiveCount(UUID seller) {
+        NavigableSet<AuctionItem> set = activeBySeller.get(seller);
+        return set != null ? set.size() : 0;
+    }
+
+    /**
+     * Seite der aktiven Auktionen, neueste zuerst
+     */
+    public List<AuctionItem> getActive(int offset, int limit) {
+        return page(active, offset, limit);
+    }
+
+    public List<AuctionItem> getActiveBySeller(UUID seller) {
+        NavigableSet<AuctionItem> set = activeBySeller.get(seller);
+        return set != null ? page(set, 0, Integer.MAX_VALUE) : List.of();
+    }
+
+    public List<AuctionItem> getSoldBySeller(UUID seller) {
+        NavigableSet<AuctionItem> set = soldBySeller.get(seller);
+        return set != null ? new ArrayList<>(set) : List.of();
+    }
+
+    public List<AuctionItem> getActiveByCategory(String category) {
+        NavigableSet<AuctionItem> set = activeByCategory.get(category.toLowerCase());
+        return set != null ? page(set, 0, Integer.MAX_VALUE) : List.of();
+    }
+
+    /**
+     * Aktive Auktionen in einer Preisspanne, günstigste zuerst (Bereichsabfrage auf der Skip-List)
+     */
+    public List<AuctionItem> getActiveByPriceRange(double minPrice, double maxPrice) {
+        if (minPrice > maxPrice) return List.of();
+        NavigableSet<AuctionItem> range = byPrice.subSet(
+            priceBound(minPrice, Integer.MIN_VALUE), true,
+            priceBound(maxPrice, Integer.MAX_VALUE), true);
+        return page(range, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Alle aktiven Auktionen in Anzeige-Reihenfolge (für Volltextsuche und Statistiken)
+     */
+    public Collection<AuctionItem> getActiveView() {
+        return Collections.unmodifiableCollection(active);
+    }
+
+    public Map<UUID, NavigableSet<AuctionItem>> getSoldIndex() {
+        return Collections.unmodifiableMap(soldBySeller);
+    }
+
+    /**
+     * Wartet auf ausstehende Schreibvorgänge und beendet den Schreib-Thread
+     */
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Auktionshaus: Nicht alle Änderungen konnten rechtzeitig gespeichert werden.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ==================== Interna ====================
+
+    private void index(AuctionItem auction) {
+        byId.put(auction.getId(), auction);
+        active.add(auction);
+        byPrice.add(auction);
+        activeBySeller.computeIfAbsent(auction.getSeller(), key -> new ConcurrentSkipListSet<>(NEWEST_FIRST)).add(auction);
+        activeByCategory.computeIfAbsent(AuctionManager.getItemCategory(auction.getItem()).toLowerCase(),
+            key -> new ConcurrentSkipListSet<>(NEWEST_FIRST)).add(auction);
+    }
+
+    private void unindexActive(AuctionItem auction) {
+        active.remove(auction);
+        byPrice.remove(auction);
+
+        NavigableSet<AuctionItem> seller = activeBySeller.get(auction.getSeller());
+        if (seller != null) seller.remove(auction);
+
+        NavigableSet<AuctionItem> category = activeByCategory.get(AuctionManager.getItemCategory(auction.getItem()).toLowerCase());
+        if (category != null) category.remove(auction);
+    }
+
+    private void indexSold(AuctionItem auction) {
+        soldBySeller.computeIfAbsent(auction.getSeller(), key -> new ConcurrentSkipListSet<>(NEWEST_FIRST)).add(auction);
+        soldByTime.add(auction);
+    }
+
+    private void unindexSold(AuctionItem auction) {
+        if (!soldByTime.remove(auction)) return;
+        soldBySeller.computeIfPresent(auction.getSeller(), (seller, sold) -> {
+            sold.remove(auction);
+            return sold.isEmpty() ? null : sold;
+        });
+    }
+
+    private static List<AuctionItem> page(NavigableSet<AuctionItem> set, int offset, int limit) {
+        List<AuctionItem> result = new ArrayList<>(Math.min(limit, 64));
+        int skipped = 0;
+        Iterator<AuctionItem> iterator = set.iterator();
+        while (iterator.hasNext() && result.size() < limit) {
+            AuctionItem auction = iterator.next();
+            // Noch nicht verarbeitete Abläufe überspringen
+            if (auction.isSold() || auction.isExpired()) continue;
+            if (skipped++ < offset) continue;
+            result.add(auction);
+        }
+        return result;
+    }
+
+    // Schlüssel für Bereichsabfragen auf dem Preisindex
+    private static AuctionItem priceBound(double price, int id) {
+        return new AuctionItem(id, new UUID(0L, 0L), "", new ItemStack(Material.STONE), price, 0L, 0L, false, null, null, 0L);
+    }
+
+    private void write(String description, SqlWrite operation) {
+        if (!databaseManager.isDatabaseEnabled()) return;
+
+        writer.execute(() -> {
+            try (Connection connection = databaseManager.getConnection()) {
+                operation.execute(connection);
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim " + description + ":", e);
+            }
+        });
+    }
+
+    static String serializeItem(ItemStack item) {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("item", item);
+        return yaml.saveToString();
+    }
+
+    static ItemStack deserializeItem(String data) {
+        if (data == null) return null;
+        YamlConfiguration yaml = new YamlConfiguration();
+        try {
+            yaml.loadFromString(data);
+        } catch (InvalidConfigurationException e) {
+            return null;
+        }
+        return yaml.getItemStack("item");
+    }
+
+    @FunctionalInterface
+    private interface SqlWrite {
+        void execute(Connection connection) throws SQLException;
+    }
+}
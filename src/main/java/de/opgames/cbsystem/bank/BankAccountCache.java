@@ -0,0 +1,315 @@
+package de.opgames.cbsystem.bank;
+
+import de.opgames.cbsystem.CBSystem;
+import de.opgames.cbsystem.database.DatabaseManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Read-Through-Cache für Bankkonten online Spieler.
+ * Lesezugriffe (Scoreboard, GUI) liefern immer sofort den Stand aus dem Speicher und
+ * stoßen bei einem Miss nur ein asynchrones Laden an. Schreibvorgänge des BankManagers
+ * aktualisieren den Cache nach dem Commit; ein Hintergrund-Task lädt veraltete Einträge
+ * gebündelt nach.
+ */
+public class BankAccountCache {
+
+    private static final int REFRESH_CHUNK_SIZE = 100;
+
+    private final CBSystem plugin;
+    private final DatabaseManager databaseManager;
+
+    private final Map<UUID, Account> accounts = new ConcurrentHashMap<>();
+    // Laufende Ladevorgänge, mehrfache Anfragen teilen sich einen Future
+    private final Map<UUID, CompletableFuture<Account>> loading = new ConcurrentHashMap<>();
+    // Online Spieler; nur deren Konten werden gecacht, damit nach dem Quit kein Ladevorgang das Konto wieder einträgt
+    private final Set<UUID> tracked = ConcurrentHashMap.newKeySet();
+
+    // Metriken
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+
+    public BankAccountCache(CBSystem plugin, DatabaseManager databaseManager) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+    }
+
+    /**
+     * Startet den asynchronen Refresh veralteter Einträge
+     */
+    public void start() {
+        long interval = Math.max(20L, plugin.getConfigManager().getBankCacheRefreshInterval() * 20L);
+        plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::refreshStale, interval, interval);
+    }
+
+    /**
+     * Holt das Bankguthaben ohne zu blockieren.
+     * Bei einem Miss wird das Konto asynchron geladen und bis dahin 0 geliefert.
+     */
+    public double getBalance(UUID playerUUID) {
+        Account account = accounts.get(playerUUID);
+        if (account != null) {
+            hits.incrementAndGet();
+            return account.balance;
+        }
+
+        misses.incrementAndGet();
+        loadAsync(playerUUID);
+        return 0.0;
+    }
+
+    /**
+     * Holt ein Konto ohne zu blockieren (z.B. für GUIs); bei einem Miss wird es asynchron geladen
+     */
+    public CompletableFuture<Account> getAsync(UUID playerUUID) {
+        Account account = accounts.get(playerUUID);
+        if (account != null) {
+            hits.incrementAndGet();
+            return CompletableFuture.completedFuture(account);
+        }
+
+        misses.incrementAndGet();
+        return load(playerUUID);
+    }
+
+    /**
+     * Nimmt einen online Spieler auf und lädt sein Konto im Hintergrund (Join)
+     */
+    public void track(UUID playerUUID) {
+        tracked.add(playerUUID);
+        load(playerUUID);
+    }
+
+    /**
+     * Lädt ein Konto im Hintergrund, mehrfache Anfragen werden zusammengefasst
+     */
+    public void loadAsync(UUID playerUUID) {
+        load(playerUUID);
+    }
+
+    private CompletableFuture<Account> load(UUID playerUUID) {
+        if (!databaseManager.isDatabaseEnabled()) {
+            return CompletableFuture.completedFuture(new Account(0.0, null, System.currentTimeMillis()));
+        }
+
+        CompletableFuture<Account> future = new CompletableFuture<>();
+        CompletableFuture<Account> pending = loading.putIfAbsent(playerUUID, future);
+        if (pending != null) {
+            return pending;
+        }
+
+        databaseManager.executeAsync(() -> {
+            long started = System.currentTimeMillis();
+            try {
+                Map<UUID, Account> loaded = query(List.of(playerUUID));
+                future.complete(store(playerUUID, loaded.get(playerUUID), started));
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Laden des Bankkontos von " + playerUUID + ":", e);
+                future.completeExceptionally(e);
+            } finally {
+                loading.remove(playerUUID, future);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Übernimmt ein neues Guthaben nach einem erfolgreichen Commit
+     */
+    public void updateBalance(UUID playerUUID, double balance) {
+        Account updated = accounts.computeIfPresent(playerUUID, (key, account) ->
+            new Account(balance, account.loan, System.currentTimeMillis()));
+        if (updated == null && tracked.contains(playerUUID)) {
+            loadAsync(playerUUID);
+        }
+    }
+
+    /**
+     * Übernimmt den Kreditstand nach einem erfolgreichen Commit (null = kein aktiver Kredit)
+     */
+    public void updateLoan(UUID playerUUID, BankManager.LoanInfo loan) {
+        Account updated = accounts.computeIfPresent(playerUUID, (key, account) ->
+            new Account(account.balance, loan, System.currentTimeMillis()));
+        if (updated == null && tracked.contains(playerUUID)) {
+            loadAsync(playerUUID);
+        }
+    }
+
+    /**
+     * Übernimmt ein Guthaben nur für bereits gecachte Konten (z.B. Zinsgutschrift)
+     */
+    public void updateIfPresent(UUID playerUUID, double balance) {
+        accounts.computeIfPresent(playerUUID, (key, account) ->
+            new Account(balance, account.loan, System.currentTimeMillis()));
+    }
+
+    /**
+     * Entfernt das Konto beim Quit; noch laufende Ladevorgänge tragen es danach nicht wieder ein
+     */
+    public void evict(UUID playerUUID) {
+        tracked.remove(playerUUID);
+        accounts.remove(playerUUID);
+    }
+
+    /**
+     * Lädt alle Einträge, die älter als das Refresh-Intervall sind, gebündelt neu
+     */
+    private void refreshStale() {
+        if (!databaseManager.isDatabaseEnabled() || accounts.isEmpty()) return;
+
+        long maxAge = plugin.getConfigManager().getBankCacheRefreshInterval() * 1000L;
+        long now = System.currentTimeMillis();
+
+        List<UUID> stale = new ArrayList<>();
+        for (Map.Entry<UUID, Account> entry : accounts.entrySet()) {
+            if (now - entry.getValue().loadedAt >= maxAge) {
+                stale.add(entry.getKey());
+            }
+        }
+
+        for (int from = 0; from < stale.size(); from += REFRESH_CHUNK_SIZE) {
+            List<UUID> chunk = stale.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, stale.size()));
+            long started = System.currentTimeMillis();
+            try {
+                Map<UUID, Account> loaded = query(chunk);
+                for (UUID uuid : chunk) {
+                    // Zwischenzeitlich ausgeloggte Spieler nicht wieder aufnehmen
+                    if (accounts.containsKey(uuid)) {
+                        store(uuid, loaded.get(uuid), started);
+                    }
+                }
+                refreshes.addAndGet(chunk.size());
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Aktualisieren von " + chunk.size() + " Bankkonten:", e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Übernimmt geladene Daten, außer ein Schreibvorgang war seit Beginn der Abfrage neuer.
+     * Konten nicht (mehr) online Spieler werden nur zurückgegeben, aber nicht gecacht.
+     */
+    private Account store(UUID playerUUID, Account loaded, long started) {
+        Account fresh = loaded != null ? loaded : new Account(0.0, null, System.currentTimeMillis());
+        loads.incrementAndGet();
+        Account result = accounts.compute(playerUUID, (key, current) -> {
+            if (!tracked.contains(key)) return current;
+            return current == null || current.loadedAt < started ? fresh : current;
+        });
+        return result != null ? result : fresh;
+    }
+
+    private Map<UUID, Account> query(Collection<UUID> playerUUIDs) throws SQLException {
+        Map<UUID, Double> balances = new HashMap<>();
+        Map<UUID, BankManager.LoanInfo> loans = new HashMap<>();
+        String placeholders = String.join(", ", Collections.nCopies(playerUUIDs.size(), "?"));
+
+        try (Connection connection = databaseManager.getConnection()) {
+            String balanceSql = "SELECT player_uuid, balance FROM bank_accounts WHERE player_uuid IN (" + placeholders + ")";
+            try (PreparedStatement stmt = connection.prepareStatement(balanceSql)) {
+                bindAll(stmt, playerUUIDs);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        balances.put(UUID.fromString(rs.getString("player_uuid")), rs.getDouble("balance"));
+                    }
+                }
+            }
+
+            String loanSql = "SELECT player_uuid, amount, remaining_amount, interest_rate, due_date FROM bank_loans " +
+                "WHERE player_uuid IN (" + placeholders + ") AND status = 'ACTIVE' ORDER BY created_at";
+            try (PreparedStatement stmt = connection.prepareStatement(loanSql)) {
+                bindAll(stmt, playerUUIDs);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    // Neuester Kredit zuletzt, überschreibt ältere
+                    while (rs.next()) {
+                        loans.put(UUID.fromString(rs.getString("player_uuid")), new BankManager.LoanInfo(
+                            rs.getDouble("amount"),
+                            rs.getDouble("remaining_amount"),
+                            rs.getDouble("interest_rate"),
+                            rs.getTimestamp("due_date").toLocalDateTime()
+                        ));
+                    }
+                }
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        Map<UUID, Account> result = new HashMap<>();
+        for (UUID uuid : playerUUIDs) {
+            result.put(uuid, new Account(balances.getOrDefault(uuid, 0.0), loans.get(uuid), now));
+        }
+        return result;
+    }
+
+    private static void bindAll(PreparedStatement stmt, Collection<UUID> playerUUIDs) throws SQLException {
+        int index = 1;
+        for (UUID uuid : playerUUIDs) {
+            stmt.setString(index++, uuid.toString());
+        }
+    }
+
+    // ==================== Metriken ====================
+
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getLoads() { return loads.get(); }
+    public long getRefreshes() { return refreshes.get(); }
+    public int getSize() { return accounts.size(); }
+
+    /**
+     * Alter des ältesten Eintrags in Millisekunden
+     */
+    public long getMaxStaleness() {
+        long now = System.currentTimeMillis();
+        long max = 0;
+        for (Account account : accounts.values()) {
+            max = Math.max(max, now - account.loadedAt);
+        }
+        return max;
+    }
+
+    public String getStatsLine() {
+        long total = hits.get() + misses.get();
+        return String.format("Bank-Cache: %d Konten, Trefferquote %.1f%% (%d/%d), %d Ladevorgänge, %d Refreshes, ältester Eintrag %ds",
+            getSize(), total > 0 ? hits.get() * 100.0 / total : 100.0, hits.get(), total,
+            loads.get(), refreshes.get(), getMaxStaleness() / 1000);
+    }
+
+    /**
+     * Unveränderlicher Stand eines Bankkontos
+     */
+    public static class Account {
+        private final double balance;
+        private final BankManager.LoanInfo loan;
+        private final long loadedAt;
+
+        Account(double balance, BankManager.LoanInfo loan, long loadedAt) {
+            this.balance = balance;
+            this.loan = loan;
+            this.loadedAt = loadedAt;
+        }
+
+        public double getBalance() { return balance; }
+        public BankManager.LoanInfo getLoan() { return loan; }
+        public boolean hasActiveLoan() { return loan != null; }
+        public long getLoadedAt() { return loadedAt; }
+    }
+}
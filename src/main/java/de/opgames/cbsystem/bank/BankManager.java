@@ -1,21 +1,35 @@
 package de.opgames.cbsystem.bank;
 
 import de.opgames.cbsystem.CBSystem;
-import de.opgames.cbsystem.data.PlayerData;
 import de.opgames.cbsystem.database.DatabaseManager;
 import org.bukkit.entity.Player;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 
 public class BankManager {
     
     private final CBSystem plugin;
     private final DatabaseManager databaseManager;
+    private final BankAccountCache accountCache;
+    private final InterestEngine interestEngine;
+    
+    // Bank-Vorgänge laufen nacheinander auf einem eigenen Thread, nie auf dem Main-Thread
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "CBSystem-Bank");
+        thread.setDaemon(true);
+        return thread;
+    });
     
     // Bank-Konfiguration
     private static final double INTEREST_RATE = 0.02; // 2% Zinsen pro Tag
@@ -26,12 +40,20 @@ public class BankManager {
     public BankManager(CBSystem plugin) {
         this.plugin = plugin;
         this.databaseManager = plugin.getDatabaseManager();
+        this.accountCache = new BankAccountCache(plugin, databaseManager);
+        this.interestEngine = new InterestEngine(plugin, databaseManager, accountCache);
         
         // Bank-Tabellen erstellen
         createBankTables();
         
-        // Zinsen-Task alle 24 Stunden
-        plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::processInterest, 0L, 1728000L); // 24 Stunden
+        // Konten bereits online Spieler laden (z.B. nach Reload) und Refresh starten
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            accountCache.track(player.getUniqueId());
+        }
+        accountCache.start();
+        
+        // Zinsen einmal pro Buchungstag, in Chunks
+        interestEngine.start();
     }
     
     private void createBankTables() {
@@ -58,7 +80,7 @@ public class BankManager {
                     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                     due_date TIMESTAMP NOT NULL,
                     status ENUM('ACTIVE', 'PAID', 'DEFAULTED') DEFAULT 'ACTIVE',
-                    FOREIGN KEY (player_uuid) REFERENCES players(uuid) ON DELETE CASCADE
+                    FOREIGN KEY (player_uuid) REFERENCES cb_players(uuid) ON DELETE CASCADE
                 )
             """;
             
@@ -72,7 +94,7 @@ public class BankManager {
                     balance_after DECIMAL(15,2) NOT NULL,
                     description TEXT,
                     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                    FOREIGN KEY (player_uuid) REFERENCES players(uuid) ON DELETE CASCADE
+                    FOREIGN KEY (player_uuid) REFERENCES cb_players(uuid) ON DELETE CASCADE
                 )
             """;
             
@@ -108,318 +130,272 @@ public class BankManager {
     }
     
     /**
-     * Holt das Bankguthaben eines Spielers
+     * Holt das Bankguthaben eines Spielers aus dem Cache (blockiert nie)
      */
     public double getBankBalance(UUID playerUUID) {
-        try (Connection connection = databaseManager.getConnection()) {
-            String sql = "SELECT balance FROM bank_accounts WHERE player_uuid = ?";
-            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-                stmt.setString(1, playerUUID.toString());
-                try (ResultSet rs = stmt.executeQuery()) {
-                    return rs.next() ? rs.getDouble("balance") : 0.0;
-                }
-            }
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Fehler beim Abrufen des Bankguthabens:", e);
-            return 0.0;
-        }
+        return accountCache.getBalance(playerUUID);
     }
     
     /**
-     * Einzahlung auf das Bankkonto
+     * Einzahlung auf das Bankkonto.
+     * Das Geld wird zuerst aus der Geldbörse genommen und bei einem Fehler der
+     * SQL-Transaktion zurückgebucht.
      */
-    public boolean deposit(UUID playerUUID, double amount) {
-        PlayerData playerData = plugin.getPlayerDataManager().getPlayerData(playerUUID);
-        if (playerData == null) return false;
-        
-        double currentBalance = playerData.getBalance();
-        if (currentBalance < amount) return false;
-        
-        // Geld vom Spieler nehmen
-        if (!plugin.getEconomyManager().withdrawBalance(playerUUID, amount, "Bank-Einzahlung")) {
-            return false;
-        }
-        
-        // Geld auf Bankkonto einzahlen
-        try (Connection connection = databaseManager.getConnection()) {
-            connection.setAutoCommit(false);
+    public CompletableFuture<Boolean> deposit(UUID playerUUID, double amount) {
+        return submit("Bank-Einzahlung", () -> {
+            // Geld vom Spieler nehmen (CAS, schlägt bei zu wenig Guthaben fehl)
+            if (!plugin.getEconomyManager().withdrawBalance(playerUUID, amount, "Bank-Einzahlung")) {
+                return false;
+            }
             
-            try {
-                // Bankkonto erstellen falls nicht vorhanden
-                createBankAccount(playerUUID);
-                
-                // Einzahlung durchführen
-                String sql = "UPDATE bank_accounts SET balance = balance + ? WHERE player_uuid = ?";
-                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-                    stmt.setDouble(1, amount);
-                    stmt.setString(2, playerUUID.toString());
-                    stmt.executeUpdate();
-                }
-                
-                // Transaktion loggen
-                logTransaction(playerUUID, "DEPOSIT", amount, getBankBalance(playerUUID), "Einzahlung");
-                
-                connection.commit();
-                return true;
-                
+            double newBalance;
+            try (BankUnitOfWork work = BankUnitOfWork.begin(databaseManager)) {
+                work.credit(playerUUID, amount, INTEREST_RATE);
+                work.log(playerUUID, "DEPOSIT", amount, "Einzahlung");
+                newBalance = work.balance(playerUUID);
+                work.commit();
             } catch (SQLException e) {
-                connection.rollback();
-                throw e;
-            } finally {
-                connection.setAutoCommit(true);
+                plugin.getLogger().log(Level.SEVERE, "Fehler bei der Bank-Einzahlung:", e);
+                refundWallet(playerUUID, amount, "Bank-Einzahlung Fehler");
+                return false;
             }
             
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Fehler bei der Bank-Einzahlung:", e);
-            // Geld zurückgeben
-            plugin.getEconomyManager().addBalance(playerUUID, amount, "Bank-Einzahlung Fehler");
-            return false;
-        }
+            accountCache.updateBalance(playerUUID, newBalance);
+            return true;
+        });
     }
     
     /**
-     * Auszahlung vom Bankkonto
+     * Auszahlung vom Bankkonto.
+     * Die Abbuchung prüft das Guthaben atomar in der Datenbank; die Gutschrift in der
+     * Geldbörse folgt nach dem Commit. Kann sie nicht (vollständig) gebucht werden,
+     * wird die Differenz wieder auf das Bankkonto gebucht.
      */
-    public boolean withdraw(UUID playerUUID, double amount) {
-        double bankBalance = getBankBalance(playerUUID);
-        if (bankBalance < amount) return false;
-        
-        try (Connection connection = databaseManager.getConnection()) {
-            connection.setAutoCommit(false);
+    public CompletableFuture<Boolean> withdraw(UUID playerUUID, double amount) {
+        return submit("Bank-Auszahlung", () -> {
+            if (plugin.getPlayerDataManager().getPlayerData(playerUUID) == null) return false;
             
-            try {
-                // Auszahlung durchführen
-                String sql = "UPDATE bank_accounts SET balance = balance - ? WHERE player_uuid = ?";
-                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-                    stmt.setDouble(1, amount);
-                    stmt.setString(2, playerUUID.toString());
-                    stmt.executeUpdate();
+            double newBalance;
+            try (BankUnitOfWork work = BankUnitOfWork.begin(databaseManager)) {
+                if (!work.debit(playerUUID, amount)) {
+                    return false;
                 }
-                
-                // Geld an Spieler geben
-                if (!plugin.getEconomyManager().addBalance(playerUUID, amount, "Bank-Auszahlung")) {
-                    throw new SQLException("Fehler beim Hinzufügen des Geldes");
-                }
-                
-                // Transaktion loggen
-                logTransaction(playerUUID, "WITHDRAW", amount, getBankBalance(playerUUID), "Auszahlung");
-                
-                connection.commit();
-                return true;
-                
+                work.log(playerUUID, "WITHDRAW", amount, "Auszahlung");
+                newBalance = work.balance(playerUUID);
+                work.commit();
             } catch (SQLException e) {
-                connection.rollback();
-                throw e;
-            } finally {
-                connection.setAutoCommit(true);
+                plugin.getLogger().log(Level.SEVERE, "Fehler bei der Bank-Auszahlung:", e);
+                return false;
             }
+            accountCache.updateBalance(playerUUID, newBalance);
             
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Fehler bei der Bank-Auszahlung:", e);
-            return false;
-        }
+            // Geld an Spieler geben
+            double credited = plugin.getEconomyManager().depositBalance(playerUUID, amount, "Bank-Auszahlung");
+            if (credited < amount - 0.005) {
+                // Nicht gutgeschriebenen Betrag (entladen / Maximalguthaben) zurück auf das Bankkonto
+                compensateBank(playerUUID, amount - Math.max(0, credited), "Rückbuchung Auszahlung");
+                return credited > 0;
+            }
+            return true;
+        });
     }
     
     /**
-     * Kredit gewähren
+     * Kredit gewähren.
+     * Der Kredit wird zuerst in der Datenbank angelegt (gesperrte Prüfung auf einen aktiven Kredit),
+     * die Geldbörse erst nach dem Commit gutgeschrieben. Kann nicht der volle Betrag gutgeschrieben
+     * werden (entladen / Maximalguthaben), wird der Kredit auf den gutgeschriebenen Betrag herabgesetzt
+     * bzw. ganz entfernt.
      */
-    public boolean grantLoan(UUID playerUUID, double amount, int days) {
-        if (amount > MAX_LOAN_AMOUNT || days > MAX_LOAN_DAYS) return false;
-        
-        // Prüfen ob Spieler bereits einen aktiven Kredit hat
-        if (hasActiveLoan(playerUUID)) return false;
+    public CompletableFuture<Boolean> grantLoan(UUID playerUUID, double amount, int days) {
+        if (amount > MAX_LOAN_AMOUNT || days > MAX_LOAN_DAYS) return CompletableFuture.completedFuture(false);
         
-        try (Connection connection = databaseManager.getConnection()) {
-            connection.setAutoCommit(false);
+        return submit("Kreditvergabe", () -> {
+            if (plugin.getPlayerDataManager().getPlayerData(playerUUID) == null) return false;
             
-            try {
-                // Kredit in Datenbank eintragen
-                String sql = "INSERT INTO bank_loans (player_uuid, amount, interest_rate, remaining_amount, due_date) VALUES (?, ?, ?, ?, DATE_ADD(NOW(), INTERVAL ? DAY))";
-                try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-                    stmt.setString(1, playerUUID.toString());
-                    stmt.setDouble(2, amount);
-                    stmt.setDouble(3, LOAN_INTEREST_RATE);
-                    stmt.setDouble(4, amount);
-                    stmt.setInt(5, days);
-                    stmt.executeUpdate();
+            LoanInfo loan = new LoanInfo(amount, amount, LOAN_INTEREST_RATE, LocalDateTime.now().plusDays(days));
+            int loanId;
+            try (BankUnitOfWork work = BankUnitOfWork.begin(databaseManager)) {
+                // Prüfen ob Spieler bereits einen aktiven Kredit hat (gesperrt bis zum Commit)
+                if (work.lockActiveLoan(playerUUID) != null) {
+                    return false;
                 }
-                
-                // Geld an Spieler geben
-                if (!plugin.getEconomyManager().addBalance(playerUUID, amount, "Bank-Kredit")) {
-                    throw new SQLException("Fehler beim Hinzufügen des Kredits");
-                }
-                
-                // Transaktion loggen
-                logTransaction(playerUUID, "LOAN_GRANTED", amount, plugin.getEconomyManager().getBalance(playerUUID), "Kredit gewährt");
-                
-                connection.commit();
-                return true;
-                
+                loanId = work.insertLoan(playerUUID, amount, LOAN_INTEREST_RATE, Timestamp.valueOf(loan.getDueDate()));
+                work.log(playerUUID, "LOAN_GRANTED", amount, "Kredit gewährt");
+                work.commit();
             } catch (SQLException e) {
-                connection.rollback();
-                throw e;
-            } finally {
-                connection.setAutoCommit(true);
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Gewähren des Kredits:", e);
+                return false;
+            }
+            
+            // Kredit in die Geldbörse
+            double credited = plugin.getEconomyManager().depositBalance(playerUUID, amount, "Bank-Kredit");
+            if (credited < amount - 0.005) {
+                return revokeLoan(playerUUID, loanId, loan, Math.max(0, credited));
             }
             
+            accountCache.updateLoan(playerUUID, loan);
+            return true;
+        });
+    }
+    
+    /**
+     * Setzt einen nicht vollständig ausgezahlten Kredit auf den gutgeschriebenen Betrag herab
+     *
+     * @return true wenn ein Teil des Kredits ausgezahlt wurde und bestehen bleibt
+     */
+    private boolean revokeLoan(UUID playerUUID, int loanId, LoanInfo loan, double credited) {
+        try (BankUnitOfWork work = BankUnitOfWork.begin(databaseManager)) {
+            if (credited > 0) {
+                work.reduceLoan(loanId, credited);
+            } else {
+                work.deleteLoan(loanId);
+            }
+            work.log(playerUUID, "LOAN_PAYMENT", loan.getOriginalAmount() - credited, "Kredit nicht ausgezahlt");
+            work.commit();
         } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Fehler beim Gewähren des Kredits:", e);
-            return false;
+            plugin.getLogger().log(Level.SEVERE, "Kredit #" + loanId + " von " + playerUUID
+                + " konnte nicht auf " + credited + " herabgesetzt werden:", e);
+            accountCache.updateLoan(playerUUID, loan);
+            return credited > 0;
         }
+        
+        accountCache.updateLoan(playerUUID, credited > 0
+            ? new LoanInfo(credited, credited, loan.getInterestRate(), loan.getDueDate())
+            : null);
+        return credited > 0;
     }
     
     /**
-     * Kredit zurückzahlen
+     * Kredit zurückzahlen.
+     * Der Betrag wird zuerst aus der Geldbörse genommen; eine Überzahlung oder ein
+     * Fehler der SQL-Transaktion wird zurückgebucht.
      */
-    public boolean payLoan(UUID playerUUID, double amount) {
-        if (!hasActiveLoan(playerUUID)) return false;
-        
-        PlayerData playerData = plugin.getPlayerDataManager().getPlayerData(playerUUID);
-        if (playerData == null) return false;
-        
-        double currentBalance = playerData.getBalance();
-        if (currentBalance < amount) return false;
-        
-        try (Connection connection = databaseManager.getConnection()) {
-            connection.setAutoCommit(false);
+    public CompletableFuture<Boolean> payLoan(UUID playerUUID, double amount) {
+        return submit("Kredit-Rückzahlung", () -> {
+            if (!plugin.getEconomyManager().withdrawBalance(playerUUID, amount, "Kredit-Rückzahlung")) {
+                return false;
+            }
             
-            try {
-                // Aktiven Kredit holen
-                String getLoanSql = "SELECT id, remaining_amount FROM bank_loans WHERE player_uuid = ? AND status = 'ACTIVE' ORDER BY created_at DESC LIMIT 1";
-                double remainingAmount;
-                int loanId;
-                
-                try (PreparedStatement stmt = connection.prepareStatement(getLoanSql)) {
-                    stmt.setString(1, playerUUID.toString());
-                    try (ResultSet rs = stmt.executeQuery()) {
-                        if (!rs.next()) {
-                            throw new SQLException("Kein aktiver Kredit gefunden");
-                        }
-                        loanId = rs.getInt("id");
-                        remainingAmount = rs.getDouble("remaining_amount");
-                    }
-                }
-                
-                double paymentAmount = Math.min(amount, remainingAmount);
-                
-                // Kredit reduzieren
-                String updateLoanSql = "UPDATE bank_loans SET remaining_amount = remaining_amount - ? WHERE id = ?";
-                try (PreparedStatement stmt = connection.prepareStatement(updateLoanSql)) {
-                    stmt.setDouble(1, paymentAmount);
-                    stmt.setInt(2, loanId);
-                    stmt.executeUpdate();
-                }
-                
-                // Kredit als bezahlt markieren falls vollständig zurückgezahlt
-                if (remainingAmount - paymentAmount <= 0) {
-                    String markPaidSql = "UPDATE bank_loans SET status = 'PAID' WHERE id = ?";
-                    try (PreparedStatement stmt = connection.prepareStatement(markPaidSql)) {
-                        stmt.setInt(1, loanId);
-                        stmt.executeUpdate();
-                    }
-                }
-                
-                // Geld vom Spieler nehmen
-                if (!plugin.getEconomyManager().withdrawBalance(playerUUID, paymentAmount, "Kredit-Rückzahlung")) {
-                    throw new SQLException("Fehler beim Abziehen des Geldes");
+            double payment;
+            LoanInfo remaining;
+            try (BankUnitOfWork work = BankUnitOfWork.begin(databaseManager)) {
+                BankUnitOfWork.ActiveLoan loan = work.lockActiveLoan(playerUUID);
+                if (loan == null) {
+                    refundWallet(playerUUID, amount, "Kredit-Rückzahlung ohne Kredit");
+                    return false;
                 }
                 
-                // Transaktion loggen
-                logTransaction(playerUUID, "LOAN_PAYMENT", paymentAmount, plugin.getEconomyManager().getBalance(playerUUID), "Kredit-Rückzahlung");
-                
-                connection.commit();
-                return true;
+                LoanInfo info = loan.getInfo();
+                payment = Math.min(amount, info.getRemainingAmount());
+                work.payLoan(loan.getId(), payment);
+                work.log(playerUUID, "LOAN_PAYMENT", payment, "Kredit-Rückzahlung");
+                work.commit();
                 
+                double remainingAfter = info.getRemainingAmount() - payment;
+                remaining = remainingAfter > 0
+                    ? new LoanInfo(info.getOriginalAmount(), remainingAfter, info.getInterestRate(), info.getDueDate())
+                    : null;
             } catch (SQLException e) {
-                connection.rollback();
-                throw e;
-            } finally {
-                connection.setAutoCommit(true);
+                plugin.getLogger().log(Level.SEVERE, "Fehler bei der Kredit-Rückzahlung:", e);
+                refundWallet(playerUUID, amount, "Kredit-Rückzahlung Fehler");
+                return false;
             }
             
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Fehler bei der Kredit-Rückzahlung:", e);
-            return false;
-        }
+            // Überzahlung zurückgeben
+            if (amount - payment > 0.005) {
+                refundWallet(playerUUID, amount - payment, "Kredit-Überzahlung");
+            }
+            
+            accountCache.updateLoan(playerUUID, remaining);
+            return true;
+        });
     }
     
     /**
-     * Prüft ob Spieler einen aktiven Kredit hat
+     * Führt einen Bank-Vorgang auf dem Bank-Thread aus (nie auf dem Main-Thread)
      */
-    public boolean hasActiveLoan(UUID playerUUID) {
-        try (Connection connection = databaseManager.getConnection()) {
-            String sql = "SELECT COUNT(*) FROM bank_loans WHERE player_uuid = ? AND status = 'ACTIVE'";
-            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-                stmt.setString(1, playerUUID.toString());
-                try (ResultSet rs = stmt.executeQuery()) {
-                    return rs.next() && rs.getInt(1) > 0;
-                }
-            }
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Fehler beim Prüfen des Kredits:", e);
+    private CompletableFuture<Boolean> submit(String description, Supplier<Boolean> operation) {
+        if (!databaseManager.isDatabaseEnabled()) return CompletableFuture.completedFuture(false);
+        
+        return CompletableFuture.supplyAsync(operation, executor).exceptionally(throwable -> {
+            plugin.getLogger().log(Level.SEVERE, "Unerwarteter Fehler bei " + description + ":", throwable);
             return false;
+        });
+    }
+    
+    private void refundWallet(UUID playerUUID, double amount, String reason) {
+        if (!plugin.getEconomyManager().refundBalance(playerUUID, amount, reason)) {
+            // Spieler inzwischen entladen: auf das Bankkonto buchen, damit nichts verloren geht
+            compensateBank(playerUUID, amount, reason);
         }
     }
     
     /**
-     * Holt Kredit-Informationen
+     * Bucht einen Betrag in einer eigenen Transaktion auf das Bankkonto (Kompensation)
      */
-    public LoanInfo getLoanInfo(UUID playerUUID) {
-        try (Connection connection = databaseManager.getConnection()) {
-            String sql = "SELECT amount, remaining_amount, interest_rate, due_date FROM bank_loans WHERE player_uuid = ? AND status = 'ACTIVE' ORDER BY created_at DESC LIMIT 1";
-            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-                stmt.setString(1, playerUUID.toString());
-                try (ResultSet rs = stmt.executeQuery()) {
-                    if (rs.next()) {
-                        return new LoanInfo(
-                            rs.getDouble("amount"),
-                            rs.getDouble("remaining_amount"),
-                            rs.getDouble("interest_rate"),
-                            rs.getTimestamp("due_date").toLocalDateTime()
-                        );
-                    }
-                }
-            }
+    private void compensateBank(UUID playerUUID, double amount, String reason) {
+        try (BankUnitOfWork work = BankUnitOfWork.begin(databaseManager)) {
+            work.credit(playerUUID, amount, INTEREST_RATE);
+            work.log(playerUUID, "DEPOSIT", amount, reason);
+            double newBalance = work.balance(playerUUID);
+            work.commit();
+            accountCache.updateBalance(playerUUID, newBalance);
         } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Fehler beim Abrufen der Kredit-Informationen:", e);
+            plugin.getLogger().log(Level.SEVERE, "Kompensation von " + amount + " für " + playerUUID
+                + " fehlgeschlagen (" + reason + "):", e);
         }
-        return null;
     }
     
     /**
-     * Verarbeitet Zinsen für alle Bankkonten
+     * Holt Bankguthaben und Kredit eines Spielers ohne den Main-Thread zu blockieren (GUIs, Befehle)
      */
-    private void processInterest() {
-        try (Connection connection = databaseManager.getConnection()) {
-            String sql = "UPDATE bank_accounts SET balance = balance + (balance * interest_rate), last_interest = NOW() WHERE balance > 0";
-            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-                int affectedRows = stmt.executeUpdate();
-                plugin.getLogger().info("Zinsen für " + affectedRows + " Bankkonten verarbeitet.");
-            }
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Fehler beim Verarbeiten der Zinsen:", e);
-        }
+    public CompletableFuture<BankAccountCache.Account> getAccountAsync(UUID playerUUID) {
+        return accountCache.getAsync(playerUUID);
     }
     
     /**
-     * Loggt eine Bank-Transaktion
+     * Lädt das Bankkonto eines Spielers vorab in den Cache (Join)
      */
-    private void logTransaction(UUID playerUUID, String type, double amount, double balanceAfter, String description) {
-        try (Connection connection = databaseManager.getConnection()) {
-            String sql = "INSERT INTO bank_transactions (player_uuid, type, amount, balance_after, description) VALUES (?, ?, ?, ?, ?)";
-            try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-                stmt.setString(1, playerUUID.toString());
-                stmt.setString(2, type);
-                stmt.setDouble(3, amount);
-                stmt.setDouble(4, balanceAfter);
-                stmt.setString(5, description);
-                stmt.executeUpdate();
+    public void loadAccount(UUID playerUUID) {
+        accountCache.track(playerUUID);
+    }
+    
+    /**
+     * Entfernt das Bankkonto eines Spielers aus dem Cache (Quit)
+     */
+    public void unloadAccount(UUID playerUUID) {
+        accountCache.evict(playerUUID);
+    }
+    
+    /**
+     * Holt den Bankkonten-Cache (Metriken)
+     */
+    public BankAccountCache getAccountCache() {
+        return accountCache;
+    }
+    
+    /**
+     * Wartet auf laufende Bank-Vorgänge und beendet den Bank-Thread
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Bank-Vorgänge konnten nicht rechtzeitig abgeschlossen werden.");
             }
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Fehler beim Loggen der Bank-Transaktion:", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
     
+    /**
+     * Holt die Zins-Engine (Fortschritt)
+     */
+    public InterestEngine getInterestEngine() {
+        return interestEngine;
+    }
+    
     /**
      * Kredit-Informationen Klasse
      */
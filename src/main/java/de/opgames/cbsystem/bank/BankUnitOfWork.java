@@ -0,0 +1,224 @@
+package de.opgames.cbsystem.bank;
+
+import de.opgames.cbsystem.database.DatabaseManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Eine Bank-Transaktion auf genau einer Verbindung.
+ * Alle Statements (Konto, Kredite, Buchungsjournal) laufen in derselben SQL-Transaktion;
+ * Journal-Einträge werden gesammelt und beim Commit als ein Batch geschrieben.
+ * Ohne Commit wird beim Schließen zurückgerollt.
+ */
+class BankUnitOfWork implements AutoCloseable {
+
+    private static final String CREDIT_SQL = """
+        INSERT INTO bank_accounts (player_uuid, balance, interest_rate) VALUES (?, ?, ?)
+        ON DUPLICATE KEY UPDATE balance = balance + VALUES(balance)
+    """;
+
+    private static final String DEBIT_SQL =
+        "UPDATE bank_accounts SET balance = balance - ? WHERE player_uuid = ? AND balance >= ?";
+
+    // balance_after wird direkt aus dem Konto innerhalb der Transaktion übernommen
+    private static final String LOG_SQL = """
+        INSERT INTO bank_transactions (player_uuid, type, amount, balance_after, description)
+        SELECT ?, ?, ?, COALESCE((SELECT balance FROM bank_accounts WHERE player_uuid = ?), 0), ?
+    """;
+
+    private final Connection connection;
+    private PreparedStatement logStatement;
+    private boolean committed;
+
+    private BankUnitOfWork(Connection connection) {
+        this.connection = connection;
+    }
+
+    static BankUnitOfWork begin(DatabaseManager databaseManager) throws SQLException {
+        Connection connection = databaseManager.getConnection();
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        return new BankUnitOfWork(connection);
+    }
+
+    /**
+     * Schreibt einen Betrag gut und legt das Konto bei Bedarf an
+     */
+    void credit(UUID playerUUID, double amount, double interestRate) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(CREDIT_SQL)) {
+            stmt.setString(1, playerUUID.toString());
+            stmt.setDouble(2, amount);
+            stmt.setDouble(3, interestRate);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Bucht einen Betrag ab, wenn das Guthaben ausreicht
+     */
+    boolean debit(UUID playerUUID, double amount) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(DEBIT_SQL)) {
+            stmt.setDouble(1, amount);
+            stmt.setString(2, playerUUID.toString());
+            stmt.setDouble(3, amount);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    double balance(UUID playerUUID) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement("SELECT balance FROM bank_accounts WHERE player_uuid = ?")) {
+            stmt.setString(1, playerUUID.toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getDouble("balance") : 0.0;
+            }
+        }
+    }
+
+    /**
+     * Sperrt und liest den aktiven Kredit eines Spielers (null wenn keiner)
+     */
+    ActiveLoan lockActiveLoan(UUID playerUUID) throws SQLException {
+        String sql = """
+            SELECT id, amount, remaining_amount, interest_rate, due_date FROM bank_loans
+            WHERE player_uuid = ? AND status = 'ACTIVE' ORDER BY created_at DESC LIMIT 1 FOR UPDATE
+        """;
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setString(1, playerUUID.toString());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) return null;
+                return new ActiveLoan(rs.getInt("id"), new BankManager.LoanInfo(
+                    rs.getDouble("amount"),
+                    rs.getDouble("remaining_amount"),
+                    rs.getDouble("interest_rate"),
+                    rs.getTimestamp("due_date").toLocalDateTime()
+                ));
+            }
+        }
+    }
+
+    /**
+     * Legt einen Kredit an
+     *
+     * @return ID des neuen Kredits
+     */
+    int insertLoan(UUID playerUUID, double amount, double interestRate, Timestamp dueDate) throws SQLException {
+        String sql = "INSERT INTO bank_loans (player_uuid, amount, interest_rate, remaining_amount, due_date) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, playerUUID.toString());
+            stmt.setDouble(2, amount);
+            stmt.setDouble(3, interestRate);
+            stmt.setDouble(4, amount);
+            stmt.setTimestamp(5, dueDate);
+            stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (!keys.next()) {
+                    throw new SQLException("Keine ID für den neuen Kredit erhalten");
+                }
+                return keys.getInt(1);
+            }
+        }
+    }
+
+    /**
+     * Setzt Kreditbetrag und Restschuld eines noch unbezahlten Kredits herab
+     */
+    void reduceLoan(int loanId, double amount) throws SQLException {
+        String sql = "UPDATE bank_loans SET amount = ?, remaining_amount = ? WHERE id = ?";
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setDouble(1, amount);
+            stmt.setDouble(2, amount);
+            stmt.setInt(3, loanId);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Entfernt einen Kredit, der nicht ausgezahlt werden konnte
+     */
+    void deleteLoan(int loanId) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement("DELETE FROM bank_loans WHERE id = ?")) {
+            stmt.setInt(1, loanId);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Reduziert die Restschuld und markiert den Kredit bei vollständiger Rückzahlung als bezahlt
+     */
+    void payLoan(int loanId, double payment) throws SQLException {
+        String sql = """
+            UPDATE bank_loans SET remaining_amount = remaining_amount - ?,
+                status = IF(remaining_amount <= 0, 'PAID', status)
+            WHERE id = ?
+        """;
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setDouble(1, payment);
+            stmt.setInt(2, loanId);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Merkt einen Journal-Eintrag vor (wird beim Commit gebündelt geschrieben)
+     */
+    void log(UUID playerUUID, String type, double amount, String description) throws SQLException {
+        if (logStatement == null) {
+            logStatement = connection.prepareStatement(LOG_SQL);
+        }
+        logStatement.setString(1, playerUUID.toString());
+        logStatement.setString(2, type);
+        logStatement.setDouble(3, amount);
+        logStatement.setString(4, playerUUID.toString());
+        logStatement.setString(5, description);
+        logStatement.addBatch();
+    }
+
+    void commit() throws SQLException {
+        if (logStatement != null) {
+            logStatement.executeBatch();
+        }
+        connection.commit();
+        committed = true;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (logStatement != null) {
+                logStatement.close();
+            }
+            if (!committed) {
+                connection.rollback();
+            }
+            connection.setAutoCommit(true);
+        } finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * Gesperrter aktiver Kredit
+     */
+    static class ActiveLoan {
+        private final int id;
+        private final BankManager.LoanInfo info;
+
+        ActiveLoan(int id, BankManager.LoanInfo info) {
+            this.id = id;
+            this.info = info;
+        }
+
+        int getId() { return id; }
+        BankManager.LoanInfo getInfo() { return info; }
+    }
+}
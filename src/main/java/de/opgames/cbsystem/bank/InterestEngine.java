@@ -0,0 +1,237 @@
+package de.opgames.cbsystem.bank;
+
+import de.opgames.cbsystem.CBSystem;
+import de.opgames.cbsystem.database.DatabaseManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * Tägliche Zinsgutschrift in kleinen Chunks.
+ * Die Schlüssel eines Chunks werden ohne Sperren per Keyset-Paginierung über den Primärschlüssel
+ * gelesen; erst die kurze Transaktion des Chunks sperrt genau diese Zeilen per Primärschlüssel.
+ * Über {@code last_interest} erhält jedes Konto höchstens eine Gutschrift pro Buchungstag, ein
+ * Neustart oder ein abgebrochener Lauf setzt einfach beim nächsten offenen Konto fort.
+ */
+public class InterestEngine {
+
+    private static final long CHECK_INTERVAL_TICKS = 72000L;  // stündlich prüfen
+    private static final long START_DELAY_TICKS = 1200L;      // 1 Minute nach dem Start
+    private static final long CHUNK_PAUSE_MS = 50L;            // Luft für Einzahlungen zwischen Chunks
+    private static final int PROGRESS_LOG_CHUNKS = 20;
+
+    // Ungesperrter Lesezugriff, der nur den Primärschlüssel-Bereich des Chunks durchläuft
+    private static final String SELECT_KEYS_SQL = """
+        SELECT player_uuid FROM bank_accounts
+        WHERE player_uuid > ?
+        ORDER BY player_uuid
+        LIMIT ?
+    """;
+
+    // Sperrt nur die Zeilen des Chunks (Punktzugriffe auf den Primärschlüssel)
+    private static final String LOCK_CHUNK_SQL = """
+        SELECT player_uuid, balance, interest_rate FROM bank_accounts
+        WHERE player_uuid IN (%s) AND balance > 0 AND last_interest < ?
+        FOR UPDATE
+    """;
+
+    // Ungesperrte Vorprüfung, damit ein Neustart nach erledigtem Buchungstag keinen Lauf startet
+    private static final String PENDING_SQL =
+        "SELECT 1 FROM bank_accounts WHERE balance > 0 AND last_interest < ? LIMIT 1";
+
+    private static final String UPDATE_SQL =
+        "UPDATE bank_accounts SET balance = ?, last_interest = ? WHERE player_uuid = ?";
+
+    private static final String LOG_SQL = """
+        INSERT INTO bank_transactions (player_uuid, type, amount, balance_after, description)
+        VALUES (?, 'INTEREST', ?, ?, ?)
+    """;
+
+    private final CBSystem plugin;
+    private final DatabaseManager databaseManager;
+    private final BankAccountCache accountCache;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile LocalDate completedDay;
+    private volatile int processedAccounts;
+    private volatile int processedChunks;
+
+    public InterestEngine(CBSystem plugin, DatabaseManager databaseManager, BankAccountCache accountCache) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+        this.accountCache = accountCache;
+    }
+
+    /**
+     * Prüft stündlich, ob der aktuelle Buchungstag schon verzinst wurde
+     */
+    public void start() {
+        plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this::runIfDue,
+            START_DELAY_TICKS, CHECK_INTERVAL_TICKS);
+    }
+
+    private void runIfDue() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(completedDay)) {
+            run(today);
+        }
+    }
+
+    /**
+     * Verzinst alle Konten, die für {@code day} noch keine Gutschrift erhalten haben
+     */
+    public void run(LocalDate day) {
+        if (!databaseManager.isDatabaseEnabled() || !running.compareAndSet(false, true)) return;
+
+        Timestamp dayStart = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int chunkSize = Math.max(1, plugin.getConfigManager().getBankInterestChunkSize());
+        String description = "Zinsen " + day;
+        long started = System.currentTimeMillis();
+
+        processedAccounts = 0;
+        processedChunks = 0;
+        String lastKey = "";
+
+        try {
+            if (!hasPendingAccounts(dayStart)) {
+                completedDay = day;
+                return;
+            }
+
+            while (true) {
+                List<String> keys = selectKeys(lastKey, chunkSize);
+                if (keys.isEmpty()) break;
+
+                List<Credit> credits = new ArrayList<>(keys.size());
+                try (Connection connection = databaseManager.getConnection()) {
+                    connection.setAutoCommit(false);
+                    try {
+                        String placeholders = String.join(", ", Collections.nCopies(keys.size(), "?"));
+                        try (PreparedStatement select = connection.prepareStatement(LOCK_CHUNK_SQL.formatted(placeholders))) {
+                            int index = 1;
+                            for (String key : keys) {
+                                select.setString(index++, key);
+                            }
+                            select.setTimestamp(index, dayStart);
+                            try (ResultSet rs = select.executeQuery()) {
+                                while (rs.next()) {
+                                    double balance = rs.getDouble("balance");
+                                    double interest = Math.round(balance * rs.getDouble("interest_rate") * 100.0) / 100.0;
+                                    credits.add(new Credit(rs.getString("player_uuid"), interest, balance + interest));
+                                }
+                            }
+                        }
+
+                        try (PreparedStatement update = connection.prepareStatement(UPDATE_SQL);
+                             PreparedStatement log = connection.prepareStatement(LOG_SQL)) {
+                            for (Credit credit : credits) {
+                                update.setDouble(1, credit.balanceAfter);
+                                update.setTimestamp(2, now);
+                                update.setString(3, credit.uuid);
+                                update.addBatch();
+
+                                if (credit.interest > 0) {
+                                    log.setString(1, credit.uuid);
+                                    log.setDouble(2, credit.interest);
+                                    log.setDouble(3, credit.balanceAfter);
+                                    log.setString(4, description);
+                                    log.addBatch();
+                                }
+                            }
+                            update.executeBatch();
+                            log.executeBatch();
+                        }
+
+                        connection.commit();
+                    } catch (SQLException e) {
+                        connection.rollback();
+                        throw e;
+                    } finally {
+                        connection.setAutoCommit(true);
+                    }
+                }
+
+                for (Credit credit : credits) {
+                    accountCache.updateIfPresent(UUID.fromString(credit.uuid), credit.balanceAfter);
+                }
+
+                lastKey = keys.get(keys.size() - 1);
+                processedAccounts += credits.size();
+                processedChunks++;
+
+                if (processedChunks % PROGRESS_LOG_CHUNKS == 0) {
+                    plugin.getLogger().info(String.format("Zinsen: %d Konten verarbeitet (%d Chunks)...",
+                        processedAccounts, processedChunks));
+                }
+
+                if (keys.size() < chunkSize) break;
+                Thread.sleep(CHUNK_PAUSE_MS);
+            }
+
+            completedDay = day;
+            plugin.getLogger().info(String.format("Zinsen für %s: %d Bankkonten in %d Chunks verarbeitet (%d ms).",
+                day, processedAccounts, processedChunks, System.currentTimeMillis() - started));
+        } catch (SQLException e) {
+            // Bereits verzinste Konten bleiben markiert, der nächste Lauf setzt fort
+            plugin.getLogger().log(Level.SEVERE, "Fehler beim Verarbeiten der Zinsen nach "
+                + processedAccounts + " Konten:", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private boolean hasPendingAccounts(Timestamp dayStart) throws SQLException {
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement statement = connection.prepareStatement(PENDING_SQL)) {
+            statement.setTimestamp(1, dayStart);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private List<String> selectKeys(String lastKey, int chunkSize) throws SQLException {
+        List<String> keys = new ArrayList<>(chunkSize);
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_KEYS_SQL)) {
+            statement.setString(1, lastKey);
+            statement.setInt(2, chunkSize);
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    keys.add(rs.getString("player_uuid"));
+                }
+            }
+        }
+        return keys;
+    }
+
+    public boolean isRunning() { return running.get(); }
+    public int getProcessedAccounts() { return processedAccounts; }
+    public int getProcessedChunks() { return processedChunks; }
+    public LocalDate getCompletedDay() { return completedDay; }
+
+    private static class Credit {
+        private final String uuid;
+        private final double interest;
+        private final double balanceAfter;
+
+        Credit(String uuid, double interest, double balanceAfter) {
+            this.uuid = uuid;
+            this.interest = interest;
+            this.balanceAfter = balanceAfter;
+        }
+    }
+}
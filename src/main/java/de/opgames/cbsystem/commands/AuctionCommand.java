@@ -102,11 +102,13 @@ public class AuctionCommand implements CommandExecutor, TabCompleter {
         try {
             int auctionId = Integer.parseInt(args[1]);
             
-            if (plugin.getAuctionManager().buyAuction(player, auctionId)) {
-                plugin.getSoundManager().playSuccessSound(player);
-            } else {
-                plugin.getSoundManager().playErrorSound(player);
-            }
+            plugin.getAuctionManager().buyAuction(player, auctionId, success -> {
+                if (success) {
+                    plugin.getSoundManager().playSuccessSound(player);
+                } else {
+                    plugin.getSoundManager().playErrorSound(player);
+                }
+            });
             
         } catch (NumberFormatException e) {
             plugin.getMessageManager().sendMessage(player, "auction.invalid-id");
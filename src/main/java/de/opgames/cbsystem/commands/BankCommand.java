@@ -1,6 +1,7 @@
 package de.opgames.cbsystem.commands;
 
 import de.opgames.cbsystem.CBSystem;
+import de.opgames.cbsystem.bank.BankAccountCache;
 import de.opgames.cbsystem.bank.BankManager;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -11,6 +12,8 @@ import org.bukkit.entity.Player;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public class BankCommand implements CommandExecutor, TabCompleter {
     
@@ -19,7 +22,7 @@ public class BankCommand implements CommandExecutor, TabCompleter {
     
     public BankCommand(CBSystem plugin) {
         this.plugin = plugin;
-        this.bankManager = new BankManager(plugin);
+        this.bankManager = plugin.getBankManager();
     }
     
     @Override
@@ -60,12 +63,13 @@ public class BankCommand implements CommandExecutor, TabCompleter {
     }
     
     private void handleBalance(Player player) {
-        double bankBalance = bankManager.getBankBalance(player.getUniqueId());
-        double pocketBalance = plugin.getEconomyManager().getBalance(player.getUniqueId());
-        
-        plugin.getMessageManager().sendMessage(player, "bank.balance-info",
-            "bank-balance", plugin.getEconomyManager().formatBalance(bankBalance),
-            "pocket-balance", plugin.getEconomyManager().formatBalance(pocketBalance));
+        withAccount(player, account -> {
+            double pocketBalance = plugin.getEconomyManager().getBalance(player.getUniqueId());
+            
+            plugin.getMessageManager().sendMessage(player, "bank.balance-info",
+                "bank-balance", plugin.getEconomyManager().formatBalance(account.getBalance()),
+                "pocket-balance", plugin.getEconomyManager().formatBalance(pocketBalance));
+        });
     }
     
     private void handleDeposit(Player player, String[] args) {
@@ -95,13 +99,16 @@ public class BankCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        if (bankManager.deposit(player.getUniqueId(), amount)) {
-            plugin.getMessageManager().sendMessage(player, "bank.deposit-success",
-                "amount", plugin.getEconomyManager().formatBalance(amount));
-            plugin.getSoundManager().playSound(player, "money.receive");
-        } else {
-            plugin.getMessageManager().sendMessage(player, "bank.deposit-failed");
-        }
+        // Bank-Vorgang läuft asynchron, Rückmeldung auf dem Main-Thread
+        bankManager.deposit(player.getUniqueId(), amount).thenAccept(success -> runSync(player, () -> {
+            if (success) {
+                plugin.getMessageManager().sendMessage(player, "bank.deposit-success",
+                    "amount", plugin.getEconomyManager().formatBalance(amount));
+                plugin.getSoundManager().playSound(player, "money.receive");
+            } else {
+                plugin.getMessageManager().sendMessage(player, "bank.deposit-failed");
+            }
+        }));
     }
     
     private void handleWithdraw(Player player, String[] args) {
@@ -123,21 +130,25 @@ public class BankCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        double bankBalance = bankManager.getBankBalance(player.getUniqueId());
-        if (bankBalance < amount) {
-            plugin.getMessageManager().sendMessage(player, "bank.insufficient-bank-balance",
-                "amount", plugin.getEconomyManager().formatBalance(amount),
-                "balance", plugin.getEconomyManager().formatBalance(bankBalance));
-            return;
-        }
-        
-        if (bankManager.withdraw(player.getUniqueId(), amount)) {
-            plugin.getMessageManager().sendMessage(player, "bank.withdraw-success",
-                "amount", plugin.getEconomyManager().formatBalance(amount));
-            plugin.getSoundManager().playSound(player, "money.receive");
-        } else {
-            plugin.getMessageManager().sendMessage(player, "bank.withdraw-failed");
-        }
+        withAccount(player, account -> {
+            if (account.getBalance() < amount) {
+                plugin.getMessageManager().sendMessage(player, "bank.insufficient-bank-balance",
+                    "amount", plugin.getEconomyManager().formatBalance(amount),
+                    "balance", plugin.getEconomyManager().formatBalance(account.getBalance()));
+                return;
+            }
+            
+            // Bank-Vorgang läuft asynchron, Rückmeldung auf dem Main-Thread
+            bankManager.withdraw(player.getUniqueId(), amount).thenAccept(success -> runSync(player, () -> {
+                if (success) {
+                    plugin.getMessageManager().sendMessage(player, "bank.withdraw-success",
+                        "amount", plugin.getEconomyManager().formatBalance(amount));
+                    plugin.getSoundManager().playSound(player, "money.receive");
+                } else {
+                    plugin.getMessageManager().sendMessage(player, "bank.withdraw-failed");
+                }
+            }));
+        });
     }
     
     private void handleLoan(Player player, String[] args) {
@@ -169,11 +180,6 @@ public class BankCommand implements CommandExecutor, TabCompleter {
             }
         }
         
-        if (bankManager.hasActiveLoan(player.getUniqueId())) {
-            plugin.getMessageManager().sendMessage(player, "bank.already-has-loan");
-            return;
-        }
-        
         if (amount > 100000.0) {
             plugin.getMessageManager().sendMessage(player, "bank.loan-too-large",
                 "max-amount", plugin.getEconomyManager().formatBalance(100000.0));
@@ -186,14 +192,25 @@ public class BankCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        if (bankManager.grantLoan(player.getUniqueId(), amount, days)) {
-            plugin.getMessageManager().sendMessage(player, "bank.loan-granted",
-                "amount", plugin.getEconomyManager().formatBalance(amount),
-                "days", String.valueOf(days));
-            plugin.getSoundManager().playSound(player, "money.receive");
-        } else {
-            plugin.getMessageManager().sendMessage(player, "bank.loan-failed");
-        }
+        int loanDays = days;
+        withAccount(player, account -> {
+            if (account.hasActiveLoan()) {
+                plugin.getMessageManager().sendMessage(player, "bank.already-has-loan");
+                return;
+            }
+            
+            // Bank-Vorgang läuft asynchron, Rückmeldung auf dem Main-Thread
+            bankManager.grantLoan(player.getUniqueId(), amount, loanDays).thenAccept(success -> runSync(player, () -> {
+                if (success) {
+                    plugin.getMessageManager().sendMessage(player, "bank.loan-granted",
+                        "amount", plugin.getEconomyManager().formatBalance(amount),
+                        "days", String.valueOf(loanDays));
+                    plugin.getSoundManager().playSound(player, "money.receive");
+                } else {
+                    plugin.getMessageManager().sendMessage(player, "bank.loan-failed");
+                }
+            }));
+        });
     }
     
     private void handlePayLoan(Player player, String[] args) {
@@ -215,46 +232,80 @@ public class BankCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        if (!bankManager.hasActiveLoan(player.getUniqueId())) {
-            plugin.getMessageManager().sendMessage(player, "bank.no-active-loan");
-            return;
-        }
-        
-        double pocketBalance = plugin.getEconomyManager().getBalance(player.getUniqueId());
-        if (pocketBalance < amount) {
-            plugin.getMessageManager().sendMessage(player, "bank.insufficient-pocket-balance",
-                "amount", plugin.getEconomyManager().formatBalance(amount),
-                "balance", plugin.getEconomyManager().formatBalance(pocketBalance));
+        withAccount(player, account -> {
+            if (!account.hasActiveLoan()) {
+                plugin.getMessageManager().sendMessage(player, "bank.no-active-loan");
+                return;
+            }
+            
+            double pocketBalance = plugin.getEconomyManager().getBalance(player.getUniqueId());
+            if (pocketBalance < amount) {
+                plugin.getMessageManager().sendMessage(player, "bank.insufficient-pocket-balance",
+                    "amount", plugin.getEconomyManager().formatBalance(amount),
+                    "balance", plugin.getEconomyManager().formatBalance(pocketBalance));
+                return;
+            }
+            
+            // Bank-Vorgang läuft asynchron, Rückmeldung auf dem Main-Thread
+            bankManager.payLoan(player.getUniqueId(), amount).thenAccept(success -> runSync(player, () -> {
+                if (success) {
+                    plugin.getMessageManager().sendMessage(player, "bank.payloan-success",
+                        "amount", plugin.getEconomyManager().formatBalance(amount));
+                    plugin.getSoundManager().playSound(player, "money.send");
+                } else {
+                    plugin.getMessageManager().sendMessage(player, "bank.payloan-failed");
+                }
+            }));
+        });
+    }
+    
+    private void runSync(Player player, Runnable task) {
+        plugin.getServer().getScheduler().runTask(plugin, () -> {
+            if (player.isOnline()) {
+                task.run();
+            }
+        });
+    }
+    
+    /**
+     * Führt {@code action} mit dem Bankkonto des Spielers auf dem Main-Thread aus.
+     * Bei einem Cache-Miss wird das Konto asynchron geladen, der Tick wird nie blockiert.
+     */
+    private void withAccount(Player player, Consumer<BankAccountCache.Account> action) {
+        CompletableFuture<BankAccountCache.Account> future = bankManager.getAccountAsync(player.getUniqueId());
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            action.accept(future.join());
             return;
         }
         
-        if (bankManager.payLoan(player.getUniqueId(), amount)) {
-            plugin.getMessageManager().sendMessage(player, "bank.payloan-success",
-                "amount", plugin.getEconomyManager().formatBalance(amount));
-            plugin.getSoundManager().playSound(player, "money.send");
-        } else {
-            plugin.getMessageManager().sendMessage(player, "bank.payloan-failed");
-        }
+        future.whenComplete((account, error) -> runSync(player, () -> {
+            if (error != null) {
+                plugin.getMessageManager().sendErrorMessage(player, "error.unexpected");
+                return;
+            }
+            action.accept(account);
+        }));
     }
     
     private void handleInfo(Player player) {
-        double bankBalance = bankManager.getBankBalance(player.getUniqueId());
-        double pocketBalance = plugin.getEconomyManager().getBalance(player.getUniqueId());
-        
-        plugin.getMessageManager().sendMessage(player, "bank.info-header");
-        plugin.getMessageManager().sendMessage(player, "bank.balance-info",
-            "bank-balance", plugin.getEconomyManager().formatBalance(bankBalance),
-            "pocket-balance", plugin.getEconomyManager().formatBalance(pocketBalance));
-        
-        BankManager.LoanInfo loanInfo = bankManager.getLoanInfo(player.getUniqueId());
-        if (loanInfo != null) {
-            plugin.getMessageManager().sendMessage(player, "bank.loan-info",
-                "remaining", plugin.getEconomyManager().formatBalance(loanInfo.getRemainingAmount()),
-                "original", plugin.getEconomyManager().formatBalance(loanInfo.getOriginalAmount()),
-                "due-date", loanInfo.getDueDate().toString());
-        } else {
-            plugin.getMessageManager().sendMessage(player, "bank.no-loan");
-        }
+        withAccount(player, account -> {
+            double pocketBalance = plugin.getEconomyManager().getBalance(player.getUniqueId());
+            
+            plugin.getMessageManager().sendMessage(player, "bank.info-header");
+            plugin.getMessageManager().sendMessage(player, "bank.balance-info",
+                "bank-balance", plugin.getEconomyManager().formatBalance(account.getBalance()),
+                "pocket-balance", plugin.getEconomyManager().formatBalance(pocketBalance));
+            
+            BankManager.LoanInfo loanInfo = account.getLoan();
+            if (loanInfo != null) {
+                plugin.getMessageManager().sendMessage(player, "bank.loan-info",
+                    "remaining", plugin.getEconomyManager().formatBalance(loanInfo.getRemainingAmount()),
+                    "original", plugin.getEconomyManager().formatBalance(loanInfo.getOriginalAmount()),
+                    "due-date", loanInfo.getDueDate().toString());
+            } else {
+                plugin.getMessageManager().sendMessage(player, "bank.no-loan");
+            }
+        });
     }
     
     private void showHelp(Player player) {
@@ -73,14 +73,16 @@ public class BidCommand implements CommandExecutor, TabCompleter {
             }
             
             // Gebot abgeben (vereinfacht - direkt kaufen)
-            if (plugin.getAuctionManager().buyAuction(player, auctionId)) {
-                plugin.getSoundManager().playSuccessSound(player);
-                plugin.getMessageManager().sendMessage(player, "auction.bid-success",
-                    "item", getItemDisplayName(auction.getItem()),
-                    "amount", plugin.getEconomyManager().formatBalance(bidAmount));
-            } else {
-                plugin.getSoundManager().playErrorSound(player);
-            }
+            plugin.getAuctionManager().buyAuction(player, auctionId, success -> {
+                if (success) {
+                    plugin.getSoundManager().playSuccessSound(player);
+                    plugin.getMessageManager().sendMessage(player, "auction.bid-success",
+                        "item", getItemDisplayName(auction.getItem()),
+                        "amount", plugin.getEconomyManager().formatBalance(bidAmount));
+                } else {
+                    plugin.getSoundManager().playErrorSound(player);
+                }
+            });
             
         } catch (NumberFormatException e) {
             plugin.getMessageManager().sendMessage(player, "auction.invalid-amount");
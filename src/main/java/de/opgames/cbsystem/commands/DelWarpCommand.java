@@ -4,9 +4,12 @@ import de.opgames.cbsystem.CBSystem;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
-import org.bukkit.entity.Player;
+import org.bukkit.command.TabCompleter;
 
-public class DelWarpCommand implements CommandExecutor {
+import java.util.ArrayList;
+import java.util.List;
+
+public class DelWarpCommand implements CommandExecutor, TabCompleter {
     
     private final CBSystem plugin;
     
@@ -28,10 +31,27 @@ public class DelWarpCommand implements CommandExecutor {
         
         String warpName = args[0].toLowerCase();
         
-        // Hier würde der Warp aus der Datenbank gelöscht werden
+        if (!plugin.getWarpManager().isLoaded()) {
+            plugin.getMessageManager().sendMessage(sender, "warp.loading");
+            return true;
+        }
+        
+        if (!plugin.getWarpManager().deleteWarp(warpName)) {
+            plugin.getMessageManager().sendMessage(sender, "warp.not-found", "name", warpName);
+            return true;
+        }
+        
         plugin.getMessageManager().sendMessage(sender, "warp.deleted", "name", warpName);
         plugin.getLogger().info("Warp '" + warpName + "' wurde von " + sender.getName() + " gelöscht.");
         
         return true;
     }
+    
+    @Override
+    public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
+        if (args.length == 1 && sender.hasPermission("cbsystem.admin.delwarp")) {
+            return plugin.getWarpManager().completeNames(args[0], 50);
+        }
+        return new ArrayList<>();
+    }
 }
@@ -1,6 +1,8 @@
 package de.opgames.cbsystem.commands;
 
 import de.opgames.cbsystem.CBSystem;
+import de.opgames.cbsystem.data.PlayerData;
+import de.opgames.cbsystem.economy.BalanceLeaderboard;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
@@ -12,7 +14,8 @@ import org.bukkit.entity.Player;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class EcoCommand implements CommandExecutor, TabCompleter {
@@ -61,12 +64,6 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        OfflinePlayer target = Bukkit.getOfflinePlayer(args[1]);
-        if (!target.hasPlayedBefore() && !target.isOnline()) {
-            plugin.getMessageManager().sendMessage(sender, "general.player-not-found", "player", args[1]);
-            return;
-        }
-        
         double amount;
         try {
             amount = Double.parseDouble(args[2]);
@@ -79,27 +76,31 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        // Geld hinzufügen
-        plugin.getEconomyManager().addBalance(target.getUniqueId(), amount, 
-            "Admin-Befehl: Geld hinzugefügt von " + sender.getName());
-        
-        double newBalance = plugin.getEconomyManager().getBalance(target.getUniqueId());
-        
-        plugin.getMessageManager().sendMessage(sender, "money.eco.gave-money",
-            "player", target.getName(),
-            "amount", plugin.getEconomyManager().formatBalance(amount),
-            "balance", plugin.getEconomyManager().formatBalance(newBalance));
-        
-        // Ziel-Spieler benachrichtigen (wenn online)
-        if (target.isOnline()) {
-            plugin.getMessageManager().sendMessage((Player) target, "money.eco.received-money",
+        // Offline-Ziele werden asynchron geladen, der Rest läuft wieder auf dem Main-Thread
+        withTarget(sender, args[1], target -> {
+            // Geld hinzufügen
+            plugin.getEconomyManager().addBalance(target.getUniqueId(), amount, 
+                "Admin-Befehl: Geld hinzugefügt von " + sender.getName());
+            
+            double newBalance = plugin.getEconomyManager().getBalance(target.getUniqueId());
+            
+            plugin.getMessageManager().sendMessage(sender, "money.eco.gave-money",
+                "player", target.getName(),
                 "amount", plugin.getEconomyManager().formatBalance(amount),
-                "admin", sender.getName());
-        }
-        
-        plugin.getLogger().info(sender.getName() + " gab " + target.getName() + " " + 
-            plugin.getEconomyManager().formatBalance(amount) + " (Neuer Kontostand: " + 
-            plugin.getEconomyManager().formatBalance(newBalance) + ")");
+                "balance", plugin.getEconomyManager().formatBalance(newBalance));
+            
+            // Ziel-Spieler benachrichtigen (wenn online)
+            Player onlineTarget = target.getPlayer();
+            if (onlineTarget != null) {
+                plugin.getMessageManager().sendMessage(onlineTarget, "money.eco.received-money",
+                    "amount", plugin.getEconomyManager().formatBalance(amount),
+                    "admin", sender.getName());
+            }
+            
+            plugin.getLogger().info(sender.getName() + " gab " + target.getName() + " " + 
+                plugin.getEconomyManager().formatBalance(amount) + " (Neuer Kontostand: " + 
+                plugin.getEconomyManager().formatBalance(newBalance) + ")");
+        });
     }
     
     private void handleTake(CommandSender sender, String[] args) {
@@ -108,12 +109,6 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        OfflinePlayer target = Bukkit.getOfflinePlayer(args[1]);
-        if (!target.hasPlayedBefore() && !target.isOnline()) {
-            plugin.getMessageManager().sendMessage(sender, "general.player-not-found", "player", args[1]);
-            return;
-        }
-        
         double amount;
         try {
             amount = Double.parseDouble(args[2]);
@@ -126,36 +121,37 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        double currentBalance = plugin.getEconomyManager().getBalance(target.getUniqueId());
-        if (currentBalance < amount) {
-            plugin.getMessageManager().sendMessage(sender, "money.eco.insufficient-funds",
+        // Offline-Ziele werden asynchron geladen, der Rest läuft wieder auf dem Main-Thread
+        withTarget(sender, args[1], target -> {
+            // Geld entziehen - die Abbuchung prüft das Guthaben atomar
+            if (!plugin.getEconomyManager().withdrawBalance(target.getUniqueId(), amount, 
+                    "Admin-Befehl: Geld entzogen von " + sender.getName())) {
+                plugin.getMessageManager().sendMessage(sender, "money.eco.insufficient-funds",
+                    "player", target.getName(),
+                    "amount", plugin.getEconomyManager().formatBalance(amount),
+                    "balance", plugin.getEconomyManager().formatBalance(plugin.getEconomyManager().getBalance(target.getUniqueId())));
+                return;
+            }
+            
+            double newBalance = plugin.getEconomyManager().getBalance(target.getUniqueId());
+            
+            plugin.getMessageManager().sendMessage(sender, "money.eco.took-money",
                 "player", target.getName(),
                 "amount", plugin.getEconomyManager().formatBalance(amount),
-                "balance", plugin.getEconomyManager().formatBalance(currentBalance));
-            return;
-        }
-        
-        // Geld entziehen
-        plugin.getEconomyManager().withdrawBalance(target.getUniqueId(), amount, 
-            "Admin-Befehl: Geld entzogen von " + sender.getName());
-        
-        double newBalance = plugin.getEconomyManager().getBalance(target.getUniqueId());
-        
-        plugin.getMessageManager().sendMessage(sender, "money.eco.took-money",
-            "player", target.getName(),
-            "amount", plugin.getEconomyManager().formatBalance(amount),
-            "balance", plugin.getEconomyManager().formatBalance(newBalance));
-        
-        // Ziel-Spieler benachrichtigen (wenn online)
-        if (target.isOnline()) {
-            plugin.getMessageManager().sendMessage((Player) target, "money.eco.money-taken",
-                "amount", plugin.getEconomyManager().formatBalance(amount),
-                "admin", sender.getName());
-        }
-        
-        plugin.getLogger().info(sender.getName() + " nahm " + target.getName() + " " + 
-            plugin.getEconomyManager().formatBalance(amount) + " (Neuer Kontostand: " + 
-            plugin.getEconomyManager().formatBalance(newBalance) + ")");
+                "balance", plugin.getEconomyManager().formatBalance(newBalance));
+            
+            // Ziel-Spieler benachrichtigen (wenn online)
+            Player onlineTarget = target.getPlayer();
+            if (onlineTarget != null) {
+                plugin.getMessageManager().sendMessage(onlineTarget, "money.eco.money-taken",
+                    "amount", plugin.getEconomyManager().formatBalance(amount),
+                    "admin", sender.getName());
+            }
+            
+            plugin.getLogger().info(sender.getName() + " nahm " + target.getName() + " " + 
+                plugin.getEconomyManager().formatBalance(amount) + " (Neuer Kontostand: " + 
+                plugin.getEconomyManager().formatBalance(newBalance) + ")");
+        });
     }
     
     private void handleSet(CommandSender sender, String[] args) {
@@ -164,12 +160,6 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        OfflinePlayer target = Bukkit.getOfflinePlayer(args[1]);
-        if (!target.hasPlayedBefore() && !target.isOnline()) {
-            plugin.getMessageManager().sendMessage(sender, "general.player-not-found", "player", args[1]);
-            return;
-        }
-        
         double amount;
         try {
             amount = Double.parseDouble(args[2]);
@@ -182,23 +172,27 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        // Geld setzen
-        plugin.getEconomyManager().setBalance(target.getUniqueId(), amount, 
-            "Admin-Befehl: Kontostand gesetzt von " + sender.getName());
-        
-        plugin.getMessageManager().sendMessage(sender, "money.set-money",
-            "player", target.getName(),
-            "amount", plugin.getEconomyManager().formatBalance(amount));
-        
-        // Ziel-Spieler benachrichtigen (wenn online)
-        if (target.isOnline()) {
-            plugin.getMessageManager().sendMessage((Player) target, "money.eco.balance-set",
-                "amount", plugin.getEconomyManager().formatBalance(amount),
-                "admin", sender.getName());
-        }
-        
-        plugin.getLogger().info(sender.getName() + " setzte " + target.getName() + "s Kontostand auf " + 
-            plugin.getEconomyManager().formatBalance(amount));
+        // Offline-Ziele werden asynchron geladen, der Rest läuft wieder auf dem Main-Thread
+        withTarget(sender, args[1], target -> {
+            // Geld setzen
+            plugin.getEconomyManager().setBalance(target.getUniqueId(), amount, 
+                "Admin-Befehl: Kontostand gesetzt von " + sender.getName());
+            
+            plugin.getMessageManager().sendMessage(sender, "money.set-money",
+                "player", target.getName(),
+                "amount", plugin.getEconomyManager().formatBalance(amount));
+            
+            // Ziel-Spieler benachrichtigen (wenn online)
+            Player onlineTarget = target.getPlayer();
+            if (onlineTarget != null) {
+                plugin.getMessageManager().sendMessage(onlineTarget, "money.eco.balance-set",
+                    "amount", plugin.getEconomyManager().formatBalance(amount),
+                    "admin", sender.getName());
+            }
+            
+            plugin.getLogger().info(sender.getName() + " setzte " + target.getName() + "s Kontostand auf " + 
+                plugin.getEconomyManager().formatBalance(amount));
+        });
     }
     
     private void handleReset(CommandSender sender, String[] args) {
@@ -207,64 +201,83 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        OfflinePlayer target = Bukkit.getOfflinePlayer(args[1]);
-        if (!target.hasPlayedBefore() && !target.isOnline()) {
-            plugin.getMessageManager().sendMessage(sender, "general.player-not-found", "player", args[1]);
-            return;
-        }
-        
-        double startingBalance = plugin.getConfigManager().getStartingBalance();
-        
-        // Kontostand zurücksetzen
-        plugin.getEconomyManager().setBalance(target.getUniqueId(), startingBalance, 
-            "Admin-Befehl: Kontostand zurückgesetzt von " + sender.getName());
-        
-        plugin.getMessageManager().sendMessage(sender, "money.eco.reset-money",
-            "player", target.getName(),
-            "amount", plugin.getEconomyManager().formatBalance(startingBalance));
-        
-        // Ziel-Spieler benachrichtigen (wenn online)
-        if (target.isOnline()) {
-            plugin.getMessageManager().sendMessage((Player) target, "money.eco.balance-reset",
-                "amount", plugin.getEconomyManager().formatBalance(startingBalance),
-                "admin", sender.getName());
-        }
-        
-        plugin.getLogger().info(sender.getName() + " setzte " + target.getName() + "s Kontostand zurück auf " + 
-            plugin.getEconomyManager().formatBalance(startingBalance));
+        // Offline-Ziele werden asynchron geladen, der Rest läuft wieder auf dem Main-Thread
+        withTarget(sender, args[1], target -> {
+            double startingBalance = plugin.getConfigManager().getStartingBalance();
+            
+            // Kontostand zurücksetzen
+            plugin.getEconomyManager().setBalance(target.getUniqueId(), startingBalance, 
+                "Admin-Befehl: Kontostand zurückgesetzt von " + sender.getName());
+            
+            plugin.getMessageManager().sendMessage(sender, "money.eco.reset-money",
+                "player", target.getName(),
+                "amount", plugin.getEconomyManager().formatBalance(startingBalance));
+            
+            // Ziel-Spieler benachrichtigen (wenn online)
+            Player onlineTarget = target.getPlayer();
+            if (onlineTarget != null) {
+                plugin.getMessageManager().sendMessage(onlineTarget, "money.eco.balance-reset",
+                    "amount", plugin.getEconomyManager().formatBalance(startingBalance),
+                    "admin", sender.getName());
+            }
+            
+            plugin.getLogger().info(sender.getName() + " setzte " + target.getName() + "s Kontostand zurück auf " + 
+                plugin.getEconomyManager().formatBalance(startingBalance));
+        });
     }
     
     private void handleBalance(CommandSender sender, String[] args) {
-        OfflinePlayer target;
+        String targetName;
         
         if (args.length >= 2) {
-            target = Bukkit.getOfflinePlayer(args[1]);
-            if (!target.hasPlayedBefore() && !target.isOnline()) {
-                plugin.getMessageManager().sendMessage(sender, "general.player-not-found", "player", args[1]);
-                return;
-            }
+            targetName = args[1];
         } else if (sender instanceof Player) {
-            target = (Player) sender;
+            targetName = sender.getName();
         } else {
             plugin.getMessageManager().sendMessage(sender, "money.eco.balance-usage");
             return;
         }
         
-        double balance = plugin.getEconomyManager().getBalance(target.getUniqueId());
-        
-        if (target.getUniqueId().equals(((Player) sender).getUniqueId())) {
-            plugin.getMessageManager().sendMessage(sender, "money.balance",
-                "balance", plugin.getEconomyManager().formatBalance(balance));
-        } else {
-            plugin.getMessageManager().sendMessage(sender, "money.balance-other",
-                "player", target.getName(),
-                "balance", plugin.getEconomyManager().formatBalance(balance));
-        }
+        withTarget(sender, targetName, target -> {
+            double balance = plugin.getEconomyManager().getBalance(target.getUniqueId());
+            
+            if (sender instanceof Player player && target.getUniqueId().equals(player.getUniqueId())) {
+                plugin.getMessageManager().sendMessage(sender, "money.balance",
+                    "balance", plugin.getEconomyManager().formatBalance(balance));
+            } else {
+                plugin.getMessageManager().sendMessage(sender, "money.balance-other",
+                    "player", target.getName(),
+                    "balance", plugin.getEconomyManager().formatBalance(balance));
+            }
+        });
     }
     
     private void handleTop(CommandSender sender, String[] args) {
-        plugin.getMessageManager().sendMessage(sender, "money.eco.top-coming-soon");
-        // TODO: Implementiere Top-Balance Liste aus der Datenbank
+        int count = 10;
+        if (args.length >= 2) {
+            try {
+                count = Math.max(1, Math.min(100, Integer.parseInt(args[1])));
+            } catch (NumberFormatException e) {
+                plugin.getMessageManager().sendMessage(sender, "money.eco.top-usage");
+                return;
+            }
+        }
+        
+        // Reichenliste aus dem Speicher, ohne Datenbankabfrage
+        List<BalanceLeaderboard.Entry> top = plugin.getEconomyManager().getLeaderboard().getTop(count);
+        if (top.isEmpty()) {
+            plugin.getMessageManager().sendMessage(sender, "money.eco.top-empty");
+            return;
+        }
+        
+        plugin.getMessageManager().sendRawMessage(sender, "money.eco.top-header");
+        int position = 1;
+        for (BalanceLeaderboard.Entry entry : top) {
+            plugin.getMessageManager().sendRawMessage(sender, "money.eco.top-entry",
+                "position", String.valueOf(position++),
+                "player", entry.getName(),
+                "balance", plugin.getEconomyManager().formatBalance(entry.getBalance()));
+        }
     }
     
     private void handleReload(CommandSender sender) {
@@ -272,6 +285,33 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
         plugin.getMessageManager().sendMessage(sender, "money.eco.config-reloaded");
     }
     
+    /**
+     * Löst den Ziel-Spieler auf und stellt sicher, dass seine Daten geladen sind.
+     * Name und Daten unbekannter Offline-Spieler werden asynchron aus der Datenbank geholt
+     * (keine blockierende Profil-Abfrage über Mojang); {@code action} läuft immer auf dem Main-Thread.
+     */
+    private void withTarget(CommandSender sender, String name, Consumer<OfflinePlayer> action) {
+        CompletableFuture<PlayerData> load = plugin.getPlayerDataManager().findPlayerUuidAsync(name)
+            .thenCompose(uuid -> uuid != null
+                ? plugin.getPlayerDataManager().loadPlayerDataAsync(uuid)
+                : CompletableFuture.completedFuture(null));
+        Runnable complete = () -> {
+            PlayerData playerData = load.join();
+            if (playerData == null) {
+                plugin.getMessageManager().sendMessage(sender, "general.player-not-found", "player", name);
+                return;
+            }
+            // Mit bekannter UUID ohne Netzwerkzugriff
+            action.accept(Bukkit.getOfflinePlayer(playerData.getUuid()));
+        };
+        
+        if (load.isDone()) {
+            complete.run();
+        } else {
+            load.thenRun(() -> plugin.getServer().getScheduler().runTask(plugin, complete));
+        }
+    }
+    
     private void showHelp(CommandSender sender) {
         plugin.getMessageManager().sendRawMessage(sender, "&6&l=== Economy Befehle ===");
         plugin.getMessageManager().sendRawMessage(sender, "&e/eco give <spieler> <betrag> &7- Gib Spieler Geld");
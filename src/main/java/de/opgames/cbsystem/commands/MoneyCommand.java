@@ -2,6 +2,7 @@ package de.opgames.cbsystem.commands;
 
 import de.opgames.cbsystem.CBSystem;
 import de.opgames.cbsystem.data.PlayerData;
+import de.opgames.cbsystem.economy.BalanceLeaderboard;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -87,25 +88,19 @@ public class MoneyCommand implements CommandExecutor, TabCompleter {
             return;
         }
         
-        // Debug: Überprüfe ob Spielerdaten existieren
+        // Daten werden noch geladen (z.B. direkt nach dem Join) - ohne Abfrage auf dem Main-Thread warten
         var playerData = plugin.getPlayerDataManager().getPlayerData(target.getUniqueId());
         if (playerData == null) {
-            plugin.getLogger().warning("PlayerData für " + target.getName() + " ist null!");
-            viewer.sendMessage("§cFehler: Spielerdaten nicht gefunden! Versuche neu zu laden...");
-            
-            // Versuche Spielerdaten synchron neu zu laden
-            boolean loaded = plugin.getPlayerDataManager().loadPlayerDataSync(target);
-            if (loaded) {
-                // Daten erfolgreich geladen, zeige Balance
-                double balance = plugin.getEconomyManager().getBalance(target.getUniqueId());
-                plugin.getMessageManager().sendMessage(viewer, "money.balance", 
-                    "balance", plugin.getEconomyManager().formatBalance(balance));
-                plugin.getSoundManager().playClickSound(viewer);
-                return;
-            } else {
-                viewer.sendMessage("§cFehler: Spielerdaten konnten nicht geladen werden!");
-                return;
-            }
+            plugin.getPlayerDataManager().loadPlayerData(target).thenAccept(loaded ->
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    if (!viewer.isOnline()) return;
+                    if (loaded == null) {
+                        viewer.sendMessage("§cFehler: Spielerdaten konnten nicht geladen werden!");
+                        return;
+                    }
+                    showBalance(viewer, target);
+                }));
+            return;
         }
         
         double balance = plugin.getEconomyManager().getBalance(target.getUniqueId());
@@ -137,21 +132,21 @@ public class MoneyCommand implements CommandExecutor, TabCompleter {
     }
     
     private void showTopList(CommandSender sender) {
-        // Vereinfachte Top-Liste (normalerweise aus Datenbank)
-        sender.sendMessage(plugin.getMessageManager().colorize("&6&l=== Reichste Spieler ==="));
+        // Reichenliste aus dem Speicher, ohne Datenbankabfrage
+        List<BalanceLeaderboard.Entry> top = plugin.getEconomyManager().getLeaderboard().getTop(10);
+        if (top.isEmpty()) {
+            plugin.getMessageManager().sendMessage(sender, "money.eco.top-empty");
+            return;
+        }
         
-        List<Player> onlinePlayers = new ArrayList<>(plugin.getServer().getOnlinePlayers());
-        onlinePlayers.sort((p1, p2) -> Double.compare(
-            plugin.getEconomyManager().getBalance(p2.getUniqueId()),
-            plugin.getEconomyManager().getBalance(p1.getUniqueId())
-        ));
+        plugin.getMessageManager().sendRawMessage(sender, "money.eco.top-header");
         
         int rank = 1;
-        for (Player player : onlinePlayers.subList(0, Math.min(10, onlinePlayers.size()))) {
-            double balance = plugin.getEconomyManager().getBalance(player.getUniqueId());
-            sender.sendMessage(plugin.getMessageManager().colorize(
-                "&e" + rank + ". &a" + player.getName() + " &7- &6" + 
-                plugin.getEconomyManager().formatBalance(balance)));
+        for (BalanceLeaderboard.Entry entry : top) {
+            plugin.getMessageManager().sendRawMessage(sender, "money.eco.top-entry",
+                "position", String.valueOf(rank),
+                "player", entry.getName(),
+                "balance", plugin.getEconomyManager().formatBalance(entry.getBalance()));
             rank++;
         }
         
@@ -33,7 +33,22 @@ public class SetWarpCommand implements CommandExecutor {
         
         String warpName = args[0].toLowerCase();
         
-        // Hier würde der Warp in die Datenbank gespeichert werden
+        if (!plugin.getWarpManager().isValidName(warpName)) {
+            plugin.getMessageManager().sendErrorMessage(player, "warp.invalid-name", "name", warpName);
+            return true;
+        }
+        
+        if (!plugin.getWarpManager().isLoaded()) {
+            plugin.getMessageManager().sendErrorMessage(player, "warp.loading");
+            return true;
+        }
+        
+        // Sofort im Speicher verfügbar, gespeichert wird asynchron
+        if (!plugin.getWarpManager().createWarp(warpName, player.getLocation(), player.getUniqueId())) {
+            plugin.getMessageManager().sendErrorMessage(player, "warp.already-exists", "name", warpName);
+            return true;
+        }
+        
         plugin.getMessageManager().sendSuccessMessage(player, "warp.set", "name", warpName);
         plugin.getLogger().info("Warp '" + warpName + "' wurde von " + player.getName() + " gesetzt.");
         
@@ -1,6 +1,7 @@
 package de.opgames.cbsystem.commands;
 
 import de.opgames.cbsystem.CBSystem;
+import de.opgames.cbsystem.warp.Warp;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -8,11 +9,12 @@ import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 public class WarpCommand implements CommandExecutor, TabCompleter {
     
+    private static final int MAX_COMPLETIONS = 50;
+    
     private final CBSystem plugin;
     
     public WarpCommand(CBSystem plugin) {
@@ -56,42 +58,36 @@ public class WarpCommand implements CommandExecutor, TabCompleter {
     }
     
     private void teleportToWarp(Player player, String warpName) {
-        // Hier würde normalerweise die Warp-Location aus der Datenbank geladen werden
-        org.bukkit.Location warpLocation = getWarpLocation(warpName);
+        Warp warp = plugin.getWarpManager().getWarp(warpName);
+        org.bukkit.Location warpLocation = warp != null ? warp.getLocation() : null;
         
         if (warpLocation == null) {
             plugin.getMessageManager().sendMessage(player, "warp.not-found", "name", warpName);
             return;
         }
         
-        plugin.getTeleportManager().startTeleport(player, warpLocation, "Warp: " + warpName);
-        plugin.getMessageManager().sendMessage(player, "warp.teleporting", "name", warpName);
-    }
-    
-    private org.bukkit.Location getWarpLocation(String warpName) {
-        // Standard-Warp-Locations (würden normalerweise aus der Datenbank kommen)
-        org.bukkit.World world = plugin.getServer().getWorld("world");
-        if (world == null) return null;
+        if (!warp.canUse(player)) {
+            plugin.getMessageManager().sendErrorMessage(player, "general.no-permission");
+            return;
+        }
         
-        return switch (warpName) {
-            case "spawn" -> new org.bukkit.Location(world, 0.5, 100, 0.5);
-            case "shop" -> new org.bukkit.Location(world, 50.5, 100, 50.5);
-            default -> null;
-        };
+        plugin.getTeleportManager().startTeleport(player, warpLocation, "Warp: " + warp.getName());
+        plugin.getMessageManager().sendMessage(player, "warp.teleporting", "name", warp.getDisplayName());
     }
     
     private void showWarpList(Player player) {
         plugin.getMessageManager().sendMessage(player, "warp.list-header");
         
-        List<String> warps = Arrays.asList("spawn", "shop");
+        List<Warp> warps = plugin.getWarpManager().getWarps();
         
         if (warps.isEmpty()) {
             plugin.getMessageManager().sendMessage(player, "warp.list-empty");
             return;
         }
         
-        for (String warp : warps) {
-            plugin.getMessageManager().sendRawMessage(player, "&e" + warp + " &7- Verfügbar");
+        for (Warp warp : warps) {
+            plugin.getMessageManager().sendMessage(player, "warp.list-entry",
+                "name", warp.getDisplayName(), "world", warp.getWorldName());
         }
         
         plugin.getSoundManager().playClickSound(player);
@@ -102,12 +98,9 @@ public class WarpCommand implements CommandExecutor, TabCompleter {
         List<String> completions = new ArrayList<>();
         
         if (args.length == 1) {
-            List<String> warps = Arrays.asList("spawn", "shop", "list");
-            
-            for (String warp : warps) {
-                if (warp.toLowerCase().startsWith(args[0].toLowerCase())) {
-                    completions.add(warp);
-                }
+            completions.addAll(plugin.getWarpManager().completeNames(args[0], MAX_COMPLETIONS));
+            if ("list".startsWith(args[0].toLowerCase())) {
+                completions.add("list");
             }
         }
         
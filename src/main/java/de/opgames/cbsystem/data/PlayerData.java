@@ -1,30 +1,41 @@
 package de.opgames.cbsystem.data;
 
+import de.opgames.cbsystem.economy.BalanceLedger;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 
 import java.sql.Timestamp;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class PlayerData {
     
     private final UUID uuid;
     private String name;
-    private double balance;
+    // Guthaben in Cents, wird per CAS vom BalanceLedger verändert
+    private final AtomicLong balanceCents;
     private final Timestamp firstJoin;
     private Timestamp lastSeen;
     private long playTime;
     
     // Homes
-    private final Map<String, HomeLocation> homes = new HashMap<>();
+    private final Map<String, HomeLocation> homes = new ConcurrentHashMap<>();
     
-    // Back-Locations
-    private final List<BackLocation> backLocations = new ArrayList<>();
+    // Back-Locations als Ringpuffer (neueste zuerst), jede belegt einen festen Slot in cb_back_history
+    private final ArrayDeque<BackLocation> backLocations = new ArrayDeque<>();
+    private int backCapacity = 10;
+    private int nextBackSlot;
     
     // TPA-Anfragen
     private final List<TPARequest> tpaRequests = new ArrayList<>();
@@ -32,10 +43,15 @@ public class PlayerData {
     // Cooldowns
     private final Map<String, Long> cooldowns = new HashMap<>();
     
+    // Dirty-Tracking für den Write-Behind-Flusher
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private final Set<String> changedHomes = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<BackLocation> changedBackLocations = new ConcurrentLinkedQueue<>();
+    
     public PlayerData(UUID uuid, String name, double balance, Timestamp firstJoin, Timestamp lastSeen, long playTime) {
         this.uuid = uuid;
         this.name = name;
-        this.balance = balance;
+        this.balanceCents = new AtomicLong(Math.max(0, BalanceLedger.toCents(balance)));
         this.firstJoin = firstJoin != null ? firstJoin : new Timestamp(System.currentTimeMillis());
         this.lastSeen = lastSeen != null ? lastSeen : new Timestamp(System.currentTimeMillis());
         this.playTime = playTime;
@@ -44,21 +60,76 @@ public class PlayerData {
     // Getter und Setter
     public UUID getUuid() { return uuid; }
     public String getName() { return name; }
-    public void setName(String name) { this.name = name; }
+    public void setName(String name) {
+        if (!name.equals(this.name)) {
+            this.name = name;
+            markDirty();
+        }
+    }
     
-    public double getBalance() { return balance; }
-    public void setBalance(double balance) { this.balance = Math.max(0, balance); }
-    public void addBalance(double amount) { setBalance(balance + amount); }
-    public void subtractBalance(double amount) { setBalance(balance - amount); }
-    public boolean hasBalance(double amount) { return balance >= amount; }
+    public double getBalance() { return BalanceLedger.fromCents(balanceCents.get()); }
+    public long getBalanceCents() { return balanceCents.get(); }
+    public void setBalance(double balance) { getAndSetBalanceCents(Math.max(0, BalanceLedger.toCents(balance))); }
+    public void addBalance(double amount) { depositCents(BalanceLedger.toCents(amount), Long.MAX_VALUE); }
+    public void subtractBalance(double amount) {
+        long cents = BalanceLedger.toCents(amount);
+        balanceCents.getAndUpdate(current -> Math.max(0, current - cents));
+        markDirty();
+    }
+    public boolean hasBalance(double amount) { return balanceCents.get() >= BalanceLedger.toCents(amount); }
+    
+    public long getAndSetBalanceCents(long cents) {
+        long previous = balanceCents.getAndSet(cents);
+        markDirty();
+        return previous;
+    }
+    
+    /**
+     * Bucht atomar ab, wenn das Guthaben ausreicht
+     */
+    public boolean tryWithdrawCents(long cents) {
+        long current;
+        do {
+            current = balanceCents.get();
+            if (current < cents) return false;
+        } while (!balanceCents.compareAndSet(current, current - cents));
+        markDirty();
+        return true;
+    }
+    
+    /**
+     * Bucht atomar auf, begrenzt auf {@code capCents}
+     *
+     * @return tatsächlich gutgeschriebene Cents
+     */
+    public long depositCents(long cents, long capCents) {
+        long current, updated;
+        do {
+            current = balanceCents.get();
+            updated = Math.max(current, Math.min(capCents, saturatedAdd(current, cents)));
+        } while (!balanceCents.compareAndSet(current, updated));
+        markDirty();
+        return updated - current;
+    }
+    
+    private static long saturatedAdd(long a, long b) {
+        long result = a + b;
+        return ((a ^ result) & (b ^ result)) < 0 ? Long.MAX_VALUE : result;
+    }
     
     public Timestamp getFirstJoin() { return firstJoin; }
     public Timestamp getLastSeen() { return lastSeen; }
-    public void setLastSeen(Timestamp lastSeen) { this.lastSeen = lastSeen; }
+    public void setLastSeen(Timestamp lastSeen) {
+        this.lastSeen = lastSeen;
+        markDirty();
+    }
     
     public long getPlayTime() { return playTime; }
-    public void setPlayTime(long playTime) { this.playTime = playTime; }
-    public void addPlayTime(long time) { this.playTime += time; }
+    public void setPlayTime(long playTime) {
+        this.playTime = playTime;
+        markDirty();
+    }
+    public void addPlayTime(long time) { setPlayTime(playTime + time); }
     
     // Home-Management
     public Map<String, HomeLocation> getHomes() { return new HashMap<>(homes); }
@@ -72,7 +143,9 @@ public class PlayerData {
     }
     
     public void addHome(String name, String world, double x, double y, double z, float yaw, float pitch) {
-        homes.put(name.toLowerCase(), new HomeLocation(name, world, x, y, z, yaw, pitch));
+        String key = name.toLowerCase();
+        homes.put(key, new HomeLocation(name, world, x, y, z, yaw, pitch));
+        changedHomes.add(key);
     }
     
     public void addHome(String name, Location location) {
@@ -81,7 +154,12 @@ public class PlayerData {
     }
     
     public boolean removeHome(String name) {
-        return homes.remove(name.toLowerCase()) != null;
+        String key = name.toLowerCase();
+        if (homes.remove(key) == null) {
+            return false;
+        }
+        changedHomes.add(key);
+        return true;
     }
     
     public int getHomeCount() {
@@ -89,18 +167,40 @@ public class PlayerData {
     }
     
     // Back-Location-Management
-    public List<BackLocation> getBackLocations() { return new ArrayList<>(backLocations); }
+    public List<BackLocation> getBackLocations() {
+        synchronized (backLocations) {
+            return new ArrayList<>(backLocations);
+        }
+    }
     
     public BackLocation getLastBackLocation() {
-        return backLocations.isEmpty() ? null : backLocations.get(0);
+        synchronized (backLocations) {
+            return backLocations.peekFirst();
+        }
+    }
+    
+    /**
+     * Setzt die Größe des Ringpuffers ({@code back.max-locations}), vor dem Laden der Back-Locations
+     */
+    public void setBackCapacity(int capacity) {
+        synchronized (backLocations) {
+            this.backCapacity = Math.max(1, capacity);
+        }
     }
     
     public void addBackLocation(String world, double x, double y, double z, float yaw, float pitch, String reason) {
-        backLocations.add(0, new BackLocation(world, x, y, z, yaw, pitch, reason, System.currentTimeMillis()));
-        
-        // Begrenze die Anzahl der Back-Locations
-        if (backLocations.size() > 10) {
-            backLocations.subList(10, backLocations.size()).clear();
+        BackLocation backLocation;
+        synchronized (backLocations) {
+            // Der neue Eintrag überschreibt den Slot des ältesten
+            backLocation = new BackLocation(nextBackSlot, world, x, y, z, yaw, pitch, reason, System.currentTimeMillis());
+            nextBackSlot = (nextBackSlot + 1) % backCapacity;
+            
+            backLocations.addFirst(backLocation);
+            while (backLocations.size() > backCapacity) {
+                backLocations.pollLast();
+            }
+            // Unter derselben Sperre, damit markBackLocationsChanged die Reihenfolge erhalten kann
+            changedBackLocations.add(backLocation);
         }
     }
     
@@ -109,6 +209,21 @@ public class PlayerData {
                        location.getZ(), location.getYaw(), location.getPitch(), reason);
     }
     
+    /**
+     * Übernimmt eine gespeicherte Back-Location beim Laden (in absteigender Zeitfolge aufrufen)
+     */
+    public void restoreBackLocation(BackLocation backLocation) {
+        synchronized (backLocations) {
+            if (backLocations.size() >= backCapacity) {
+                return;
+            }
+            if (backLocations.isEmpty()) {
+                nextBackSlot = (backLocation.getSlot() + 1) % backCapacity;
+            }
+            backLocations.addLast(backLocation);
+        }
+    }
+    
     // TPA-Request-Management
     public List<TPARequest> getTpaRequests() { return new ArrayList<>(tpaRequests); }
     
@@ -164,6 +279,76 @@ public class PlayerData {
         cooldowns.remove(type);
     }
     
+    // Dirty-Tracking
+    public boolean isDirty() {
+        return dirty.get() || !changedHomes.isEmpty() || !changedBackLocations.isEmpty();
+    }
+    
+    public void markDirty() {
+        dirty.set(true);
+    }
+    
+    /**
+     * Setzt das Dirty-Flag der Spielerzeile zurück und liefert, ob es gesetzt war.
+     * Änderungen nach diesem Aufruf setzen das Flag erneut und werden beim nächsten Flush geschrieben.
+     */
+    public boolean consumeDirty() {
+        return dirty.getAndSet(false);
+    }
+    
+    /**
+     * Entnimmt die Namen aller seit dem letzten Flush geänderten oder gelöschten Homes
+     */
+    public List<String> drainChangedHomes() {
+        List<String> drained = new ArrayList<>();
+        for (String key : changedHomes) {
+            if (changedHomes.remove(key)) {
+                drained.add(key);
+            }
+        }
+        return drained;
+    }
+    
+    public void markHomesChanged(Collection<String> keys) {
+        changedHomes.addAll(keys);
+    }
+    
+    /**
+     * Entnimmt alle seit dem letzten Flush hinzugekommenen Back-Locations
+     */
+    public List<BackLocation> drainChangedBackLocations() {
+        List<BackLocation> drained = new ArrayList<>();
+        BackLocation backLocation;
+        while ((backLocation = changedBackLocations.poll()) != null) {
+            drained.add(backLocation);
+        }
+        return drained;
+    }
+    
+    /**
+     * Reiht Back-Locations nach einem fehlgeschlagenen Flush wieder ein, und zwar vor den
+     * inzwischen hinzugekommenen, damit je Slot weiterhin der neueste Eintrag zuletzt kommt
+     */
+    public void markBackLocationsChanged(Collection<BackLocation> restored) {
+        if (restored.isEmpty()) {
+            return;
+        }
+        synchronized (backLocations) {
+            List<BackLocation> newer = drainChangedBackLocations();
+            changedBackLocations.addAll(restored);
+            changedBackLocations.addAll(newer);
+        }
+    }
+    
+    /**
+     * Markiert die Daten als mit der Datenbank synchron (z.B. direkt nach dem Laden)
+     */
+    public void markClean() {
+        dirty.set(false);
+        changedHomes.clear();
+        changedBackLocations.clear();
+    }
+    
     // Utility-Methoden
     public boolean isOnline() {
         return Bukkit.getPlayer(uuid) != null;
@@ -209,13 +394,15 @@ public class PlayerData {
     }
     
     public static class BackLocation {
+        private final int slot;
         private final String world;
         private final double x, y, z;
         private final float yaw, pitch;
         private final String reason;
         private final long timestamp;
         
-        public BackLocation(String world, double x, double y, double z, float yaw, float pitch, String reason, long timestamp) {
+        public BackLocation(int slot, String world, double x, double y, double z, float yaw, float pitch, String reason, long timestamp) {
+            this.slot = slot;
             this.world = world;
             this.x = x;
             this.y = y;
@@ -226,6 +413,7 @@ public class PlayerData {
             this.timestamp = timestamp;
         }
         
+        public int getSlot() { return slot; }
         public String getWorld() { return world; }
         public double getX() { return x; }
         public double getY() { return y; }
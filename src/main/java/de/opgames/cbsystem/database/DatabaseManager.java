@@ -69,6 +69,8 @@ public class DatabaseManager {
         config.addDataSourceProperty("cacheServerConfiguration", "true");
         config.addDataSourceProperty("elideSetAutoCommits", "true");
         config.addDataSourceProperty("maintainTimeStats", "false");
+        // Join-Laden: Spieler, Homes und Back-Locations in einem Roundtrip
+        config.addDataSourceProperty("allowMultiQueries", "true");
         
         // Pool-Name
         config.setPoolName("CBSystem-HikariCP");
@@ -90,7 +92,8 @@ public class DatabaseManager {
                     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
                     INDEX idx_name (name),
-                    INDEX idx_last_seen (last_seen)
+                    INDEX idx_last_seen (last_seen),
+                    INDEX idx_balance (balance)
                 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
             """);
             
@@ -169,11 +172,11 @@ public class DatabaseManager {
                 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
             """);
             
-            // Back-Locations-Tabelle
+            // Back-Locations als Ringpuffer: ein Slot pro Eintrag, neue Einträge überschreiben den ältesten
             executeUpdate(connection, """
-                CREATE TABLE IF NOT EXISTS cb_back_locations (
-                    id INT AUTO_INCREMENT PRIMARY KEY,
+                CREATE TABLE IF NOT EXISTS cb_back_history (
                     player_uuid VARCHAR(36) NOT NULL,
+                    slot SMALLINT UNSIGNED NOT NULL,
                     world VARCHAR(64) NOT NULL,
                     x DOUBLE NOT NULL,
                     y DOUBLE NOT NULL,
@@ -181,9 +184,8 @@ public class DatabaseManager {
                     yaw FLOAT DEFAULT 0,
                     pitch FLOAT DEFAULT 0,
                     reason VARCHAR(64),
-                    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                    INDEX idx_player_uuid (player_uuid),
-                    INDEX idx_created_at (created_at),
+                    created_at TIMESTAMP(3) NOT NULL,
+                    PRIMARY KEY (player_uuid, slot),
                     FOREIGN KEY (player_uuid) REFERENCES cb_players(uuid) ON DELETE CASCADE
                 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
             """);
@@ -248,7 +250,20 @@ public class DatabaseManager {
                     FOREIGN KEY (buyer_uuid) REFERENCES cb_players(uuid) ON DELETE SET NULL
                 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
             """);
-            
+
+            // Auktions-Postfach (zurückgegebene Items für Offline-Verkäufer)
+            executeUpdate(connection, """
+                CREATE TABLE IF NOT EXISTS cb_auction_mailbox (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    player_uuid VARCHAR(36) NOT NULL,
+                    item_data TEXT NOT NULL,
+                    reason VARCHAR(32) NOT NULL,
+                    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                    INDEX idx_player_uuid (player_uuid),
+                    FOREIGN KEY (player_uuid) REFERENCES cb_players(uuid) ON DELETE CASCADE
+                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+            """);
+
             plugin.getLogger().info("Datenbanktabellen erfolgreich erstellt/aktualisiert!");
         }
     }
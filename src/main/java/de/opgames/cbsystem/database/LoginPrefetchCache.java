@@ -0,0 +1,96 @@
+package de.opgames.cbsystem.database;
+
+import de.opgames.cbsystem.data.PlayerData;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Kurzlebige Übergabe von Spielerdaten, die beim {@code AsyncPlayerPreLoginEvent} vorgeladen wurden,
+ * an den Join. Wird der Login später abgelehnt (Bann, Whitelist, voller Server), verfallen die
+ * Einträge nach {@code performance.prefetch.ttl} Sekunden von selbst. Die Daten sind unverändert
+ * aus der Datenbank gelesen, beim Verfallen muss daher nichts geschrieben werden.
+ */
+public class LoginPrefetchCache {
+
+    private final long ttlMillis;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private volatile long lastSweep = System.currentTimeMillis();
+
+    // Metriken
+    private final AtomicLong handedOver = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+
+    public LoginPrefetchCache(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    public void put(PlayerData playerData) {
+        entries.put(playerData.getUuid(), new Entry(playerData));
+
+        // Verwaiste Einträge abgelehnter Logins nebenbei aufräumen
+        if (System.currentTimeMillis() - lastSweep > ttlMillis) {
+            evictExpired();
+        }
+    }
+
+    /**
+     * Entnimmt vorgeladene Daten (null wenn keine vorhanden oder abgelaufen)
+     */
+    public PlayerData take(UUID uuid) {
+        Entry entry = entries.remove(uuid);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.currentTimeMillis(), ttlMillis)) {
+            expired.incrementAndGet();
+            return null;
+        }
+        handedOver.incrementAndGet();
+        return entry.playerData;
+    }
+
+    /**
+     * Entfernt alle abgelaufenen Einträge
+     *
+     * @return Anzahl der entfernten Einträge
+     */
+    public int evictExpired() {
+        long now = System.currentTimeMillis();
+        lastSweep = now;
+
+        int removed = 0;
+        for (Map.Entry<UUID, Entry> entry : entries.entrySet()) {
+            if (entry.getValue().isExpired(now, ttlMillis) && entries.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        expired.addAndGet(removed);
+        return removed;
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    public String getStatsLine() {
+        return String.format("Login-Prefetch: %d wartend, %d übergeben, %d verfallen",
+            getSize(), handedOver.get(), expired.get());
+    }
+
+    private static class Entry {
+        private final PlayerData playerData;
+        private final long createdAt;
+
+        Entry(PlayerData playerData) {
+            this.playerData = playerData;
+            this.createdAt = System.currentTimeMillis();
+        }
+
+        boolean isExpired(long now, long ttlMillis) {
+            return now - createdAt > ttlMillis;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package de.opgames.cbsystem.database;
+
+import de.opgames.cbsystem.data.PlayerData;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Begrenzter LRU-Cache für Spielerdaten von Offline-Spielern (z.B. Ziele von /eco).
+ * Einträge verfallen nach {@code performance.cache.player-data-cache-time} Sekunden ohne Zugriff
+ * oder wenn die maximale Größe überschritten wird. Verdrängte Daten werden an {@code onEvict}
+ * übergeben, damit ungespeicherte Änderungen nicht verloren gehen.
+ */
+public class OfflinePlayerCache {
+
+    private final int maxSize;
+    private final long maxIdleMillis;
+    private final Consumer<PlayerData> onEvict;
+
+    private final LinkedHashMap<UUID, Entry> entries;
+
+    // Metriken
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public OfflinePlayerCache(int maxSize, long maxIdleMillis, Consumer<PlayerData> onEvict) {
+        this.maxSize = Math.max(16, maxSize);
+        this.maxIdleMillis = maxIdleMillis;
+        this.onEvict = onEvict;
+        this.entries = new LinkedHashMap<>(this.maxSize * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                if (size() > OfflinePlayerCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    onEvict.accept(eldest.getValue().playerData);
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Holt die Daten eines Offline-Spielers (null wenn nicht gecacht oder abgelaufen)
+     */
+    public PlayerData get(UUID uuid) {
+        synchronized (entries) {
+            Entry entry = entries.get(uuid);
+            if (entry == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            long now = System.currentTimeMillis();
+            if (now - entry.lastAccess > maxIdleMillis) {
+                entries.remove(uuid);
+                evictions.incrementAndGet();
+                onEvict.accept(entry.playerData);
+                misses.incrementAndGet();
+                return null;
+            }
+            entry.lastAccess = now;
+            hits.incrementAndGet();
+            return entry.playerData;
+        }
+    }
+
+    /**
+     * Nimmt Daten auf; ist bereits ein Eintrag vorhanden, gewinnt dieser
+     *
+     * @return die nun gecachten Daten
+     */
+    public PlayerData putIfAbsent(PlayerData playerData) {
+        synchronized (entries) {
+            Entry existing = entries.get(playerData.getUuid());
+            if (existing != null) {
+                existing.lastAccess = System.currentTimeMillis();
+                return existing.playerData;
+            }
+            entries.put(playerData.getUuid(), new Entry(playerData));
+            return playerData;
+        }
+    }
+
+    /**
+     * Entfernt einen Spieler ohne Verdrängungs-Callback (z.B. beim Wechsel in den Online-Cache)
+     */
+    public PlayerData remove(UUID uuid) {
+        synchronized (entries) {
+            Entry entry = entries.remove(uuid);
+            return entry != null ? entry.playerData : null;
+        }
+    }
+
+    /**
+     * Verdrängt alle abgelaufenen Einträge
+     *
+     * @return Anzahl der verdrängten Einträge
+     */
+    public int evictExpired() {
+        List<PlayerData> expired = new ArrayList<>();
+        long now = System.currentTimeMillis();
+
+        synchronized (entries) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (now - entry.lastAccess > maxIdleMillis) {
+                    iterator.remove();
+                    expired.add(entry.playerData);
+                }
+            }
+        }
+
+        evictions.addAndGet(expired.size());
+        expired.forEach(onEvict);
+        return expired.size();
+    }
+
+    /**
+     * Kopie aller gecachten Daten (für den Write-Behind-Flush)
+     */
+    public List<PlayerData> values() {
+        synchronized (entries) {
+            List<PlayerData> values = new ArrayList<>(entries.size());
+            for (Entry entry : entries.values()) {
+                values.add(entry.playerData);
+            }
+            return values;
+        }
+    }
+
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public String getStatsLine() {
+        long total = hits.get() + misses.get();
+        return String.format("Offline-Cache: %d/%d Spieler, Trefferquote %.1f%% (%d/%d), %d Verdrängungen",
+            getSize(), maxSize, total > 0 ? hits.get() * 100.0 / total : 100.0, hits.get(), total,
+            evictions.get());
+    }
+
+    private static class Entry {
+        private final PlayerData playerData;
+        private long lastAccess;
+
+        Entry(PlayerData playerData) {
+            this.playerData = playerData;
+            this.lastAccess = System.currentTimeMillis();
+        }
+    }
+}
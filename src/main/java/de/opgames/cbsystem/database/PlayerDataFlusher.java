@@ -0,0 +1,397 @@
+package de.opgames.cbsystem.database;
+
+import de.opgames.cbsystem.CBSystem;
+import de.opgames.cbsystem.data.PlayerData;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Write-Behind-Persistenz für Spielerdaten.
+ * Sammelt nur geänderte Felder, Homes und neue Back-Locations aller Spieler und schreibt sie
+ * gebündelt mit einem executeBatch pro Tabelle in einer Transaktion.
+ */
+public class PlayerDataFlusher {
+
+    private static final String UPSERT_PLAYER_SQL = """
+        INSERT INTO cb_players (uuid, name, balance, last_seen, play_time)
+        VALUES (?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE name = VALUES(name), balance = VALUES(balance),
+            last_seen = VALUES(last_seen), play_time = VALUES(play_time)
+    """;
+
+    private static final String UPSERT_HOME_SQL = """
+        INSERT INTO cb_homes (player_uuid, name, world, x, y, z, yaw, pitch)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE world = VALUES(world), x = VALUES(x), y = VALUES(y),
+            z = VALUES(z), yaw = VALUES(yaw), pitch = VALUES(pitch)
+    """;
+
+    private static final String DELETE_HOME_SQL = "DELETE FROM cb_homes WHERE player_uuid = ? AND name = ?";
+
+    // Jede neue Back-Location überschreibt genau einen Slot des Ringpuffers
+    private static final String UPSERT_BACK_SQL = """
+        INSERT INTO cb_back_history (player_uuid, slot, world, x, y, z, yaw, pitch, reason, created_at)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE world = VALUES(world), x = VALUES(x), y = VALUES(y), z = VALUES(z),
+            yaw = VALUES(yaw), pitch = VALUES(pitch), reason = VALUES(reason), created_at = VALUES(created_at)
+    """;
+
+    private final CBSystem plugin;
+    private final DatabaseManager databaseManager;
+
+    // Spieler, die den Server verlassen haben, deren Änderungen aber noch nicht geschrieben wurden
+    private final Map<UUID, PlayerData> pendingUnload = new ConcurrentHashMap<>();
+
+    public PlayerDataFlusher(CBSystem plugin, DatabaseManager databaseManager) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+    }
+
+    /**
+     * Übernimmt entladene Spielerdaten bis zum nächsten Flush
+     */
+    public void enqueueUnload(PlayerData playerData) {
+        if (playerData.isDirty()) {
+            pendingUnload.put(playerData.getUuid(), playerData);
+        }
+    }
+
+    /**
+     * Holt noch nicht geschriebene Daten eines Spielers zurück (z.B. bei schnellem Rejoin),
+     * damit keine veralteten Daten aus der Datenbank geladen werden
+     */
+    public PlayerData reclaim(UUID uuid) {
+        return pendingUnload.remove(uuid);
+    }
+
+    public boolean isPending(UUID uuid) {
+        return pendingUnload.containsKey(uuid);
+    }
+
+    public int getPendingUnloadCount() {
+        return pendingUnload.size();
+    }
+
+    /**
+     * Schreibt alle Änderungen der übergebenen und der entladenen Spieler.
+     * Wird vom Auto-Save asynchron und beim Shutdown synchron aufgerufen.
+     *
+     * @return Anzahl der Spieler, deren Änderungen geschrieben wurden
+     */
+    public synchronized int flush(Collection<PlayerData> cachedPlayers) {
+        List<Snapshot> snapshots = captureDirty(cachedPlayers);
+
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            writeSnapshots(snapshots);
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Fehler beim Schreiben von " + snapshots.size() + " Spielerdaten", e);
+            // Änderungen für den nächsten Versuch erneut markieren
+            for (Snapshot snapshot : snapshots) {
+                snapshot.restoreDirtyState();
+            }
+            return 0;
+        }
+
+        release(snapshots);
+        return snapshots.size();
+    }
+
+    /**
+     * Erfasst die Änderungen der übergebenen und der entladenen Spieler.
+     * Die Dirty-Flags werden dabei zurückgesetzt.
+     */
+    List<Snapshot> captureDirty(Collection<PlayerData> cachedPlayers) {
+        Map<UUID, PlayerData> candidates = new LinkedHashMap<>(pendingUnload);
+        for (PlayerData playerData : cachedPlayers) {
+            candidates.put(playerData.getUuid(), playerData);
+        }
+
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (PlayerData playerData : candidates.values()) {
+            if (playerData.isDirty()) {
+                snapshots.add(Snapshot.capture(playerData));
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Gibt vollständig geschriebene, entladene Spieler frei
+     */
+    void release(List<Snapshot> written) {
+        for (Snapshot snapshot : written) {
+            PlayerData playerData = snapshot.playerData;
+            if (playerData != null && !playerData.isDirty()) {
+                pendingUnload.remove(playerData.getUuid(), playerData);
+            }
+        }
+    }
+
+    void writeSnapshots(List<Snapshot> snapshots) throws SQLException {
+        try (Connection connection = databaseManager.getConnection()) {
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement playerStatement = connection.prepareStatement(UPSERT_PLAYER_SQL);
+                 PreparedStatement homeStatement = connection.prepareStatement(UPSERT_HOME_SQL);
+                 PreparedStatement deleteHomeStatement = connection.prepareStatement(DELETE_HOME_SQL);
+                 PreparedStatement backStatement = connection.prepareStatement(UPSERT_BACK_SQL)) {
+
+                int players = 0, homeUpserts = 0, homeDeletes = 0, backUpserts = 0;
+
+                for (Snapshot snapshot : snapshots) {
+                    String uuid = snapshot.uuid.toString();
+
+                    if (snapshot.rowDirty) {
+                        playerStatement.setString(1, uuid);
+                        playerStatement.setString(2, snapshot.name);
+                        playerStatement.setDouble(3, snapshot.balance);
+                        playerStatement.setTimestamp(4, snapshot.lastSeen);
+                        playerStatement.setLong(5, snapshot.playTime);
+                        playerStatement.addBatch();
+                        players++;
+                    }
+
+                    for (Map.Entry<String, PlayerData.HomeLocation> entry : snapshot.homeUpserts.entrySet()) {
+                        PlayerData.HomeLocation home = entry.getValue();
+                        homeStatement.setString(1, uuid);
+                        homeStatement.setString(2, entry.getKey());
+                        homeStatement.setString(3, home.getWorld());
+                        homeStatement.setDouble(4, home.getX());
+                        homeStatement.setDouble(5, home.getY());
+                        homeStatement.setDouble(6, home.getZ());
+                        homeStatement.setFloat(7, home.getYaw());
+                        homeStatement.setFloat(8, home.getPitch());
+                        homeStatement.addBatch();
+                        homeUpserts++;
+                    }
+
+                    for (String homeName : snapshot.homeDeletes) {
+                        deleteHomeStatement.setString(1, uuid);
+                        deleteHomeStatement.setString(2, homeName);
+                        deleteHomeStatement.addBatch();
+                        homeDeletes++;
+                    }
+
+                    for (PlayerData.BackLocation back : snapshot.backUpserts.values()) {
+                        backStatement.setString(1, uuid);
+                        backStatement.setInt(2, back.getSlot());
+                        backStatement.setString(3, back.getWorld());
+                        backStatement.setDouble(4, back.getX());
+                        backStatement.setDouble(5, back.getY());
+                        backStatement.setDouble(6, back.getZ());
+                        backStatement.setFloat(7, back.getYaw());
+                        backStatement.setFloat(8, back.getPitch());
+                        backStatement.setString(9, back.getReason());
+                        backStatement.setTimestamp(10, new Timestamp(back.getTimestamp()));
+                        backStatement.addBatch();
+                        backUpserts++;
+                    }
+                }
+
+                // Spielerzeilen zuerst (Foreign Key der Homes)
+                if (players > 0) playerStatement.executeBatch();
+                if (homeUpserts > 0) homeStatement.executeBatch();
+                if (homeDeletes > 0) deleteHomeStatement.executeBatch();
+                if (backUpserts > 0) backStatement.executeBatch();
+
+                connection.commit();
+
+                if (plugin.getConfigManager().isDebugEnabled()) {
+                    plugin.getLogger().info(String.format("Write-Behind: %d Spieler, %d Homes geschrieben, %d Homes gelöscht, %d Back-Locations",
+                        players, homeUpserts, homeDeletes, backUpserts));
+                }
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Konsistenter Stand der geänderten Daten eines Spielers zum Zeitpunkt des Flushes.
+     * Lässt sich zeilenweise in die Recovery-Datei schreiben und daraus wiederherstellen.
+     */
+    static class Snapshot {
+        private final PlayerData playerData;
+        private final UUID uuid;
+        private final boolean rowDirty;
+        private final String name;
+        private final double balance;
+        private final Timestamp lastSeen;
+        private final long playTime;
+        private final List<String> changedHomes;
+        private final Map<String, PlayerData.HomeLocation> homeUpserts = new LinkedHashMap<>();
+        private final List<String> homeDeletes = new ArrayList<>();
+        private final List<PlayerData.BackLocation> changedBackLocations;
+        // Pro Slot zählt nur der neueste Eintrag
+        private final Map<Integer, PlayerData.BackLocation> backUpserts = new LinkedHashMap<>();
+
+        private Snapshot(PlayerData playerData) {
+            this.playerData = playerData;
+            this.uuid = playerData.getUuid();
+            // Flags zuerst zurücksetzen: Änderungen während des Kopierens markieren erneut
+            this.rowDirty = playerData.consumeDirty();
+            this.changedHomes = playerData.drainChangedHomes();
+            this.changedBackLocations = playerData.drainChangedBackLocations();
+            this.name = playerData.getName();
+            this.balance = playerData.getBalance();
+            this.lastSeen = playerData.getLastSeen();
+            this.playTime = playerData.getPlayTime();
+
+            for (String key : changedHomes) {
+                PlayerData.HomeLocation home = playerData.getHome(key);
+                if (home != null) {
+                    homeUpserts.put(key, home);
+                } else {
+                    homeDeletes.add(key);
+                }
+            }
+            for (PlayerData.BackLocation back : changedBackLocations) {
+                // Ein älterer Eintrag darf einen neueren im selben Slot nie verdrängen
+                backUpserts.merge(back.getSlot(), back, (current, next) ->
+                    next.getTimestamp() >= current.getTimestamp() ? next : current);
+            }
+        }
+
+        /**
+         * Aus der Recovery-Datei wiederhergestellter Stand (ohne zugehörige PlayerData)
+         */
+        private Snapshot(Recovered recovered) {
+            this.playerData = null;
+            this.uuid = recovered.uuid;
+            this.rowDirty = recovered.rowDirty;
+            this.name = recovered.name;
+            this.balance = recovered.balance;
+            this.lastSeen = recovered.lastSeen;
+            this.playTime = recovered.playTime;
+            this.changedHomes = List.of();
+            this.changedBackLocations = List.of();
+            this.backUpserts.putAll(recovered.backLocations);
+
+            for (Map.Entry<String, PlayerData.HomeLocation> entry : recovered.homes.entrySet()) {
+                if (entry.getValue() != null) {
+                    homeUpserts.put(entry.getKey(), entry.getValue());
+                } else {
+                    homeDeletes.add(entry.getKey());
+                }
+            }
+        }
+
+        static Snapshot capture(PlayerData playerData) {
+            return new Snapshot(playerData);
+        }
+
+        void restoreDirtyState() {
+            if (playerData == null) {
+                return;
+            }
+            if (rowDirty) {
+                playerData.markDirty();
+            }
+            playerData.markHomesChanged(changedHomes);
+            playerData.markBackLocationsChanged(changedBackLocations);
+        }
+
+        /**
+         * Zeilen für die Recovery-Datei: P (Spielerzeile), H (Home gesetzt), D (Home gelöscht), B (Back-Slot)
+         */
+        List<String> serialize() {
+            List<String> lines = new ArrayList<>();
+            if (rowDirty) {
+                lines.add("P\t" + uuid + '\t' + name + '\t' + balance + '\t'
+                    + (lastSeen != null ? lastSeen.getTime() : "-") + '\t' + playTime);
+            }
+            for (Map.Entry<String, PlayerData.HomeLocation> entry : homeUpserts.entrySet()) {
+                PlayerData.HomeLocation home = entry.getValue();
+                lines.add("H\t" + uuid + '\t' + entry.getKey() + '\t' + home.getWorld() + '\t'
+                    + home.getX() + '\t' + home.getY() + '\t' + home.getZ() + '\t'
+                    + home.getYaw() + '\t' + home.getPitch());
+            }
+            for (String homeName : homeDeletes) {
+                lines.add("D\t" + uuid + '\t' + homeName);
+            }
+            for (PlayerData.BackLocation back : backUpserts.values()) {
+                lines.add("B\t" + uuid + '\t' + back.getSlot() + '\t' + back.getWorld() + '\t'
+                    + back.getX() + '\t' + back.getY() + '\t' + back.getZ() + '\t'
+                    + back.getYaw() + '\t' + back.getPitch() + '\t' + back.getTimestamp() + '\t'
+                    + (back.getReason() != null ? back.getReason() : ""));
+            }
+            return lines;
+        }
+
+        /**
+         * Fasst Recovery-Zeilen in Dateireihenfolge zusammen (spätere Zeilen gewinnen)
+         */
+        static List<Snapshot> deserialize(List<String> lines) {
+            Map<UUID, Recovered> players = new LinkedHashMap<>();
+            for (String line : lines) {
+                String[] parts = line.split("\t");
+                try {
+                    UUID uuid = UUID.fromString(parts[1]);
+                    Recovered recovered = players.computeIfAbsent(uuid, Recovered::new);
+                    switch (parts[0]) {
+                        case "P" -> {
+                            recovered.rowDirty = true;
+                            recovered.name = parts[2];
+                            recovered.balance = Double.parseDouble(parts[3]);
+                            recovered.lastSeen = "-".equals(parts[4]) ? null : new Timestamp(Long.parseLong(parts[4]));
+                            recovered.playTime = Long.parseLong(parts[5]);
+                        }
+                        case "H" -> recovered.homes.put(parts[2], new PlayerData.HomeLocation(parts[2], parts[3],
+                            Double.parseDouble(parts[4]), Double.parseDouble(parts[5]), Double.parseDouble(parts[6]),
+                            Float.parseFloat(parts[7]), Float.parseFloat(parts[8])));
+                        case "D" -> recovered.homes.put(parts[2], null);
+                        case "B" -> {
+                            int slot = Integer.parseInt(parts[2]);
+                            recovered.backLocations.put(slot, new PlayerData.BackLocation(slot, parts[3],
+                                Double.parseDouble(parts[4]), Double.parseDouble(parts[5]), Double.parseDouble(parts[6]),
+                                Float.parseFloat(parts[7]), Float.parseFloat(parts[8]), parts.length > 10 ? parts[10] : null,
+                                Long.parseLong(parts[9])));
+                        }
+                        default -> { }
+                    }
+                } catch (RuntimeException ignored) {
+                    // Unvollständige Zeile (z.B. Absturz beim Schreiben) überspringen
+                }
+            }
+
+            List<Snapshot> snapshots = new ArrayList<>(players.size());
+            for (Recovered recovered : players.values()) {
+                snapshots.add(new Snapshot(recovered));
+            }
+            return snapshots;
+        }
+    }
+
+    private static class Recovered {
+        private final UUID uuid;
+        private boolean rowDirty;
+        private String name;
+        private double balance;
+        private Timestamp lastSeen;
+        private long playTime;
+        private final Map<String, PlayerData.HomeLocation> homes = new LinkedHashMap<>();
+        private final Map<Integer, PlayerData.BackLocation> backLocations = new LinkedHashMap<>();
+
+        Recovered(UUID uuid) {
+            this.uuid = uuid;
+        }
+    }
+}
@@ -8,344 +8,330 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.HashMap;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
+/**
+ * Verwaltet Spielerdaten in zwei Stufen: Online-Spieler liegen fest im {@code playerDataCache},
+ * Offline-Spieler (z.B. Ziele von Admin-Befehlen) werden asynchron in einen begrenzten
+ * {@link OfflinePlayerCache} geladen und nach Ablauf oder bei Platzmangel verdrängt.
+ */
 public class PlayerDataManager {
     
+    // Spielerzeile, Homes und Back-Locations als Mehrfach-Ergebnis (allowMultiQueries)
+    private static final String SELECT_ALL_SQL = """
+        SELECT name, balance, first_join, last_seen, play_time FROM cb_players WHERE uuid = ?;
+        SELECT name, world, x, y, z, yaw, pitch FROM cb_homes WHERE player_uuid = ?;
+        SELECT slot, world, x, y, z, yaw, pitch, reason, created_at FROM cb_back_history
+            WHERE player_uuid = ? AND slot < ? ORDER BY created_at DESC
+    """;
+    
+    private static final String JOIN_LOAD_SQL = """
+        INSERT INTO cb_players (uuid, name, balance, first_join, last_seen, play_time)
+        VALUES (?, ?, ?, NOW(), NOW(), 0)
+        ON DUPLICATE KEY UPDATE name = VALUES(name);
+    """ + SELECT_ALL_SQL;
+    
     private final CBSystem plugin;
     private final DatabaseManager databaseManager;
     private final Map<UUID, PlayerData> playerDataCache = new ConcurrentHashMap<>();
+    private final OfflinePlayerCache offlineCache;
+    private final Map<UUID, CompletableFuture<PlayerData>> pendingOfflineLoads = new ConcurrentHashMap<>();
+    private final Map<UUID, CompletableFuture<PlayerData>> dataReady = new ConcurrentHashMap<>();
+    private final LoginPrefetchCache prefetchCache;
+    private final PlayerDataFlusher flusher;
+    private final ShutdownCoordinator shutdownCoordinator;
     
     public PlayerDataManager(CBSystem plugin) {
         this.plugin = plugin;
         this.databaseManager = plugin.getDatabaseManager();
+        this.flusher = new PlayerDataFlusher(plugin, databaseManager);
+        // Verdrängte Offline-Daten mit ungespeicherten Änderungen übernimmt der Flusher
+        this.offlineCache = new OfflinePlayerCache(
+            plugin.getConfigManager().getOfflinePlayerCacheSize(),
+            plugin.getConfigManager().getPlayerDataCacheTime() * 1000L,
+            flusher::enqueueUnload);
+        this.prefetchCache = new LoginPrefetchCache(plugin.getConfigManager().getLoginPrefetchTtl() * 1000L);
+        
+        // Beim letzten Herunterfahren nicht geschriebene Änderungen vor dem ersten Laden nachspielen
+        this.shutdownCoordinator = new ShutdownCoordinator(plugin, flusher);
+        this.shutdownCoordinator.replayRecoveryFile();
+    }
+    
+    /**
+     * Übernimmt noch nicht geschriebene Daten eines Spielers, der kurz zuvor den Server verlassen hat,
+     * oder bereits als Offline-Spieler geladene Daten
+     */
+    private PlayerData reclaimPendingData(UUID uuid, String name) {
+        PlayerData playerData = offlineCache.remove(uuid);
+        if (playerData == null) {
+            playerData = flusher.reclaim(uuid);
+        }
+        if (playerData != null) {
+            playerData.setName(name);
+            playerDataCache.put(uuid, playerData);
+        }
+        return playerData;
+    }
+    
+    /**
+     * Übernimmt neu geladene Spieler (und Namensänderungen) in die Reichenliste
+     */
+    private void trackBalance(PlayerData playerData) {
+        if (plugin.getEconomyManager() != null) {
+            plugin.getEconomyManager().getLeaderboard().update(playerData);
+        }
     }
     
     /**
-     * Lädt Spielerdaten beim Join
+     * Lädt Spielerdaten beim Join. Spielerzeile (per Upsert angelegt bzw. Name aktualisiert),
+     * Homes und Back-Locations werden in einem Roundtrip über eine Verbindung geholt.
+     *
+     * @return "Daten bereit"-Future; wird mit null abgeschlossen, wenn das Laden fehlschlägt
      */
-    public void loadPlayerData(Player player) {
+    public CompletableFuture<PlayerData> loadPlayerData(Player player) {
         UUID uuid = player.getUniqueId();
         String name = player.getName();
+        PlayerData prefetched = prefetchCache.take(uuid);
         
-        databaseManager.executeAsync(() -> {
-            try (Connection connection = databaseManager.getConnection()) {
-                // Überprüfe ob Spieler existiert
-                String checkSql = "SELECT * FROM cb_players WHERE uuid = ?";
-                try (PreparedStatement statement = connection.prepareStatement(checkSql)) {
-                    statement.setString(1, uuid.toString());
-                    
-                    try (ResultSet resultSet = statement.executeQuery()) {
-                        PlayerData playerData;
-                        
-                        if (resultSet.next()) {
-                            // Spieler existiert - lade Daten
-                            playerData = new PlayerData(
-                                uuid,
-                                name,
-                                resultSet.getDouble("balance"),
-                                resultSet.getTimestamp("first_join"),
-                                resultSet.getTimestamp("last_seen"),
-                                resultSet.getLong("play_time")
-                            );
-                            
-                            // Update Name falls geändert
-                            if (!name.equals(resultSet.getString("name"))) {
-                                updatePlayerName(uuid, name);
-                            }
-                        } else {
-                            // Neuer Spieler - erstelle Eintrag
-                            double startingBalance = plugin.getConfigManager().getStartingBalance();
-                            playerData = new PlayerData(uuid, name, startingBalance, null, null, 0L);
-                            createPlayerData(playerData);
-                        }
-                        
-                        // Cache die Daten
-                        playerDataCache.put(uuid, playerData);
-                        
-                        // Lade zusätzliche Daten
-                        loadPlayerHomes(playerData);
-                        loadPlayerBackLocations(playerData);
-                        
-                        plugin.getLogger().info("Spielerdaten für " + name + " geladen. Balance: " + playerData.getBalance());
-                        
-                    }
+        // Ungespeicherte Daten sind aktueller als die beim Login vorgeladenen
+        PlayerData reclaimed = reclaimPendingData(uuid, name);
+        if (reclaimed != null) {
+            return CompletableFuture.completedFuture(reclaimed);
+        }
+        
+        if (prefetched != null) {
+            prefetched.setName(name);
+            return CompletableFuture.completedFuture(publishJoinData(prefetched));
+        }
+        
+        // Laufende Ladevorgänge werden geteilt (z.B. Join und /money in derselben Sekunde)
+        return dataReady.computeIfAbsent(uuid, key -> {
+            CompletableFuture<PlayerData> ready = new CompletableFuture<>();
+            databaseManager.executeAsync(() -> {
+                try {
+                    PlayerData playerData = fetchJoinData(uuid, name);
+                    ready.complete(publishJoinData(playerData));
+                    plugin.getLogger().info("Spielerdaten für " + name + " geladen. Balance: " + playerData.getBalance());
+                } catch (SQLException e) {
+                    plugin.getLogger().log(Level.SEVERE, "Fehler beim Laden der Spielerdaten für " + name, e);
+                    ready.complete(null);
+                } finally {
+                    dataReady.remove(key, ready);
                 }
-            } catch (SQLException e) {
-                plugin.getLogger().log(Level.SEVERE, "Fehler beim Laden der Spielerdaten für " + name, e);
-            }
+            });
+            return ready;
         });
     }
     
     /**
-     * Lädt Spielerdaten synchron (für Commands)
+     * Lädt die Daten eines einloggenden Spielers vor. Läuft blockierend auf dem Thread des
+     * {@code AsyncPlayerPreLoginEvent}, damit die Daten beim Join bereits im Speicher liegen.
+     * Neue Spieler werden erst beim Join angelegt, abgelehnte Logins hinterlassen so keine Zeilen.
      */
-    public boolean loadPlayerDataSync(Player player) {
-        UUID uuid = player.getUniqueId();
-        String name = player.getName();
+    public void prefetchPlayerData(UUID uuid, String name) {
+        if (!plugin.getConfigManager().isLoginPrefetchEnabled()) {
+            return;
+        }
+        // Bereits im Speicher oder noch nicht geschrieben - der Join übernimmt diese Daten
+        if (playerDataCache.containsKey(uuid) || offlineCache.get(uuid) != null || flusher.isPending(uuid)) {
+            return;
+        }
         
-        try (Connection connection = databaseManager.getConnection()) {
-            // Überprüfe ob Spieler existiert
-            String checkSql = "SELECT * FROM cb_players WHERE uuid = ?";
-            try (PreparedStatement statement = connection.prepareStatement(checkSql)) {
-                statement.setString(1, uuid.toString());
-                
-                try (ResultSet resultSet = statement.executeQuery()) {
-                    PlayerData playerData;
-                    
-                    if (resultSet.next()) {
-                        // Spieler existiert - lade Daten
-                        playerData = new PlayerData(
-                            uuid,
-                            name,
-                            resultSet.getDouble("balance"),
-                            resultSet.getTimestamp("first_join"),
-                            resultSet.getTimestamp("last_seen"),
-                            resultSet.getLong("play_time")
-                        );
-                        
-                        // Update Name falls geändert
-                        if (!name.equals(resultSet.getString("name"))) {
-                            updatePlayerName(uuid, name);
-                        }
-                    } else {
-                        // Neuer Spieler - erstelle Eintrag
-                        double startingBalance = plugin.getConfigManager().getStartingBalance();
-                        playerData = new PlayerData(uuid, name, startingBalance, null, null, 0L);
-                        createPlayerData(playerData);
-                    }
-                    
-                    // Cache die Daten
-                    playerDataCache.put(uuid, playerData);
-                    
-                    // Lade zusätzliche Daten
-                    loadPlayerHomes(playerData);
-                    loadPlayerBackLocations(playerData);
-                    
-                    plugin.getLogger().info("Spielerdaten für " + name + " synchron geladen. Balance: " + playerData.getBalance());
-                    return true;
-                    
-                }
+        try {
+            PlayerData playerData = queryPlayerData(uuid);
+            if (playerData != null) {
+                playerData.setName(name);
+                prefetchCache.put(playerData);
             }
         } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Fehler beim synchronen Laden der Spielerdaten für " + name, e);
-            return false;
+            plugin.getLogger().log(Level.SEVERE, "Fehler beim Vorladen der Spielerdaten für " + name, e);
         }
     }
     
     /**
-     * Erstellt einen neuen Spielereintrag
+     * Liefert einen Future, der abgeschlossen wird, sobald die Daten eines Online-Spielers geladen sind
+     * (sofort, wenn sie bereits im Cache liegen; mit null, wenn kein Ladevorgang läuft)
      */
-    private void createPlayerData(PlayerData playerData) throws SQLException {
-        try (Connection connection = databaseManager.getConnection()) {
-            String sql = """
-                INSERT INTO cb_players (uuid, name, balance, first_join, last_seen, play_time)
-                VALUES (?, ?, ?, NOW(), NOW(), 0)
-            """;
-            
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, playerData.getUuid().toString());
-                statement.setString(2, playerData.getName());
-                statement.setDouble(3, playerData.getBalance());
-                
-                statement.executeUpdate();
-            }
+    public CompletableFuture<PlayerData> whenDataReady(UUID uuid) {
+        PlayerData cached = playerDataCache.get(uuid);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
         }
+        CompletableFuture<PlayerData> ready = dataReady.get(uuid);
+        return ready != null ? ready : CompletableFuture.completedFuture(null);
     }
     
     /**
-     * Aktualisiert den Spielernamen
+     * Übernimmt frisch geladene Join-Daten in den Online-Cache, sofern der Spieler noch online ist
      */
-    private void updatePlayerName(UUID uuid, String newName) throws SQLException {
-        try (Connection connection = databaseManager.getConnection()) {
-            String sql = "UPDATE cb_players SET name = ? WHERE uuid = ?";
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, newName);
-                statement.setString(2, uuid.toString());
-                statement.executeUpdate();
-            }
+    private PlayerData publishJoinData(PlayerData playerData) {
+        UUID uuid = playerData.getUuid();
+        Player player = plugin.getServer().getPlayer(uuid);
+        if (player == null || !player.isOnline()) {
+            // Spieler hat den Server während des Ladens verlassen
+            return cacheOffline(playerData);
         }
+        
+        // Ein während des Ladens angelegter Offline-Eintrag (z.B. /eco give) kann Änderungen enthalten,
+        // die noch nicht geschrieben sind - er ist damit aktueller als die frisch gelesenen Daten
+        PlayerData reclaimed = reclaimPendingData(uuid, playerData.getName());
+        if (reclaimed != null) {
+            trackBalance(reclaimed);
+            return reclaimed;
+        }
+        
+        playerDataCache.put(uuid, playerData);
+        trackBalance(playerData);
+        return playerData;
     }
     
     /**
-     * Lädt die Homes eines Spielers
+     * Legt den Spieler bei Bedarf an und liest alle Daten in einem Roundtrip
      */
-    private void loadPlayerHomes(PlayerData playerData) {
-        try (Connection connection = databaseManager.getConnection()) {
-            String sql = "SELECT * FROM cb_homes WHERE player_uuid = ?";
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, playerData.getUuid().toString());
-                
-                try (ResultSet resultSet = statement.executeQuery()) {
-                    while (resultSet.next()) {
-                        playerData.addHome(
-                            resultSet.getString("name"),
-                            resultSet.getString("world"),
-                            resultSet.getDouble("x"),
-                            resultSet.getDouble("y"),
-                            resultSet.getDouble("z"),
-                            resultSet.getFloat("yaw"),
-                            resultSet.getFloat("pitch")
-                        );
-                    }
-                }
+    private PlayerData fetchJoinData(UUID uuid, String name) throws SQLException {
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement statement = connection.prepareStatement(JOIN_LOAD_SQL)) {
+            statement.setString(1, uuid.toString());
+            statement.setString(2, name);
+            statement.setDouble(3, plugin.getConfigManager().getStartingBalance());
+            bindSelects(statement, 4, uuid);
+            
+            statement.execute();
+            // Ergebnis des Upserts überspringen; dessen Zeilenanzahl taugt nicht zur Erkennung neuer
+            // Spieler, da Connector/J standardmäßig gefundene statt geänderte Zeilen meldet
+            statement.getMoreResults();
+            
+            PlayerData playerData = readPlayerData(statement, uuid);
+            if (playerData == null) {
+                throw new SQLException("Spielerzeile nach Upsert nicht gefunden: " + uuid);
             }
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Fehler beim Laden der Homes", e);
+            
+            // Neu angelegte Zeilen haben first_join = last_seen, jeder Flush danach setzt last_seen neu
+            if (playerData.getFirstJoin() != null && playerData.getFirstJoin().equals(playerData.getLastSeen())) {
+                plugin.getLogger().info("Neuer Spieler " + name + " angelegt.");
+            }
+            return playerData;
         }
     }
     
+    private void bindSelects(PreparedStatement statement, int index, UUID uuid) throws SQLException {
+        statement.setString(index, uuid.toString());
+        statement.setString(index + 1, uuid.toString());
+        statement.setString(index + 2, uuid.toString());
+        statement.setInt(index + 3, getBackCapacity());
+    }
+    
     /**
-     * Lädt die Back-Locations eines Spielers
+     * Größe des Back-Ringpuffers; Slots darüber (nach Verkleinern der Config) werden ignoriert
      */
-    private void loadPlayerBackLocations(PlayerData playerData) {
-        try (Connection connection = databaseManager.getConnection()) {
-            String sql = """
-                SELECT * FROM cb_back_locations 
-                WHERE player_uuid = ? 
-                ORDER BY created_at DESC 
-                LIMIT ?
-            """;
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, playerData.getUuid().toString());
-                statement.setInt(2, plugin.getConfigManager().getMaxBackLocations());
-                
-                try (ResultSet resultSet = statement.executeQuery()) {
-                    while (resultSet.next()) {
-                        playerData.addBackLocation(
-                            resultSet.getString("world"),
-                            resultSet.getDouble("x"),
-                            resultSet.getDouble("y"),
-                            resultSet.getDouble("z"),
-                            resultSet.getFloat("yaw"),
-                            resultSet.getFloat("pitch"),
-                            resultSet.getString("reason")
-                        );
-                    }
-                }
+    private int getBackCapacity() {
+        return Math.max(1, plugin.getConfigManager().getMaxBackLocations());
+    }
+    
+    /**
+     * Liest Spielerzeile, Homes und Back-Locations aus den Ergebnissen von {@link #SELECT_ALL_SQL}
+     * (das Statement steht auf dem ersten SELECT)
+     */
+    private PlayerData readPlayerData(PreparedStatement statement, UUID uuid) throws SQLException {
+        PlayerData playerData;
+        try (ResultSet resultSet = statement.getResultSet()) {
+            if (resultSet == null || !resultSet.next()) {
+                return null;
             }
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Fehler beim Laden der Back-Locations", e);
+            playerData = new PlayerData(
+                uuid,
+                resultSet.getString("name"),
+                resultSet.getDouble("balance"),
+                resultSet.getTimestamp("first_join"),
+                resultSet.getTimestamp("last_seen"),
+                resultSet.getLong("play_time")
+            );
         }
+        
+        statement.getMoreResults();
+        try (ResultSet resultSet = statement.getResultSet()) {
+            while (resultSet.next()) {
+                playerData.addHome(
+                    resultSet.getString("name"),
+                    resultSet.getString("world"),
+                    resultSet.getDouble("x"),
+                    resultSet.getDouble("y"),
+                    resultSet.getDouble("z"),
+                    resultSet.getFloat("yaw"),
+                    resultSet.getFloat("pitch")
+                );
+            }
+        }
+        
+        statement.getMoreResults();
+        playerData.setBackCapacity(getBackCapacity());
+        try (ResultSet resultSet = statement.getResultSet()) {
+            while (resultSet.next()) {
+                playerData.restoreBackLocation(new PlayerData.BackLocation(
+                    resultSet.getInt("slot"),
+                    resultSet.getString("world"),
+                    resultSet.getDouble("x"),
+                    resultSet.getDouble("y"),
+                    resultSet.getDouble("z"),
+                    resultSet.getFloat("yaw"),
+                    resultSet.getFloat("pitch"),
+                    resultSet.getString("reason"),
+                    resultSet.getTimestamp("created_at").getTime()
+                ));
+            }
+        }
+        
+        playerData.markClean();
+        return playerData;
     }
     
     /**
-     * Speichert Spielerdaten beim Quit
+     * Entlädt Spielerdaten beim Quit. Geänderte Daten werden vom Write-Behind-Flusher
+     * beim nächsten Durchlauf gebündelt geschrieben.
      */
     public void savePlayerData(Player player) {
         UUID uuid = player.getUniqueId();
         PlayerData playerData = playerDataCache.get(uuid);
         
         if (playerData != null) {
-            databaseManager.executeAsync(() -> {
-                try (Connection connection = databaseManager.getConnection()) {
-                    // Update Spielerdaten
-                    String sql = """
-                        UPDATE cb_players 
-                        SET name = ?, balance = ?, last_seen = NOW(), play_time = ?
-                        WHERE uuid = ?
-                    """;
-                    
-                    try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                        statement.setString(1, playerData.getName());
-                        statement.setDouble(2, playerData.getBalance());
-                        statement.setLong(3, playerData.getPlayTime());
-                        statement.setString(4, uuid.toString());
-                        
-                        statement.executeUpdate();
-                    }
-                    
-                    // Speichere Homes
-                    savePlayerHomes(playerData);
-                    
-                    // Speichere Back-Locations
-                    savePlayerBackLocations(playerData);
-                    
-                } catch (SQLException e) {
-                    plugin.getLogger().log(Level.SEVERE, "Fehler beim Speichern der Spielerdaten für " + player.getName(), e);
-                }
-            });
+            playerData.setLastSeen(new Timestamp(System.currentTimeMillis()));
+            flusher.enqueueUnload(playerData);
         }
         
         // Entferne aus Cache
         playerDataCache.remove(uuid);
-    }
-    
-    /**
-     * Speichert die Homes eines Spielers
-     */
-    private void savePlayerHomes(PlayerData playerData) throws SQLException {
-        try (Connection connection = databaseManager.getConnection()) {
-            // Lösche alte Homes
-            String deleteSql = "DELETE FROM cb_homes WHERE player_uuid = ?";
-            try (PreparedStatement deleteStatement = connection.prepareStatement(deleteSql)) {
-                deleteStatement.setString(1, playerData.getUuid().toString());
-                deleteStatement.executeUpdate();
-            }
-            
-            // Speichere neue Homes
-            if (!playerData.getHomes().isEmpty()) {
-                String insertSql = """
-                    INSERT INTO cb_homes (player_uuid, name, world, x, y, z, yaw, pitch)
-                    VALUES (?, ?, ?, ?, ?, ?, ?, ?)
-                """;
-                
-                try (PreparedStatement insertStatement = connection.prepareStatement(insertSql)) {
-                    for (Map.Entry<String, PlayerData.HomeLocation> entry : playerData.getHomes().entrySet()) {
-                        PlayerData.HomeLocation home = entry.getValue();
-                        insertStatement.setString(1, playerData.getUuid().toString());
-                        insertStatement.setString(2, entry.getKey());
-                        insertStatement.setString(3, home.getWorld());
-                        insertStatement.setDouble(4, home.getX());
-                        insertStatement.setDouble(5, home.getY());
-                        insertStatement.setDouble(6, home.getZ());
-                        insertStatement.setFloat(7, home.getYaw());
-                        insertStatement.setFloat(8, home.getPitch());
-                        insertStatement.addBatch();
-                    }
-                    insertStatement.executeBatch();
-                }
-            }
+        
+        // Ohne Auto-Save gibt es keinen periodischen Flush
+        if (playerData != null && !plugin.getConfigManager().isAutoSaveEnabled()) {
+            databaseManager.executeAsync(this::flushDirtyData);
         }
     }
     
     /**
-     * Speichert die Back-Locations eines Spielers
+     * Schreibt alle geänderten Spielerdaten gebündelt in die Datenbank
+     *
+     * @return Anzahl der geschriebenen Spieler
      */
-    private void savePlayerBackLocations(PlayerData playerData) throws SQLException {
-        try (Connection connection = databaseManager.getConnection()) {
-            // Lösche alte Back-Locations (behalte nur die neuesten)
-            String deleteSql = """
-                DELETE FROM cb_back_locations 
-                WHERE player_uuid = ? 
-                AND id NOT IN (
-                    SELECT id FROM (
-                        SELECT id FROM cb_back_locations 
-                        WHERE player_uuid = ? 
-                        ORDER BY created_at DESC 
-                        LIMIT ?
-                    ) AS recent
-                )
-            """;
-            
-            try (PreparedStatement deleteStatement = connection.prepareStatement(deleteSql)) {
-                deleteStatement.setString(1, playerData.getUuid().toString());
-                deleteStatement.setString(2, playerData.getUuid().toString());
-                deleteStatement.setInt(3, plugin.getConfigManager().getMaxBackLocations());
-                deleteStatement.executeUpdate();
-            }
-        }
+    public int flushDirtyData() {
+        List<PlayerData> cached = new ArrayList<>(playerDataCache.values());
+        cached.addAll(offlineCache.values());
+        return flusher.flush(cached);
     }
     
     /**
-     * Holt Spielerdaten aus dem Cache
+     * Holt Spielerdaten aus dem Cache (Online-Spieler oder bereits geladene Offline-Spieler).
+     * Lädt nie aus der Datenbank, siehe {@link #loadPlayerDataAsync(UUID)}.
      */
     public PlayerData getPlayerData(UUID uuid) {
-        return playerDataCache.get(uuid);
+        PlayerData playerData = playerDataCache.get(uuid);
+        return playerData != null ? playerData : offlineCache.get(uuid);
     }
     
     /**
@@ -363,68 +349,158 @@ public class PlayerDataManager {
     }
     
     /**
-     * Speichert alle Spielerdaten (wird beim Plugin-Disable aufgerufen)
+     * Speichert alle Spielerdaten beim Plugin-Disable: parallel in Batches und mit Deadline,
+     * der Rest wird in die Recovery-Datei gesichert
      */
     public void saveAllPlayerData() {
         plugin.getLogger().info("Speichere alle Spielerdaten...");
         
-        for (Player player : plugin.getServer().getOnlinePlayers()) {
-            savePlayerData(player);
+        for (PlayerData playerData : playerDataCache.values()) {
+            playerData.setLastSeen(new Timestamp(System.currentTimeMillis()));
         }
         
-        plugin.getLogger().info("Alle Spielerdaten gespeichert!");
+        List<PlayerData> cached = new ArrayList<>(playerDataCache.values());
+        cached.addAll(offlineCache.values());
+        int written = shutdownCoordinator.flushAll(cached);
+        
+        plugin.getLogger().info("Alle Spielerdaten gespeichert! (" + written + " geändert)");
     }
     
     /**
-     * Lädt Spielerdaten aus der Datenbank (falls nicht im Cache)
+     * Lädt die Daten eines (auch offline) Spielers asynchron. Online- und Offline-Cache werden
+     * zuerst geprüft; gleichzeitige Anfragen für denselben Spieler teilen sich eine Abfrage.
+     * Das Ergebnis ist null, wenn der Spieler nicht existiert. Der Future wird nicht auf dem
+     * Main-Thread abgeschlossen.
      */
-    public PlayerData loadPlayerDataSync(UUID uuid) {
-        if (playerDataCache.containsKey(uuid)) {
-            return playerDataCache.get(uuid);
+    public CompletableFuture<PlayerData> loadPlayerDataAsync(UUID uuid) {
+        PlayerData cached = getPlayerData(uuid);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
         }
         
-        try (Connection connection = databaseManager.getConnection()) {
-            String sql = "SELECT * FROM cb_players WHERE uuid = ?";
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, uuid.toString());
-                
-                try (ResultSet resultSet = statement.executeQuery()) {
-                    if (resultSet.next()) {
-                        PlayerData playerData = new PlayerData(
-                            uuid,
-                            resultSet.getString("name"),
-                            resultSet.getDouble("balance"),
-                            resultSet.getTimestamp("first_join"),
-                            resultSet.getTimestamp("last_seen"),
-                            resultSet.getLong("play_time")
-                        );
-                        
-                        playerDataCache.put(uuid, playerData);
-                        return playerData;
-                    }
+        PlayerData pending = flusher.reclaim(uuid);
+        if (pending != null) {
+            return CompletableFuture.completedFuture(cacheOffline(pending));
+        }
+        
+        return pendingOfflineLoads.computeIfAbsent(uuid, key -> {
+            CompletableFuture<PlayerData> future = new CompletableFuture<>();
+            databaseManager.executeAsync(() -> {
+                try {
+                    PlayerData loaded = queryPlayerData(key);
+                    future.complete(loaded != null ? cacheOffline(loaded) : null);
+                } catch (SQLException e) {
+                    plugin.getLogger().log(Level.SEVERE, "Fehler beim Laden der Spielerdaten für " + key, e);
+                    future.complete(null);
+                } finally {
+                    pendingOfflineLoads.remove(key, future);
                 }
+            });
+            return future;
+        });
+    }
+    
+    /**
+     * Löst einen Spielernamen ohne blockierende Profil-Abfrage auf: Online-Spieler und gecachte
+     * Daten direkt, sonst asynchron über cb_players. Das Ergebnis ist null, wenn der Name unbekannt ist.
+     * Der Future wird nicht auf dem Main-Thread abgeschlossen.
+     */
+    public CompletableFuture<UUID> findPlayerUuidAsync(String name) {
+        Player online = plugin.getServer().getPlayerExact(name);
+        if (online != null) {
+            return CompletableFuture.completedFuture(online.getUniqueId());
+        }
+        
+        for (PlayerData cached : playerDataCache.values()) {
+            if (name.equalsIgnoreCase(cached.getName())) {
+                return CompletableFuture.completedFuture(cached.getUuid());
+            }
+        }
+        for (PlayerData cached : offlineCache.values()) {
+            if (name.equalsIgnoreCase(cached.getName())) {
+                return CompletableFuture.completedFuture(cached.getUuid());
             }
-        } catch (SQLException e) {
-            plugin.getLogger().log(Level.SEVERE, "Fehler beim Laden der Spielerdaten für " + uuid, e);
         }
         
-        return null;
+        if (!databaseManager.isDatabaseEnabled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        
+        CompletableFuture<UUID> future = new CompletableFuture<>();
+        databaseManager.executeAsync(() -> {
+            String sql = "SELECT uuid FROM cb_players WHERE name = ? ORDER BY last_seen DESC LIMIT 1";
+            try (Connection connection = databaseManager.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setString(1, name);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    future.complete(resultSet.next() ? UUID.fromString(resultSet.getString("uuid")) : null);
+                }
+            } catch (SQLException | IllegalArgumentException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Auflösen des Spielernamens " + name, e);
+                future.complete(null);
+            }
+        });
+        return future;
+    }
+    
+    /**
+     * Nimmt geladene Offline-Daten auf, sofern der Spieler nicht inzwischen online ist
+     */
+    private PlayerData cacheOffline(PlayerData playerData) {
+        PlayerData online = playerDataCache.get(playerData.getUuid());
+        if (online != null) {
+            return online;
+        }
+        PlayerData cached = offlineCache.putIfAbsent(playerData);
+        if (cached == playerData) {
+            trackBalance(playerData);
+        }
+        return cached;
+    }
+    
+    /**
+     * Liest einen bestehenden Spieler vollständig (mit Homes und Back-Locations), ohne ihn anzulegen
+     */
+    private PlayerData queryPlayerData(UUID uuid) throws SQLException {
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_ALL_SQL)) {
+            bindSelects(statement, 1, uuid);
+            statement.execute();
+            // Vollständig laden, damit die Daten bei einem Join übernommen werden können
+            return readPlayerData(statement, uuid);
+        }
     }
     
     /**
      * Räumt den Cache auf (entfernt verwaiste Einträge)
      */
     public void cleanupCache() {
+        offlineCache.evictExpired();
+        prefetchCache.evictExpired();
+        
         playerDataCache.entrySet().removeIf(entry -> {
             Player player = plugin.getServer().getPlayer(entry.getKey());
-            return player == null || !player.isOnline();
+            if (player == null || !player.isOnline()) {
+                // Ungespeicherte Änderungen (z.B. /eco bei Offline-Spielern) an den Flusher übergeben
+                flusher.enqueueUnload(entry.getValue());
+                return true;
+            }
+            return false;
         });
     }
     
     /**
-     * Holt die Anzahl der gecachten Spielerdaten
+     * Holt die Anzahl der gecachten Spielerdaten (online und offline)
      */
     public int getCachedPlayerCount() {
-        return playerDataCache.size();
+        return playerDataCache.size() + offlineCache.getSize();
+    }
+    
+    public OfflinePlayerCache getOfflineCache() {
+        return offlineCache;
+    }
+    
+    public LoginPrefetchCache getPrefetchCache() {
+        return prefetchCache;
     }
 }
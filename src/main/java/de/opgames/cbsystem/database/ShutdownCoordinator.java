@@ -0,0 +1,159 @@
+package de.opgames.cbsystem.database;
+
+import de.opgames.cbsystem.CBSystem;
+import de.opgames.cbsystem.data.PlayerData;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Schreibt beim Herunterfahren alle geänderten Spielerdaten.
+ * Die Änderungen werden einmal erfasst und in Batches parallel auf eigenen Threads geschrieben.
+ * Was bis zur Deadline ({@code performance.shutdown.timeout}) nicht geschrieben werden konnte,
+ * landet in einer lokalen Recovery-Datei, die beim nächsten Start nachgespielt wird.
+ */
+public class ShutdownCoordinator {
+
+    private static final String RECOVERY_FILE_NAME = "players.recovery";
+
+    private final CBSystem plugin;
+    private final PlayerDataFlusher flusher;
+    private final File recoveryFile;
+
+    public ShutdownCoordinator(CBSystem plugin, PlayerDataFlusher flusher) {
+        this.plugin = plugin;
+        this.flusher = flusher;
+        this.recoveryFile = new File(plugin.getDataFolder(), RECOVERY_FILE_NAME);
+    }
+
+    /**
+     * Schreibt alle Änderungen innerhalb der Deadline; der Rest wird in die Recovery-Datei gesichert
+     *
+     * @return Anzahl der in die Datenbank geschriebenen Spieler
+     */
+    public int flushAll(Collection<PlayerData> cachedPlayers) {
+        List<PlayerDataFlusher.Snapshot> snapshots;
+        // Kein gleichzeitiger Auto-Save, der dieselben Änderungen erfasst
+        synchronized (flusher) {
+            snapshots = flusher.captureDirty(cachedPlayers);
+        }
+        if (snapshots.isEmpty()) {
+            return 0;
+        }
+
+        int batchSize = Math.max(1, plugin.getConfigManager().getShutdownBatchSize());
+        int threads = Math.max(1, plugin.getConfigManager().getShutdownThreads());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(plugin.getConfigManager().getShutdownTimeout());
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "CBSystem-Shutdown-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Map<Future<?>, List<PlayerDataFlusher.Snapshot>> batches = new LinkedHashMap<>();
+        for (int i = 0; i < snapshots.size(); i += batchSize) {
+            List<PlayerDataFlusher.Snapshot> batch = snapshots.subList(i, Math.min(snapshots.size(), i + batchSize));
+            batches.put(executor.submit(() -> {
+                flusher.writeSnapshots(batch);
+                return null;
+            }), batch);
+        }
+        executor.shutdown();
+
+        int written = 0;
+        List<PlayerDataFlusher.Snapshot> remaining = new ArrayList<>();
+        for (Map.Entry<Future<?>, List<PlayerDataFlusher.Snapshot>> entry : batches.entrySet()) {
+            try {
+                long timeLeft = deadline - System.nanoTime();
+                entry.getKey().get(Math.max(0, timeLeft), TimeUnit.NANOSECONDS);
+                written += entry.getValue().size();
+            } catch (TimeoutException e) {
+                entry.getKey().cancel(true);
+                remaining.addAll(entry.getValue());
+            } catch (ExecutionException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Schreiben von " + entry.getValue().size()
+                    + " Spielerdaten beim Herunterfahren", e.getCause());
+                remaining.addAll(entry.getValue());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                remaining.addAll(entry.getValue());
+            }
+        }
+        executor.shutdownNow();
+
+        if (!remaining.isEmpty()) {
+            plugin.getLogger().warning(remaining.size() + " Spielerdaten konnten nicht rechtzeitig geschrieben werden "
+                + "und werden beim nächsten Start nachgespielt.");
+            writeRecoveryFile(remaining);
+        }
+        return written;
+    }
+
+    /**
+     * Hängt nicht geschriebene Änderungen an die Recovery-Datei an
+     */
+    private void writeRecoveryFile(List<PlayerDataFlusher.Snapshot> snapshots) {
+        try {
+            if (!recoveryFile.getParentFile().exists()) {
+                recoveryFile.getParentFile().mkdirs();
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(recoveryFile.toPath(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (PlayerDataFlusher.Snapshot snapshot : snapshots) {
+                    for (String line : snapshot.serialize()) {
+                        writer.write(line);
+                        writer.newLine();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, snapshots.size() + " Spielerdaten konnten nicht gesichert werden!", e);
+        }
+    }
+
+    /**
+     * Spielt die Recovery-Datei des letzten Herunterfahrens nach (beim Start, bevor Spieler geladen werden).
+     * Bei einem Fehler bleibt sie für den nächsten Start erhalten.
+     */
+    public void replayRecoveryFile() {
+        if (!recoveryFile.exists()) return;
+
+        List<PlayerDataFlusher.Snapshot> snapshots;
+        try {
+            snapshots = PlayerDataFlusher.Snapshot.deserialize(Files.readAllLines(recoveryFile.toPath(), StandardCharsets.UTF_8));
+            if (!snapshots.isEmpty()) {
+                flusher.writeSnapshots(snapshots);
+            }
+        } catch (IOException | SQLException e) {
+            plugin.getLogger().log(Level.SEVERE, "Recovery-Datei konnte nicht nachgespielt werden, neuer Versuch beim nächsten Start", e);
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(recoveryFile.toPath());
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Recovery-Datei konnte nicht gelöscht werden", e);
+        }
+        plugin.getLogger().info(snapshots.size() + " Spielerdaten aus der Recovery-Datei nachgespielt.");
+    }
+}
@@ -0,0 +1,262 @@
+package de.opgames.cbsystem.economy;
+
+import de.opgames.cbsystem.CBSystem;
+import de.opgames.cbsystem.data.PlayerData;
+import de.opgames.cbsystem.database.DatabaseManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+
+/**
+ * Reichenliste aller Spieler im Speicher.
+ * Wird beim Start einmalig aus cb_players geladen und danach bei jeder Guthabenänderung
+ * inkrementell aktualisiert. Die Einträge liegen in einem größen-augmentierten Treap,
+ * sodass Rang N und der Rang eines Spielers in O(log n) ohne Datenbankzugriff ermittelt werden.
+ */
+public class BalanceLeaderboard {
+
+    // Höchstes Guthaben zuerst, bei Gleichstand stabil nach UUID
+    private static final Comparator<Entry> ORDER = Comparator
+        .comparingLong(Entry::getBalanceCents).reversed()
+        .thenComparing(Entry::getUuid);
+
+    private final CBSystem plugin;
+    private final DatabaseManager databaseManager;
+
+    // Geschützt durch this
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private Node root;
+
+    public BalanceLeaderboard(CBSystem plugin, DatabaseManager databaseManager) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+    }
+
+    /**
+     * Lädt alle Spieler asynchron mit einer einzigen Abfrage.
+     * Bereits aktualisierte (geladene) Spieler werden dabei nicht überschrieben.
+     */
+    public void seed() {
+        if (!databaseManager.isDatabaseEnabled()) return;
+
+        databaseManager.executeAsync(() -> {
+            int loaded = 0;
+            try (Connection connection = databaseManager.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("SELECT uuid, name, balance FROM cb_players")) {
+                statement.setFetchSize(1000);
+
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        Entry entry = new Entry(
+                            UUID.fromString(resultSet.getString("uuid")),
+                            resultSet.getString("name"),
+                            BalanceLedger.toCents(resultSet.getDouble("balance"))
+                        );
+                        synchronized (this) {
+                            if (!entries.containsKey(entry.uuid)) {
+                                insert(entry);
+                                loaded++;
+                            }
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Laden der Reichenliste:", e);
+                return;
+            }
+
+            plugin.getLogger().info("Reichenliste: " + loaded + " Spieler geladen.");
+        });
+    }
+
+    /**
+     * Übernimmt das aktuelle Guthaben eines Spielers.
+     * Das Guthaben wird erst unter der Sperre gelesen, damit bei parallelen Buchungen
+     * immer der neueste Stand gewinnt.
+     */
+    public synchronized void update(PlayerData playerData) {
+        long cents = playerData.getBalanceCents();
+        Entry current = entries.get(playerData.getUuid());
+        if (current != null && current.balanceCents == cents && current.name.equals(playerData.getName())) {
+            return;
+        }
+
+        if (current != null) {
+            root = remove(root, current);
+        }
+        insert(new Entry(playerData.getUuid(), playerData.getName(), cents));
+    }
+
+    /**
+     * Holt den Eintrag auf Platz {@code position} (1-basiert) oder null
+     */
+    public synchronized Entry getEntry(int position) {
+        if (position < 1 || position > size(root)) return null;
+
+        Node node = root;
+        int index = position - 1;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.entry;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Holt den Rang eines Spielers (1-basiert) oder -1 wenn er nicht erfasst ist
+     */
+    public synchronized int getRank(UUID uuid) {
+        Entry entry = entries.get(uuid);
+        if (entry == null) return -1;
+
+        int rank = 1;
+        Node node = root;
+        while (node != null) {
+            int cmp = ORDER.compare(entry, node.entry);
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left);
+                if (cmp == 0) break;
+                rank++;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Holt die ersten {@code limit} Einträge der Reichenliste
+     */
+    public synchronized List<Entry> getTop(int limit) {
+        List<Entry> result = new ArrayList<>(Math.max(0, Math.min(limit, size(root))));
+        collect(root, result, limit);
+        return result;
+    }
+
+    public synchronized int size() {
+        return size(root);
+    }
+
+    // ==================== Treap ====================
+
+    private void insert(Entry entry) {
+        entries.put(entry.uuid, entry);
+        Node[] parts = split(root, entry);
+        root = merge(merge(parts[0], new Node(entry)), parts[1]);
+    }
+
+    private Node remove(Node node, Entry entry) {
+        if (node == null) return null;
+
+        int cmp = ORDER.compare(entry, node.entry);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, entry);
+        } else {
+            node.right = remove(node.right, entry);
+        }
+        node.update();
+        return node;
+    }
+
+    // Teilt in Einträge vor {@code key} und ab {@code key}
+    private static Node[] split(Node node, Entry key) {
+        if (node == null) return new Node[]{null, null};
+
+        if (ORDER.compare(node.entry, key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            node.update();
+            return new Node[]{node, parts[1]};
+        } else {
+            Node[] parts = split(node.left, key);
+            node.left = parts[1];
+            node.update();
+            return new Node[]{parts[0], node};
+        }
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        } else {
+            right.left = merge(left, right.left);
+            right.update();
+            return right;
+        }
+    }
+
+    private static void collect(Node node, List<Entry> result, int limit) {
+        if (node == null || result.size() >= limit) return;
+        collect(node.left, result, limit);
+        if (result.size() < limit) {
+            result.add(node.entry);
+            collect(node.right, result, limit);
+        }
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static class Node {
+        private final Entry entry;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        Node(Entry entry) {
+            this.entry = entry;
+        }
+
+        void update() {
+            size = 1 + size(left) + size(right);
+        }
+    }
+
+    /**
+     * Unveränderlicher Eintrag der Reichenliste
+     */
+    public static class Entry {
+        private final UUID uuid;
+        private final String name;
+        private final long balanceCents;
+
+        Entry(UUID uuid, String name, long balanceCents) {
+            this.uuid = uuid;
+            this.name = name != null ? name : "";
+            this.balanceCents = balanceCents;
+        }
+
+        public UUID getUuid() { return uuid; }
+        public String getName() { return name; }
+        public long getBalanceCents() { return balanceCents; }
+        public double getBalance() { return BalanceLedger.fromCents(balanceCents); }
+    }
+}
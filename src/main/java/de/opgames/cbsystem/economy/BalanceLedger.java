@@ -0,0 +1,162 @@
+package de.opgames.cbsystem.economy;
+
+import de.opgames.cbsystem.CBSystem;
+import de.opgames.cbsystem.data.PlayerData;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Lock-freies Guthaben-Ledger auf Basis von Cent-Beträgen.
+ * Einzelbuchungen laufen per CAS direkt auf dem Konto des Spielers,
+ * Überweisungen buchen erst alle Belastungen und danach alle Gutschriften.
+ * Schlägt eine Belastung fehl, werden die bereits gebuchten zurückgebucht,
+ * sodass weder Geld verloren geht noch dupliziert wird.
+ */
+public class BalanceLedger {
+
+    private final CBSystem plugin;
+
+    public BalanceLedger(CBSystem plugin) {
+        this.plugin = plugin;
+    }
+
+    public static long toCents(double amount) {
+        return Math.round(amount * 100.0);
+    }
+
+    public static double fromCents(long cents) {
+        return cents / 100.0;
+    }
+
+    /**
+     * Bucht einen Betrag auf ein Konto, begrenzt auf das Maximalguthaben
+     *
+     * @return tatsächlich gutgeschriebene Cents oder -1 wenn das Konto nicht geladen ist
+     */
+    public long deposit(UUID account, long cents) {
+        PlayerData playerData = getAccount(account);
+        if (playerData == null) return -1;
+        return playerData.depositCents(cents, getMaxBalanceCents());
+    }
+
+    /**
+     * Bucht eine zuvor abgebuchte Summe zurück, ohne Begrenzung auf das Maximalguthaben
+     *
+     * @return false wenn das Konto nicht mehr geladen ist
+     */
+    public boolean refund(UUID account, long cents) {
+        PlayerData playerData = getAccount(account);
+        if (playerData == null) return false;
+        playerData.depositCents(cents, Long.MAX_VALUE);
+        return true;
+    }
+    
+    /**
+     * Bucht einen Betrag ab, wenn das Guthaben ausreicht
+     */
+    public boolean withdraw(UUID account, long cents) {
+        PlayerData playerData = getAccount(account);
+        return playerData != null && playerData.tryWithdrawCents(cents);
+    }
+
+    /**
+     * Setzt das Guthaben und liefert das vorherige Guthaben in Cents (-1 wenn nicht geladen)
+     */
+    public long set(UUID account, long cents) {
+        PlayerData playerData = getAccount(account);
+        if (playerData == null) return -1;
+        return playerData.getAndSetBalanceCents(Math.max(0, Math.min(cents, getMaxBalanceCents())));
+    }
+
+    /**
+     * Überweist atomar von einem Konto auf ein anderes.
+     * Der Empfänger erhält den Betrag abzüglich der Steuer.
+     */
+    public boolean transfer(UUID from, UUID to, long cents, long taxCents) {
+        List<Transfer> transfers = new ArrayList<>(2);
+        transfers.add(new Transfer(from, to, cents - taxCents));
+        if (taxCents > 0) {
+            transfers.add(new Transfer(from, null, taxCents));
+        }
+        return transferAll(transfers);
+    }
+
+    /**
+     * Führt mehrere Überweisungen als Einheit aus (z.B. Handel zwischen mehreren Spielern).
+     * Pro Konto wird nur der Saldo gebucht. Entweder werden alle Überweisungen
+     * ausgeführt oder keine. Ein Empfänger {@code null} entfernt das Geld aus dem Umlauf (Steuer).
+     */
+    public boolean transferAll(List<Transfer> transfers) {
+        Map<UUID, Long> net = new LinkedHashMap<>();
+        for (Transfer transfer : transfers) {
+            if (transfer.getCents() < 0) return false;
+            net.merge(transfer.getFrom(), -transfer.getCents(), Long::sum);
+            if (transfer.getTo() != null) {
+                net.merge(transfer.getTo(), transfer.getCents(), Long::sum);
+            }
+        }
+
+        // Alle beteiligten Konten müssen geladen sein
+        Map<UUID, PlayerData> accounts = new LinkedHashMap<>();
+        for (UUID uuid : net.keySet()) {
+            PlayerData playerData = getAccount(uuid);
+            if (playerData == null) return false;
+            accounts.put(uuid, playerData);
+        }
+
+        // Phase 1: Belastungen
+        List<Map.Entry<UUID, Long>> applied = new ArrayList<>();
+        for (Map.Entry<UUID, Long> entry : net.entrySet()) {
+            if (entry.getValue() >= 0) continue;
+
+            if (!accounts.get(entry.getKey()).tryWithdrawCents(-entry.getValue())) {
+                // Zurückbuchen, ohne Begrenzung auf das Maximalguthaben
+                for (Map.Entry<UUID, Long> done : applied) {
+                    accounts.get(done.getKey()).depositCents(-done.getValue(), Long.MAX_VALUE);
+                }
+                return false;
+            }
+            applied.add(entry);
+        }
+
+        // Phase 2: Gutschriften
+        for (Map.Entry<UUID, Long> entry : net.entrySet()) {
+            if (entry.getValue() > 0) {
+                accounts.get(entry.getKey()).depositCents(entry.getValue(), Long.MAX_VALUE);
+            }
+        }
+
+        return true;
+    }
+
+    private PlayerData getAccount(UUID account) {
+        return plugin.getPlayerDataManager().getPlayerData(account);
+    }
+
+    private long getMaxBalanceCents() {
+        return toCents(plugin.getConfigManager().getMaxBalance());
+    }
+
+    /**
+     * Einzelne Überweisung innerhalb von {@link #transferAll(List)}
+     */
+    public static class Transfer {
+        private final UUID from;
+        private final UUID to;
+        private final long cents;
+
+        public Transfer(UUID from, UUID to, long cents) {
+            this.from = from;
+            this.to = to;
+            this.cents = cents;
+        }
+
+        public UUID getFrom() { return from; }
+        public UUID getTo() { return to; }
+        public long getCents() { return cents; }
+    }
+}
@@ -5,20 +5,25 @@ import de.opgames.cbsystem.data.PlayerData;
 import de.opgames.cbsystem.database.DatabaseManager;
 import org.bukkit.entity.Player;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
+import java.util.List;
 import java.util.UUID;
-import java.util.logging.Level;
 
 public class EconomyManager {
     
     private final CBSystem plugin;
     private final DatabaseManager databaseManager;
+    private final BalanceLedger ledger;
+    private final TransactionJournal journal;
+    private final BalanceLeaderboard leaderboard;
     
     public EconomyManager(CBSystem plugin) {
         this.plugin = plugin;
         this.databaseManager = plugin.getDatabaseManager();
+        this.ledger = new BalanceLedger(plugin);
+        this.journal = new TransactionJournal(plugin, databaseManager);
+        this.journal.start();
+        this.leaderboard = new BalanceLeaderboard(plugin, databaseManager);
+        this.leaderboard.seed();
     }
     
     /**
@@ -33,21 +38,21 @@ public class EconomyManager {
      * Überprüft ob ein Spieler genug Geld hat
      */
     public boolean hasBalance(UUID playerUUID, double amount) {
-        return getBalance(playerUUID) >= amount;
+        PlayerData playerData = plugin.getPlayerDataManager().getPlayerData(playerUUID);
+        return playerData != null && playerData.hasBalance(amount);
     }
     
     /**
      * Setzt das Guthaben eines Spielers
      */
     public boolean setBalance(UUID playerUUID, double amount, String reason) {
-        PlayerData playerData = plugin.getPlayerDataManager().getPlayerData(playerUUID);
-        if (playerData == null) return false;
-        
-        double oldBalance = playerData.getBalance();
-        playerData.setBalance(Math.max(0, Math.min(amount, plugin.getConfigManager().getMaxBalance())));
+        long newCents = Math.max(0, Math.min(BalanceLedger.toCents(amount), BalanceLedger.toCents(plugin.getConfigManager().getMaxBalance())));
+        long oldCents = ledger.set(playerUUID, newCents);
+        if (oldCents < 0) return false;
+        updateLeaderboard(playerUUID);
         
         // Transaktion in Datenbank speichern
-        logTransaction(null, playerUUID, amount - oldBalance, TransactionType.ADMIN_SET, reason);
+        logTransaction(null, playerUUID, BalanceLedger.fromCents(newCents - oldCents), TransactionType.ADMIN_SET, reason);
         
         return true;
     }
@@ -56,26 +61,31 @@ public class EconomyManager {
      * Fügt Geld zum Guthaben hinzu
      */
     public boolean addBalance(UUID playerUUID, double amount, String reason) {
-        PlayerData playerData = plugin.getPlayerDataManager().getPlayerData(playerUUID);
-        if (playerData == null) return false;
-        
-        double newBalance = Math.min(playerData.getBalance() + amount, plugin.getConfigManager().getMaxBalance());
-        playerData.setBalance(newBalance);
+        return depositBalance(playerUUID, amount, reason) >= 0;
+    }
+    
+    /**
+     * Fügt Geld zum Guthaben hinzu (begrenzt auf das Maximalguthaben)
+     *
+     * @return tatsächlich gutgeschriebener Betrag oder -1 wenn der Spieler nicht geladen ist
+     */
+    public double depositBalance(UUID playerUUID, double amount, String reason) {
+        long credited = ledger.deposit(playerUUID, BalanceLedger.toCents(amount));
+        if (credited < 0) return -1;
+        updateLeaderboard(playerUUID);
         
-        // Transaktion in Datenbank speichern
-        logTransaction(null, playerUUID, amount, TransactionType.ADMIN_ADD, reason);
+        // Transaktion in Datenbank speichern (tatsächlich gutgeschriebener Betrag)
+        logTransaction(null, playerUUID, BalanceLedger.fromCents(credited), TransactionType.ADMIN_ADD, reason);
         
-        return true;
+        return BalanceLedger.fromCents(credited);
     }
     
     /**
      * Zieht Geld vom Guthaben ab
      */
     public boolean withdrawBalance(UUID playerUUID, double amount, String reason) {
-        PlayerData playerData = plugin.getPlayerDataManager().getPlayerData(playerUUID);
-        if (playerData == null || !hasBalance(playerUUID, amount)) return false;
-        
-        playerData.subtractBalance(amount);
+        if (!ledger.withdraw(playerUUID, BalanceLedger.toCents(amount))) return false;
+        updateLeaderboard(playerUUID);
         
         // Transaktion in Datenbank speichern
         logTransaction(playerUUID, null, amount, TransactionType.ADMIN_REMOVE, reason);
@@ -84,34 +94,84 @@ public class EconomyManager {
     }
     
     /**
-     * Überweist Geld von einem Spieler zu einem anderen
+     * Bucht einen zuvor abgezogenen Betrag zurück (Kompensation fehlgeschlagener Vorgänge).
+     * Anders als {@link #addBalance} wird nicht auf das Maximalguthaben begrenzt.
      */
-    public boolean transferMoney(UUID fromUUID, UUID toUUID, double amount, String reason) {
-        if (!hasBalance(fromUUID, amount)) return false;
-        
-        PlayerData fromData = plugin.getPlayerDataManager().getPlayerData(fromUUID);
-        PlayerData toData = plugin.getPlayerDataManager().getPlayerData(toUUID);
+    public boolean refundBalance(UUID playerUUID, double amount, String reason) {
+        if (!ledger.refund(playerUUID, BalanceLedger.toCents(amount))) return false;
+        updateLeaderboard(playerUUID);
         
-        if (fromData == null || toData == null) return false;
+        logTransaction(null, playerUUID, amount, TransactionType.ADMIN_ADD, reason);
         
+        return true;
+    }
+    
+    /**
+     * Überweist Geld von einem Spieler zu einem anderen
+     */
+    public boolean transferMoney(UUID fromUUID, UUID toUUID, double amount, String reason) {
         // Berechne eventuelle Steuern
-        double tax = amount * (plugin.getConfigManager().getPayTaxPercentage() / 100.0);
-        double actualAmount = amount - tax;
+        long cents = BalanceLedger.toCents(amount);
+        long taxCents = Math.round(cents * (plugin.getConfigManager().getPayTaxPercentage() / 100.0));
         
-        // Führe die Transaktion durch
-        fromData.subtractBalance(amount);
-        toData.addBalance(actualAmount);
+        // Führe die Transaktion atomar durch
+        if (!ledger.transfer(fromUUID, toUUID, cents, taxCents)) return false;
+        updateLeaderboard(fromUUID);
+        updateLeaderboard(toUUID);
         
         // Transaktion in Datenbank speichern
-        logTransaction(fromUUID, toUUID, actualAmount, TransactionType.TRANSFER, reason);
+        logTransaction(fromUUID, toUUID, BalanceLedger.fromCents(cents - taxCents), TransactionType.TRANSFER, reason);
         
-        if (tax > 0) {
-            logTransaction(fromUUID, null, tax, TransactionType.TRANSFER, "Steuer für Überweisung");
+        if (taxCents > 0) {
+            logTransaction(fromUUID, null, BalanceLedger.fromCents(taxCents), TransactionType.TRANSFER, "Steuer für Überweisung");
         }
         
         return true;
     }
     
+    /**
+     * Führt mehrere Überweisungen als Einheit aus (z.B. Handel zwischen mehreren Spielern).
+     * Entweder werden alle Überweisungen gebucht oder keine.
+     */
+    public boolean transferAll(List<BalanceLedger.Transfer> transfers, String reason) {
+        if (!ledger.transferAll(transfers)) return false;
+        
+        for (BalanceLedger.Transfer transfer : transfers) {
+            updateLeaderboard(transfer.getFrom());
+            if (transfer.getTo() != null) {
+                updateLeaderboard(transfer.getTo());
+            }
+            logTransaction(transfer.getFrom(), transfer.getTo(), BalanceLedger.fromCents(transfer.getCents()),
+                TransactionType.TRANSFER, reason);
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Holt das Guthaben-Ledger für atomare Buchungen
+     */
+    public BalanceLedger getLedger() {
+        return ledger;
+    }
+    
+    /**
+     * Holt die im Speicher gehaltene Reichenliste
+     */
+    public BalanceLeaderboard getLeaderboard() {
+        return leaderboard;
+    }
+    
+    /**
+     * Übernimmt das aktuelle Guthaben eines Spielers in die Reichenliste
+     */
+    public void updateLeaderboard(UUID playerUUID) {
+        PlayerData playerData = plugin.getPlayerDataManager().getPlayerData(playerUUID);
+        if (playerData != null) {
+            leaderboard.update(playerData);
+        }
+    }
+    
     /**
      * Formatiert einen Geldbetrag als String
      */
@@ -129,31 +189,26 @@ public class EconomyManager {
     }
     
     /**
-     * Loggt eine Transaktion in die Datenbank
+     * Loggt eine Transaktion über das gebündelte Journal in die Datenbank
      */
     private void logTransaction(UUID fromUUID, UUID toUUID, double amount, TransactionType type, String reason) {
         if (!plugin.getConfigManager().isMoneyTransactionLoggingEnabled()) return;
         
-        databaseManager.executeAsync(() -> {
-            try (Connection connection = databaseManager.getConnection()) {
-                String sql = """
-                    INSERT INTO cb_transactions (from_uuid, to_uuid, amount, type, reason)
-                    VALUES (?, ?, ?, ?, ?)
-                """;
-                
-                try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                    statement.setString(1, fromUUID != null ? fromUUID.toString() : null);
-                    statement.setString(2, toUUID != null ? toUUID.toString() : null);
-                    statement.setDouble(3, amount);
-                    statement.setString(4, type.name());
-                    statement.setString(5, reason);
-                    
-                    statement.executeUpdate();
-                }
-            } catch (SQLException e) {
-                plugin.getLogger().log(Level.SEVERE, "Fehler beim Loggen der Transaktion", e);
-            }
-        });
+        journal.log(fromUUID, toUUID, amount, type, reason);
+    }
+    
+    /**
+     * Holt das Transaktions-Journal (Metriken)
+     */
+    public TransactionJournal getJournal() {
+        return journal;
+    }
+    
+    /**
+     * Schreibt ausstehende Journal-Einträge und stoppt den Drainer
+     */
+    public void shutdown() {
+        journal.shutdown();
     }
     
     /**
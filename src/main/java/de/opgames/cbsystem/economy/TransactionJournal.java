@@ -0,0 +1,468 @@
+package de.opgames.cbsystem.economy;
+
+import de.opgames.cbsystem.CBSystem;
+import de.opgames.cbsystem.database.DatabaseManager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Gebündeltes Journal für cb_transactions.
+ * Beliebige Threads legen Buchungen in eine begrenzte Queue, ein eigener Drainer-Thread
+ * schreibt sie nach Größe oder Zeit als Batch-INSERT. Ist MySQL nicht erreichbar oder
+ * die Queue voll, landen die Einträge in einer lokalen Append-Only-Datei (begrenzt auf
+ * {@code max-spill-size-mb}), die später nachgespielt wird. Einträge, die die Datenbank
+ * dauerhaft ablehnt (Datenfehler, Constraint-Verletzung), wandern in eine Quarantäne-Datei.
+ */
+public class TransactionJournal {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO cb_transactions (from_uuid, to_uuid, amount, type, reason, timestamp)
+        VALUES (?, ?, ?, ?, ?, ?)
+    """;
+
+    private static final String SPILL_FILE_NAME = "transactions.journal";
+    private static final String QUARANTINE_FILE_NAME = "transactions.quarantine";
+    private static final long REPLAY_RETRY_MS = 30_000L;
+
+    private final CBSystem plugin;
+    private final DatabaseManager databaseManager;
+    private final BlockingQueue<Entry> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final File spillFile;
+    private final File replayFile;
+    private final File quarantineFile;
+    private final long maxSpillBytes;
+    private final Object spillLock = new Object();
+
+    // Backpressure-Metriken
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong quarantined = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile int queueHighWatermark;
+
+    private volatile boolean running;
+    private volatile long lastReplayAttempt;
+    private boolean spillFullWarned;
+    private Thread drainer;
+
+    public TransactionJournal(CBSystem plugin, DatabaseManager databaseManager) {
+        this.plugin = plugin;
+        this.databaseManager = databaseManager;
+        this.queue = new ArrayBlockingQueue<>(plugin.getConfigManager().getTransactionJournalQueueCapacity());
+        this.batchSize = plugin.getConfigManager().getTransactionJournalBatchSize();
+        this.flushIntervalMs = plugin.getConfigManager().getTransactionJournalFlushInterval();
+        this.spillFile = new File(plugin.getDataFolder(), SPILL_FILE_NAME);
+        this.replayFile = new File(plugin.getDataFolder(), SPILL_FILE_NAME + ".replay");
+        this.quarantineFile = new File(plugin.getDataFolder(), QUARANTINE_FILE_NAME);
+        this.maxSpillBytes = Math.max(1, plugin.getConfigManager().getTransactionJournalMaxSpillSize()) * 1024L * 1024L;
+    }
+
+    /**
+     * Startet den Drainer-Thread
+     */
+    public void start() {
+        if (running) return;
+        running = true;
+
+        drainer = new Thread(this::drainLoop, "CBSystem-TransactionJournal");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /**
+     * Stoppt den Drainer und schreibt alle verbleibenden Einträge (Datenbank oder Spill-Datei)
+     */
+    public void shutdown() {
+        running = false;
+        if (drainer != null) {
+            drainer.interrupt();
+            try {
+                drainer.join(5000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        List<Entry> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            writeOrSpill(remaining);
+        }
+    }
+
+    /**
+     * Legt eine Buchung ins Journal. Blockiert nie: ist die Queue voll,
+     * wird direkt in die Spill-Datei geschrieben.
+     */
+    public void log(UUID fromUUID, UUID toUUID, double amount, EconomyManager.TransactionType type, String reason) {
+        Entry entry = new Entry(fromUUID, toUUID, amount, type.name(), reason, System.currentTimeMillis());
+        enqueued.incrementAndGet();
+
+        if (!running || !queue.offer(entry)) {
+            spill(List.of(entry));
+            return;
+        }
+
+        int size = queue.size();
+        if (size > queueHighWatermark) {
+            queueHighWatermark = size;
+        }
+    }
+
+    private void drainLoop() {
+        replaySpillFile();
+
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Entry first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    long deadline = System.currentTimeMillis() + flushIntervalMs;
+
+                    // Sammeln bis Batch voll oder Zeitfenster abgelaufen
+                    while (batch.size() < batchSize) {
+                        long wait = deadline - System.currentTimeMillis();
+                        if (wait <= 0) break;
+                        queue.drainTo(batch, batchSize - batch.size());
+                        if (batch.size() >= batchSize) break;
+                        Entry next = queue.poll(wait, TimeUnit.MILLISECONDS);
+                        if (next == null) break;
+                        batch.add(next);
+                    }
+
+                    writeOrSpill(batch);
+                    batch.clear();
+                }
+
+                if ((spillFile.exists() || replayFile.exists()) && System.currentTimeMillis() - lastReplayAttempt >= REPLAY_RETRY_MS) {
+                    replaySpillFile();
+                }
+            } catch (InterruptedException e) {
+                if (!batch.isEmpty()) {
+                    writeOrSpill(batch);
+                    batch.clear();
+                }
+                if (!running) break;
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(Level.SEVERE, "Unerwarteter Fehler im Transaktions-Journal", e);
+            }
+        }
+    }
+
+    private void writeOrSpill(List<Entry> entries) {
+        try {
+            writeBatch(entries);
+            written.addAndGet(entries.size());
+        } catch (SQLException e) {
+            plugin.getLogger().log(Level.WARNING, "Transaktions-Journal: Datenbank nicht erreichbar, "
+                + entries.size() + " Einträge werden lokal zwischengespeichert", e);
+            spill(entries);
+        }
+    }
+
+    /**
+     * Schreibt die Einträge in einer Transaktion - ein fehlgeschlagener Batch hinterlässt keine Zeilen
+     */
+    private void writeBatch(List<Entry> entries) throws SQLException {
+        try (Connection connection = databaseManager.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                insert(connection, entries);
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+            batches.incrementAndGet();
+        }
+    }
+
+    private void insert(Connection connection, List<Entry> entries) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            for (Entry entry : entries) {
+                statement.setString(1, entry.fromUUID != null ? entry.fromUUID.toString() : null);
+                statement.setString(2, entry.toUUID != null ? entry.toUUID.toString() : null);
+                statement.setDouble(3, entry.amount);
+                statement.setString(4, entry.type);
+                statement.setString(5, entry.reason);
+                statement.setTimestamp(6, new Timestamp(entry.timestamp));
+                statement.addBatch();
+            }
+
+            // rewriteBatchedStatements=true macht daraus einen mehrzeiligen INSERT
+            statement.executeBatch();
+        }
+    }
+
+    private void spill(List<Entry> entries) {
+        synchronized (spillLock) {
+            try {
+                if (!spillFile.getParentFile().exists()) {
+                    spillFile.getParentFile().mkdirs();
+                }
+
+                // Begrenzt, damit eine dauerhaft fehlende Datenbank nicht die Platte füllt
+                long size = (spillFile.exists() ? spillFile.length() : 0) + (replayFile.exists() ? replayFile.length() : 0);
+                if (size >= maxSpillBytes) {
+                    dropped.addAndGet(entries.size());
+                    if (!spillFullWarned) {
+                        spillFullWarned = true;
+                        plugin.getLogger().severe("Transaktions-Journal: Spill-Datei hat die Maximalgröße von "
+                            + (maxSpillBytes / 1024 / 1024) + " MB erreicht, weitere Einträge werden verworfen!");
+                    }
+                    return;
+                }
+                spillFullWarned = false;
+
+                appendLines(spillFile, entries);
+                spilled.addAndGet(entries.size());
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.SEVERE, "Transaktions-Journal: " + entries.size()
+                    + " Einträge konnten nicht gesichert werden!", e);
+            }
+        }
+    }
+
+    private static void appendLines(File file, List<Entry> entries) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Entry entry : entries) {
+                writer.write(entry.serialize());
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Spielt die Spill-Datei in die Datenbank nach. Jeder Batch wird in einer eigenen Transaktion
+     * geschrieben; bricht das Nachspielen ab, bleiben nur die noch nicht geschriebenen Einträge in
+     * der Replay-Datei, sodass kein Eintrag mehrfach eingefügt wird. Lehnt die Datenbank einen Batch
+     * dauerhaft ab (SQLState-Klasse 22/23), werden seine Einträge einzeln geschrieben und die
+     * abgelehnten in die Quarantäne-Datei verschoben.
+     */
+    private void replaySpillFile() {
+        lastReplayAttempt = System.currentTimeMillis();
+        if (!databaseManager.isDatabaseEnabled()) return;
+
+        synchronized (spillLock) {
+            if (!replayFile.exists()) {
+                if (!spillFile.exists()) return;
+                try {
+                    // Neue Einträge landen ab jetzt in einer frischen Spill-Datei
+                    Files.move(spillFile.toPath(), replayFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    plugin.getLogger().log(Level.WARNING, "Transaktions-Journal: Spill-Datei konnte nicht übernommen werden", e);
+                    return;
+                }
+            }
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(replayFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Entry entry = Entry.deserialize(line);
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Transaktions-Journal: Replay-Datei konnte nicht gelesen werden", e);
+            return;
+        }
+
+        int count = 0;
+        int rejected = 0;
+        int offset = 0;
+        try {
+            while (offset < entries.size()) {
+                List<Entry> batch = entries.subList(offset, Math.min(entries.size(), offset + batchSize));
+                try {
+                    writeBatch(batch);
+                    count += batch.size();
+                    offset += batch.size();
+                    continue;
+                } catch (SQLException e) {
+                    if (!isPermanent(e)) throw e;
+                }
+
+                // Abgelehnten Batch einzeln schreiben, um die fehlerhaften Einträge zu finden
+                for (Entry entry : List.copyOf(batch)) {
+                    try {
+                        writeBatch(List.of(entry));
+                        count++;
+                    } catch (SQLException e) {
+                        if (!isPermanent(e)) throw e;
+                        appendLines(quarantineFile, List.of(entry));
+                        quarantined.incrementAndGet();
+                        rejected++;
+                    }
+                    offset++;
+                }
+            }
+        } catch (SQLException | IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Transaktions-Journal: Nachspielen nach " + count
+                + " Einträgen abgebrochen, neuer Versuch später", e);
+            // Bereits geschriebene Einträge aus der Replay-Datei entfernen
+            rewriteReplayFile(entries.subList(offset, entries.size()));
+            replayed.addAndGet(count);
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(replayFile.toPath());
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Transaktions-Journal: Replay-Datei konnte nicht gelöscht werden", e);
+        }
+
+        replayed.addAndGet(count);
+        if (count > 0) {
+            plugin.getLogger().info("Transaktions-Journal: " + count + " zwischengespeicherte Einträge nachgespielt.");
+        }
+        if (rejected > 0) {
+            plugin.getLogger().warning("Transaktions-Journal: " + rejected + " Einträge wurden von der Datenbank abgelehnt und nach "
+                + quarantineFile.getName() + " verschoben.");
+        }
+    }
+
+    /**
+     * Datenfehler (Klasse 22) und Constraint-Verletzungen (Klasse 23) schlagen bei jedem Versuch fehl
+     */
+    private static boolean isPermanent(SQLException e) {
+        for (Throwable current = e; current != null; current = current.getCause()) {
+            if (current instanceof SQLException sqlException) {
+                String state = sqlException.getSQLState();
+                if (state != null && (state.startsWith("22") || state.startsWith("23"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ersetzt die Replay-Datei durch die noch nicht geschriebenen Einträge
+     */
+    private void rewriteReplayFile(List<Entry> remaining) {
+        File temp = new File(replayFile.getParentFile(), replayFile.getName() + ".tmp");
+        try {
+            Files.deleteIfExists(temp.toPath());
+            appendLines(temp, remaining);
+            Files.move(temp.toPath(), replayFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Transaktions-Journal: Replay-Datei konnte nicht gekürzt werden", e);
+        }
+    }
+
+    // Metriken
+    public int getQueueSize() { return queue.size(); }
+    public int getQueueCapacity() { return queue.size() + queue.remainingCapacity(); }
+    public int getQueueHighWatermark() { return queueHighWatermark; }
+    public long getEnqueuedCount() { return enqueued.get(); }
+    public long getWrittenCount() { return written.get(); }
+    public long getSpilledCount() { return spilled.get(); }
+    public long getReplayedCount() { return replayed.get(); }
+    public long getQuarantinedCount() { return quarantined.get(); }
+    public long getDroppedCount() { return dropped.get(); }
+    public long getBatchCount() { return batches.get(); }
+
+    public String getStatsLine() {
+        return String.format("Journal - Queue: %d/%d (max %d), geschrieben: %d in %d Batches, ausgelagert: %d, nachgespielt: %d, Quarantäne: %d, verworfen: %d",
+            getQueueSize(), getQueueCapacity(), queueHighWatermark, written.get(), batches.get(), spilled.get(), replayed.get(),
+            quarantined.get(), dropped.get());
+    }
+
+    /**
+     * Einzelne Buchung im Journal
+     */
+    private static class Entry {
+        private final UUID fromUUID;
+        private final UUID toUUID;
+        private final double amount;
+        private final String type;
+        private final String reason;
+        private final long timestamp;
+
+        Entry(UUID fromUUID, UUID toUUID, double amount, String type, String reason, long timestamp) {
+            this.fromUUID = fromUUID;
+            this.toUUID = toUUID;
+            this.amount = amount;
+            this.type = type;
+            this.reason = reason;
+            this.timestamp = timestamp;
+        }
+
+        String serialize() {
+            return (fromUUID != null ? fromUUID.toString() : "-") + '\t'
+                + (toUUID != null ? toUUID.toString() : "-") + '\t'
+                + amount + '\t'
+                + type + '\t'
+                + timestamp + '\t'
+                + escape(reason);
+        }
+
+        static Entry deserialize(String line) {
+            String[] parts = line.split("\t", 6);
+            if (parts.length < 6) return null;
+            try {
+                return new Entry(
+                    parts[0].equals("-") ? null : UUID.fromString(parts[0]),
+                    parts[1].equals("-") ? null : UUID.fromString(parts[1]),
+                    Double.parseDouble(parts[2]),
+                    parts[3],
+                    unescape(parts[5]),
+                    Long.parseLong(parts[4])
+                );
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        private static String escape(String value) {
+            if (value == null) return "\\0";
+            return value.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n");
+        }
+
+        private static String unescape(String value) {
+            if (value.equals("\\0")) return null;
+            StringBuilder builder = new StringBuilder(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '\\' && i + 1 < value.length()) {
+                    char next = value.charAt(++i);
+                    builder.append(next == 't' ? '\t' : next == 'n' ? '\n' : next);
+                } else {
+                    builder.append(c);
+                }
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -5,13 +5,19 @@ import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.logging.Level;
 
-public abstract class BaseGUI {
+public abstract class BaseGUI implements InventoryHolder {
     
     protected final CBSystem plugin;
     protected final Player player;
@@ -19,14 +25,28 @@ public abstract class BaseGUI {
     protected final int size;
     protected final String title;
     
+    // Zuletzt an das Inventar übergebener Inhalt je Slot, Grundlage für den Vergleich beim Rendern
+    private final ItemStack[] rendered;
+    // Inhalt des laufenden Render-Durchlaufs (null außerhalb von render())
+    private ItemStack[] staging;
+    // An Datenquellen gebundene Slots, werden von refresh() neu ausgewertet
+    private final SlotBinding<?>[] bindings;
+    // Klick-Handler je Slot, werden wie die Bindungen bei jedem Aufbau neu registriert
+    private final ClickHandler[] clickHandlers;
+    private boolean initialized;
+    private long lastClickAt;
+    
     public BaseGUI(CBSystem plugin, Player player, String title, int size) {
         this.plugin = plugin;
         this.player = player;
         this.title = plugin.getMessageManager().colorize(title);
         this.size = size;
-        this.inventory = Bukkit.createInventory(null, size, this.title);
+        this.inventory = Bukkit.createInventory(this, size, this.title);
+        this.rendered = new ItemStack[size];
+        this.bindings = new SlotBinding<?>[size];
+        this.clickHandlers = new ClickHandler[size];
         
-        setupGUI();
+        render();
     }
     
     /**
@@ -35,9 +55,31 @@ public abstract class BaseGUI {
     protected abstract void setupGUI();
     
     /**
-     * Wird bei einem Klick aufgerufen
+     * Leitet einen Klick an den per {@link #onClick} registrierten Handler des Slots weiter;
+     * Slots ohne Handler (Füll-Items, reine Anzeige) werden ignoriert
+     */
+    public final void dispatchClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick) {
+        ClickHandler handler = slot >= 0 && slot < size ? clickHandlers[slot] : null;
+        if (handler == null) {
+            return;
+        }
+        
+        playClickSound();
+        handler.onClick(clickedItem, isShiftClick, isRightClick);
+    }
+    
+    /**
+     * Klick-Drosselung gegen Autoklicker
+     *
+     * @return false wenn der letzte angenommene Klick weniger als {@code cooldownMillis} zurückliegt
      */
-    public abstract void handleClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick);
+    public boolean tryAcceptClick(long now, long cooldownMillis) {
+        if (now - lastClickAt < cooldownMillis) {
+            return false;
+        }
+        lastClickAt = now;
+        return true;
+    }
     
     /**
      * Wird beim Schließen des GUIs aufgerufen
@@ -47,16 +89,163 @@ public abstract class BaseGUI {
     }
     
     /**
-     * Aktualisiert das GUI
+     * Aktualisiert das GUI. setupGUI() baut dabei nur den Soll-Zustand auf,
+     * an das Inventar werden ausschließlich die geänderten Slots übergeben.
      */
     public void update() {
-        inventory.clear();
-        setupGUI();
+        render();
+    }
+    
+    private void render() {
+        ItemStack[] next = new ItemStack[size];
+        Arrays.fill(bindings, null);
+        Arrays.fill(clickHandlers, null);
+        staging = next;
+        try {
+            setupGUI();
+        } finally {
+            staging = null;
+        }
+        
+        if (!initialized) {
+            // Erster Aufbau: alles auf einmal übernehmen
+            inventory.setContents(next);
+            System.arraycopy(next, 0, rendered, 0, size);
+            initialized = true;
+            return;
+        }
+        
+        for (int slot = 0; slot < size; slot++) {
+            if (!Objects.equals(next[slot], rendered[slot])) {
+                inventory.setItem(slot, next[slot]);
+                rendered[slot] = next[slot];
+            }
+        }
+    }
+    
+    /**
+     * Wertet alle gebundenen Slots neu aus (z.B. jede Sekunde für Restzeiten oder Guthaben).
+     * Ein Slot wird nur neu gebaut und übertragen, wenn sich der Wert seiner Datenquelle geändert hat.
+     *
+     * @return Anzahl der geänderten Slots
+     */
+    public int refresh() {
+        int changed = 0;
+        for (int slot = 0; slot < size; slot++) {
+            SlotBinding<?> binding = bindings[slot];
+            if (binding == null) continue;
+            
+            ItemStack item = binding.poll();
+            if (item != null && !Objects.equals(item, rendered[slot])) {
+                inventory.setItem(slot, item);
+                rendered[slot] = item;
+                changed++;
+            }
+        }
+        return changed;
+    }
+    
+    /**
+     * Hat das GUI Slots, die live aktualisiert werden
+     */
+    public boolean hasBindings() {
+        for (SlotBinding<?> binding : bindings) {
+            if (binding != null) return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Bindet einen Slot an eine Datenquelle. Das Item wird sofort gebaut und bei jedem
+     * {@link #refresh()} nur dann neu, wenn {@code source} einen anderen Wert liefert.
+     * Die Bindungen gelten bis zum nächsten {@link #update()}.
+     */
+    protected <T> void bind(int slot, Supplier<T> source, Function<T, ItemStack> renderer) {
+        if (slot < 0 || slot >= size) return;
+        
+        SlotBinding<T> binding = new SlotBinding<>(source, renderer);
+        bindings[slot] = binding;
+        setItem(slot, binding.poll());
+    }
+    
+    /**
+     * Lädt Daten für das GUI, ohne den Main-Thread zu blockieren. Bis dahin zeigt setupGUI()
+     * Lade-Platzhalter ({@link #createLoadingItem()}). Ist der Future bereits fertig, wird das Ergebnis
+     * sofort übernommen; sonst auf dem Main-Thread übernommen und das GUI aktualisiert, aber nur
+     * solange es noch die geöffnete Sitzung des Spielers ist. Ergebnisse für bereits verlassene GUIs
+     * werden verworfen.
+     */
+    protected <T> void load(CompletableFuture<T> future, Consumer<T> onLoaded) {
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            onLoaded.accept(future.join());
+            return;
+        }
+        
+        future.whenComplete((value, error) -> {
+            if (!plugin.isEnabled()) return;
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                if (!isActiveSession()) {
+                    return;
+                }
+                if (error != null) {
+                    plugin.getLogger().log(Level.SEVERE, "Fehler beim Laden der Daten für GUI '"
+                        + getClass().getSimpleName() + "':", error);
+                    onLoadFailed();
+                    return;
+                }
+                onLoaded.accept(value);
+                update();
+            });
+        });
+    }
+    
+    /**
+     * Wird aufgerufen, wenn ein Ladevorgang fehlschlägt (GUI ist noch geöffnet)
+     */
+    protected void onLoadFailed() {
+        playErrorSound();
+        closeGUI();
+        plugin.getMessageManager().sendErrorMessage(player, "error.unexpected");
+    }
+    
+    /**
+     * Ist dieses GUI (noch) die geöffnete Sitzung des Spielers
+     */
+    protected boolean isActiveSession() {
+        return player.isOnline() && plugin.getGUIManager().getSession(inventory) == this;
+    }
+    
+    /**
+     * Platzhalter für Slots, deren Daten noch geladen werden
+     */
+    protected ItemStack createLoadingItem() {
+        return createItem(
+            Material.LIGHT_GRAY_STAINED_GLASS_PANE,
+            plugin.getMessageManager().getMessage("gui.loading.name"),
+            List.of(plugin.getMessageManager().getMessage("gui.loading.lore.0"))
+        );
+    }
+    
+    /**
+     * Registriert den Handler für Klicks auf einen Slot (gilt bis zum nächsten {@link #update()})
+     */
+    protected void onClick(int slot, ClickHandler handler) {
+        if (slot >= 0 && slot < size) {
+            clickHandlers[slot] = handler;
+        }
+    }
+    
+    /**
+     * Registriert eine Aktion für Klicks auf einen Slot, unabhängig von der Klick-Art
+     */
+    protected void onClick(int slot, Runnable action) {
+        onClick(slot, (clickedItem, isShiftClick, isRightClick) -> action.run());
     }
     
     /**
      * Holt das Inventory
      */
+    @Override
     public Inventory getInventory() {
         return inventory;
     }
@@ -76,29 +265,18 @@ public abstract class BaseGUI {
     }
     
     /**
-     * Erstellt ein ItemStack mit Name und Lore
+     * Erstellt ein ItemStack mit Name und Lore (Klon eines vorgebauten Templates)
      */
     protected ItemStack createItem(Material material, String name, List<String> lore) {
-        ItemStack item = new ItemStack(material);
-        ItemMeta meta = item.getItemMeta();
-        
-        if (meta != null) {
-            if (name != null) {
-                meta.setDisplayName(plugin.getMessageManager().colorize(name));
-            }
-            
-            if (lore != null && !lore.isEmpty()) {
-                List<String> coloredLore = new ArrayList<>();
-                for (String line : lore) {
-                    coloredLore.add(plugin.getMessageManager().colorize(line));
-                }
-                meta.setLore(coloredLore);
-            }
-            
-            item.setItemMeta(meta);
-        }
-        
-        return item;
+        return plugin.getGUIManager().getItemTemplates().getItem(material, name, lore);
+    }
+    
+    /**
+     * Holt ein vorgebautes Item-Template. Variable Zeilen enthalten {@code {platzhalter}},
+     * die beim {@link ItemTemplate#build(String...)} ersetzt werden.
+     */
+    protected ItemTemplate template(Material material, String name, List<String> lore) {
+        return plugin.getGUIManager().getItemTemplates().getTemplate(material, name, lore);
     }
     
     /**
@@ -113,22 +291,31 @@ public abstract class BaseGUI {
      * Erstellt ein ItemStack mit Name und einer Lore-Zeile
      */
     protected ItemStack createItem(Material material, String name, String loreLine) {
-        List<String> lore = new ArrayList<>();
-        if (loreLine != null) {
-            lore.add(loreLine);
-        }
-        return createItem(material, name, lore);
+        return createItem(material, name, loreLine != null ? List.of(loreLine) : null);
     }
     
     /**
      * Setzt ein Item an einer bestimmten Position
      */
     protected void setItem(int slot, ItemStack item) {
-        if (slot >= 0 && slot < inventory.getSize()) {
+        if (slot < 0 || slot >= size) return;
+        
+        if (staging != null) {
+            staging[slot] = item;
+        } else {
             inventory.setItem(slot, item);
+            rendered[slot] = item;
         }
     }
     
+    /**
+     * Holt das Item eines Slots (während setupGUI() den bisher aufgebauten Soll-Zustand)
+     */
+    protected ItemStack getSlotItem(int slot) {
+        if (slot < 0 || slot >= size) return null;
+        return staging != null ? staging[slot] : rendered[slot];
+    }
+    
     /**
      * Setzt ein Item an einer bestimmten Position
      */
@@ -149,28 +336,48 @@ public abstract class BaseGUI {
     protected void fillEmptySlots() {
         if (!plugin.getConfigManager().shouldFillEmptySlots()) return;
         
-        Material fillMaterial = Material.valueOf(plugin.getConfigManager().getFillItem());
-        String fillName = plugin.getConfigManager().getFillItemName();
-        
-        ItemStack fillItem = createItem(fillMaterial, fillName);
+        ItemStack fillItem = plugin.getGUIManager().getItemTemplates().getFillItem();
         
-        for (int i = 0; i < inventory.getSize(); i++) {
-            if (inventory.getItem(i) == null) {
-                inventory.setItem(i, fillItem);
+        for (int i = 0; i < size; i++) {
+            if (getSlotItem(i) == null) {
+                setItem(i, fillItem);
             }
         }
     }
     
+    /**
+     * Übernimmt ein statisches Layout als Ganzes (beim ersten Aufbau mit einem einzigen {@code setContents}).
+     * Beim ersten Mal (oder nach einem Reload) wird es mit {@code builder} gebaut und gecacht.
+     * Dynamische Slots werden danach einzeln gesetzt. Nur innerhalb von setupGUI() aufrufen.
+     *
+     * @param layoutKey eindeutiger Schlüssel inkl. aller Varianten (z.B. Berechtigungen)
+     */
+    protected void applyLayout(String layoutKey, Runnable builder) {
+        if (staging == null) {
+            throw new IllegalStateException("applyLayout() ist nur innerhalb von setupGUI() erlaubt");
+        }
+        
+        ItemTemplateCache cache = plugin.getGUIManager().getItemTemplates();
+        ItemStack[] layout = cache.getLayout(layoutKey, size);
+        if (layout != null) {
+            // Die gecachten Items werden nie verändert, beim Übernehmen kopiert das Inventar sie
+            System.arraycopy(layout, 0, staging, 0, size);
+            return;
+        }
+        
+        Arrays.fill(staging, null);
+        builder.run();
+        cache.putLayout(layoutKey, staging);
+    }
+    
     /**
      * Erstellt einen Zurück-Button
      */
     protected ItemStack createBackButton() {
-        List<String> lore = new ArrayList<>();
-        lore.add(plugin.getMessageManager().getMessage("gui.back.lore.0"));
         return createItem(
             Material.ARROW,
             plugin.getMessageManager().getMessage("gui.back.name"),
-            lore
+            List.of(plugin.getMessageManager().getMessage("gui.back.lore.0"))
         );
     }
     
@@ -178,12 +385,10 @@ public abstract class BaseGUI {
      * Erstellt einen Schließen-Button
      */
     protected ItemStack createCloseButton() {
-        List<String> lore = new ArrayList<>();
-        lore.add(plugin.getMessageManager().getMessage("gui.close.lore.0"));
         return createItem(
             Material.BARRIER,
             plugin.getMessageManager().getMessage("gui.close.name"),
-            lore
+            List.of(plugin.getMessageManager().getMessage("gui.close.lore.0"))
         );
     }
     
@@ -191,30 +396,24 @@ public abstract class BaseGUI {
      * Erstellt einen Nächste-Seite-Button
      */
     protected ItemStack createNextPageButton(int currentPage, int maxPages) {
-        List<String> lore = new ArrayList<>();
-        lore.add(plugin.getMessageManager().getMessage("gui.next-page.lore.0",
-            "page", String.valueOf(currentPage + 1),
-            "maxpage", String.valueOf(maxPages)));
-        return createItem(
+        // Die Seitenzahlen bleiben als Platzhalter im Template und werden erst beim Bauen ersetzt
+        return template(
             Material.ARROW,
             plugin.getMessageManager().getMessage("gui.next-page.name"),
-            lore
-        );
+            List.of(plugin.getMessageManager().getMessage("gui.next-page.lore.0"))
+        ).build("page", String.valueOf(currentPage + 1), "maxpage", String.valueOf(maxPages));
     }
     
     /**
      * Erstellt einen Vorherige-Seite-Button
      */
     protected ItemStack createPreviousPageButton(int currentPage, int maxPages) {
-        List<String> lore = new ArrayList<>();
-        lore.add(plugin.getMessageManager().getMessage("gui.previous-page.lore.0",
-            "page", String.valueOf(currentPage + 1),
-            "maxpage", String.valueOf(maxPages)));
-        return createItem(
+        // Die Seitenzahlen bleiben als Platzhalter im Template und werden erst beim Bauen ersetzt
+        return template(
             Material.ARROW,
             plugin.getMessageManager().getMessage("gui.previous-page.name"),
-            lore
-        );
+            List.of(plugin.getMessageManager().getMessage("gui.previous-page.lore.0"))
+        ).build("page", String.valueOf(currentPage + 1), "maxpage", String.valueOf(maxPages));
     }
     
     /**
@@ -224,13 +423,7 @@ public abstract class BaseGUI {
         if (item == null) return false;
         
         try {
-            Material fillMaterial = Material.valueOf(plugin.getConfigManager().getFillItem());
-            return item.getType() == fillMaterial && 
-                   item.hasItemMeta() && 
-                   item.getItemMeta().hasDisplayName() &&
-                   item.getItemMeta().getDisplayName().equals(
-                       plugin.getMessageManager().colorize(plugin.getConfigManager().getFillItemName())
-                   );
+            return plugin.getGUIManager().getItemTemplates().isFillItem(item);
         } catch (Exception e) {
             return false;
         }
@@ -271,4 +464,40 @@ public abstract class BaseGUI {
         plugin.getGUIManager().closeGUI(player);
         player.openInventory(newGUI.getInventory());
     }
+    
+    /**
+     * Datenquelle eines Slots; das Item wird nur bei geändertem Wert neu gebaut
+     */
+    private static final class SlotBinding<T> {
+        private final Supplier<T> source;
+        private final Function<T, ItemStack> renderer;
+        private T lastValue;
+        private boolean polled;
+        
+        SlotBinding(Supplier<T> source, Function<T, ItemStack> renderer) {
+            this.source = source;
+            this.renderer = renderer;
+        }
+        
+        /**
+         * Baut das Item, wenn sich der Wert geändert hat (sonst null)
+         */
+        ItemStack poll() {
+            T value = source.get();
+            if (polled && Objects.equals(value, lastValue)) {
+                return null;
+            }
+            polled = true;
+            lastValue = value;
+            return renderer.apply(value);
+        }
+    }
+    
+    /**
+     * Handler für Klicks auf einen Slot
+     */
+    @FunctionalInterface
+    public interface ClickHandler {
+        void onClick(ItemStack clickedItem, boolean isShiftClick, boolean isRightClick);
+    }
 }
@@ -4,19 +4,52 @@ import com.plotsquared.core.plot.Plot;
 import de.opgames.cbsystem.CBSystem;
 import de.opgames.cbsystem.gui.guis.*;
 import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 
 public class GUIManager {
     
     private final CBSystem plugin;
+    // Geöffnete GUI-Sitzungen; wird vom GUIListener und von Aufräum-Tasks gelesen
     private final Map<UUID, BaseGUI> openGUIs;
+    private final ItemTemplateCache itemTemplates;
     
     public GUIManager(CBSystem plugin) {
         this.plugin = plugin;
-        this.openGUIs = new HashMap<>();
+        this.openGUIs = new ConcurrentHashMap<>();
+        this.itemTemplates = new ItemTemplateCache(plugin);
+        startLiveRefresh();
+    }
+    
+    /**
+     * Aktualisiert regelmäßig die gebundenen Slots aller geöffneten GUIs
+     */
+    private void startLiveRefresh() {
+        long interval = plugin.getConfigManager().getGUILiveRefreshInterval();
+        if (interval <= 0) return;
+        
+        plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
+            for (BaseGUI gui : openGUIs.values()) {
+                if (!gui.hasBindings()) continue;
+                try {
+                    gui.refresh();
+                } catch (RuntimeException e) {
+                    plugin.getLogger().log(Level.SEVERE, "Fehler beim Aktualisieren von GUI '"
+                        + gui.getClass().getSimpleName() + "':", e);
+                }
+            }
+        }, interval, interval);
+    }
+    
+    /**
+     * Holt den Cache für vorgebaute GUI-Items und Layouts
+     */
+    public ItemTemplateCache getItemTemplates() {
+        return itemTemplates;
     }
     
     /**
@@ -237,16 +270,42 @@ public class GUIManager {
     public void closeGUI(Player player) {
         BaseGUI gui = openGUIs.remove(player.getUniqueId());
         if (gui != null) {
+            onSessionClosed(gui);
+        }
+    }
+    
+    /**
+     * Beendet eine bestimmte Sitzung (nur wenn sie noch die aktuelle des Spielers ist)
+     */
+    public void closeSession(BaseGUI gui) {
+        if (openGUIs.remove(gui.getPlayer().getUniqueId(), gui)) {
+            onSessionClosed(gui);
+        }
+    }
+    
+    private void onSessionClosed(BaseGUI gui) {
+        try {
             gui.onClose();
-            plugin.getSoundManager().playCloseSound(player);
+        } finally {
+            plugin.getSoundManager().playCloseSound(gui.getPlayer());
             
             if (plugin.getConfigManager().isDebugEnabled()) {
                 plugin.getLogger().info("GUI '" + gui.getClass().getSimpleName() + 
-                                      "' für Spieler " + player.getName() + " geschlossen");
+                                      "' für Spieler " + gui.getPlayer().getName() + " geschlossen");
             }
         }
     }
     
+    /**
+     * Holt die Sitzung zu einem Inventar über dessen Holder (null wenn es kein aktuell geöffnetes GUI ist)
+     */
+    public BaseGUI getSession(Inventory inventory) {
+        if (inventory == null || !(inventory.getHolder() instanceof BaseGUI gui)) {
+            return null;
+        }
+        return openGUIs.get(gui.getPlayer().getUniqueId()) == gui ? gui : null;
+    }
+    
     /**
      * Holt das aktuell geöffnete GUI eines Spielers
      */
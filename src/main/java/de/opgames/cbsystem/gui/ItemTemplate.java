@@ -0,0 +1,99 @@
+package de.opgames.cbsystem.gui;
+
+import de.opgames.cbsystem.utils.MessageTemplate;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Vorgebautes GUI-Item. Name und Lore werden einmal koloriert und als Prototyp abgelegt,
+ * {@link #build(String...)} klont diesen nur noch. Zeilen mit {@code {platzhalter}} sind variabel:
+ * nur sie werden beim Bauen gerendert, alle anderen Zeilen stammen unverändert aus dem Prototyp.
+ */
+public final class ItemTemplate {
+
+    private final ItemStack prototype;
+    private final MessageTemplate variableName;
+    private final String[] staticLore;
+    private final MessageTemplate[] variableLore;
+    private final boolean hasVariableLore;
+    private final boolean dynamic;
+
+    ItemTemplate(Material material, String name, List<String> lore) {
+        MessageTemplate compiledName = name != null ? MessageTemplate.compile(name) : null;
+        this.variableName = compiledName != null && compiledName.hasPlaceholders() ? compiledName : null;
+
+        int lines = lore != null ? lore.size() : 0;
+        this.staticLore = new String[lines];
+        this.variableLore = new MessageTemplate[lines];
+        boolean anyVariable = false;
+        for (int i = 0; i < lines; i++) {
+            MessageTemplate line = MessageTemplate.compile(lore.get(i) != null ? lore.get(i) : "");
+            if (line.hasPlaceholders()) {
+                variableLore[i] = line;
+                anyVariable = true;
+            } else {
+                staticLore[i] = line.render(null, new String[0], true);
+            }
+        }
+        this.hasVariableLore = anyVariable;
+        this.dynamic = variableName != null || anyVariable;
+
+        this.prototype = new ItemStack(material);
+        ItemMeta meta = prototype.getItemMeta();
+        if (meta != null) {
+            if (compiledName != null && variableName == null) {
+                meta.setDisplayName(compiledName.render(null, new String[0], true));
+            }
+            if (lines > 0 && !hasVariableLore) {
+                meta.setLore(Arrays.asList(staticLore));
+            }
+            prototype.setItemMeta(meta);
+        }
+    }
+
+    /**
+     * Baut das Item
+     *
+     * @param replacements Paare aus Platzhalter-Name und Wert für die variablen Zeilen
+     */
+    public ItemStack build(String... replacements) {
+        ItemStack item = prototype.clone();
+        if (!dynamic) {
+            return item;
+        }
+
+        ItemMeta meta = item.getItemMeta();
+        if (meta == null) {
+            return item;
+        }
+        if (replacements.length % 2 != 0) {
+            replacements = new String[0];
+        }
+
+        if (variableName != null) {
+            meta.setDisplayName(variableName.render(null, replacements, true));
+        }
+        if (hasVariableLore) {
+            String[] lore = staticLore.clone();
+            for (int i = 0; i < lore.length; i++) {
+                if (variableLore[i] != null) {
+                    lore[i] = variableLore[i].render(null, replacements, true);
+                }
+            }
+            meta.setLore(Arrays.asList(lore));
+        }
+        item.setItemMeta(meta);
+        return item;
+    }
+
+    /**
+     * Enthält das Item variable Zeilen
+     */
+    public boolean isDynamic() {
+        return dynamic;
+    }
+}
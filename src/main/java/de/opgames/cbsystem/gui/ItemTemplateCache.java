@@ -0,0 +1,200 @@
+package de.opgames.cbsystem.gui;
+
+import de.opgames.cbsystem.CBSystem;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Begrenzter LRU-Cache für vorgebaute GUI-Items ({@link ItemTemplate}) und komplette statische Layouts.
+ * Layouts sind fertige Inventar-Inhalte, die mit einem einzigen {@code setContents} übernommen werden.
+ * Nach einem Reload der Config oder der Nachrichten wird alles verworfen und beim nächsten Öffnen neu gebaut.
+ */
+public class ItemTemplateCache {
+
+    private final CBSystem plugin;
+    private final int maxSize;
+
+    private final LinkedHashMap<Key, ItemTemplate> templates;
+    private final Map<String, ItemStack[]> layouts = new HashMap<>();
+
+    private int configRevision = -1;
+    private int messageRevision = -1;
+    private ItemTemplate fillItem;
+    private String fillItemName;
+    private Material fillMaterial;
+
+    // Metriken
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong layoutHits = new AtomicLong();
+    private final AtomicLong layoutMisses = new AtomicLong();
+
+    public ItemTemplateCache(CBSystem plugin) {
+        this.plugin = plugin;
+        this.maxSize = Math.max(64, plugin.getConfigManager().getGUIItemTemplateCacheSize());
+        this.templates = new LinkedHashMap<>(this.maxSize * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ItemTemplate> eldest) {
+                return size() > ItemTemplateCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Holt das Template eines Items und baut es beim ersten Zugriff
+     */
+    public ItemTemplate getTemplate(Material material, String name, List<String> lore) {
+        Key key = new Key(material, name, lore);
+        synchronized (templates) {
+            validate();
+            ItemTemplate template = templates.get(key);
+            if (template != null) {
+                hits.incrementAndGet();
+                return template;
+            }
+            misses.incrementAndGet();
+            template = new ItemTemplate(material, name, key.lore);
+            templates.put(key, template);
+            return template;
+        }
+    }
+
+    /**
+     * Holt ein statisches Item (Klon des Prototyps)
+     */
+    public ItemStack getItem(Material material, String name, List<String> lore) {
+        return getTemplate(material, name, lore).build();
+    }
+
+    /**
+     * Holt das Füll-Item für leere Slots
+     */
+    public ItemStack getFillItem() {
+        synchronized (templates) {
+            validate();
+            if (fillItem == null) {
+                fillMaterial = Material.valueOf(plugin.getConfigManager().getFillItem());
+                fillItemName = plugin.getMessageManager().colorize(plugin.getConfigManager().getFillItemName());
+                fillItem = new ItemTemplate(fillMaterial, plugin.getConfigManager().getFillItemName(), null);
+            }
+            return fillItem.build();
+        }
+    }
+
+    /**
+     * Überprüft ob ein Item das Füll-Item ist
+     */
+    public boolean isFillItem(ItemStack item) {
+        if (item == null) return false;
+
+        Material material;
+        String name;
+        synchronized (templates) {
+            validate();
+            if (fillItem == null) {
+                getFillItem();
+            }
+            material = fillMaterial;
+            name = fillItemName;
+        }
+        return item.getType() == material
+            && item.hasItemMeta()
+            && item.getItemMeta().hasDisplayName()
+            && item.getItemMeta().getDisplayName().equals(name);
+    }
+
+    /**
+     * Holt ein gecachtes Layout (null wenn noch nicht gebaut oder verworfen)
+     */
+    public ItemStack[] getLayout(String layoutKey, int size) {
+        synchronized (templates) {
+            validate();
+            ItemStack[] layout = layouts.get(layoutKey);
+            if (layout == null || layout.length != size) {
+                layoutMisses.incrementAndGet();
+                return null;
+            }
+            layoutHits.incrementAndGet();
+            return layout;
+        }
+    }
+
+    /**
+     * Legt ein Layout ab (die Items werden kopiert)
+     */
+    public void putLayout(String layoutKey, ItemStack[] contents) {
+        ItemStack[] layout = new ItemStack[contents.length];
+        for (int i = 0; i < contents.length; i++) {
+            layout[i] = contents[i] != null ? contents[i].clone() : null;
+        }
+        synchronized (templates) {
+            validate();
+            layouts.put(layoutKey, layout);
+        }
+    }
+
+    /**
+     * Verwirft alles, wenn Config oder Nachrichten neu geladen wurden (nur unter dem Lock)
+     */
+    private void validate() {
+        int config = plugin.getConfigManager().getRevision();
+        int messages = plugin.getMessageManager().getRevision();
+        if (config != configRevision || messages != messageRevision) {
+            templates.clear();
+            layouts.clear();
+            fillItem = null;
+            configRevision = config;
+            messageRevision = messages;
+        }
+    }
+
+    public String getStatsLine() {
+        int size;
+        int layoutCount;
+        synchronized (templates) {
+            size = templates.size();
+            layoutCount = layouts.size();
+        }
+        long total = hits.get() + misses.get();
+        long layoutTotal = layoutHits.get() + layoutMisses.get();
+        return String.format("GUI-Items: %d/%d Templates, Trefferquote %.1f%% (%d/%d), %d Layouts, Layout-Trefferquote %.1f%% (%d/%d)",
+            size, maxSize, total > 0 ? hits.get() * 100.0 / total : 100.0, hits.get(), total,
+            layoutCount, layoutTotal > 0 ? layoutHits.get() * 100.0 / layoutTotal : 100.0, layoutHits.get(), layoutTotal);
+    }
+
+    private static final class Key {
+        private final Material material;
+        private final String name;
+        private final List<String> lore;
+        private final int hash;
+
+        Key(Material material, String name, List<String> lore) {
+            this.material = material;
+            this.name = name;
+            // List.of-Listen werden dabei nicht kopiert
+            this.lore = lore != null ? List.copyOf(lore) : Collections.emptyList();
+            this.hash = Objects.hash(material, name, this.lore);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return material == other.material && Objects.equals(name, other.name) && lore.equals(other.lore);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -4,7 +4,6 @@ import de.opgames.cbsystem.CBSystem;
 import de.opgames.cbsystem.gui.BaseGUI;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
 
 import java.util.List;
 
@@ -141,78 +140,38 @@ public class AdminGUI extends BaseGUI {
         setItem(53, createCloseButton());
         
         fillEmptySlots();
+        
+        onAdminClick(10, () -> plugin.getGUIManager().openPlayerManagementGUI(player));
+        onAdminClick(12, () -> plugin.getMessageManager().sendMessage(player, "admin.economy-management-coming-soon"));
+        onAdminClick(14, () -> plugin.getMessageManager().sendMessage(player, "admin.plot-management-coming-soon"));
+        onAdminClick(16, () -> plugin.getMessageManager().sendMessage(player, "admin.server-settings-coming-soon"));
+        onAdminClick(28, this::toggleMaintenanceMode);
+        onAdminClick(30, this::reloadPlugin);
+        onAdminClick(32, () -> plugin.getMessageManager().sendMessage(player, "admin.backup-coming-soon"));
+        onAdminClick(34, this::showServerStats);
+        onAdminClick(37, () -> plugin.getMessageManager().sendMessage(player, "admin.logs-coming-soon"));
+        onAdminClick(39, () -> {
+            plugin.getMessageManager().sendMessage(player, "admin.broadcast-instruction");
+            closeGUI();
+        });
+        onAdminClick(41, () -> plugin.getMessageManager().sendMessage(player, "admin.world-management-coming-soon"));
+        onAdminClick(43, () -> plugin.getMessageManager().sendMessage(player, "admin.teleport-tools-coming-soon"));
+        onAdminClick(45, () -> plugin.getGUIManager().openMainMenu(player));
+        onAdminClick(53, this::closeGUI);
     }
     
-    @Override
-    public void handleClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick) {
-        if (isFillItem(clickedItem)) return;
-        
-        if (!player.hasPermission("cbsystem.admin.*")) {
-            playErrorSound();
-            plugin.getMessageManager().sendMessage(player, "general.no-permission");
-            return;
-        }
-        
-        playClickSound();
-        
-        switch (slot) {
-            case 10: // Spieler-Verwaltung
-                plugin.getGUIManager().openPlayerManagementGUI(player);
-                break;
-                
-            case 12: // Economy-Verwaltung
-                plugin.getMessageManager().sendMessage(player, "admin.economy-management-coming-soon");
-                break;
-                
-            case 14: // Plot-Verwaltung
-                plugin.getMessageManager().sendMessage(player, "admin.plot-management-coming-soon");
-                break;
-                
-            case 16: // Server-Einstellungen
-                plugin.getMessageManager().sendMessage(player, "admin.server-settings-coming-soon");
-                break;
-                
-            case 28: // Wartungsmodus
-                toggleMaintenanceMode();
-                break;
-                
-            case 30: // Plugin neu laden
-                reloadPlugin();
-                break;
-                
-            case 32: // Backup erstellen
-                plugin.getMessageManager().sendMessage(player, "admin.backup-coming-soon");
-                break;
-                
-            case 34: // Server-Statistiken
-                showServerStats();
-                break;
-                
-            case 37: // Logs anzeigen
-                plugin.getMessageManager().sendMessage(player, "admin.logs-coming-soon");
-                break;
-                
-            case 39: // Broadcast senden
-                plugin.getMessageManager().sendMessage(player, "admin.broadcast-instruction");
-                closeGUI();
-                break;
-                
-            case 41: // Welt-Verwaltung
-                plugin.getMessageManager().sendMessage(player, "admin.world-management-coming-soon");
-                break;
-                
-            case 43: // Teleportation-Tools
-                plugin.getMessageManager().sendMessage(player, "admin.teleport-tools-coming-soon");
-                break;
-                
-            case 45: // Zurück
-                plugin.getGUIManager().openMainMenu(player);
-                break;
-                
-            case 53: // Schließen
-                closeGUI();
-                break;
-        }
+    /**
+     * Registriert eine Aktion, die erst nach erneuter Prüfung der Admin-Berechtigung ausgeführt wird
+     */
+    private void onAdminClick(int slot, Runnable action) {
+        onClick(slot, () -> {
+            if (!player.hasPermission("cbsystem.admin.*")) {
+                playErrorSound();
+                plugin.getMessageManager().sendMessage(player, "general.no-permission");
+                return;
+            }
+            action.run();
+        });
     }
     
     private void toggleMaintenanceMode() {
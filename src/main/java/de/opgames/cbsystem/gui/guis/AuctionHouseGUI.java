@@ -13,26 +13,44 @@ import java.util.List;
 
 public class AuctionHouseGUI extends BaseGUI {
     
-    private final List<AuctionItem> auctions;
-    private int currentPage = 0;
+    private static final int AUCTIONS_PER_PAGE = 36;
+    
+    // Nur die Auktionen der aktuellen Seite, wird bei jedem Aufbau aus dem Index geholt.
+    // Ohne Initialisierer, da setupGUI() bereits im Super-Konstruktor läuft
+    private List<AuctionItem> pageAuctions;
+    private int totalAuctions;
+    private int currentPage;
     
     public AuctionHouseGUI(CBSystem plugin, Player player) {
         super(plugin, player, "&6&lAuktionshaus", 54);
         // Sicherstellen, dass AuctionManager initialisiert ist
         if (plugin.getAuctionManager() == null) {
             plugin.getLogger().severe("AuctionManager ist null! Das Plugin ist nicht richtig initialisiert.");
-            this.auctions = new ArrayList<>();
-        } else {
-            this.auctions = plugin.getAuctionManager().getActiveAuctions();
         }
     }
     
+    private void loadPage() {
+        if (plugin.getAuctionManager() == null) {
+            pageAuctions = new ArrayList<>();
+            totalAuctions = 0;
+            return;
+        }
+        totalAuctions = plugin.getAuctionManager().getActiveAuctionCount();
+        pageAuctions = plugin.getAuctionManager().getActiveAuctions(currentPage * AUCTIONS_PER_PAGE, AUCTIONS_PER_PAGE);
+    }
+    
+    private int getTotalPages() {
+        return (int) Math.ceil((double) totalAuctions / AUCTIONS_PER_PAGE);
+    }
+    
     @Override
     protected void setupGUI() {
+        loadPage();
+        
         // Header: Auktionshaus-Info
         setItem(4, Material.GOLD_BLOCK, "&6&lAuktionshaus",
             List.of(
-                "&7Aktive Auktionen: &e" + (auctions != null ? auctions.size() : 0),
+                "&7Aktive Auktionen: &e" + totalAuctions,
                 "&7Deine aktiven Auktionen: &e" + (plugin.getAuctionManager() != null ? 
                     plugin.getAuctionManager().getPlayerActiveAuctions(player.getUniqueId()).size() : 0),
                 "",
@@ -41,28 +59,27 @@ public class AuctionHouseGUI extends BaseGUI {
             ));
         
         // Auktionen anzeigen (Slots 9-44)
-        int startIndex = currentPage * 36;
         int slot = 9;
         
-        for (int i = startIndex; i < Math.min(startIndex + 36, auctions != null ? auctions.size() : 0); i++) {
+        for (AuctionItem auction : pageAuctions) {
             if (slot > 44) break;
-            
-            AuctionItem auction = auctions != null ? auctions.get(i) : null;
-            if (auction != null) {
-                setupAuctionItem(slot, auction);
-            }
+            // Die Restzeit läuft live mit, das Item wird nur bei geänderter Anzeige neu gebaut
+            bind(slot, auction::getFormattedTimeRemaining, timeRemaining -> createAuctionItem(auction, timeRemaining));
+            onClick(slot, (clickedItem, isShiftClick, isRightClick) -> handleAuctionClick(auction, isShiftClick, isRightClick));
             slot++;
         }
         
         // Navigation
-        int totalPages = (int) Math.ceil((double) (auctions != null ? auctions.size() : 0) / 36);
+        int totalPages = getTotalPages();
         
         if (currentPage > 0) {
             setItem(45, createPreviousPageButton(currentPage, totalPages));
+            onClick(45, () -> showPage(currentPage - 1));
         }
         
         if (currentPage < totalPages - 1) {
             setItem(53, createNextPageButton(currentPage, totalPages));
+            onClick(53, () -> showPage(currentPage + 1));
         }
         
         // Aktions-Buttons
@@ -109,10 +126,23 @@ public class AuctionHouseGUI extends BaseGUI {
                 "&fLinksklick: &7Hilfe anzeigen"
             ));
         
+        onClick(46, () -> plugin.getGUIManager().openCreateAuctionGUI(player));
+        onClick(47, () -> plugin.getGUIManager().openMyAuctionsGUI(player));
+        onClick(48, () -> plugin.getMessageManager().sendMessage(player, "auction.filter-coming-soon"));
+        onClick(49, () -> plugin.getGUIManager().openMainMenu(player));
+        onClick(50, this::closeGUI);
+        onClick(51, () -> plugin.getMessageManager().sendMessage(player, "auction.sorting-coming-soon"));
+        onClick(52, this::showAuctionHelp);
+        
         fillEmptySlots();
     }
     
-    private void setupAuctionItem(int slot, AuctionItem auction) {
+    private void showPage(int page) {
+        currentPage = page;
+        update();
+    }
+    
+    private ItemStack createAuctionItem(AuctionItem auction, String timeRemaining) {
         ItemStack displayItem = auction.getItem().clone();
         ItemMeta meta = displayItem.getItemMeta();
         
@@ -126,7 +156,7 @@ public class AuctionHouseGUI extends BaseGUI {
             List<String> lore = new ArrayList<>();
             lore.add("&7Verkäufer: &e" + auction.getSellerName());
             lore.add("&7Preis: &a" + plugin.getEconomyManager().formatBalance(auction.getPrice()));
-            lore.add("&7Verbleibende Zeit: &c" + auction.getFormattedTimeRemaining());
+            lore.add("&7Verbleibende Zeit: &c" + timeRemaining);
             lore.add("&7Anzahl: &f" + displayItem.getAmount() + "x");
             
             if (displayItem.hasItemMeta() && displayItem.getItemMeta().hasLore()) {
@@ -159,75 +189,10 @@ public class AuctionHouseGUI extends BaseGUI {
             displayItem.setItemMeta(meta);
         }
         
-        setItem(slot, displayItem);
-    }
-    
-    @Override
-    public void handleClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick) {
-        if (isFillItem(clickedItem)) return;
-        
-        playClickSound();
-        
-        switch (slot) {
-            case 45: // Vorherige Seite
-                if (currentPage > 0) {
-                    currentPage--;
-                    update();
-                }
-                break;
-                
-            case 46: // Auktion erstellen
-                plugin.getGUIManager().openCreateAuctionGUI(player);
-                break;
-                
-            case 47: // Meine Auktionen
-                plugin.getGUIManager().openMyAuctionsGUI(player);
-                break;
-                
-            case 48: // Filter
-                plugin.getMessageManager().sendMessage(player, "auction.filter-coming-soon");
-                break;
-                
-            case 49: // Zurück
-                plugin.getGUIManager().openMainMenu(player);
-                break;
-                
-            case 50: // Schließen
-                closeGUI();
-                break;
-                
-            case 51: // Sortierung
-                plugin.getMessageManager().sendMessage(player, "auction.sorting-coming-soon");
-                break;
-                
-            case 52: // Hilfe
-                showAuctionHelp();
-                break;
-                
-            case 53: // Nächste Seite
-                int totalPages = (int) Math.ceil((double) (auctions != null ? auctions.size() : 0) / 36);
-                if (currentPage < totalPages - 1) {
-                    currentPage++;
-                    update();
-                }
-                break;
-                
-            default:
-                // Auktions-Interaktion
-                if (slot >= 9 && slot <= 44) {
-                    handleAuctionClick(slot, isShiftClick, isRightClick);
-                }
-                break;
-        }
+        return displayItem;
     }
     
-    private void handleAuctionClick(int slot, boolean isShiftClick, boolean isRightClick) {
-        int auctionIndex = (currentPage * 36) + (slot - 9);
-        
-        if (auctions == null || auctionIndex >= auctions.size()) return;
-        
-        AuctionItem auction = auctions.get(auctionIndex);
-        
+    private void handleAuctionClick(AuctionItem auction, boolean isShiftClick, boolean isRightClick) {
         if (auction.getSeller().equals(player.getUniqueId())) {
             // Eigene Auktion
             if (isRightClick) {
@@ -246,13 +211,17 @@ public class AuctionHouseGUI extends BaseGUI {
                 showAuctionDetails(auction);
             } else {
                 // Auktion kaufen
-                if (plugin.getAuctionManager().buyAuction(player, auction.getId())) {
-                    playSuccessSound();
-                    plugin.getSoundManager().playShopBuySound(player);
-                    update(); // GUI aktualisieren
-                } else {
-                    playErrorSound();
-                }
+                plugin.getAuctionManager().buyAuction(player, auction.getId(), success -> {
+                    if (success) {
+                        playSuccessSound();
+                        plugin.getSoundManager().playShopBuySound(player);
+                    } else {
+                        playErrorSound();
+                    }
+                    if (isActiveSession()) {
+                        update(); // GUI aktualisieren
+                    }
+                });
             }
         }
     }
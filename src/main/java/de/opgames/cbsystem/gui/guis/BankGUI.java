@@ -1,201 +1,171 @@
 package de.opgames.cbsystem.gui.guis;
 
 import de.opgames.cbsystem.CBSystem;
+import de.opgames.cbsystem.bank.BankAccountCache;
 import de.opgames.cbsystem.bank.BankManager;
 import de.opgames.cbsystem.gui.BaseGUI;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.event.inventory.InventoryClickEvent;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 
-import java.util.Arrays;
+import java.util.List;
 
 public class BankGUI extends BaseGUI {
-    
-    private final BankManager bankManager;
-    
+
+    // Ohne Initialisierer, da setupGUI() bereits im Super-Konstruktor läuft
+    private BankAccountCache.Account account;
+
     public BankGUI(CBSystem plugin, Player player) {
         super(plugin, player, "&6&lBank &8- &7OP-Games.de", 54);
-        this.bankManager = new BankManager(plugin);
-        setupGUI();
+        // Konto im Hintergrund laden, bis dahin zeigen Slot 4 und 24 Platzhalter
+        load(plugin.getBankManager().getAccountAsync(player.getUniqueId()), loaded -> account = loaded);
+        update();
     }
-    
+
     @Override
     protected void setupGUI() {
+        applyLayout("bank", this::setupStaticItems);
+        setupClickHandlers();
+
+        if (account == null) {
+            setItem(4, createLoadingItem());
+            setItem(24, createLoadingItem());
+            return;
+        }
+
         // Bankkonto-Info
-        double bankBalance = bankManager.getBankBalance(player.getUniqueId());
         double pocketBalance = plugin.getEconomyManager().getBalance(player.getUniqueId());
-        
-        // Bankkonto-Info Item
-        ItemStack bankInfo = new ItemStack(Material.GOLD_INGOT);
-        ItemMeta bankInfoMeta = bankInfo.getItemMeta();
-        bankInfoMeta.setDisplayName(plugin.getMessageManager().colorize("&6&lBankkonto"));
-        bankInfoMeta.setLore(Arrays.asList(
-            plugin.getMessageManager().colorize("&7Bankguthaben: &a" + plugin.getEconomyManager().formatBalance(bankBalance)),
-            plugin.getMessageManager().colorize("&7Taschengeld: &e" + plugin.getEconomyManager().formatBalance(pocketBalance)),
-            "",
-            plugin.getMessageManager().colorize("&7Zinssatz: &a2% pro Tag"),
-            plugin.getMessageManager().colorize("&7Letzte Zinsen: &eHeute")
-        ));
-        bankInfo.setItemMeta(bankInfoMeta);
-        inventory.setItem(4, bankInfo);
-        
-        // Einzahlung
-        ItemStack deposit = new ItemStack(Material.EMERALD);
-        ItemMeta depositMeta = deposit.getItemMeta();
-        depositMeta.setDisplayName(plugin.getMessageManager().colorize("&a&lEinzahlung"));
-        depositMeta.setLore(Arrays.asList(
-            plugin.getMessageManager().colorize("&7Klicke um Geld einzuzahlen"),
-            plugin.getMessageManager().colorize("&7Verwende: &e/bank deposit <betrag>"),
-            "",
-            plugin.getMessageManager().colorize("&a✓ &7Sichere Aufbewahrung"),
-            plugin.getMessageManager().colorize("&a✓ &7Zinsen verdienen")
-        ));
-        deposit.setItemMeta(depositMeta);
-        inventory.setItem(20, deposit);
-        
-        // Auszahlung
-        ItemStack withdraw = new ItemStack(Material.REDSTONE);
-        ItemMeta withdrawMeta = withdraw.getItemMeta();
-        withdrawMeta.setDisplayName(plugin.getMessageManager().colorize("&c&lAuszahlung"));
-        withdrawMeta.setLore(Arrays.asList(
-            plugin.getMessageManager().colorize("&7Klicke um Geld abzuheben"),
-            plugin.getMessageManager().colorize("&7Verwende: &e/bank withdraw <betrag>"),
-            "",
-            plugin.getMessageManager().colorize("&c⚠ &7Geld wird sofort verfügbar")
-        ));
-        withdraw.setItemMeta(withdrawMeta);
-        inventory.setItem(22, withdraw);
-        
+        setItem(4, template(Material.GOLD_INGOT, "&6&lBankkonto",
+            List.of(
+                "&7Bankguthaben: &a{bank}",
+                "&7Taschengeld: &e{pocket}",
+                "",
+                "&7Zinssatz: &a2% pro Tag",
+                "&7Letzte Zinsen: &eHeute"
+            )).build(
+                "bank", plugin.getEconomyManager().formatBalance(account.getBalance()),
+                "pocket", plugin.getEconomyManager().formatBalance(pocketBalance)));
+
         // Kredit-Info
-        BankManager.LoanInfo loanInfo = bankManager.getLoanInfo(player.getUniqueId());
-        ItemStack loan = new ItemStack(Material.PAPER);
-        ItemMeta loanMeta = loan.getItemMeta();
-        
+        BankManager.LoanInfo loanInfo = account.getLoan();
         if (loanInfo != null) {
-            loanMeta.setDisplayName(plugin.getMessageManager().colorize("&e&lAktiver Kredit"));
-            loanMeta.setLore(Arrays.asList(
-                plugin.getMessageManager().colorize("&7Verbleibender Betrag: &c" + plugin.getEconomyManager().formatBalance(loanInfo.getRemainingAmount())),
-                plugin.getMessageManager().colorize("&7Originalbetrag: &e" + plugin.getEconomyManager().formatBalance(loanInfo.getOriginalAmount())),
-                plugin.getMessageManager().colorize("&7Fälligkeitsdatum: &c" + loanInfo.getDueDate().toString()),
+            setItem(24, template(Material.PAPER, "&e&lAktiver Kredit",
+                List.of(
+                    "&7Verbleibender Betrag: &c{remaining}",
+                    "&7Originalbetrag: &e{original}",
+                    "&7Fälligkeitsdatum: &c{due}",
+                    "",
+                    "&7Verwende: &e/bank payloan <betrag>",
+                    "&7um den Kredit zurückzuzahlen"
+                )).build(
+                    "remaining", plugin.getEconomyManager().formatBalance(loanInfo.getRemainingAmount()),
+                    "original", plugin.getEconomyManager().formatBalance(loanInfo.getOriginalAmount()),
+                    "due", loanInfo.getDueDate().toString()));
+        } else {
+            setItem(24, Material.PAPER, "&e&lKredit beantragen",
+                List.of(
+                    "&7Klicke um einen Kredit zu beantragen",
+                    "&7Verwende: &e/bank loan <betrag> [tage]",
+                    "",
+                    "&e✓ &7Maximal: &a$100,000",
+                    "&e✓ &7Maximal: &a7 Tage",
+                    "&e✓ &7Zinssatz: &c5% pro Tag"
+                ));
+        }
+
+        boolean activeLoan = account.hasActiveLoan();
+        onClick(24, () -> {
+            player.closeInventory();
+            plugin.getMessageManager().sendMessage(player, activeLoan ? "bank.payloan-help" : "bank.loan-help");
+        });
+    }
+
+    private void setupStaticItems() {
+        // Einzahlung
+        setItem(20, Material.EMERALD, "&a&lEinzahlung",
+            List.of(
+                "&7Klicke um Geld einzuzahlen",
+                "&7Verwende: &e/bank deposit <betrag>",
                 "",
-                plugin.getMessageManager().colorize("&7Verwende: &e/bank payloan <betrag>"),
-                plugin.getMessageManager().colorize("&7um den Kredit zurückzuzahlen")
+                "&a✓ &7Sichere Aufbewahrung",
+                "&a✓ &7Zinsen verdienen"
             ));
-        } else {
-            loanMeta.setDisplayName(plugin.getMessageManager().colorize("&e&lKredit beantragen"));
-            loanMeta.setLore(Arrays.asList(
-                plugin.getMessageManager().colorize("&7Klicke um einen Kredit zu beantragen"),
-                plugin.getMessageManager().colorize("&7Verwende: &e/bank loan <betrag> [tage]"),
+
+        // Auszahlung
+        setItem(22, Material.REDSTONE, "&c&lAuszahlung",
+            List.of(
+                "&7Klicke um Geld abzuheben",
+                "&7Verwende: &e/bank withdraw <betrag>",
                 "",
-                plugin.getMessageManager().colorize("&e✓ &7Maximal: &a$100,000"),
-                plugin.getMessageManager().colorize("&e✓ &7Maximal: &a7 Tage"),
-                plugin.getMessageManager().colorize("&e✓ &7Zinssatz: &c5% pro Tag")
+                "&c⚠ &7Geld wird sofort verfügbar"
             ));
-        }
-        loan.setItemMeta(loanMeta);
-        inventory.setItem(24, loan);
-        
+
         // Transaktionshistorie
-        ItemStack history = new ItemStack(Material.BOOK);
-        ItemMeta historyMeta = history.getItemMeta();
-        historyMeta.setDisplayName(plugin.getMessageManager().colorize("&b&lTransaktionshistorie"));
-        historyMeta.setLore(Arrays.asList(
-            plugin.getMessageManager().colorize("&7Klicke um deine Transaktionen zu sehen"),
-            "",
-            plugin.getMessageManager().colorize("&b✓ &7Einzahlungen"),
-            plugin.getMessageManager().colorize("&b✓ &7Auszahlungen"),
-            plugin.getMessageManager().colorize("&b✓ &7Zinsen"),
-            plugin.getMessageManager().colorize("&b✓ &7Kredite")
-        ));
-        history.setItemMeta(historyMeta);
-        inventory.setItem(30, history);
-        
+        setItem(30, Material.BOOK, "&b&lTransaktionshistorie",
+            List.of(
+                "&7Klicke um deine Transaktionen zu sehen",
+                "",
+                "&b✓ &7Einzahlungen",
+                "&b✓ &7Auszahlungen",
+                "&b✓ &7Zinsen",
+                "&b✓ &7Kredite"
+            ));
+
         // Bank-Statistiken
-        ItemStack stats = new ItemStack(Material.DIAMOND);
-        ItemMeta statsMeta = stats.getItemMeta();
-        statsMeta.setDisplayName(plugin.getMessageManager().colorize("&d&lBank-Statistiken"));
-        statsMeta.setLore(Arrays.asList(
-            plugin.getMessageManager().colorize("&7Deine Bank-Statistiken"),
-            "",
-            plugin.getMessageManager().colorize("&d✓ &7Gesamte Einzahlungen"),
-            plugin.getMessageManager().colorize("&d✓ &7Gesamte Auszahlungen"),
-            plugin.getMessageManager().colorize("&d✓ &7Verdiente Zinsen"),
-            plugin.getMessageManager().colorize("&d✓ &7Kredit-Historie")
-        ));
-        stats.setItemMeta(statsMeta);
-        inventory.setItem(32, history);
-        
+        setItem(32, Material.DIAMOND, "&d&lBank-Statistiken",
+            List.of(
+                "&7Deine Bank-Statistiken",
+                "",
+                "&d✓ &7Gesamte Einzahlungen",
+                "&d✓ &7Gesamte Auszahlungen",
+                "&d✓ &7Verdiente Zinsen",
+                "&d✓ &7Kredit-Historie"
+            ));
+
         // Hilfe
-        ItemStack help = new ItemStack(Material.NETHER_STAR);
-        ItemMeta helpMeta = help.getItemMeta();
-        helpMeta.setDisplayName(plugin.getMessageManager().colorize("&6&lHilfe"));
-        helpMeta.setLore(Arrays.asList(
-            plugin.getMessageManager().colorize("&7Bank-Befehle:"),
-            "",
-            plugin.getMessageManager().colorize("&e/bank balance &7- Guthaben anzeigen"),
-            plugin.getMessageManager().colorize("&e/bank deposit <betrag> &7- Einzahlen"),
-            plugin.getMessageManager().colorize("&e/bank withdraw <betrag> &7- Abheben"),
-            plugin.getMessageManager().colorize("&e/bank loan <betrag> [tage] &7- Kredit"),
-            plugin.getMessageManager().colorize("&e/bank payloan <betrag> &7- Kredit zahlen"),
-            plugin.getMessageManager().colorize("&e/bank info &7- Detaillierte Infos")
-        ));
-        help.setItemMeta(helpMeta);
-        inventory.setItem(40, help);
-        
+        setItem(40, Material.NETHER_STAR, "&6&lHilfe",
+            List.of(
+                "&7Bank-Befehle:",
+                "",
+                "&e/bank balance &7- Guthaben anzeigen",
+                "&e/bank deposit <betrag> &7- Einzahlen",
+                "&e/bank withdraw <betrag> &7- Abheben",
+                "&e/bank loan <betrag> [tage] &7- Kredit",
+                "&e/bank payloan <betrag> &7- Kredit zahlen",
+                "&e/bank info &7- Detaillierte Infos"
+            ));
+
         // Schließen
-        ItemStack close = new ItemStack(Material.BARRIER);
-        ItemMeta closeMeta = close.getItemMeta();
-        closeMeta.setDisplayName(plugin.getMessageManager().colorize("&c&lSchließen"));
-        closeMeta.setLore(Arrays.asList(
-            plugin.getMessageManager().colorize("&7Klicke um das Bank-Menü zu schließen")
-        ));
-        close.setItemMeta(closeMeta);
-        inventory.setItem(49, close);
-        
+        setItem(49, Material.BARRIER, "&c&lSchließen",
+            List.of("&7Klicke um das Bank-Menü zu schließen"));
+
         // Füllen mit Glas
         fillEmptySlots();
     }
-    
-    @Override
-    public void handleClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick) {
-        
-        switch (slot) {
-            case 20 -> { // Einzahlung
-                player.closeInventory();
-                plugin.getMessageManager().sendMessage(player, "bank.deposit-help");
-            }
-            case 22 -> { // Auszahlung
-                player.closeInventory();
-                plugin.getMessageManager().sendMessage(player, "bank.withdraw-help");
-            }
-            case 24 -> { // Kredit
-                player.closeInventory();
-                if (bankManager.hasActiveLoan(player.getUniqueId())) {
-                    plugin.getMessageManager().sendMessage(player, "bank.payloan-help");
-                } else {
-                    plugin.getMessageManager().sendMessage(player, "bank.loan-help");
-                }
-            }
-            case 30 -> { // Transaktionshistorie
-                player.closeInventory();
-                plugin.getMessageManager().sendMessage(player, "bank.history-coming-soon");
-            }
-            case 32 -> { // Statistiken
-                player.closeInventory();
-                plugin.getMessageManager().sendMessage(player, "bank.stats-coming-soon");
-            }
-            case 40 -> { // Hilfe
-                player.closeInventory();
-                showHelp();
-            }
-            case 49 -> { // Schließen
-                player.closeInventory();
-            }
-        }
+
+    private void setupClickHandlers() {
+        onClick(20, () -> {
+            player.closeInventory();
+            plugin.getMessageManager().sendMessage(player, "bank.deposit-help");
+        });
+        onClick(22, () -> {
+            player.closeInventory();
+            plugin.getMessageManager().sendMessage(player, "bank.withdraw-help");
+        });
+        onClick(30, () -> {
+            player.closeInventory();
+            plugin.getMessageManager().sendMessage(player, "bank.history-coming-soon");
+        });
+        onClick(32, () -> {
+            player.closeInventory();
+            plugin.getMessageManager().sendMessage(player, "bank.stats-coming-soon");
+        });
+        onClick(40, () -> {
+            player.closeInventory();
+            showHelp();
+        });
+        onClick(49, player::closeInventory);
     }
-    
+
     private void showHelp() {
         plugin.getMessageManager().sendMessage(player, "bank.help-header");
         plugin.getMessageManager().sendMessage(player, "bank.help-balance");
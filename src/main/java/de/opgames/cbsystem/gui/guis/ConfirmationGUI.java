@@ -4,15 +4,15 @@ import de.opgames.cbsystem.CBSystem;
 import de.opgames.cbsystem.gui.BaseGUI;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
 
 import java.util.List;
 
 public class ConfirmationGUI extends BaseGUI {
     
-    private final String confirmText;
-    private final Runnable onConfirm;
-    private final Runnable onCancel;
+    // Ohne Initialisierer, da setupGUI() bereits im Super-Konstruktor läuft
+    private String confirmText;
+    private Runnable onConfirm;
+    private Runnable onCancel;
     
     public ConfirmationGUI(CBSystem plugin, Player player, String title, String confirmText, 
                           Runnable onConfirm, Runnable onCancel) {
@@ -20,6 +20,7 @@ public class ConfirmationGUI extends BaseGUI {
         this.confirmText = confirmText;
         this.onConfirm = onConfirm;
         this.onCancel = onCancel;
+        update();
     }
     
     @Override
@@ -27,7 +28,7 @@ public class ConfirmationGUI extends BaseGUI {
         // Bestätigungstext
         setItem(13, Material.PAPER, "&e&lBestätigung erforderlich",
             List.of(
-                confirmText,
+                confirmText != null ? confirmText : "",
                 "",
                 "&7Wähle eine Option:"
             ));
@@ -51,28 +52,20 @@ public class ConfirmationGUI extends BaseGUI {
             ));
         
         fillEmptySlots();
-    }
-    
-    @Override
-    public void handleClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick) {
-        if (isFillItem(clickedItem)) return;
         
-        switch (slot) {
-            case 11: // Bestätigen
-                playSuccessSound();
-                closeGUI();
-                if (onConfirm != null) {
-                    onConfirm.run();
-                }
-                break;
-                
-            case 15: // Abbrechen
-                playErrorSound();
-                closeGUI();
-                if (onCancel != null) {
-                    onCancel.run();
-                }
-                break;
-        }
+        onClick(11, () -> {
+            playSuccessSound();
+            closeGUI();
+            if (onConfirm != null) {
+                onConfirm.run();
+            }
+        });
+        onClick(15, () -> {
+            playErrorSound();
+            closeGUI();
+            if (onCancel != null) {
+                onCancel.run();
+            }
+        });
     }
 }
@@ -11,9 +11,11 @@ import java.util.List;
 
 public class CreateAuctionGUI extends BaseGUI {
     
-    private ItemStack selectedItem = null;
-    private double selectedPrice = 0.0;
-    private final double[] pricePresets = {100.0, 500.0, 1000.0, 5000.0, 10000.0, 50000.0};
+    private static final double[] PRICE_PRESETS = {100.0, 500.0, 1000.0, 5000.0, 10000.0, 50000.0};
+    
+    // Ohne Initialisierer, da setupGUI() bereits im Super-Konstruktor läuft
+    private ItemStack selectedItem;
+    private double selectedPrice;
     
     public CreateAuctionGUI(CBSystem plugin, Player player) {
         super(plugin, player, "&a&lAuktion erstellen", 54);
@@ -40,6 +42,7 @@ public class CreateAuctionGUI extends BaseGUI {
             ItemStack item = player.getInventory().getItem(i);
             if (item != null && item.getType() != Material.AIR) {
                 setupInventoryItem(slot, item, i);
+                onClick(slot, () -> toggleSelection(item));
             } else {
                 setItem(slot, Material.GRAY_STAINED_GLASS_PANE, "&7Leer", List.of("&7Kein Item vorhanden"));
             }
@@ -56,14 +59,18 @@ public class CreateAuctionGUI extends BaseGUI {
             lore.add("&aLinksklick: &7Item abwählen");
             
             setItem(40, selectedItem.getType(), "&a&lAusgewähltes Item", lore);
+            onClick(40, () -> {
+                selectedItem = null;
+                update();
+            });
         } else {
             setItem(40, Material.BARRIER, "&c&lKein Item ausgewählt",
                 List.of("&7Wähle ein Item aus deinem", "&7Inventar aus"));
         }
         
         // Preis-Presets (Slots 45-50)
-        for (int i = 0; i < Math.min(pricePresets.length, 6); i++) {
-            double price = pricePresets[i];
+        for (int i = 0; i < Math.min(PRICE_PRESETS.length, 6); i++) {
+            double price = PRICE_PRESETS[i];
             boolean selected = Math.abs(selectedPrice - price) < 0.01;
             
             Material material = selected ? Material.EMERALD : Material.GOLD_NUGGET;
@@ -81,6 +88,10 @@ public class CreateAuctionGUI extends BaseGUI {
             }
             
             setItem(45 + i, material, name, lore);
+            onClick(45 + i, () -> {
+                selectedPrice = price;
+                update();
+            });
         }
         
         // Aktions-Buttons
@@ -101,8 +112,10 @@ public class CreateAuctionGUI extends BaseGUI {
             ));
         
         setItem(53, createCloseButton());
+        onClick(51, this::handleCustomPrice);
+        onClick(53, this::closeGUI);
         
-        // Auktion erstellen Button
+        // Auktion erstellen Button (überdeckt das Preis-Preset auf Slot 49)
         boolean canCreate = selectedItem != null && selectedPrice > 0;
         if (canCreate) {
             double tax = selectedPrice * 0.05;
@@ -123,9 +136,11 @@ public class CreateAuctionGUI extends BaseGUI {
                     "&cNicht verfügbar"
                 ));
         }
+        onClick(49, this::createAuction);
         
         // Zurück Button
         setItem(36, createBackButton());
+        onClick(36, () -> plugin.getGUIManager().openAuctionHouse(player));
         
         fillEmptySlots();
     }
@@ -160,63 +175,16 @@ public class CreateAuctionGUI extends BaseGUI {
         setItem(slot, displayItem);
     }
     
-    @Override
-    public void handleClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick) {
-        if (isFillItem(clickedItem)) return;
-        
-        playClickSound();
-        
-        // Inventar-Items (Slots 9-35)
-        if (slot >= 9 && slot <= 35) {
-            int inventoryIndex = slot - 9;
-            ItemStack item = player.getInventory().getItem(inventoryIndex);
-            
-            if (item != null && item.getType() != Material.AIR) {
-                if (selectedItem != null && selectedItem.isSimilar(item) && 
-                    selectedItem.getAmount() == item.getAmount()) {
-                    // Item abwählen
-                    selectedItem = null;
-                } else {
-                    // Item auswählen
-                    selectedItem = item.clone();
-                }
-                update();
-            }
-            return;
-        }
-        
-        switch (slot) {
-            case 36: // Zurück
-                plugin.getGUIManager().openAuctionHouse(player);
-                break;
-                
-            case 40: // Ausgewähltes Item
-                if (selectedItem != null) {
-                    selectedItem = null;
-                    update();
-                }
-                break;
-                
-            case 45: case 46: case 47: case 48: case 50: // Preis-Presets
-                int presetIndex = slot - 45;
-                if (presetIndex < pricePresets.length) {
-                    selectedPrice = pricePresets[presetIndex];
-                    update();
-                }
-                break;
-                
-            case 49: // Auktion erstellen
-                createAuction();
-                break;
-                
-            case 51: // Eigener Preis
-                handleCustomPrice();
-                break;
-                
-            case 53: // Schließen
-                closeGUI();
-                break;
+    private void toggleSelection(ItemStack item) {
+        if (selectedItem != null && selectedItem.isSimilar(item) && 
+            selectedItem.getAmount() == item.getAmount()) {
+            // Item abwählen
+            selectedItem = null;
+        } else {
+            // Item auswählen
+            selectedItem = item.clone();
         }
+        update();
     }
     
     private void createAuction() {
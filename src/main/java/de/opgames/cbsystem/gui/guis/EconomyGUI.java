@@ -4,7 +4,6 @@ import de.opgames.cbsystem.CBSystem;
 import de.opgames.cbsystem.gui.BaseGUI;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
 
 import java.util.List;
 
@@ -68,43 +67,17 @@ public class EconomyGUI extends BaseGUI {
         setItem(26, createCloseButton());
         
         fillEmptySlots();
-    }
-    
-    @Override
-    public void handleClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick) {
-        if (isFillItem(clickedItem)) return;
-        
-        playClickSound();
         
-        switch (slot) {
-            case 10: // Geld senden
-                plugin.getGUIManager().openPlayerSelectionGUI(player, "&aGeld senden - Spieler auswählen",
-                    selectedPlayer -> {
-                        // Hier würde normalerweise ein Betrag-Eingabe-GUI geöffnet
-                        plugin.getMessageManager().sendMessage(player, "economy.pay-amount-instruction");
-                        closeGUI();
-                    });
-                break;
-                
-            case 12: // Transaktions-Verlauf
-                plugin.getMessageManager().sendMessage(player, "economy.transaction-history-coming-soon");
-                break;
-                
-            case 14: // Top-Liste
-                plugin.getMessageManager().sendMessage(player, "economy.top-list-coming-soon");
-                break;
-                
-            case 16: // Shop
-                plugin.getGUIManager().openShopGUI(player);
-                break;
-                
-            case 18: // Zurück
-                plugin.getGUIManager().openMainMenu(player);
-                break;
-                
-            case 26: // Schließen
+        onClick(10, () -> plugin.getGUIManager().openPlayerSelectionGUI(player, "&aGeld senden - Spieler auswählen",
+            selectedPlayer -> {
+                // Hier würde normalerweise ein Betrag-Eingabe-GUI geöffnet
+                plugin.getMessageManager().sendMessage(player, "economy.pay-amount-instruction");
                 closeGUI();
-                break;
-        }
+            }));
+        onClick(12, () -> plugin.getMessageManager().sendMessage(player, "economy.transaction-history-coming-soon"));
+        onClick(14, () -> plugin.getMessageManager().sendMessage(player, "economy.top-list-coming-soon"));
+        onClick(16, () -> plugin.getGUIManager().openShopGUI(player));
+        onClick(18, () -> plugin.getGUIManager().openMainMenu(player));
+        onClick(26, this::closeGUI);
     }
 }
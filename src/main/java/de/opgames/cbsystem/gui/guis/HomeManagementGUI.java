@@ -5,7 +5,6 @@ import de.opgames.cbsystem.data.PlayerData;
 import de.opgames.cbsystem.gui.BaseGUI;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,8 +12,10 @@ import java.util.Map;
 
 public class HomeManagementGUI extends BaseGUI {
     
-    private int currentPage = 0;
-    private final int homesPerPage = 28; // 4 Reihen à 7 Items
+    private static final int HOMES_PER_PAGE = 28; // 4 Reihen à 7 Items
+    
+    // Ohne Initialisierer, da setupGUI() bereits im Super-Konstruktor läuft
+    private int currentPage;
     
     public HomeManagementGUI(CBSystem plugin, Player player) {
         super(plugin, player, "&b&lHome-Verwaltung", 54);
@@ -43,10 +44,10 @@ public class HomeManagementGUI extends BaseGUI {
         
         // Home-Liste anzeigen
         List<Map.Entry<String, PlayerData.HomeLocation>> homeList = new ArrayList<>(homes.entrySet());
-        int startIndex = currentPage * homesPerPage;
+        int startIndex = currentPage * HOMES_PER_PAGE;
         int slot = 10;
         
-        for (int i = startIndex; i < Math.min(startIndex + homesPerPage, homeList.size()); i++) {
+        for (int i = startIndex; i < Math.min(startIndex + HOMES_PER_PAGE, homeList.size()); i++) {
             if (slot == 17 || slot == 26 || slot == 35) slot += 2; // Überspringe Rand-Slots
             if (slot >= 44) break;
             
@@ -68,6 +69,7 @@ public class HomeManagementGUI extends BaseGUI {
             
             Material bedMaterial = getBedMaterialForHome(i);
             setItem(slot, bedMaterial, "&b" + homeName, lore);
+            onClick(slot, (clickedItem, isShiftClick, isRightClick) -> handleHomeClick(homeName, home, isRightClick));
             slot++;
         }
         
@@ -96,92 +98,39 @@ public class HomeManagementGUI extends BaseGUI {
                     "&7Maximum: &e" + plugin.getConfigManager().getMaxHomes()
                 ));
         }
+        onClick(49, this::handleSetNewHome);
         
         // Navigation
-        int totalPages = (int) Math.ceil((double) homes.size() / homesPerPage);
+        int totalPages = (int) Math.ceil((double) homes.size() / HOMES_PER_PAGE);
         
         if (currentPage > 0) {
             setItem(45, createPreviousPageButton(currentPage, totalPages));
+            onClick(45, () -> showPage(currentPage - 1));
         }
         
         if (currentPage < totalPages - 1) {
             setItem(53, createNextPageButton(currentPage, totalPages));
+            onClick(53, () -> showPage(currentPage + 1));
         }
         
         // Zurück und Schließen
         setItem(46, createBackButton());
         setItem(52, createCloseButton());
+        onClick(46, () -> plugin.getGUIManager().openMainMenu(player));
+        onClick(52, this::closeGUI);
         
         fillEmptySlots();
     }
     
-    @Override
-    public void handleClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick) {
-        if (isFillItem(clickedItem)) return;
-        
-        PlayerData playerData = plugin.getPlayerDataManager().getPlayerData(player);
-        if (playerData == null) return;
-        
-        playClickSound();
-        
-        switch (slot) {
-            case 45: // Vorherige Seite
-                if (currentPage > 0) {
-                    currentPage--;
-                    update();
-                }
-                break;
-                
-            case 46: // Zurück
-                plugin.getGUIManager().openMainMenu(player);
-                break;
-                
-            case 49: // Neues Home setzen
-                handleSetNewHome();
-                break;
-                
-            case 52: // Schließen
-                closeGUI();
-                break;
-                
-            case 53: // Nächste Seite
-                Map<String, PlayerData.HomeLocation> homes = playerData.getHomes();
-                int totalPages = (int) Math.ceil((double) homes.size() / homesPerPage);
-                if (currentPage < totalPages - 1) {
-                    currentPage++;
-                    update();
-                }
-                break;
-                
-            default:
-                // Home-Klick
-                if (slot >= 10 && slot <= 43) {
-                    handleHomeClick(slot, isRightClick);
-                }
-                break;
-        }
+    private void showPage(int page) {
+        currentPage = page;
+        update();
     }
     
-    private void handleHomeClick(int slot, boolean isRightClick) {
+    private void handleHomeClick(String homeName, PlayerData.HomeLocation home, boolean isRightClick) {
         PlayerData playerData = plugin.getPlayerDataManager().getPlayerData(player);
         if (playerData == null) return;
         
-        // Berechne Home-Index basierend auf Slot
-        int adjustedSlot = slot - 10;
-        if (slot >= 18) adjustedSlot -= 2;
-        if (slot >= 27) adjustedSlot -= 2;
-        if (slot >= 36) adjustedSlot -= 2;
-        
-        int homeIndex = (currentPage * homesPerPage) + adjustedSlot;
-        
-        List<Map.Entry<String, PlayerData.HomeLocation>> homeList = new ArrayList<>(playerData.getHomes().entrySet());
-        
-        if (homeIndex >= homeList.size()) return;
-        
-        Map.Entry<String, PlayerData.HomeLocation> entry = homeList.get(homeIndex);
-        String homeName = entry.getKey();
-        PlayerData.HomeLocation home = entry.getValue();
-        
         if (isRightClick) {
             // Home löschen
             plugin.getGUIManager().openConfirmationGUI(player,
@@ -252,7 +201,12 @@ public class HomeManagementGUI extends BaseGUI {
         String homeName = "home" + (playerData.getHomeCount() + 1);
         
         // Geld abziehen
-        plugin.getEconomyManager().withdrawBalance(player.getUniqueId(), cost, "Home gesetzt: " + homeName);
+        if (!plugin.getEconomyManager().withdrawBalance(player.getUniqueId(), cost, "Home gesetzt: " + homeName)) {
+            playErrorSound();
+            plugin.getMessageManager().sendMessage(player, "home.insufficient-funds",
+                "cost", plugin.getEconomyManager().formatBalance(cost));
+            return;
+        }
         
         // Home setzen
         playerData.addHome(homeName, player.getLocation());
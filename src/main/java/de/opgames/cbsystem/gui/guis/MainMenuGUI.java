@@ -4,7 +4,6 @@ import de.opgames.cbsystem.CBSystem;
 import de.opgames.cbsystem.gui.BaseGUI;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
 
 import java.util.List;
 
@@ -16,6 +15,40 @@ public class MainMenuGUI extends BaseGUI {
     
     @Override
     protected void setupGUI() {
+        // Statisches Layout je Variante einmal bauen, danach nur noch übernehmen
+        boolean admin = player.hasPermission("cbsystem.admin.*");
+        applyLayout(admin ? "main-menu:admin" : "main-menu", () -> setupStaticItems(admin));
+        setupClickHandlers(admin);
+        
+        // Economy-System
+        if (plugin.getConfigManager().isEconomyEnabled()) {
+            // Live aktualisiert, solange das Menü offen ist
+            bind(14, () -> plugin.getEconomyManager().getBalance(player.getUniqueId()),
+                balance -> template(Material.GOLD_INGOT, "&6&lEconomy",
+                    List.of(
+                        "&7Verwalte dein Geld",
+                        "&7und Transaktionen.",
+                        "",
+                        "&7Dein Guthaben: &a{balance}",
+                        "",
+                        "&6Linksklick: &7Economy-Menü öffnen"
+                    )).build("balance", plugin.getEconomyManager().formatBalance(balance)));
+        }
+        
+        // Info-Item
+        setItem(4, template(Material.BOOK, "&f&lCBSystem Info",
+            List.of(
+                "&7Willkommen bei &6OP-Games.de&7!",
+                "",
+                "&7Version: &e" + plugin.getDescription().getVersion(),
+                "&7Entwickelt mit &c❤ &7für die",
+                "&7beste CityBuild-Experience!",
+                "",
+                "&7Spieler online: &a{online}"
+            )).build("online", String.valueOf(plugin.getServer().getOnlinePlayers().size())));
+    }
+    
+    private void setupStaticItems(boolean admin) {
         // Plot-System
         if (plugin.getConfigManager().isPlotSquaredEnabled()) {
             setItem(10, Material.GRASS_BLOCK, "&a&lPlots",
@@ -60,20 +93,6 @@ public class MainMenuGUI extends BaseGUI {
                 ));
         }
         
-        // Economy-System
-        if (plugin.getConfigManager().isEconomyEnabled()) {
-            double balance = plugin.getEconomyManager().getBalance(player.getUniqueId());
-            setItem(14, Material.GOLD_INGOT, "&6&lEconomy",
-                List.of(
-                    "&7Verwalte dein Geld",
-                    "&7und Transaktionen.",
-                    "",
-                    "&7Dein Guthaben: &a" + plugin.getEconomyManager().formatBalance(balance),
-                    "",
-                    "&6Linksklick: &7Economy-Menü öffnen"
-                ));
-        }
-        
         // Teleportation-System
         if (plugin.getConfigManager().isTPAEnabled()) {
             setItem(15, Material.COMPASS, "&c&lTeleportation",
@@ -86,7 +105,7 @@ public class MainMenuGUI extends BaseGUI {
         }
         
         // Admin-Menü (nur für Admins)
-        if (player.hasPermission("cbsystem.admin.*")) {
+        if (admin) {
             setItem(16, Material.COMMAND_BLOCK, "&4&lAdmin",
                 List.of(
                     "&7Administrations-Tools",
@@ -96,18 +115,6 @@ public class MainMenuGUI extends BaseGUI {
                 ));
         }
         
-        // Info-Item
-        setItem(4, Material.BOOK, "&f&lCBSystem Info",
-            List.of(
-                "&7Willkommen bei &6OP-Games.de&7!",
-                "",
-                "&7Version: &e" + plugin.getDescription().getVersion(),
-                "&7Entwickelt mit &c❤ &7für die",
-                "&7beste CityBuild-Experience!",
-                "",
-                "&7Spieler online: &a" + plugin.getServer().getOnlinePlayers().size()
-            ));
-        
         // Schließen-Button
         setItem(22, createCloseButton());
         
@@ -115,65 +122,36 @@ public class MainMenuGUI extends BaseGUI {
         fillEmptySlots();
     }
     
-    @Override
-    public void handleClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick) {
-        if (isFillItem(clickedItem)) return;
-        
-        playClickSound();
-        
-        switch (slot) {
-            case 10: // Plots
-                if (plugin.getConfigManager().isPlotSquaredEnabled()) {
-                    // Öffne Plot-Menü - hier würde normalerweise das aktuelle Plot ermittelt werden
-                    closeGUI();
-                    plugin.getMessageManager().sendMessage(player, "plot.menu-opened");
-                }
-                break;
-                
-            case 11: // Homes
-                if (plugin.getConfigManager().isHomesEnabled()) {
-                    plugin.getGUIManager().openHomeManagementGUI(player);
-                }
-                break;
-                
-            case 12: // Warps
-                if (plugin.getConfigManager().isWarpsEnabled()) {
-                    plugin.getGUIManager().openWarpGUI(player);
-                }
-                break;
-                
-            case 13: // Shop
-                if (plugin.getConfigManager().isShopEnabled()) {
-                    plugin.getGUIManager().openShopGUI(player);
-                }
-                break;
-                
-            case 14: // Economy
-                if (plugin.getConfigManager().isEconomyEnabled()) {
-                    plugin.getGUIManager().openEconomyGUI(player);
-                }
-                break;
-                
-            case 15: // Teleportation
-                if (plugin.getConfigManager().isTPAEnabled()) {
-                    plugin.getGUIManager().openTeleportGUI(player);
-                }
-                break;
-                
-            case 16: // Admin
-                if (player.hasPermission("cbsystem.admin.*")) {
-                    plugin.getGUIManager().openAdminGUI(player);
-                }
-                break;
-                
-            case 22: // Schließen
+    private void setupClickHandlers(boolean admin) {
+        if (plugin.getConfigManager().isPlotSquaredEnabled()) {
+            onClick(10, () -> {
+                // Öffne Plot-Menü - hier würde normalerweise das aktuelle Plot ermittelt werden
                 closeGUI();
-                break;
-                
-            case 4: // Info
-                playSuccessSound();
-                plugin.getMessageManager().sendMessage(player, "general.plugin-info");
-                break;
+                plugin.getMessageManager().sendMessage(player, "plot.menu-opened");
+            });
+        }
+        if (plugin.getConfigManager().isHomesEnabled()) {
+            onClick(11, () -> plugin.getGUIManager().openHomeManagementGUI(player));
+        }
+        if (plugin.getConfigManager().isWarpsEnabled()) {
+            onClick(12, () -> plugin.getGUIManager().openWarpGUI(player));
+        }
+        if (plugin.getConfigManager().isShopEnabled()) {
+            onClick(13, () -> plugin.getGUIManager().openShopGUI(player));
+        }
+        if (plugin.getConfigManager().isEconomyEnabled()) {
+            onClick(14, () -> plugin.getGUIManager().openEconomyGUI(player));
+        }
+        if (plugin.getConfigManager().isTPAEnabled()) {
+            onClick(15, () -> plugin.getGUIManager().openTeleportGUI(player));
+        }
+        if (admin) {
+            onClick(16, () -> plugin.getGUIManager().openAdminGUI(player));
         }
+        onClick(22, this::closeGUI);
+        onClick(4, () -> {
+            playSuccessSound();
+            plugin.getMessageManager().sendMessage(player, "general.plugin-info");
+        });
     }
 }
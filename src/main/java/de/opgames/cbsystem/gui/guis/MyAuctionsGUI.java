@@ -13,21 +13,32 @@ import java.util.List;
 
 public class MyAuctionsGUI extends BaseGUI {
     
-    private final List<AuctionItem> myAuctions;
-    private final List<AuctionItem> soldAuctions;
-    private int currentPage = 0;
-    private boolean showingSold = false;
+    // Ohne Initialisierer, da setupGUI() bereits im Super-Konstruktor läuft
+    private List<AuctionItem> myAuctions;
+    private List<AuctionItem> soldAuctions;
+    private int currentPage;
+    private boolean showingSold;
     
     public MyAuctionsGUI(CBSystem plugin, Player player) {
         super(plugin, player, "&e&lMeine Auktionen", 54);
         if (plugin.getAuctionManager() == null) {
             plugin.getLogger().severe("AuctionManager ist null! Das Plugin ist nicht richtig initialisiert.");
+        }
+        loadAuctions();
+        update();
+    }
+    
+    /**
+     * Holt die eigenen Auktionen aus den Indizes des AuctionStores (im Speicher, kein Datenbankzugriff)
+     */
+    private void loadAuctions() {
+        if (plugin.getAuctionManager() == null) {
             this.myAuctions = new ArrayList<>();
             this.soldAuctions = new ArrayList<>();
-        } else {
-            this.myAuctions = plugin.getAuctionManager().getPlayerActiveAuctions(player.getUniqueId());
-            this.soldAuctions = plugin.getAuctionManager().getPlayerSoldAuctions(player.getUniqueId());
+            return;
         }
+        this.myAuctions = plugin.getAuctionManager().getPlayerActiveAuctions(player.getUniqueId());
+        this.soldAuctions = plugin.getAuctionManager().getPlayerSoldAuctions(player.getUniqueId());
     }
     
     @Override
@@ -55,7 +66,13 @@ public class MyAuctionsGUI extends BaseGUI {
             if (slot > 44) break;
             
             AuctionItem auction = currentList.get(i);
-            setupAuctionItem(slot, auction);
+            if (auction.isSold()) {
+                setItem(slot, createAuctionItem(auction, null));
+            } else {
+                // Restzeit aktiver Auktionen läuft live mit
+                bind(slot, auction::getFormattedTimeRemaining, timeRemaining -> createAuctionItem(auction, timeRemaining));
+            }
+            onClick(slot, (clickedItem, isShiftClick, isRightClick) -> handleAuctionClick(auction, isShiftClick, isRightClick));
             slot++;
         }
         
@@ -64,10 +81,12 @@ public class MyAuctionsGUI extends BaseGUI {
         
         if (currentPage > 0) {
             setItem(45, createPreviousPageButton(currentPage, totalPages));
+            onClick(45, () -> showPage(currentPage - 1));
         }
         
         if (currentPage < totalPages - 1) {
             setItem(53, createNextPageButton(currentPage, totalPages));
+            onClick(53, () -> showPage(currentPage + 1));
         }
         
         // Toggle-Buttons
@@ -123,9 +142,29 @@ public class MyAuctionsGUI extends BaseGUI {
             ));
         
         fillEmptySlots();
+        
+        onClick(46, () -> showList(false));
+        onClick(47, () -> showList(true));
+        onClick(48, () -> plugin.getGUIManager().openCreateAuctionGUI(player));
+        onClick(49, () -> plugin.getGUIManager().openAuctionHouse(player));
+        onClick(50, this::closeGUI);
+        onClick(52, this::cancelAllAuctions);
+    }
+    
+    private void showPage(int page) {
+        currentPage = page;
+        update();
+    }
+    
+    private void showList(boolean sold) {
+        if (showingSold != sold) {
+            showingSold = sold;
+            currentPage = 0;
+            update();
+        }
     }
     
-    private void setupAuctionItem(int slot, AuctionItem auction) {
+    private ItemStack createAuctionItem(AuctionItem auction, String timeRemaining) {
         ItemStack displayItem = auction.getItem().clone();
         ItemMeta meta = displayItem.getItemMeta();
         
@@ -147,7 +186,7 @@ public class MyAuctionsGUI extends BaseGUI {
                 lore.add("&7Verkauft am: &f" + new java.util.Date(auction.getCreatedAt()));
             } else {
                 lore.add("&7Status: &e&lAKTIV");
-                lore.add("&7Verbleibend: &c" + auction.getFormattedTimeRemaining());
+                lore.add("&7Verbleibend: &c" + timeRemaining);
                 if (auction.isExpired()) {
                     lore.add("&c&lABGELAUFEN");
                 }
@@ -182,81 +221,10 @@ public class MyAuctionsGUI extends BaseGUI {
             displayItem.setItemMeta(meta);
         }
         
-        setItem(slot, displayItem);
+        return displayItem;
     }
     
-    @Override
-    public void handleClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick) {
-        if (isFillItem(clickedItem)) return;
-        
-        playClickSound();
-        
-        switch (slot) {
-            case 45: // Vorherige Seite
-                if (currentPage > 0) {
-                    currentPage--;
-                    update();
-                }
-                break;
-                
-            case 46: // Aktive Auktionen
-                if (showingSold) {
-                    showingSold = false;
-                    currentPage = 0;
-                    update();
-                }
-                break;
-                
-            case 47: // Verkaufte Auktionen
-                if (!showingSold) {
-                    showingSold = true;
-                    currentPage = 0;
-                    update();
-                }
-                break;
-                
-            case 48: // Neue Auktion
-                plugin.getGUIManager().openCreateAuctionGUI(player);
-                break;
-                
-            case 49: // Zurück
-                plugin.getGUIManager().openAuctionHouse(player);
-                break;
-                
-            case 50: // Schließen
-                closeGUI();
-                break;
-                
-            case 52: // Alle abbrechen
-                cancelAllAuctions();
-                break;
-                
-            case 53: // Nächste Seite
-                List<AuctionItem> currentList = showingSold ? soldAuctions : myAuctions;
-                int totalPages = (int) Math.ceil((double) currentList.size() / 36);
-                if (currentPage < totalPages - 1) {
-                    currentPage++;
-                    update();
-                }
-                break;
-                
-            default:
-                // Auktions-Interaktion
-                if (slot >= 9 && slot <= 44) {
-                    handleAuctionClick(slot, isShiftClick, isRightClick);
-                }
-                break;
-        }
-    }
-    
-    private void handleAuctionClick(int slot, boolean isShiftClick, boolean isRightClick) {
-        List<AuctionItem> currentList = showingSold ? soldAuctions : myAuctions;
-        int auctionIndex = (currentPage * 36) + (slot - 9);
-        
-        if (auctionIndex >= currentList.size()) return;
-        
-        AuctionItem auction = currentList.get(auctionIndex);
-        
+    private void handleAuctionClick(AuctionItem auction, boolean isShiftClick, boolean isRightClick) {
         if (isShiftClick) {
             // Details anzeigen
             showAuctionDetails(auction);
@@ -265,10 +233,7 @@ public class MyAuctionsGUI extends BaseGUI {
             if (plugin.getAuctionManager().cancelAuction(player, auction.getId())) {
                 playSuccessSound();
                 // Listen aktualisieren
-                if (myAuctions != null) {
-                    myAuctions.clear();
-                    myAuctions.addAll(plugin.getAuctionManager().getPlayerActiveAuctions(player.getUniqueId()));
-                }
+                loadAuctions();
                 update();
             } else {
                 playErrorSound();
@@ -297,10 +262,7 @@ public class MyAuctionsGUI extends BaseGUI {
             playSuccessSound();
             
             // Liste aktualisieren
-            if (myAuctions != null) {
-                myAuctions.clear();
-                myAuctions.addAll(plugin.getAuctionManager().getPlayerActiveAuctions(player.getUniqueId()));
-            }
+            loadAuctions();
             update();
         } else {
             plugin.getMessageManager().sendMessage(player, "auction.cancel-all-failed");
@@ -324,8 +286,6 @@ public class MyAuctionsGUI extends BaseGUI {
             plugin.getMessageManager().sendRawMessage(player, "&7Läuft ab: &c" + new java.util.Date(auction.getExpiresAt()));
             plugin.getMessageManager().sendRawMessage(player, "&7Verbleibend: &c" + auction.getFormattedTimeRemaining());
         }
-        
-        playClickSound();
     }
     
     private String calculateSuccessRate() {
@@ -5,21 +5,26 @@ import de.opgames.cbsystem.gui.BaseGUI;
 import org.bukkit.GameMode;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
 
 import java.util.List;
 
 public class PlayerActionsGUI extends BaseGUI {
     
-    private final Player targetPlayer;
+    // Ohne Initialisierer, da setupGUI() bereits im Super-Konstruktor läuft
+    private Player targetPlayer;
     
     public PlayerActionsGUI(CBSystem plugin, Player player, Player targetPlayer) {
         super(plugin, player, "&c&l" + targetPlayer.getName() + " &8- &7Aktionen", 45);
         this.targetPlayer = targetPlayer;
+        update();
     }
     
     @Override
     protected void setupGUI() {
+        if (targetPlayer == null) {
+            return; // Erster Aufbau im Super-Konstruktor
+        }
+        
         // Header: Spieler-Info
         double balance = plugin.getEconomyManager().getBalance(targetPlayer.getUniqueId());
         setItem(4, Material.PLAYER_HEAD, "&e" + targetPlayer.getName(),
@@ -151,107 +156,66 @@ public class PlayerActionsGUI extends BaseGUI {
             ));
         
         fillEmptySlots();
+        
+        onActionClick(10, (clickedItem, isShiftClick, isRightClick) -> {
+            if (isShiftClick) {
+                // Spieler zu Admin teleportieren
+                targetPlayer.teleport(player.getLocation());
+                plugin.getMessageManager().sendMessage(player, "admin.player-teleported-to-you",
+                    "player", targetPlayer.getName());
+                plugin.getMessageManager().sendMessage(targetPlayer, "admin.teleported-to-admin",
+                    "admin", player.getName());
+            } else {
+                // Admin zu Spieler teleportieren
+                player.teleport(targetPlayer.getLocation());
+                plugin.getMessageManager().sendMessage(player, "admin.teleported-to-player",
+                    "player", targetPlayer.getName());
+            }
+            playSuccessSound();
+        });
+        onActionClick(11, this::showPositionInfo);
+        onActionClick(12, this::kickPlayer);
+        onActionClick(13, this::banPlayer);
+        onActionClick(14, () -> plugin.getMessageManager().sendMessage(player, "admin.tempban-coming-soon"));
+        onActionClick(19, this::healPlayer);
+        onActionClick(20, this::feedPlayer);
+        onActionClick(21, this::toggleFly);
+        onActionClick(22, this::openGamemodeMenu);
+        onActionClick(23, this::clearInventory);
+        onActionClick(28, () -> plugin.getMessageManager().sendMessage(player, "admin.money-set-coming-soon"));
+        onActionClick(29, () -> plugin.getMessageManager().sendMessage(player, "admin.money-give-coming-soon"));
+        onActionClick(30, () -> plugin.getMessageManager().sendMessage(player, "admin.money-take-coming-soon"));
+        onActionClick(36, () -> plugin.getGUIManager().openPlayerManagementGUI(player));
+        onActionClick(40, this::closeGUI);
+        onActionClick(44, () -> plugin.getMessageManager().sendMessage(player, "admin.player-logs-coming-soon"));
     }
     
-    @Override
-    public void handleClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick) {
-        if (isFillItem(clickedItem)) return;
-        
-        if (!player.hasPermission("cbsystem.admin.playeractions")) {
-            playErrorSound();
-            plugin.getMessageManager().sendMessage(player, "general.no-permission");
-            return;
-        }
-        
-        // Prüfe ob Ziel-Spieler noch online ist
-        if (!targetPlayer.isOnline()) {
-            playErrorSound();
-            plugin.getMessageManager().sendMessage(player, "general.player-not-online", 
-                "player", targetPlayer.getName());
-            plugin.getGUIManager().openPlayerManagementGUI(player);
-            return;
-        }
-        
-        playClickSound();
-        
-        switch (slot) {
-            case 10: // Teleportation
-                if (isShiftClick) {
-                    // Spieler zu Admin teleportieren
-                    targetPlayer.teleport(player.getLocation());
-                    plugin.getMessageManager().sendMessage(player, "admin.player-teleported-to-you",
-                        "player", targetPlayer.getName());
-                    plugin.getMessageManager().sendMessage(targetPlayer, "admin.teleported-to-admin",
-                        "admin", player.getName());
-                } else {
-                    // Admin zu Spieler teleportieren
-                    player.teleport(targetPlayer.getLocation());
-                    plugin.getMessageManager().sendMessage(player, "admin.teleported-to-player",
-                        "player", targetPlayer.getName());
-                }
-                playSuccessSound();
-                break;
-                
-            case 11: // Position Info
-                showPositionInfo();
-                break;
-                
-            case 12: // Kick
-                kickPlayer();
-                break;
-                
-            case 13: // Ban
-                banPlayer();
-                break;
-                
-            case 14: // Temp Ban
-                plugin.getMessageManager().sendMessage(player, "admin.tempban-coming-soon");
-                break;
-                
-            case 19: // Heal
-                healPlayer();
-                break;
-                
-            case 20: // Feed
-                feedPlayer();
-                break;
-                
-            case 21: // Fly Toggle
-                toggleFly();
-                break;
-                
-            case 22: // Gamemode
-                openGamemodeMenu();
-                break;
-                
-            case 23: // Clear Inventory
-                clearInventory();
-                break;
-                
-            case 28: // Geld setzen
-                plugin.getMessageManager().sendMessage(player, "admin.money-set-coming-soon");
-                break;
-                
-            case 29: // Geld geben
-                plugin.getMessageManager().sendMessage(player, "admin.money-give-coming-soon");
-                break;
-                
-            case 30: // Geld entziehen
-                plugin.getMessageManager().sendMessage(player, "admin.money-take-coming-soon");
-                break;
-                
-            case 36: // Zurück
+    private void onActionClick(int slot, Runnable action) {
+        onActionClick(slot, (clickedItem, isShiftClick, isRightClick) -> action.run());
+    }
+    
+    /**
+     * Registriert eine Aktion, die erst nach Prüfung der Berechtigung und des Ziel-Spielers ausgeführt wird
+     */
+    private void onActionClick(int slot, ClickHandler action) {
+        onClick(slot, (clickedItem, isShiftClick, isRightClick) -> {
+            if (!player.hasPermission("cbsystem.admin.playeractions")) {
+                playErrorSound();
+                plugin.getMessageManager().sendMessage(player, "general.no-permission");
+                return;
+            }
+            
+            // Prüfe ob Ziel-Spieler noch online ist
+            if (!targetPlayer.isOnline()) {
+                playErrorSound();
+                plugin.getMessageManager().sendMessage(player, "general.player-not-online", 
+                    "player", targetPlayer.getName());
                 plugin.getGUIManager().openPlayerManagementGUI(player);
-                break;
-                
-            case 40: // Schließen
-                closeGUI();
-                break;
-                
-            case 44: // Spieler-Logs
-                plugin.getMessageManager().sendMessage(player, "admin.player-logs-coming-soon");
-                break;
-        }
+                return;
+            }
+            
+            action.onClick(clickedItem, isShiftClick, isRightClick);
+        });
     }
     
     private void showPositionInfo() {
@@ -262,7 +226,6 @@ public class PlayerActionsGUI extends BaseGUI {
         plugin.getMessageManager().sendRawMessage(player, "&7Z: &f" + targetPlayer.getLocation().getZ());
         plugin.getMessageManager().sendRawMessage(player, "&7Yaw: &f" + targetPlayer.getLocation().getYaw());
         plugin.getMessageManager().sendRawMessage(player, "&7Pitch: &f" + targetPlayer.getLocation().getPitch());
-        playClickSound();
     }
     
     private void kickPlayer() {
@@ -14,17 +14,23 @@ import java.util.UUID;
 
 public class PlayerManagementGUI extends BaseGUI {
     
-    private final List<Player> onlinePlayers;
-    private int currentPage = 0;
+    // Ohne Initialisierer, da setupGUI() bereits im Super-Konstruktor läuft
+    private List<Player> onlinePlayers;
+    private int currentPage;
     
     public PlayerManagementGUI(CBSystem plugin, Player player) {
         super(plugin, player, "&c&lSpielerverwaltung", 54);
         this.onlinePlayers = new ArrayList<>(Bukkit.getOnlinePlayers());
         this.onlinePlayers.remove(player); // Admin nicht in der Liste anzeigen
+        update();
     }
     
     @Override
     protected void setupGUI() {
+        if (onlinePlayers == null) {
+            return; // Erster Aufbau im Super-Konstruktor
+        }
+        
         // Header: Server-Info
         setItem(4, Material.PLAYER_HEAD, "&6&lServer-Übersicht",
             List.of(
@@ -45,6 +51,7 @@ public class PlayerManagementGUI extends BaseGUI {
             Player target = onlinePlayers.get(i);
             if (target != null && target.isOnline()) {
                 setupPlayerItem(slot, target);
+                onManagementClick(slot, (clickedItem, isShiftClick, isRightClick) -> handlePlayerClick(target, isRightClick));
                 slot++;
             }
         }
@@ -54,10 +61,12 @@ public class PlayerManagementGUI extends BaseGUI {
         
         if (currentPage > 0) {
             setItem(45, createPreviousPageButton(currentPage, totalPages));
+            onManagementClick(45, () -> showPage(currentPage - 1));
         }
         
         if (currentPage < totalPages - 1) {
             setItem(53, createNextPageButton(currentPage, totalPages));
+            onManagementClick(53, () -> showPage(currentPage + 1));
         }
         
         // Aktions-Buttons
@@ -89,6 +98,35 @@ public class PlayerManagementGUI extends BaseGUI {
             ));
         
         fillEmptySlots();
+        
+        onManagementClick(47, this::handleOfflinePlayerSearch);
+        onManagementClick(48, () -> plugin.getGUIManager().openServerStatsGUI(player));
+        onManagementClick(49, () -> plugin.getGUIManager().openAdminGUI(player));
+        onManagementClick(50, this::closeGUI);
+        onManagementClick(51, () -> plugin.getGUIManager().openEmergencyActionsGUI(player));
+    }
+    
+    private void showPage(int page) {
+        currentPage = page;
+        update();
+    }
+    
+    private void onManagementClick(int slot, Runnable action) {
+        onManagementClick(slot, (clickedItem, isShiftClick, isRightClick) -> action.run());
+    }
+    
+    /**
+     * Registriert eine Aktion, die erst nach Prüfung der Verwaltungs-Berechtigung ausgeführt wird
+     */
+    private void onManagementClick(int slot, ClickHandler action) {
+        onClick(slot, (clickedItem, isShiftClick, isRightClick) -> {
+            if (!player.hasPermission("cbsystem.admin.playermanagement")) {
+                playErrorSound();
+                plugin.getMessageManager().sendMessage(player, "general.no-permission");
+                return;
+            }
+            action.onClick(clickedItem, isShiftClick, isRightClick);
+        });
     }
     
     private void setupPlayerItem(int slot, Player target) {
@@ -111,70 +149,8 @@ public class PlayerManagementGUI extends BaseGUI {
         setItem(slot, playerHead.getType(), "&e" + target.getName(), lore);
     }
     
-    @Override
-    public void handleClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick) {
-        if (isFillItem(clickedItem)) return;
-        
-        if (!player.hasPermission("cbsystem.admin.playermanagement")) {
-            playErrorSound();
-            plugin.getMessageManager().sendMessage(player, "general.no-permission");
-            return;
-        }
-        
-        playClickSound();
-        
-        switch (slot) {
-            case 45: // Vorherige Seite
-                if (currentPage > 0) {
-                    currentPage--;
-                    update();
-                }
-                break;
-                
-            case 47: // Offline-Spieler
-                handleOfflinePlayerSearch();
-                break;
-                
-            case 48: // Server-Statistiken
-                plugin.getGUIManager().openServerStatsGUI(player);
-                break;
-                
-            case 49: // Zurück
-                plugin.getGUIManager().openAdminGUI(player);
-                break;
-                
-            case 50: // Schließen
-                closeGUI();
-                break;
-                
-            case 51: // Notfall-Aktionen
-                plugin.getGUIManager().openEmergencyActionsGUI(player);
-                break;
-                
-            case 53: // Nächste Seite
-                int totalPages = (int) Math.ceil((double) onlinePlayers.size() / 36);
-                if (currentPage < totalPages - 1) {
-                    currentPage++;
-                    update();
-                }
-                break;
-                
-            default:
-                // Spieler-Interaktion
-                if (slot >= 9 && slot <= 44) {
-                    handlePlayerClick(slot, isRightClick);
-                }
-                break;
-        }
-    }
-    
-    private void handlePlayerClick(int slot, boolean isRightClick) {
-        int playerIndex = (currentPage * 36) + (slot - 9);
-        
-        if (playerIndex >= onlinePlayers.size()) return;
-        
-        Player target = onlinePlayers.get(playerIndex);
-        if (target == null || !target.isOnline()) {
+    private void handlePlayerClick(Player target, boolean isRightClick) {
+        if (!target.isOnline()) {
             plugin.getMessageManager().sendMessage(player, "general.player-not-online", 
                 "player", "Unbekannt");
             update(); // GUI aktualisieren
@@ -13,9 +13,11 @@ import java.util.function.Consumer;
 
 public class PlayerSelectionGUI extends BaseGUI {
     
-    private final Consumer<Player> onPlayerSelected;
-    private int currentPage = 0;
-    private final int playersPerPage = 36;
+    private static final int PLAYERS_PER_PAGE = 36;
+    
+    // Ohne Initialisierer, da setupGUI() bereits im Super-Konstruktor läuft
+    private Consumer<Player> onPlayerSelected;
+    private int currentPage;
     
     public PlayerSelectionGUI(CBSystem plugin, Player player, String title, Consumer<Player> onPlayerSelected) {
         super(plugin, player, title, 54);
@@ -37,10 +39,10 @@ public class PlayerSelectionGUI extends BaseGUI {
             ));
         
         // Spieler anzeigen
-        int startIndex = currentPage * playersPerPage;
+        int startIndex = currentPage * PLAYERS_PER_PAGE;
         int slot = 9;
         
-        for (int i = startIndex; i < Math.min(startIndex + playersPerPage, onlinePlayers.size()); i++) {
+        for (int i = startIndex; i < Math.min(startIndex + PLAYERS_PER_PAGE, onlinePlayers.size()); i++) {
             if (slot > 44) break;
             
             Player onlinePlayer = onlinePlayers.get(i);
@@ -72,77 +74,45 @@ public class PlayerSelectionGUI extends BaseGUI {
             }
             
             setItem(slot, playerHead);
+            onClick(slot, () -> handlePlayerSelection(onlinePlayer));
             slot++;
         }
         
         // Navigation
-        int totalPages = (int) Math.ceil((double) onlinePlayers.size() / playersPerPage);
+        int totalPages = (int) Math.ceil((double) onlinePlayers.size() / PLAYERS_PER_PAGE);
         
         if (currentPage > 0) {
             setItem(45, createPreviousPageButton(currentPage, totalPages));
+            onClick(45, () -> showPage(currentPage - 1));
         }
         
         if (currentPage < totalPages - 1) {
             setItem(53, createNextPageButton(currentPage, totalPages));
+            onClick(53, () -> showPage(currentPage + 1));
         }
         
         // Zurück und Schließen
         setItem(49, createBackButton());
         setItem(50, createCloseButton());
+        onClick(49, this::closeGUI);
+        onClick(50, this::closeGUI);
         
         fillEmptySlots();
     }
     
-    @Override
-    public void handleClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick) {
-        if (isFillItem(clickedItem)) return;
-        
-        playClickSound();
-        
-        switch (slot) {
-            case 45: // Vorherige Seite
-                if (currentPage > 0) {
-                    currentPage--;
-                    update();
-                }
-                break;
-                
-            case 49: // Zurück
-                closeGUI();
-                break;
-                
-            case 50: // Schließen
-                closeGUI();
-                break;
-                
-            case 53: // Nächste Seite
-                List<Player> onlinePlayers = new ArrayList<>(plugin.getServer().getOnlinePlayers());
-                onlinePlayers.remove(player);
-                int totalPages = (int) Math.ceil((double) onlinePlayers.size() / playersPerPage);
-                if (currentPage < totalPages - 1) {
-                    currentPage++;
-                    update();
-                }
-                break;
-                
-            default:
-                // Spieler-Auswahl
-                if (slot >= 9 && slot <= 44) {
-                    handlePlayerSelection(slot);
-                }
-                break;
-        }
+    private void showPage(int page) {
+        currentPage = page;
+        update();
     }
     
-    private void handlePlayerSelection(int slot) {
-        List<Player> onlinePlayers = new ArrayList<>(plugin.getServer().getOnlinePlayers());
-        onlinePlayers.remove(player);
-        
-        int playerIndex = (currentPage * playersPerPage) + (slot - 9);
-        
-        if (playerIndex >= onlinePlayers.size()) return;
-        
-        Player selectedPlayer = onlinePlayers.get(playerIndex);
+    private void handlePlayerSelection(Player selectedPlayer) {
+        if (!selectedPlayer.isOnline()) {
+            playErrorSound();
+            plugin.getMessageManager().sendMessage(player, "general.player-not-online",
+                "player", selectedPlayer.getName());
+            update();
+            return;
+        }
         
         playSuccessSound();
         closeGUI();
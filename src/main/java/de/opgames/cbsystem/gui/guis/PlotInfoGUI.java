@@ -6,7 +6,6 @@ import de.opgames.cbsystem.gui.BaseGUI;
 import de.opgames.cbsystem.plot.PlotSquaredIntegration;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -14,11 +13,22 @@ import java.util.List;
 
 public class PlotInfoGUI extends BaseGUI {
     
-    private final Plot plot;
+    // Ohne Initialisierer, da setupGUI() bereits im Super-Konstruktor läuft
+    private Plot plot;
+    private PlotSquaredIntegration.PlotData plotData;
+    private boolean plotDataLoaded;
     
     public PlotInfoGUI(CBSystem plugin, Player player, Plot plot) {
         super(plugin, player, "&8Plot-Informationen", 27);
         this.plot = plot;
+        // Kauf-Informationen kommen aus der Datenbank, bis dahin zeigt Slot 14 einen Platzhalter
+        if (plot != null) {
+            load(plugin.getPlotManager().getPlotDataAsync(plot), data -> {
+                plotData = data;
+                plotDataLoaded = true;
+            });
+        }
+        update();
     }
     
     @Override
@@ -28,6 +38,7 @@ public class PlotInfoGUI extends BaseGUI {
                 List.of("&7Du stehst nicht auf einem Plot!"));
             setItem(22, createCloseButton());
             fillEmptySlots();
+            onClick(22, this::closeGUI);
             return;
         }
         
@@ -98,31 +109,13 @@ public class PlotInfoGUI extends BaseGUI {
         
         setItem(12, Material.REDSTONE, "&6&lEinstellungen", settingsInfo);
         
-        // Erweiterte Informationen
-        List<String> extendedInfo = new ArrayList<>();
-        
-        // Plot-Daten aus der Datenbank
-        PlotSquaredIntegration.PlotData plotData = plugin.getPlotManager().getPlotData(plot);
-        if (plotData != null) {
-            extendedInfo.add("&6&lKauf-Informationen:");
-            extendedInfo.add("&7Kaufpreis: &a" + plugin.getEconomyManager().formatBalance(plotData.getPurchasePrice()));
-            
-            if (plotData.getPurchaseDate() != null) {
-                SimpleDateFormat dateFormat = new SimpleDateFormat("dd.MM.yyyy HH:mm");
-                extendedInfo.add("&7Gekauft am: &e" + dateFormat.format(plotData.getPurchaseDate()));
-            }
+        // Erweiterte Informationen (Plot-Daten aus der Datenbank)
+        if (plotDataLoaded) {
+            setItem(14, Material.BOOK, "&6&lErweiterte Infos", createExtendedInfo());
         } else {
-            extendedInfo.add("&7Keine Kauf-Informationen");
-            extendedInfo.add("&7verfügbar.");
+            setItem(14, createLoadingItem());
         }
         
-        extendedInfo.add("");
-        extendedInfo.add("&6&lStatistiken:");
-        extendedInfo.add("&7Plot-Größe: &e64x64 Blöcke");
-        extendedInfo.add("&7Bauhöhe: &eY 0-256");
-        
-        setItem(14, Material.BOOK, "&6&lErweiterte Infos", extendedInfo);
-        
         // Teleportation
         if (plugin.getPlotManager().hasPlotPermission(plot, player.getUniqueId())) {
             setItem(16, Material.ENDER_PEARL, "&a&lZum Plot teleportieren",
@@ -132,11 +125,17 @@ public class PlotInfoGUI extends BaseGUI {
                     "",
                     "&aLinksklick: &7Teleportieren"
                 ));
+            onClick(16, () -> {
+                closeGUI();
+                plugin.getPlotManager().teleportToPlotHome(player, plot);
+            });
         }
         
         // Navigation
         setItem(18, createBackButton());
         setItem(26, createCloseButton());
+        onClick(18, () -> plugin.getGUIManager().openMainMenu(player));
+        onClick(26, this::closeGUI);
         
         // Management-Button (nur für Besitzer)
         if (plugin.getPlotManager().isPlotOwner(plot, player.getUniqueId())) {
@@ -147,38 +146,32 @@ public class PlotInfoGUI extends BaseGUI {
                     "",
                     "&6Linksklick: &7Management öffnen"
                 ));
+            onClick(22, () -> plugin.getGUIManager().openPlotManagementGUI(player, plot));
         }
         
         fillEmptySlots();
     }
     
-    @Override
-    public void handleClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick) {
-        if (isFillItem(clickedItem)) return;
-        
-        playClickSound();
+    private List<String> createExtendedInfo() {
+        List<String> extendedInfo = new ArrayList<>();
         
-        switch (slot) {
-            case 16: // Teleportieren
-                if (plot != null && plugin.getPlotManager().hasPlotPermission(plot, player.getUniqueId())) {
-                    closeGUI();
-                    plugin.getPlotManager().teleportToPlotHome(player, plot);
-                }
-                break;
-                
-            case 18: // Zurück
-                plugin.getGUIManager().openMainMenu(player);
-                break;
-                
-            case 22: // Plot verwalten
-                if (plot != null && plugin.getPlotManager().isPlotOwner(plot, player.getUniqueId())) {
-                    plugin.getGUIManager().openPlotManagementGUI(player, plot);
-                }
-                break;
-                
-            case 26: // Schließen
-                closeGUI();
-                break;
+        if (plotData != null) {
+            extendedInfo.add("&6&lKauf-Informationen:");
+            extendedInfo.add("&7Kaufpreis: &a" + plugin.getEconomyManager().formatBalance(plotData.getPurchasePrice()));
+            
+            if (plotData.getPurchaseDate() != null) {
+                SimpleDateFormat dateFormat = new SimpleDateFormat("dd.MM.yyyy HH:mm");
+                extendedInfo.add("&7Gekauft am: &e" + dateFormat.format(plotData.getPurchaseDate()));
+            }
+        } else {
+            extendedInfo.add("&7Keine Kauf-Informationen");
+            extendedInfo.add("&7verfügbar.");
         }
+        
+        extendedInfo.add("");
+        extendedInfo.add("&6&lStatistiken:");
+        extendedInfo.add("&7Plot-Größe: &e64x64 Blöcke");
+        extendedInfo.add("&7Bauhöhe: &eY 0-256");
+        return extendedInfo;
     }
 }
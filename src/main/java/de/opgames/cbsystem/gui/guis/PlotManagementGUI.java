@@ -5,19 +5,20 @@ import de.opgames.cbsystem.CBSystem;
 import de.opgames.cbsystem.gui.BaseGUI;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class PlotManagementGUI extends BaseGUI {
     
-    private final Plot plot;
+    // Ohne Initialisierer, da setupGUI() bereits im Super-Konstruktor läuft
+    private Plot plot;
     
     public PlotManagementGUI(CBSystem plugin, Player player, Plot plot) {
         super(plugin, player, plugin.getConfigManager().getPlotMenuTitle(), 
               plugin.getConfigManager().getPlotMenuSize());
         this.plot = plot;
+        update();
     }
     
     @Override
@@ -53,6 +54,12 @@ public class PlotManagementGUI extends BaseGUI {
         infoLore.add("&aLinksklick: &7Plot-Home");
         
         setItem(4, Material.PAPER, "&6Plot-Informationen", infoLore);
+        if (plugin.getPlotManager().hasPlotPermission(plot, player.getUniqueId())) {
+            onClick(4, () -> {
+                closeGUI();
+                plugin.getPlotManager().teleportToPlotHome(player, plot);
+            });
+        }
         
         // Nur für Plot-Besitzer
         if (plot.hasOwner() && plugin.getPlotManager().isPlotOwner(plot, player.getUniqueId())) {
@@ -93,6 +100,32 @@ public class PlotManagementGUI extends BaseGUI {
                     "&cLinksklick: &7Plot löschen",
                     "&c&lVorsicht: Nicht rückgängig machbar!"
                 ));
+            
+            onClick(10, () -> {
+                closeGUI();
+                plugin.getMessageManager().sendMessage(player, "plot.trust-player-instruction");
+                // Hier würde normalerweise ein Spieler-Auswahl-GUI geöffnet
+            });
+            onClick(12, () -> {
+                closeGUI();
+                plugin.getMessageManager().sendMessage(player, "plot.untrust-player-instruction");
+                // Hier würde normalerweise ein Spieler-Auswahl-GUI geöffnet
+            });
+            // Hier würde normalerweise ein Plot-Settings-GUI geöffnet
+            onClick(14, () -> plugin.getMessageManager().sendMessage(player, "plot.settings-coming-soon"));
+            onClick(16, () -> plugin.getGUIManager().openConfirmationGUI(player, 
+                "&cPlot löschen", 
+                "&7Bist du sicher, dass du dein Plot löschen möchtest?",
+                () -> {
+                    // Plot löschen
+                    closeGUI();
+                    plugin.getMessageManager().sendMessage(player, "plot.delete-not-implemented");
+                },
+                () -> {
+                    // Abbrechen
+                    plugin.getGUIManager().openPlotManagementGUI(player, plot);
+                }
+            ));
         }
         
         // Plot kaufen (wenn nicht beansprucht)
@@ -109,91 +142,25 @@ public class PlotManagementGUI extends BaseGUI {
                     "",
                     "&aLinksklick: &7Plot kaufen"
                 ));
+            onClick(13, () -> {
+                if (plugin.getPlotManager().purchasePlot(player, plot)) {
+                    playSuccessSound();
+                    update(); // GUI aktualisieren
+                } else {
+                    playErrorSound();
+                }
+            });
         }
         
         // Zurück-Button
         setItem(18, createBackButton());
+        onClick(18, () -> plugin.getGUIManager().openMainMenu(player));
         
         // Schließen-Button
         setItem(26, createCloseButton());
+        onClick(26, this::closeGUI);
         
         // Fülle leere Slots
         fillEmptySlots();
     }
-    
-    @Override
-    public void handleClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick) {
-        if (isFillItem(clickedItem)) return;
-        
-        playClickSound();
-        
-        switch (slot) {
-            case 4: // Plot-Home
-                if (plot != null && plugin.getPlotManager().hasPlotPermission(plot, player.getUniqueId())) {
-                    closeGUI();
-                    plugin.getPlotManager().teleportToPlotHome(player, plot);
-                }
-                break;
-                
-            case 10: // Spieler vertrauen
-                if (plot != null && plugin.getPlotManager().isPlotOwner(plot, player.getUniqueId())) {
-                    closeGUI();
-                    plugin.getMessageManager().sendMessage(player, "plot.trust-player-instruction");
-                    // Hier würde normalerweise ein Spieler-Auswahl-GUI geöffnet
-                }
-                break;
-                
-            case 12: // Spieler entfernen
-                if (plot != null && plugin.getPlotManager().isPlotOwner(plot, player.getUniqueId())) {
-                    closeGUI();
-                    plugin.getMessageManager().sendMessage(player, "plot.untrust-player-instruction");
-                    // Hier würde normalerweise ein Spieler-Auswahl-GUI geöffnet
-                }
-                break;
-                
-            case 13: // Plot kaufen
-                if (plot != null && !plot.hasOwner()) {
-                    if (plugin.getPlotManager().purchasePlot(player, plot)) {
-                        playSuccessSound();
-                        update(); // GUI aktualisieren
-                    } else {
-                        playErrorSound();
-                    }
-                }
-                break;
-                
-            case 14: // Plot-Einstellungen
-                if (plot != null && plugin.getPlotManager().isPlotOwner(plot, player.getUniqueId())) {
-                    // Hier würde normalerweise ein Plot-Settings-GUI geöffnet
-                    plugin.getMessageManager().sendMessage(player, "plot.settings-coming-soon");
-                }
-                break;
-                
-            case 16: // Plot löschen
-                if (plot != null && plugin.getPlotManager().isPlotOwner(plot, player.getUniqueId())) {
-                    plugin.getGUIManager().openConfirmationGUI(player, 
-                        "&cPlot löschen", 
-                        "&7Bist du sicher, dass du dein Plot löschen möchtest?",
-                        () -> {
-                            // Plot löschen
-                            closeGUI();
-                            plugin.getMessageManager().sendMessage(player, "plot.delete-not-implemented");
-                        },
-                        () -> {
-                            // Abbrechen
-                            plugin.getGUIManager().openPlotManagementGUI(player, plot);
-                        }
-                    );
-                }
-                break;
-                
-            case 18: // Zurück
-                plugin.getGUIManager().openMainMenu(player);
-                break;
-                
-            case 26: // Schließen
-                closeGUI();
-                break;
-        }
-    }
 }
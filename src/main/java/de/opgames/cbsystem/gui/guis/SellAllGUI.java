@@ -13,19 +13,25 @@ import java.util.Map;
 
 public class SellAllGUI extends BaseGUI {
     
-    private final Map<Material, SellableItem> sellableItems;
-    private double totalValue = 0.0;
-    private final Map<Material, Integer> playerItems;
+    // Ohne Initialisierer, da setupGUI() bereits im Super-Konstruktor läuft
+    private Map<Material, SellableItem> sellableItems;
+    private double totalValue;
+    private Map<Material, Integer> playerItems;
     
     public SellAllGUI(CBSystem plugin, Player player) {
         super(plugin, player, "&c&lVerkaufe Alles", 54);
         this.sellableItems = initializeSellableItems();
         this.playerItems = scanPlayerInventory();
         calculateTotalValue();
+        update();
     }
     
     @Override
     protected void setupGUI() {
+        if (playerItems == null) {
+            return; // Erster Aufbau im Super-Konstruktor, Inventar wird danach gescannt
+        }
+        
         // Header: Gesamtwert
         setItem(4, Material.GOLD_INGOT, "&6&lGesamtwert",
             List.of(
@@ -56,6 +62,7 @@ public class SellAllGUI extends BaseGUI {
                 lore.add("&cRechtsklick: &7Von Verkauf ausschließen");
                 
                 setItem(slot, material, "&e" + getItemDisplayName(material), lore);
+                onClick(slot, (clickedItem, isShiftClick, isRightClick) -> handleItemClick(material, isRightClick));
                 slot++;
             }
         }
@@ -89,43 +96,13 @@ public class SellAllGUI extends BaseGUI {
             ));
         
         fillEmptySlots();
-    }
-    
-    @Override
-    public void handleClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick) {
-        if (isFillItem(clickedItem)) return;
         
-        playClickSound();
-        
-        switch (slot) {
-            case 48: // Alles verkaufen
-                sellAllItems();
-                break;
-                
-            case 49: // Zurück
-                plugin.getGUIManager().openShopGUI(player);
-                break;
-                
-            case 50: // Schließen
-                closeGUI();
-                break;
-                
-            case 45: // Filter
-                // TODO: Filter-Funktionalität implementieren
-                plugin.getMessageManager().sendMessage(player, "shop.filter-coming-soon");
-                break;
-                
-            case 53: // Alles abwählen
-                deselectAllItems();
-                break;
-                
-            default:
-                // Einzelnes Item verkaufen oder ausschließen
-                if (slot >= 9 && slot <= 44) {
-                    handleItemClick(slot, isRightClick);
-                }
-                break;
-        }
+        onClick(48, this::sellAllItems);
+        onClick(49, () -> plugin.getGUIManager().openShopGUI(player));
+        onClick(50, this::closeGUI);
+        // TODO: Filter-Funktionalität implementieren
+        onClick(45, () -> plugin.getMessageManager().sendMessage(player, "shop.filter-coming-soon"));
+        onClick(53, this::deselectAllItems);
     }
     
     private void sellAllItems() {
@@ -173,11 +150,7 @@ public class SellAllGUI extends BaseGUI {
         }
     }
     
-    private void handleItemClick(int slot, boolean isRightClick) {
-        ItemStack item = inventory.getItem(slot);
-        if (item == null || item.getType() == Material.AIR) return;
-        
-        Material material = item.getType();
+    private void handleItemClick(Material material, boolean isRightClick) {
         Integer amount = playerItems.get(material);
         SellableItem sellableItem = sellableItems.get(material);
         
@@ -13,15 +13,16 @@ import java.util.Map;
 public class ShopCategoryGUI extends BaseGUI {
     
     private final String category;
-    private int currentPage = 0;
+    // Ohne Initialisierer, da setupGUI() bereits im Super-Konstruktor läuft
+    private int currentPage;
     private final Map<String, ShopItem[]> categoryItems;
     
     public ShopCategoryGUI(CBSystem plugin, Player player, String category) {
         super(plugin, player, "&6&lShop &8- &7" + getCategoryDisplayName(category), 54);
         this.category = category;
         this.categoryItems = initializeCategoryItems();
-        // Re-setup GUI after categoryItems is initialized
-        setupGUI();
+        // Erneut aufbauen, nachdem categoryItems initialisiert ist
+        update();
     }
     
     private static String getCategoryDisplayName(String category) {
@@ -70,6 +71,8 @@ public class ShopCategoryGUI extends BaseGUI {
             );
             
             setItem(slot, shopItem.material, shopItem.displayName, lore);
+            onClick(slot, (clickedItem, isShiftClick, isRightClick) ->
+                handleShopItemClick(shopItem, isShiftClick, isRightClick));
             slot++;
         }
         
@@ -78,73 +81,31 @@ public class ShopCategoryGUI extends BaseGUI {
         
         if (currentPage > 0) {
             setItem(45, createPreviousPageButton(currentPage, totalPages));
+            onClick(45, () -> showPage(currentPage - 1));
         }
         
         if (currentPage < totalPages - 1) {
             setItem(53, createNextPageButton(currentPage, totalPages));
+            onClick(53, () -> showPage(currentPage + 1));
         }
         
         // Zurück zum Shop
         setItem(49, createBackButton());
+        onClick(49, () -> plugin.getGUIManager().openShopGUI(player));
         
         // Schließen
         setItem(50, createCloseButton());
+        onClick(50, this::closeGUI);
         
         fillEmptySlots();
     }
     
-    @Override
-    public void handleClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick) {
-        if (isFillItem(clickedItem)) return;
-        
-        playClickSound();
-        
-        // Navigation
-        switch (slot) {
-            case 45: // Vorherige Seite
-                if (currentPage > 0) {
-                    currentPage--;
-                    update();
-                }
-                break;
-                
-            case 49: // Zurück zum Shop
-                plugin.getGUIManager().openShopGUI(player);
-                break;
-                
-            case 50: // Schließen
-                closeGUI();
-                break;
-                
-            case 53: // Nächste Seite
-                if (categoryItems != null) {
-                    ShopItem[] items = categoryItems.getOrDefault(category, new ShopItem[0]);
-                    int totalPages = (int) Math.ceil((double) items.length / 36);
-                    if (currentPage < totalPages - 1) {
-                        currentPage++;
-                        update();
-                    }
-                }
-                break;
-                
-            default:
-                // Shop-Item-Interaktion
-                if (slot >= 9 && slot <= 44) {
-                    handleShopItemClick(slot, isShiftClick, isRightClick);
-                }
-                break;
-        }
+    private void showPage(int page) {
+        currentPage = page;
+        update();
     }
     
-    private void handleShopItemClick(int slot, boolean isShiftClick, boolean isRightClick) {
-        if (categoryItems == null) return;
-        
-        ShopItem[] items = categoryItems.getOrDefault(category, new ShopItem[0]);
-        int itemIndex = (currentPage * 36) + (slot - 9);
-        
-        if (itemIndex >= items.length) return;
-        
-        ShopItem shopItem = items[itemIndex];
+    private void handleShopItemClick(ShopItem shopItem, boolean isShiftClick, boolean isRightClick) {
         int amount = isShiftClick ? 64 : 1;
         
         if (isRightClick) {
@@ -174,8 +135,13 @@ public class ShopCategoryGUI extends BaseGUI {
         }
         
         // Führe Kauf durch
-        plugin.getEconomyManager().withdrawBalance(player.getUniqueId(), totalCost, 
-            "Shop-Kauf: " + amount + "x " + shopItem.displayName);
+        if (!plugin.getEconomyManager().withdrawBalance(player.getUniqueId(), totalCost, 
+            "Shop-Kauf: " + amount + "x " + shopItem.displayName)) {
+            playErrorSound();
+            plugin.getMessageManager().sendMessage(player, "shop.insufficient-funds",
+                "price", plugin.getEconomyManager().formatBalance(totalCost));
+            return;
+        }
         
         ItemStack item = new ItemStack(shopItem.material, amount);
         player.getInventory().addItem(item);
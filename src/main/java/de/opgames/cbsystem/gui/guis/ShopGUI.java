@@ -4,12 +4,15 @@ import de.opgames.cbsystem.CBSystem;
 import de.opgames.cbsystem.gui.BaseGUI;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
 
 import java.util.List;
 
 public class ShopGUI extends BaseGUI {
     
+    // Kategorien in der Reihenfolge ihrer Slots
+    private static final String[] CATEGORIES = {"blocks", "tools", "food", "redstone", "decoration", "rare"};
+    private static final int[] CATEGORY_SLOTS = {10, 12, 14, 16, 28, 30};
+    
     public ShopGUI(CBSystem plugin, Player player) {
         super(plugin, player, plugin.getConfigManager().getShopGUITitle(), 
               plugin.getConfigManager().getShopGUISize());
@@ -17,24 +20,28 @@ public class ShopGUI extends BaseGUI {
     
     @Override
     protected void setupGUI() {
-        // Spieler-Guthaben anzeigen
-        double balance = plugin.getEconomyManager().getBalance(player.getUniqueId());
-        setItem(4, Material.GOLD_INGOT, "&6&lDein Guthaben",
-            List.of(
-                "&7Aktuelles Guthaben:",
-                "&a" + plugin.getEconomyManager().formatBalance(balance),
-                "",
-                "&7Wähle eine Kategorie aus!"
-            ));
-        
-        // Shop-Kategorien
-        setupShopCategories();
-        
-        // Navigation
-        setItem(45, createBackButton());
-        setItem(53, createCloseButton());
+        // Kategorien und Navigation sind für alle Spieler gleich
+        applyLayout("shop", () -> {
+            // Shop-Kategorien
+            setupShopCategories();
+            
+            // Navigation
+            setItem(45, createBackButton());
+            setItem(53, createCloseButton());
+            
+            fillEmptySlots();
+        });
+        setupClickHandlers();
         
-        fillEmptySlots();
+        // Spieler-Guthaben anzeigen (live aktualisiert)
+        bind(4, () -> plugin.getEconomyManager().getBalance(player.getUniqueId()),
+            balance -> template(Material.GOLD_INGOT, "&6&lDein Guthaben",
+                List.of(
+                    "&7Aktuelles Guthaben:",
+                    "&a{balance}",
+                    "",
+                    "&7Wähle eine Kategorie aus!"
+                )).build("balance", plugin.getEconomyManager().formatBalance(balance)));
     }
     
     private void setupShopCategories() {
@@ -134,53 +141,18 @@ public class ShopGUI extends BaseGUI {
             ));
     }
     
-    @Override
-    public void handleClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick) {
-        if (isFillItem(clickedItem)) return;
-        
-        playClickSound();
-        
-        switch (slot) {
-            case 10: // Baublöcke
-                plugin.getGUIManager().openShopCategoryGUI(player, "blocks");
-                break;
-                
-            case 12: // Werkzeuge
-                plugin.getGUIManager().openShopCategoryGUI(player, "tools");
-                break;
-                
-            case 14: // Essen
-                plugin.getGUIManager().openShopCategoryGUI(player, "food");
-                break;
-                
-            case 16: // Redstone
-                plugin.getGUIManager().openShopCategoryGUI(player, "redstone");
-                break;
-                
-            case 28: // Dekoration
-                plugin.getGUIManager().openShopCategoryGUI(player, "decoration");
-                break;
-                
-            case 30: // Seltene Items
-                plugin.getGUIManager().openShopCategoryGUI(player, "rare");
-                break;
-                
-            case 32: // Sell-All
-                plugin.getGUIManager().openSellAllGUI(player);
-                break;
-                
-            case 34: // Massen-Kauf
-                // Implementiere Massen-Kauf Funktionalität
-                plugin.getMessageManager().sendMessage(player, "shop.bulk-buy-coming-soon");
-                break;
-                
-            case 45: // Zurück
-                plugin.getGUIManager().openMainMenu(player);
-                break;
-                
-            case 53: // Schließen
-                closeGUI();
-                break;
+    private void setupClickHandlers() {
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            String category = CATEGORIES[i];
+            if (plugin.getConfig().getBoolean("shop.categories." + category + ".enabled", true)) {
+                onClick(CATEGORY_SLOTS[i], () -> plugin.getGUIManager().openShopCategoryGUI(player, category));
+            }
         }
+        
+        onClick(32, () -> plugin.getGUIManager().openSellAllGUI(player));
+        // Massen-Kauf noch nicht implementiert
+        onClick(34, () -> plugin.getMessageManager().sendMessage(player, "shop.bulk-buy-coming-soon"));
+        onClick(45, () -> plugin.getGUIManager().openMainMenu(player));
+        onClick(53, this::closeGUI);
     }
 }
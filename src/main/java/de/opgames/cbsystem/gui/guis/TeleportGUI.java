@@ -5,7 +5,6 @@ import de.opgames.cbsystem.data.PlayerData;
 import de.opgames.cbsystem.gui.BaseGUI;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
 
 import java.util.List;
 
@@ -45,6 +44,8 @@ public class TeleportGUI extends BaseGUI {
                     "",
                     "&aLinksklick: &7Anfragen verwalten"
                 ));
+            // Hier würde ein TPA-Anfragen-Management-GUI geöffnet
+            onClick(13, () -> plugin.getMessageManager().sendMessage(player, "tpa.manage-requests-coming-soon"));
         } else {
             setItem(13, Material.GRAY_CONCRETE, "&7Keine TPA-Anfragen",
                 List.of(
@@ -69,6 +70,10 @@ public class TeleportGUI extends BaseGUI {
                     "",
                     "&eLinksklick: &7Zurück teleportieren"
                 ));
+            onClick(15, () -> {
+                closeGUI();
+                plugin.getTeleportManager().teleportToLastLocation(player);
+            });
         } else {
             setItem(15, Material.BARRIER, "&c&lKeine Back-Position",
                 List.of(
@@ -93,60 +98,23 @@ public class TeleportGUI extends BaseGUI {
         setItem(26, createCloseButton());
         
         fillEmptySlots();
-    }
-    
-    @Override
-    public void handleClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick) {
-        if (isFillItem(clickedItem)) return;
-        
-        playClickSound();
         
-        switch (slot) {
-            case 10: // TPA senden
-                plugin.getGUIManager().openPlayerSelectionGUI(player, "&aTPA senden - Spieler auswählen",
-                    selectedPlayer -> {
-                        closeGUI();
-                        sendTPARequest(selectedPlayer, false);
-                    });
-                break;
-                
-            case 11: // TPA hier
-                plugin.getGUIManager().openPlayerSelectionGUI(player, "&bTPA hier - Spieler auswählen",
-                    selectedPlayer -> {
-                        closeGUI();
-                        sendTPARequest(selectedPlayer, true);
-                    });
-                break;
-                
-            case 13: // TPA-Anfragen verwalten
-                PlayerData playerData = plugin.getPlayerDataManager().getPlayerData(player);
-                if (playerData != null && !playerData.getTpaRequests().isEmpty()) {
-                    // Hier würde ein TPA-Anfragen-Management-GUI geöffnet
-                    plugin.getMessageManager().sendMessage(player, "tpa.manage-requests-coming-soon");
-                }
-                break;
-                
-            case 15: // Back
-                PlayerData data = plugin.getPlayerDataManager().getPlayerData(player);
-                if (data != null && data.getLastBackLocation() != null) {
-                    closeGUI();
-                    plugin.getTeleportManager().teleportToLastLocation(player);
-                }
-                break;
-                
-            case 16: // Zufällige Teleportation
+        onClick(10, () -> plugin.getGUIManager().openPlayerSelectionGUI(player, "&aTPA senden - Spieler auswählen",
+            selectedPlayer -> {
                 closeGUI();
-                performRandomTeleport();
-                break;
-                
-            case 18: // Zurück
-                plugin.getGUIManager().openMainMenu(player);
-                break;
-                
-            case 26: // Schließen
+                sendTPARequest(selectedPlayer, false);
+            }));
+        onClick(11, () -> plugin.getGUIManager().openPlayerSelectionGUI(player, "&bTPA hier - Spieler auswählen",
+            selectedPlayer -> {
                 closeGUI();
-                break;
-        }
+                sendTPARequest(selectedPlayer, true);
+            }));
+        onClick(16, () -> {
+            closeGUI();
+            performRandomTeleport();
+        });
+        onClick(18, () -> plugin.getGUIManager().openMainMenu(player));
+        onClick(26, this::closeGUI);
     }
     
     private void sendTPARequest(Player targetPlayer, boolean isTPAHere) {
@@ -2,185 +2,106 @@ package de.opgames.cbsystem.gui.guis;
 
 import de.opgames.cbsystem.CBSystem;
 import de.opgames.cbsystem.gui.BaseGUI;
+import de.opgames.cbsystem.warp.Warp;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
 
 import java.util.List;
 
 public class WarpGUI extends BaseGUI {
     
+    // Innere Slots (ohne Rand) für die Warps einer Seite
+    private static final int[] WARP_SLOTS = {
+        10, 11, 12, 13, 14, 15, 16,
+        19, 20, 21, 22, 23, 24, 25,
+        28, 29, 30, 31, 32, 33, 34,
+        37, 38, 39, 40, 41, 42, 43
+    };
+    
+    // Ohne Initialisierer, da setupGUI() bereits im Super-Konstruktor läuft
+    private int currentPage;
+    
     public WarpGUI(CBSystem plugin, Player player) {
         super(plugin, player, "&d&lWarps", 54);
     }
     
     @Override
     protected void setupGUI() {
+        int totalWarps = plugin.getWarpManager().getWarpCount();
+        int totalPages = Math.max(1, (int) Math.ceil((double) totalWarps / WARP_SLOTS.length));
+        currentPage = Math.min(currentPage, totalPages - 1);
+        List<Warp> pageWarps = plugin.getWarpManager().getWarps(currentPage * WARP_SLOTS.length, WARP_SLOTS.length);
+        
+        // Rahmen mit Zurück/Schließen ist auf allen Seiten gleich
+        applyLayout("warps", () -> {
+            setItem(45, createBackButton());
+            setItem(53, createCloseButton());
+            fillEmptySlots();
+        });
+        
         // Info-Item
-        setItem(4, Material.ENDER_PEARL, "&d&lÖffentliche Warps",
+        setItem(4, template(Material.ENDER_PEARL, "&d&lÖffentliche Warps",
             List.of(
                 "&7Teleportiere zu öffentlichen",
                 "&7Orten auf dem Server!",
                 "",
+                "&7Verfügbare Warps: &e{count}",
                 "&7Klicke auf einen Warp zum",
                 "&7Teleportieren."
-            ));
+            )).build("count", String.valueOf(totalWarps)));
         
-        // Standard-Warps
-        setupDefaultWarps();
+        // Warps der aktuellen Seite
+        for (int i = 0; i < pageWarps.size(); i++) {
+            Warp warp = pageWarps.get(i);
+            setWarpItem(WARP_SLOTS[i], warp);
+            onClick(WARP_SLOTS[i], () -> teleportToWarp(warp));
+        }
         
         // Navigation
-        setItem(45, createBackButton());
-        setItem(53, createCloseButton());
-        
-        fillEmptySlots();
+        onClick(45, () -> plugin.getGUIManager().openMainMenu(player));
+        if (currentPage > 0) {
+            setItem(48, createPreviousPageButton(currentPage, totalPages));
+            onClick(48, () -> showPage(currentPage - 1));
+        }
+        if (currentPage < totalPages - 1) {
+            setItem(50, createNextPageButton(currentPage, totalPages));
+            onClick(50, () -> showPage(currentPage + 1));
+        }
+        onClick(53, this::closeGUI);
     }
     
-    private void setupDefaultWarps() {
-        // Spawn
-        setItem(10, Material.BEACON, "&a&lSpawn",
-            List.of(
-                "&7Der Spawn-Punkt des Servers.",
-                "&7Hier beginnt dein Abenteuer!",
-                "",
-                "&aLinksklick: &7Zum Spawn teleportieren"
-            ));
-        
-        // Shop
-        setItem(12, Material.EMERALD, "&e&lShop",
-            List.of(
-                "&7Der zentrale Handelsplatz",
-                "&7für alle Items.",
-                "",
-                "&eLinksklick: &7Zum Shop teleportieren"
-            ));
-        
-        // PvP-Arena (falls vorhanden)
-        setItem(14, Material.DIAMOND_SWORD, "&c&lPvP-Arena",
-            List.of(
-                "&7Kämpfe gegen andere",
-                "&7Spieler in der Arena!",
-                "",
-                "&c⚠ PvP aktiviert!",
-                "",
-                "&cLinksklick: &7Zur Arena teleportieren"
-            ));
-        
-        // Farmwelt
-        setItem(16, Material.WHEAT, "&6&lFarmwelt",
-            List.of(
-                "&7Eine Welt zum Farmen",
-                "&7und Ressourcen sammeln.",
-                "",
-                "&6Linksklick: &7Zur Farmwelt teleportieren"
-            ));
-        
-        // Events-Bereich
-        setItem(28, Material.FIREWORK_ROCKET, "&5&lEvents",
-            List.of(
-                "&7Der Event-Bereich für",
-                "&7besondere Veranstaltungen.",
-                "",
-                "&5Linksklick: &7Zum Event-Bereich teleportieren"
-            ));
-        
-        // Nether-Portal
-        setItem(30, Material.OBSIDIAN, "&4&lNether-Portal",
-            List.of(
-                "&7Sicherer Zugang zum Nether",
-                "&7ohne eigenes Portal.",
-                "",
-                "&4Linksklick: &7Zum Nether teleportieren"
-            ));
-        
-        // End-Portal
-        setItem(32, Material.END_STONE, "&8&lEnd-Portal",
-            List.of(
-                "&7Direkter Zugang zum End",
-                "&7und zum Enderdrachen.",
-                "",
-                "&8Linksklick: &7Zum End teleportieren"
-            ));
-        
-        // Casino (falls vorhanden)
-        setItem(34, Material.GOLD_BLOCK, "&6&lCasino",
-            List.of(
-                "&7Versuche dein Glück",
-                "&7im Server-Casino!",
-                "",
-                "&6Linksklick: &7Zum Casino teleportieren"
-            ));
+    private void showPage(int page) {
+        currentPage = page;
+        update();
     }
     
-    @Override
-    public void handleClick(int slot, ItemStack clickedItem, boolean isShiftClick, boolean isRightClick) {
-        if (isFillItem(clickedItem)) return;
-        
-        playClickSound();
-        
-        String warpName = null;
-        
-        switch (slot) {
-            case 10: // Spawn
-                warpName = "spawn";
-                break;
-                
-            case 12: // Shop
-                warpName = "shop";
-                break;
-                
-            case 14: // PvP-Arena
-                warpName = "pvp";
-                break;
-                
-            case 16: // Farmwelt
-                warpName = "farm";
-                break;
-                
-            case 28: // Events
-                warpName = "events";
-                break;
-                
-            case 30: // Nether
-                warpName = "nether";
-                break;
-                
-            case 32: // End
-                warpName = "end";
-                break;
-                
-            case 34: // Casino
-                warpName = "casino";
-                break;
-                
-            case 45: // Zurück
-                plugin.getGUIManager().openMainMenu(player);
-                return;
-                
-            case 53: // Schließen
-                closeGUI();
-                return;
-        }
-        
-        if (warpName != null) {
-            teleportToWarp(warpName);
-        }
+    private void setWarpItem(int slot, Warp warp) {
+        boolean allowed = warp.canUse(player);
+        setItem(slot, template(plugin.getWarpManager().getIcon(warp), "&e&l{name}",
+            List.of(
+                "&7Welt: &a{world}",
+                "&7Position: &e{x}, {y}, {z}",
+                "",
+                allowed ? "&aLinksklick: &7Teleportieren" : "&cKeine Berechtigung"
+            )).build(
+                "name", warp.getDisplayName(),
+                "world", warp.getWorldName(),
+                "x", String.valueOf((int) warp.getX()),
+                "y", String.valueOf((int) warp.getY()),
+                "z", String.valueOf((int) warp.getZ())));
     }
     
-    private void teleportToWarp(String warpName) {
-        // Hier würde normalerweise die Warp-Location aus der Datenbank geladen werden
-        // Für die Demo verwenden wir Standard-Locations
-        
-        org.bukkit.Location warpLocation = getWarpLocation(warpName);
+    private void teleportToWarp(Warp warp) {
+        org.bukkit.Location warpLocation = warp.getLocation();
         
         if (warpLocation == null) {
             playErrorSound();
-            plugin.getMessageManager().sendMessage(player, "warp.not-found", "name", warpName);
+            plugin.getMessageManager().sendMessage(player, "warp.not-found", "name", warp.getName());
             return;
         }
         
         // Überprüfe Berechtigung
-        if (!hasWarpPermission(warpName)) {
+        if (!hasWarpPermission(warp)) {
             playErrorSound();
             plugin.getMessageManager().sendMessage(player, "general.no-permission");
             return;
@@ -196,28 +117,13 @@ public class WarpGUI extends BaseGUI {
         
         closeGUI();
         setWarpCooldown();
-        plugin.getTeleportManager().startTeleport(player, warpLocation, "Warp: " + warpName);
-    }
-    
-    private org.bukkit.Location getWarpLocation(String warpName) {
-        // Standard-Warp-Locations (würden normalerweise aus der Datenbank kommen)
-        org.bukkit.World world = plugin.getServer().getWorld("world");
-        if (world == null) return null;
-        
-        return switch (warpName) {
-            case "spawn" -> new org.bukkit.Location(world, 0.5, 100, 0.5);
-            case "shop" -> new org.bukkit.Location(world, 50.5, 100, 50.5);
-            case "pvp" -> new org.bukkit.Location(world, -50.5, 100, -50.5);
-            case "farm" -> new org.bukkit.Location(world, 100.5, 100, 100.5);
-            case "events" -> new org.bukkit.Location(world, -100.5, 100, 100.5);
-            default -> null;
-        };
+        plugin.getTeleportManager().startTeleport(player, warpLocation, "Warp: " + warp.getName());
     }
     
-    private boolean hasWarpPermission(String warpName) {
-        // Überprüfe spezifische Warp-Berechtigung
-        return player.hasPermission("cbsystem.warp.use") || 
-               player.hasPermission("cbsystem.warp." + warpName);
+    private boolean hasWarpPermission(Warp warp) {
+        // Überprüfe allgemeine oder spezifische Warp-Berechtigung sowie die des Warps selbst
+        return (player.hasPermission("cbsystem.warp.use") || 
+                player.hasPermission("cbsystem.warp." + warp.getName())) && warp.canUse(player);
     }
     
     private boolean hasWarpCooldown() {
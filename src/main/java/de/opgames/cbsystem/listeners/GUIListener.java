@@ -25,7 +25,8 @@ public class GUIListener implements Listener {
             return;
         }
         
-        BaseGUI gui = plugin.getGUIManager().getOpenGUI(player);
+        // Sitzung direkt über den Holder des oberen Inventars (keine Suche über alle GUIs)
+        BaseGUI gui = plugin.getGUIManager().getSession(event.getView().getTopInventory());
         if (gui == null) {
             return;
         }
@@ -33,8 +34,14 @@ public class GUIListener implements Listener {
         // Event abbrechen für GUI-Inventare
         event.setCancelled(true);
         
-        // Überprüfe ob das geklickte Inventar das GUI-Inventar ist
-        if (!event.getInventory().equals(gui.getInventory())) {
+        // Nur Klicks des Besitzers in das GUI-Inventar selbst (nicht ins eigene Inventar)
+        if (!gui.getPlayer().getUniqueId().equals(player.getUniqueId())
+                || !gui.getInventory().equals(event.getClickedInventory())) {
+            return;
+        }
+        
+        // Autoklicker-Spam verwerfen, bevor irgendein Handler arbeitet
+        if (!gui.tryAcceptClick(System.currentTimeMillis(), plugin.getConfigManager().getGUIClickCooldown())) {
             return;
         }
         
@@ -50,8 +57,8 @@ public class GUIListener implements Listener {
         int slot = event.getSlot();
         
         try {
-            // Delegiere an das GUI
-            gui.handleClick(slot, clickedItem, isShiftClick, isRightClick);
+            // Delegiere an den Handler des Slots bzw. das GUI
+            gui.dispatchClick(slot, clickedItem, isShiftClick, isRightClick);
         } catch (Exception e) {
             plugin.getLogger().severe("Fehler beim Behandeln des GUI-Klicks: " + e.getMessage());
             e.printStackTrace();
@@ -64,45 +71,25 @@ public class GUIListener implements Listener {
     
     @EventHandler(priority = EventPriority.MONITOR)
     public void onInventoryClose(InventoryCloseEvent event) {
-        if (!(event.getPlayer() instanceof Player player)) {
-            return;
-        }
-        
-        BaseGUI gui = plugin.getGUIManager().getOpenGUI(player);
+        // Ein bereits durch ein neues GUI ersetztes Inventar gehört zu keiner Sitzung mehr
+        BaseGUI gui = plugin.getGUIManager().getSession(event.getInventory());
         if (gui == null) {
             return;
         }
         
-        // Überprüfe ob das geschlossene Inventar das GUI-Inventar ist
-        if (!event.getInventory().equals(gui.getInventory())) {
-            return;
-        }
-        
         try {
-            // Rufe onClose des GUIs auf
-            gui.onClose();
+            // Entferne GUI aus dem Manager, ruft onClose des GUIs auf
+            plugin.getGUIManager().closeSession(gui);
         } catch (Exception e) {
             plugin.getLogger().severe("Fehler beim Schließen des GUIs: " + e.getMessage());
             e.printStackTrace();
-        } finally {
-            // Entferne GUI aus dem Manager
-            plugin.getGUIManager().closeGUI(player);
         }
     }
     
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onInventoryDrag(InventoryDragEvent event) {
-        if (!(event.getWhoClicked() instanceof Player player)) {
-            return;
-        }
-        
-        BaseGUI gui = plugin.getGUIManager().getOpenGUI(player);
-        if (gui == null) {
-            return;
-        }
-        
         // Verhindere Drag-Operationen in GUI-Inventaren
-        if (event.getInventory().equals(gui.getInventory())) {
+        if (plugin.getGUIManager().getSession(event.getView().getTopInventory()) != null) {
             event.setCancelled(true);
         }
     }
@@ -6,9 +6,12 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
+import java.util.concurrent.CompletableFuture;
+
 public class PlayerJoinQuitListener implements Listener {
     
     private final CBSystem plugin;
@@ -17,19 +20,38 @@ public class PlayerJoinQuitListener implements Listener {
         this.plugin = plugin;
     }
     
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        
+        // Spielerdaten vorladen, damit sie beim Join bereits im Speicher liegen
+        plugin.getPlayerDataManager().prefetchPlayerData(event.getUniqueId(), event.getName());
+    }
+    
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
         
         // Lade Spielerdaten asynchron
-        plugin.getPlayerDataManager().loadPlayerData(player);
+        CompletableFuture<PlayerData> dataReady = plugin.getPlayerDataManager().loadPlayerData(player);
         
-        // Erstelle Scoreboard für den Spieler
-        plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
+        // Bankkonto für Scoreboard und Bank-GUI vorladen
+        plugin.getBankManager().loadAccount(player.getUniqueId());
+        
+        // Aktuellen Plot verfolgen
+        plugin.getPlotManager().getPositionTracker().track(player);
+        
+        // Erstelle Scoreboard für den Spieler, sobald die Daten bereit sind
+        dataReady.thenRun(() -> plugin.getServer().getScheduler().runTask(plugin, () -> {
             if (player.isOnline()) {
                 plugin.getScoreboardManager().createScoreboard(player);
             }
-        }, 20L); // 1 Sekunde Verzögerung
+        }));
+        
+        // Zurückgegebene Auktions-Items ausliefern
+        plugin.getAuctionManager().deliverMailbox(player);
         
         // Begrüßungsnachricht
         if (player.hasPlayedBefore()) {
@@ -104,6 +126,10 @@ public class PlayerJoinQuitListener implements Listener {
         // Entferne Scoreboard
         plugin.getScoreboardManager().removeScoreboard(player);
         
+        // Bankkonto aus dem Cache entfernen
+        plugin.getBankManager().unloadAccount(player.getUniqueId());
+        plugin.getPlotManager().getPositionTracker().untrack(player.getUniqueId());
+        
         // Breche laufende Teleportationen ab
         plugin.getTeleportManager().cancelTeleport(player);
         
@@ -2,6 +2,9 @@ package de.opgames.cbsystem.listeners;
 
 import com.plotsquared.core.plot.Plot;
 import de.opgames.cbsystem.CBSystem;
+import de.opgames.cbsystem.plot.PlotEnterEvent;
+import de.opgames.cbsystem.plot.PlotLeaveEvent;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -10,6 +13,8 @@ import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
 
 public class PlotProtectionListener implements Listener {
     
@@ -139,29 +144,48 @@ public class PlotProtectionListener implements Listener {
     
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onPlayerMove(PlayerMoveEvent event) {
-        Player player = event.getPlayer();
+        Location from = event.getFrom();
+        Location to = event.getTo();
         
-        if (!plugin.getPlotManager().isEnabled()) {
+        // Nur bei Wechsel der Block-Spalte (ohne Chunk-Objekte zu erzeugen)
+        if (to == null || (from.getBlockX() == to.getBlockX() && from.getBlockZ() == to.getBlockZ()
+                && from.getWorld() == to.getWorld())) {
             return;
         }
         
-        // Überprüfe nur bei Chunk-Wechsel
-        if (event.getFrom().getChunk().equals(event.getTo().getChunk())) {
+        if (!plugin.getPlotManager().isEnabled()) {
             return;
         }
         
-        Plot fromPlot = plugin.getPlotManager().getPlotAt(event.getFrom());
-        Plot toPlot = plugin.getPlotManager().getPlotAt(event.getTo());
-        
-        // Plot verlassen
-        if (fromPlot != null && !fromPlot.equals(toPlot)) {
-            onPlotLeave(player, fromPlot);
+        plugin.getPlotManager().getPositionTracker().update(event.getPlayer(), to);
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        if (event.getTo() == null || !plugin.getPlotManager().isEnabled()) {
+            return;
         }
         
-        // Plot betreten
-        if (toPlot != null && !toPlot.equals(fromPlot)) {
-            onPlotEnter(player, toPlot);
+        plugin.getPlotManager().getPositionTracker().update(event.getPlayer(), event.getTo());
+    }
+    
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        if (!plugin.getPlotManager().isEnabled()) {
+            return;
         }
+        
+        plugin.getPlotManager().getPositionTracker().update(event.getPlayer(), event.getRespawnLocation());
+    }
+    
+    @EventHandler
+    public void onPlotEnter(PlotEnterEvent event) {
+        onPlotEnter(event.getPlayer(), event.getPlot());
+    }
+    
+    @EventHandler
+    public void onPlotLeave(PlotLeaveEvent event) {
+        onPlotLeave(event.getPlayer(), event.getPlot());
     }
     
     private void onPlotEnter(Player player, Plot plot) {
@@ -198,25 +222,8 @@ public class PlotProtectionListener implements Listener {
             return false;
         }
         
-        String blockType = event.getClickedBlock().getType().name();
-        
-        // Geschützte Blöcke/Items
-        return blockType.contains("DOOR") ||
-               blockType.contains("GATE") ||
-               blockType.contains("BUTTON") ||
-               blockType.contains("LEVER") ||
-               blockType.contains("PRESSURE_PLATE") ||
-               blockType.contains("CHEST") ||
-               blockType.contains("BARREL") ||
-               blockType.contains("SHULKER_BOX") ||
-               blockType.contains("FURNACE") ||
-               blockType.contains("HOPPER") ||
-               blockType.contains("DISPENSER") ||
-               blockType.contains("DROPPER") ||
-               blockType.equals("CRAFTING_TABLE") ||
-               blockType.equals("ENCHANTING_TABLE") ||
-               blockType.equals("ANVIL") ||
-               blockType.equals("BREWING_STAND") ||
-               blockType.equals("BEACON");
+        // Vorkompilierte Material-Menge aus plotsquared.protection
+        return plugin.getPlotManager().getProtectionPolicy()
+            .isProtected(event.getClickedBlock().getWorld(), event.getClickedBlock().getType());
     }
 }
@@ -85,9 +85,12 @@ public class ServerListener implements Listener {
         if (plugin.getConfigManager().isAutoSaveEnabled()) {
             long interval = plugin.getConfigManager().getAutoSaveInterval() * 20L; // Sekunden zu Ticks
             
+            // Write-Behind: schreibt nur geänderte Daten gebündelt, Spieler bleiben im Cache
             plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, () -> {
-                plugin.getPlayerDataManager().saveAllPlayerData();
-                plugin.getLogger().info("Auto-Save durchgeführt!");
+                int written = plugin.getPlayerDataManager().flushDirtyData();
+                if (plugin.getConfigManager().isDebugEnabled()) {
+                    plugin.getLogger().info("Auto-Save durchgeführt! (" + written + " Spieler geändert)");
+                }
             }, interval, interval);
             
             plugin.getLogger().info("Auto-Save aktiviert (Interval: " + plugin.getConfigManager().getAutoSaveInterval() + "s)");
@@ -111,6 +114,12 @@ public class ServerListener implements Listener {
                     usedMemory,
                     plugin.getGUIManager().getOpenGUICount(),
                     plugin.getPlayerDataManager().getCachedPlayerCount()));
+                plugin.getLogger().info(plugin.getEconomyManager().getJournal().getStatsLine());
+                plugin.getLogger().info(plugin.getBankManager().getAccountCache().getStatsLine());
+                plugin.getLogger().info(plugin.getPlotManager().getLookupCache().getStatsLine());
+                plugin.getLogger().info(plugin.getPlayerDataManager().getOfflineCache().getStatsLine());
+                plugin.getLogger().info(plugin.getPlayerDataManager().getPrefetchCache().getStatsLine());
+                plugin.getLogger().info(plugin.getGUIManager().getItemTemplates().getStatsLine());
             }, 12000L, 12000L); // Alle 10 Minuten
         }
     }
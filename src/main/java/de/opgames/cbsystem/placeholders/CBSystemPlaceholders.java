@@ -2,6 +2,7 @@ package de.opgames.cbsystem.placeholders;
 
 import de.opgames.cbsystem.CBSystem;
 import de.opgames.cbsystem.data.PlayerData;
+import de.opgames.cbsystem.economy.BalanceLeaderboard;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
@@ -198,19 +199,20 @@ public class CBSystemPlaceholders extends PlaceholderExpansion {
         }
         
         // Leaderboard Placeholders
-        if (params.startsWith("top_balance_")) {
+        // top_balance_name_ zuerst prüfen, da top_balance_ ebenfalls passt
+        if (params.startsWith("top_balance_name_")) {
             try {
-                int position = Integer.parseInt(params.substring("top_balance_".length()));
-                return getTopBalance(position);
+                int position = Integer.parseInt(params.substring("top_balance_name_".length()));
+                return getTopBalanceName(position);
             } catch (NumberFormatException e) {
                 return null;
             }
         }
         
-        if (params.startsWith("top_balance_name_")) {
+        if (params.startsWith("top_balance_")) {
             try {
-                int position = Integer.parseInt(params.substring("top_balance_name_".length()));
-                return getTopBalanceName(position);
+                int position = Integer.parseInt(params.substring("top_balance_".length()));
+                return getTopBalance(position);
             } catch (NumberFormatException e) {
                 return null;
             }
@@ -288,12 +290,13 @@ public class CBSystemPlaceholders extends PlaceholderExpansion {
     }
     
     private String getTopBalance(int position) {
-        // TODO: Implementiere Top-Balance-System mit Datenbank
-        return "0";
+        // Aus der Reichenliste im Speicher (O(log n), keine Datenbankabfrage)
+        BalanceLeaderboard.Entry entry = plugin.getEconomyManager().getLeaderboard().getEntry(position);
+        return entry != null ? plugin.getEconomyManager().formatBalance(entry.getBalance()) : "0";
     }
     
     private String getTopBalanceName(int position) {
-        // TODO: Implementiere Top-Balance-System mit Datenbank
-        return "N/A";
+        BalanceLeaderboard.Entry entry = plugin.getEconomyManager().getLeaderboard().getEntry(position);
+        return entry != null ? entry.getName() : "N/A";
     }
 }
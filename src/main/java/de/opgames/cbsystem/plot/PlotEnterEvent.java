@@ -0,0 +1,43 @@
+package de.opgames.cbsystem.plot;
+
+import com.plotsquared.core.plot.Plot;
+import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.player.PlayerEvent;
+
+/**
+ * Wird ausgelöst, wenn ein Spieler einen Plot betritt (nach der Bewegung)
+ */
+public class PlotEnterEvent extends PlayerEvent {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final Plot plot;
+    private final Plot previousPlot;
+
+    public PlotEnterEvent(Player player, Plot plot, Plot previousPlot) {
+        super(player);
+        this.plot = plot;
+        this.previousPlot = previousPlot;
+    }
+
+    public Plot getPlot() {
+        return plot;
+    }
+
+    /**
+     * Vorheriger Plot bei direktem Wechsel zwischen Plots, sonst null
+     */
+    public Plot getPreviousPlot() {
+        return previousPlot;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
@@ -0,0 +1,43 @@
+package de.opgames.cbsystem.plot;
+
+import com.plotsquared.core.plot.Plot;
+import org.bukkit.entity.Player;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.player.PlayerEvent;
+
+/**
+ * Wird ausgelöst, wenn ein Spieler einen Plot verlässt (nach der Bewegung)
+ */
+public class PlotLeaveEvent extends PlayerEvent {
+
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final Plot plot;
+    private final Plot nextPlot;
+
+    public PlotLeaveEvent(Player player, Plot plot, Plot nextPlot) {
+        super(player);
+        this.plot = plot;
+        this.nextPlot = nextPlot;
+    }
+
+    public Plot getPlot() {
+        return plot;
+    }
+
+    /**
+     * Neuer Plot bei direktem Wechsel zwischen Plots, sonst null
+     */
+    public Plot getNextPlot() {
+        return nextPlot;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
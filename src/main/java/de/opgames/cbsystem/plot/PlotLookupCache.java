@@ -0,0 +1,197 @@
+package de.opgames.cbsystem.plot;
+
+import com.google.common.eventbus.Subscribe;
+import com.plotsquared.core.PlotAPI;
+import com.plotsquared.core.events.PlayerClaimPlotEvent;
+import com.plotsquared.core.events.PlotChangeOwnerEvent;
+import com.plotsquared.core.events.PlotDeleteEvent;
+import com.plotsquared.core.events.PlotMergeEvent;
+import com.plotsquared.core.events.PlotUnlinkEvent;
+import com.plotsquared.core.plot.Plot;
+import de.opgames.cbsystem.CBSystem;
+import org.bukkit.Location;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * LRU-Cache für Plot-Abfragen nach Position.
+ * Plots sind in PlotSquared spaltenbasiert, daher wird auf Welt + Block-X/Z geschlüsselt
+ * (gepackt in einen long). Auch "kein Plot" (Straße, Wildnis) wird gecacht.
+ * Claim, Merge, Unlink, Besitzerwechsel und Löschen leeren den Cache; zusätzlich verfallen
+ * Einträge nach {@code performance.cache.plot-cache-time} Sekunden.
+ */
+public class PlotLookupCache {
+
+    private static final long COORD_MASK = (1L << 26) - 1; // ±33 Mio. Blöcke
+    private static final int MAX_WORLDS = (1 << 12) - 1;
+
+    private final CBSystem plugin;
+    private final int maxSize;
+    private final long maxAgeMillis;
+
+    private final LinkedHashMap<Long, Entry> entries;
+    private final Map<String, Integer> worldIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextWorldId = new AtomicInteger();
+    private final List<Runnable> invalidationListeners = new CopyOnWriteArrayList<>();
+
+    // Wird bei jeder Invalidierung erhöht, damit laufende Abfragen keine alten Plots zurückschreiben
+    private volatile long generation;
+
+    // Metriken
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public PlotLookupCache(CBSystem plugin) {
+        this.plugin = plugin;
+        this.maxSize = Math.max(64, plugin.getConfigManager().getPlotLookupCacheSize());
+        this.maxAgeMillis = plugin.getConfigManager().getPlotCacheTime() * 1000L;
+        this.entries = new LinkedHashMap<>(maxSize * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Registriert die Invalidierung bei PlotSquared
+     */
+    public void registerPlotSquaredListener() {
+        new PlotAPI().registerListener(this);
+    }
+
+    /**
+     * Holt den Plot an einer Position aus dem Cache oder über {@code loader}
+     */
+    public Plot get(Location location, Function<Location, Plot> loader) {
+        if (location.getWorld() == null) {
+            return loader.apply(location);
+        }
+
+        long key = pack(location.getWorld().getName(), location.getBlockX(), location.getBlockZ());
+        if (key == -1L) {
+            return loader.apply(location);
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && now - entry.cachedAt < maxAgeMillis) {
+                hits.incrementAndGet();
+                return entry.plot;
+            }
+        }
+
+        misses.incrementAndGet();
+        long startGeneration = generation;
+        Plot plot = loader.apply(location);
+
+        synchronized (entries) {
+            if (startGeneration == generation) {
+                entries.put(key, new Entry(plot, now));
+            }
+        }
+        return plot;
+    }
+
+    /**
+     * Registriert einen Callback, der nach einer Invalidierung im Hauptthread läuft
+     */
+    public void onInvalidate(Runnable listener) {
+        invalidationListeners.add(listener);
+    }
+
+    /**
+     * Leert den Cache sofort und nach dem nächsten Tick erneut,
+     * da PlotSquared die Events vor der eigentlichen Änderung auslöst
+     */
+    public void invalidateAll() {
+        clear();
+        if (plugin.isEnabled()) {
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                clear();
+                invalidationListeners.forEach(Runnable::run);
+            });
+        }
+    }
+
+    private void clear() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+        invalidations.incrementAndGet();
+    }
+
+    @Subscribe
+    public void onPlotClaim(PlayerClaimPlotEvent event) {
+        invalidateAll();
+    }
+
+    @Subscribe
+    public void onPlotMerge(PlotMergeEvent event) {
+        invalidateAll();
+    }
+
+    @Subscribe
+    public void onPlotUnlink(PlotUnlinkEvent event) {
+        invalidateAll();
+    }
+
+    @Subscribe
+    public void onPlotDelete(PlotDeleteEvent event) {
+        invalidateAll();
+    }
+
+    @Subscribe
+    public void onPlotChangeOwner(PlotChangeOwnerEvent event) {
+        invalidateAll();
+    }
+
+    /**
+     * Packt Welt (12 Bit) und Block-X/Z (je 26 Bit) in einen Schlüssel, -1 wenn nicht darstellbar
+     */
+    private long pack(String world, int x, int z) {
+        Integer worldId = worldIds.get(world);
+        if (worldId == null) {
+            worldId = worldIds.computeIfAbsent(world, name -> nextWorldId.getAndIncrement());
+        }
+        if (worldId >= MAX_WORLDS) {
+            return -1L;
+        }
+        return ((long) worldId << 52) | ((x & COORD_MASK) << 26) | (z & COORD_MASK);
+    }
+
+    // ==================== Metriken ====================
+
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public String getStatsLine() {
+        long total = hits.get() + misses.get();
+        return String.format("Plot-Cache: %d/%d Einträge, Trefferquote %.1f%% (%d/%d), %d Invalidierungen",
+            getSize(), maxSize, total > 0 ? hits.get() * 100.0 / total : 100.0, hits.get(), total,
+            invalidations.get());
+    }
+
+    private static class Entry {
+        private final Plot plot;
+        private final long cachedAt;
+
+        Entry(Plot plot, long cachedAt) {
+            this.plot = plot;
+            this.cachedAt = cachedAt;
+        }
+    }
+}
@@ -7,15 +7,32 @@ import org.bukkit.Location;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public class PlotManager {
     
     private final CBSystem plugin;
     private final PlotSquaredIntegration plotSquaredIntegration;
+    private final PlotLookupCache lookupCache;
+    private final PlotPositionTracker positionTracker;
+    private final ProtectionPolicy protectionPolicy;
     
     public PlotManager(CBSystem plugin) {
         this.plugin = plugin;
         this.plotSquaredIntegration = new PlotSquaredIntegration(plugin);
+        this.lookupCache = new PlotLookupCache(plugin);
+        this.positionTracker = new PlotPositionTracker(plugin, this);
+        this.protectionPolicy = new ProtectionPolicy(plugin);
+        
+        if (plotSquaredIntegration.isPlotSquaredAvailable()) {
+            lookupCache.registerPlotSquaredListener();
+            lookupCache.onInvalidate(positionTracker::refreshAll);
+        }
+        
+        // Bereits online Spieler verfolgen (z.B. nach einem Reload)
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            positionTracker.track(player);
+        }
     }
     
     /**
@@ -34,17 +51,39 @@ public class PlotManager {
     }
     
     /**
-     * Holt den Plot an der aktuellen Position des Spielers
+     * Holt den Plot an der aktuellen Position des Spielers (O(1) über den Positions-Tracker)
      */
     public Plot getCurrentPlot(Player player) {
-        return plotSquaredIntegration.getPlotAt(player.getLocation());
+        if (positionTracker.isTracked(player.getUniqueId())) {
+            return positionTracker.getCurrentPlot(player.getUniqueId());
+        }
+        return getPlotAt(player.getLocation());
     }
     
     /**
-     * Holt einen Plot an einer bestimmten Position
+     * Holt den aktuellen Plot eines verfolgten Spielers (threadsicher, null wenn keiner)
+     */
+    public Plot getCurrentPlot(UUID playerUUID) {
+        return positionTracker.getCurrentPlot(playerUUID);
+    }
+    
+    /**
+     * Holt einen Plot an einer bestimmten Position (über den Lookup-Cache)
      */
     public Plot getPlotAt(Location location) {
-        return plotSquaredIntegration.getPlotAt(location);
+        return lookupCache.get(location, plotSquaredIntegration::getPlotAt);
+    }
+    
+    public PlotLookupCache getLookupCache() {
+        return lookupCache;
+    }
+    
+    public PlotPositionTracker getPositionTracker() {
+        return positionTracker;
+    }
+    
+    public ProtectionPolicy getProtectionPolicy() {
+        return protectionPolicy;
     }
     
     /**
@@ -118,6 +157,13 @@ public class PlotManager {
         return plotSquaredIntegration.getPlotData(plot);
     }
     
+    /**
+     * Holt die Plot-Daten aus der Datenbank, ohne den Main-Thread zu blockieren
+     */
+    public CompletableFuture<PlotSquaredIntegration.PlotData> getPlotDataAsync(Plot plot) {
+        return plotSquaredIntegration.getPlotDataAsync(plot);
+    }
+    
     /**
      * Öffnet das Plot-Management-GUI für einen Spieler
      */
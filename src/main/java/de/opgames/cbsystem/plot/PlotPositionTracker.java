@@ -0,0 +1,112 @@
+package de.opgames.cbsystem.plot;
+
+import com.plotsquared.core.plot.Plot;
+import de.opgames.cbsystem.CBSystem;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Merkt sich für jeden online Spieler die aktuelle Block-Spalte und den Plot darauf.
+ * Der Plot wird nur neu aufgelöst, wenn der Spieler eine Blockgrenze überschreitet;
+ * ändert sich dabei der Plot, werden {@link PlotLeaveEvent} und {@link PlotEnterEvent}
+ * ausgelöst. Lesezugriffe (Chat, Scoreboard, Placeholders) sind O(1) und threadsicher.
+ */
+public class PlotPositionTracker {
+
+    private final CBSystem plugin;
+    private final PlotManager plotManager;
+    private final Map<UUID, Position> positions = new ConcurrentHashMap<>();
+
+    public PlotPositionTracker(CBSystem plugin, PlotManager plotManager) {
+        this.plugin = plugin;
+        this.plotManager = plotManager;
+    }
+
+    /**
+     * Beginnt die Verfolgung eines Spielers (ohne Events)
+     */
+    public void track(Player player) {
+        Location location = player.getLocation();
+        positions.put(player.getUniqueId(), resolve(location.getWorld(), location.getBlockX(), location.getBlockZ()));
+    }
+
+    public void untrack(UUID playerUUID) {
+        positions.remove(playerUUID);
+    }
+
+    public boolean isTracked(UUID playerUUID) {
+        return positions.containsKey(playerUUID);
+    }
+
+    /**
+     * Übernimmt eine neue Position (Hauptthread, nach Bewegung oder Teleport)
+     */
+    public void update(Player player, Location to) {
+        World world = to.getWorld();
+        int x = to.getBlockX();
+        int z = to.getBlockZ();
+
+        Position current = positions.get(player.getUniqueId());
+        if (current != null && current.world == world && current.x == x && current.z == z) {
+            return;
+        }
+
+        Position next = resolve(world, x, z);
+        positions.put(player.getUniqueId(), next);
+
+        Plot previous = current != null ? current.plot : null;
+        if (Objects.equals(previous, next.plot)) {
+            return;
+        }
+
+        if (previous != null) {
+            plugin.getServer().getPluginManager().callEvent(new PlotLeaveEvent(player, previous, next.plot));
+        }
+        if (next.plot != null) {
+            plugin.getServer().getPluginManager().callEvent(new PlotEnterEvent(player, next.plot, previous));
+        }
+    }
+
+    /**
+     * Aktueller Plot eines verfolgten Spielers (null wenn keiner oder nicht verfolgt)
+     */
+    public Plot getCurrentPlot(UUID playerUUID) {
+        Position position = positions.get(playerUUID);
+        return position != null ? position.plot : null;
+    }
+
+    /**
+     * Löst die Plots aller Spieler neu auf, z.B. nach Claim oder Merge (ohne Events)
+     */
+    public void refreshAll() {
+        positions.replaceAll((uuid, position) -> resolve(position.world, position.x, position.z));
+    }
+
+    private Position resolve(World world, int x, int z) {
+        Plot plot = world != null ? plotManager.getPlotAt(new Location(world, x, 0, z)) : null;
+        return new Position(world, x, z, plot);
+    }
+
+    /**
+     * Unveränderliche Block-Spalte mit dem darauf liegenden Plot
+     */
+    private static class Position {
+        private final World world;
+        private final int x;
+        private final int z;
+        private final Plot plot;
+
+        Position(World world, int x, int z, Plot plot) {
+            this.world = world;
+            this.x = x;
+            this.z = z;
+            this.plot = plot;
+        }
+    }
+}
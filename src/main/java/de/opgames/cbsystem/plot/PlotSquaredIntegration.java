@@ -18,6 +18,7 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 
 public class PlotSquaredIntegration {
@@ -206,6 +207,15 @@ public class PlotSquaredIntegration {
         return null;
     }
     
+    /**
+     * Holt Plot-Informationen asynchron (für GUIs auf dem Main-Thread)
+     */
+    public CompletableFuture<PlotData> getPlotDataAsync(Plot plot) {
+        CompletableFuture<PlotData> future = new CompletableFuture<>();
+        databaseManager.executeAsync(() -> future.complete(getPlotData(plot)));
+        return future;
+    }
+    
     /**
      * Speichert Plot-Kauf-Informationen
      */
@@ -0,0 +1,188 @@
+package de.opgames.cbsystem.plot;
+
+import de.opgames.cbsystem.CBSystem;
+import de.opgames.cbsystem.utils.ConfigManager;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Tag;
+import org.bukkit.World;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Geschützte Materialien für Interaktionen auf Plots.
+ * Die Regeln aus {@code plotsquared.protection} (Tags, Namensmuster, explizite Listen, Ausnahmen)
+ * werden einmalig zu {@link EnumSet}s kompiliert - je Schutz-Kategorie und je Welt. Eine Abfrage
+ * ist damit ein einzelner Bit-Test über die Material-Ordinalzahl. Nach einem Config-Reload
+ * wird beim nächsten Zugriff neu kompiliert. Fehlen die Kategorien in der Config, gelten die
+ * der mitgelieferten config.yml.
+ */
+public class ProtectionPolicy {
+
+    private static final String PATH = "plotsquared.protection";
+
+    private final CBSystem plugin;
+
+    private volatile Compiled defaults = Compiled.EMPTY;
+    private volatile Map<String, Compiled> worlds = Collections.emptyMap();
+    private volatile int compiledRevision = -1;
+
+    public ProtectionPolicy(CBSystem plugin) {
+        this.plugin = plugin;
+        compile();
+    }
+
+    /**
+     * Ist eine Interaktion mit diesem Material in der Welt geschützt (irgendeine Kategorie)?
+     */
+    public boolean isProtected(World world, Material material) {
+        return policyFor(world).all.contains(material);
+    }
+
+    /**
+     * Ist das Material in der Welt durch eine bestimmte Kategorie geschützt?
+     */
+    public boolean isProtected(World world, Material material, String flag) {
+        EnumSet<Material> materials = policyFor(world).flags.get(flag);
+        return materials != null && materials.contains(material);
+    }
+
+    public Set<String> getFlags(World world) {
+        return Collections.unmodifiableSet(policyFor(world).flags.keySet());
+    }
+
+    private Compiled policyFor(World world) {
+        if (compiledRevision != plugin.getConfigManager().getRevision()) {
+            compile();
+        }
+        Compiled compiled = world != null ? worlds.get(world.getName()) : null;
+        return compiled != null ? compiled : defaults;
+    }
+
+    /**
+     * Kompiliert alle Regeln aus der Config
+     */
+    public synchronized void compile() {
+        ConfigManager config = plugin.getConfigManager();
+        int revision = config.getRevision();
+
+        // Ältere Configs kennen den Abschnitt noch nicht - dann gelten die Regeln der mitgelieferten config.yml
+        ConfigurationSection root = config.getConfigurationSection(PATH + ".flags");
+        if (root == null || root.getKeys(false).isEmpty()) {
+            root = config.getDefaultConfigurationSection(PATH + ".flags");
+        }
+        Map<String, EnumSet<Material>> defaultFlags = new LinkedHashMap<>();
+        if (root != null) {
+            for (String flag : root.getKeys(false)) {
+                defaultFlags.put(flag, compileRule(root.getConfigurationSection(flag), PATH + ".flags." + flag));
+            }
+        }
+        Compiled compiledDefaults = new Compiled(defaultFlags);
+
+        // Welt-Overrides ersetzen einzelne Kategorien, der Rest wird übernommen
+        Map<String, Compiled> compiledWorlds = new HashMap<>();
+        ConfigurationSection worldSection = config.getConfigurationSection(PATH + ".worlds");
+        if (worldSection != null) {
+            for (String worldName : worldSection.getKeys(false)) {
+                ConfigurationSection overrides = worldSection.getConfigurationSection(worldName);
+                if (overrides == null) continue;
+
+                Map<String, EnumSet<Material>> worldFlags = new LinkedHashMap<>(defaultFlags);
+                for (String flag : overrides.getKeys(false)) {
+                    worldFlags.put(flag, compileRule(overrides.getConfigurationSection(flag),
+                        PATH + ".worlds." + worldName + "." + flag));
+                }
+                compiledWorlds.put(worldName, new Compiled(worldFlags));
+            }
+        }
+
+        if (defaultFlags.isEmpty()) {
+            plugin.getLogger().warning("Plot-Schutz: Keine Kategorien unter " + PATH + ".flags gefunden - "
+                + "Interaktionen auf Plots sind ungeschützt!");
+        }
+
+        this.defaults = compiledDefaults;
+        this.worlds = compiledWorlds;
+        this.compiledRevision = revision;
+
+        if (config.isDebugEnabled()) {
+            plugin.getLogger().info(String.format("Plot-Schutz kompiliert: %d Kategorien, %d geschützte Materialien, %d Welt-Overrides",
+                defaultFlags.size(), compiledDefaults.all.size(), compiledWorlds.size()));
+        }
+    }
+
+    private EnumSet<Material> compileRule(ConfigurationSection rule, String path) {
+        EnumSet<Material> materials = EnumSet.noneOf(Material.class);
+        if (rule == null) return materials;
+
+        for (String tagName : rule.getStringList("tags")) {
+            NamespacedKey key = tagName.contains(":")
+                ? NamespacedKey.fromString(tagName.toLowerCase(Locale.ROOT))
+                : NamespacedKey.minecraft(tagName.toLowerCase(Locale.ROOT));
+            Tag<Material> tag = key != null ? Bukkit.getTag(Tag.REGISTRY_BLOCKS, key, Material.class) : null;
+            if (tag == null) {
+                plugin.getLogger().warning("Unbekannter Block-Tag in " + path + ": " + tagName);
+                continue;
+            }
+            materials.addAll(tag.getValues());
+        }
+
+        for (String pattern : rule.getStringList("patterns")) {
+            materials.addAll(matchPattern(pattern));
+        }
+
+        for (String name : rule.getStringList("materials")) {
+            Material material = Material.matchMaterial(name);
+            if (material == null) {
+                plugin.getLogger().warning("Unbekanntes Material in " + path + ": " + name);
+                continue;
+            }
+            materials.add(material);
+        }
+
+        for (String exclude : rule.getStringList("exclude")) {
+            materials.removeAll(matchPattern(exclude));
+        }
+
+        return materials;
+    }
+
+    /**
+     * Findet alle Materialien zu einem Namen mit * als Platzhalter
+     */
+    private static EnumSet<Material> matchPattern(String pattern) {
+        Pattern regex = Pattern.compile(("\\Q" + pattern.toUpperCase(Locale.ROOT) + "\\E").replace("*", "\\E.*\\Q"));
+        EnumSet<Material> matches = EnumSet.noneOf(Material.class);
+        for (Material material : Material.values()) {
+            if (!material.name().startsWith("LEGACY_") && regex.matcher(material.name()).matches()) {
+                matches.add(material);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Kompilierte Kategorien einer Welt plus deren Vereinigung
+     */
+    private static class Compiled {
+        private static final Compiled EMPTY = new Compiled(Collections.emptyMap());
+
+        private final Map<String, EnumSet<Material>> flags;
+        private final EnumSet<Material> all;
+
+        Compiled(Map<String, EnumSet<Material>> flags) {
+            this.flags = flags;
+            this.all = EnumSet.noneOf(Material.class);
+            flags.values().forEach(all::addAll);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package de.opgames.cbsystem.scoreboard;
+
+import java.util.List;
+
+/**
+ * Unveränderlicher, fertig eingefärbter Sidebar-Inhalt eines Spielers.
+ * Wird asynchron erzeugt und im Hauptthread nur noch vom {@link SidebarRenderer} übernommen.
+ */
+public final class ScoreboardFrame {
+
+    private final List<String> lines;
+    private final long createdAt;
+
+    public ScoreboardFrame(List<String> lines) {
+        this.lines = List.copyOf(lines);
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    public List<String> getLines() {
+        return lines;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+}
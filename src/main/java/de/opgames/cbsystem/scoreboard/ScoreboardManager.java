@@ -1,32 +1,55 @@
 package de.opgames.cbsystem.scoreboard;
 
+import com.plotsquared.core.plot.Plot;
 import de.opgames.cbsystem.CBSystem;
-import de.opgames.cbsystem.data.PlayerData;
+import de.opgames.cbsystem.utils.ConfigManager;
 import org.bukkit.Bukkit;
-import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
-import org.bukkit.scoreboard.*;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
+/**
+ * Verwaltet die Sidebars der Spieler als Snapshot-Pipeline.
+ * Ein asynchroner Task berechnet die fälligen Zeilen aus Caches zu unveränderlichen
+ * {@link ScoreboardFrame}s; ein einziger Hauptthread-Task übernimmt fertige Frames
+ * gebündelt und erfasst die Spieler für den nächsten Lauf. Alles, was Bukkit- oder
+ * PlotSquared-Zugriffe braucht (Rang, Plot-Anzahl, Besitzername), wird dabei im
+ * Hauptthread in den {@link FrameInput} übernommen.
+ */
 public class ScoreboardManager {
     
     private final CBSystem plugin;
-    private final Map<UUID, Scoreboard> playerScoreboards;
-    private final Map<UUID, Objective> playerObjectives;
+    private final Map<UUID, Sidebar> sidebars;
+    private final AtomicBoolean collecting = new AtomicBoolean(false);
     
-    // Scoreboard-Konfiguration
-    private static final String SCOREBOARD_TITLE = "&6&lOP-Games.de";
-    private static final int UPDATE_INTERVAL = 20; // 1 Sekunde
+    // Aktuelles Zeilen-Layout (wird beim Reload neu aufgebaut)
+    private volatile List<Line> layout;
+    private volatile long currentTick;
+    
+    // Vom Hauptthread erfasste Eingaben für den nächsten Sammellauf
+    private volatile List<FrameInput> inputs = List.of();
+    
+    // Nur im Hauptthread: Plot-Anzahl je Spieler (geleert bei Plot-Änderungen) und Namen der Plot-Besitzer
+    private final Map<UUID, Integer> plotCounts = new HashMap<>();
+    private final Map<UUID, String> ownerNames = new HashMap<>();
     
     public ScoreboardManager(CBSystem plugin) {
         this.plugin = plugin;
-        this.playerScoreboards = new HashMap<>();
-        this.playerObjectives = new HashMap<>();
+        this.sidebars = new ConcurrentHashMap<>();
+        this.layout = buildLayout();
+        
+        // Claim, Löschen, Besitzerwechsel usw. ändern die Plot-Anzahl
+        plugin.getPlotManager().getLookupCache().onInvalidate(plotCounts::clear);
         
-        // Scoreboard-Update-Task starten
+        // Sammel- und Übernahme-Task starten
         startUpdateTask();
     }
     
@@ -38,22 +61,16 @@ public class ScoreboardManager {
             return;
         }
         
-        // Scoreboard erstellen
-        Scoreboard scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
-        Objective objective = scoreboard.registerNewObjective("cbsystem", "dummy", 
-            plugin.getMessageManager().colorize(SCOREBOARD_TITLE));
-        
-        objective.setDisplaySlot(DisplaySlot.SIDEBAR);
-        
-        // Scoreboard speichern
-        playerScoreboards.put(player.getUniqueId(), scoreboard);
-        playerObjectives.put(player.getUniqueId(), objective);
+        SidebarRenderer renderer = new SidebarRenderer(
+            plugin.getMessageManager().colorize(plugin.getConfigManager().getScoreboardTitle()));
+        Sidebar sidebar = new Sidebar(renderer);
+        sidebars.put(player.getUniqueId(), sidebar);
         
         // Scoreboard dem Spieler zuweisen
-        player.setScoreboard(scoreboard);
+        player.setScoreboard(renderer.getScoreboard());
         
-        // Scoreboard aktualisieren
-        updateScoreboard(player);
+        // Ersten vollständigen Frame im Hintergrund berechnen
+        collectAsync(capture(player, sidebar));
         
         if (plugin.getConfigManager().isDebugEnabled()) {
             plugin.getLogger().info("Scoreboard für Spieler " + player.getName() + " erstellt");
@@ -64,8 +81,8 @@ public class ScoreboardManager {
      * Entfernt das Scoreboard eines Spielers
      */
     public void removeScoreboard(Player player) {
-        playerScoreboards.remove(player.getUniqueId());
-        playerObjectives.remove(player.getUniqueId());
+        sidebars.remove(player.getUniqueId());
+        plotCounts.remove(player.getUniqueId());
         
         // Standard-Scoreboard wiederherstellen
         player.setScoreboard(Bukkit.getScoreboardManager().getMainScoreboard());
@@ -76,103 +93,196 @@ public class ScoreboardManager {
     }
     
     /**
-     * Aktualisiert das Scoreboard eines Spielers
+     * Berechnet alle Zeilen eines Spielers im Hintergrund neu (gesendet werden nur geänderte Zeilen)
      */
     public void updateScoreboard(Player player) {
-        if (!playerScoreboards.containsKey(player.getUniqueId())) {
+        Sidebar sidebar = sidebars.get(player.getUniqueId());
+        if (sidebar != null) {
+            collectAsync(capture(player, sidebar));
+        }
+    }
+    
+    private void collectAsync(FrameInput input) {
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> collect(input, true));
+    }
+    
+    /**
+     * Asynchron: berechnet fällige Zeilen aller erfassten Spieler
+     */
+    private void collectFrames(int interval) {
+        if (!collecting.compareAndSet(false, true)) {
             return;
         }
+        try {
+            currentTick += interval;
+            for (FrameInput input : inputs) {
+                collect(input, false);
+            }
+        } finally {
+            collecting.set(false);
+        }
+    }
+    
+    /**
+     * Berechnet fällige Zeilen und legt bei Änderungen einen neuen Frame zur Übernahme bereit
+     */
+    private void collect(FrameInput input, boolean force) {
+        Sidebar sidebar = input.sidebar;
+        List<Line> lines = layout;
         
-        Objective objective = playerObjectives.get(player.getUniqueId());
-        if (objective == null) {
-            return;
+        synchronized (sidebar) {
+            if (sidebar.layout != lines) {
+                sidebar.reset(lines);
+                force = true;
+            }
+            
+            long tick = currentTick;
+            List<String> visible = new ArrayList<>(lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                Line line = lines.get(i);
+                if (force || tick >= sidebar.nextRefresh[i]) {
+                    String text = line.text.apply(input);
+                    sidebar.values[i] = text != null ? plugin.getMessageManager().colorize(text) : null;
+                    sidebar.nextRefresh[i] = line.refreshTicks > 0 ? tick + line.refreshTicks : Long.MAX_VALUE;
+                }
+                // null = Zeile aktuell ausgeblendet
+                if (sidebar.values[i] != null) {
+                    visible.add(sidebar.values[i]);
+                }
+            }
+            
+            if (!visible.equals(sidebar.lastLines)) {
+                ScoreboardFrame frame = new ScoreboardFrame(visible);
+                sidebar.lastLines = frame.getLines();
+                sidebar.pending.set(frame);
+            }
+        }
+    }
+    
+    /**
+     * Hauptthread: übernimmt alle bereitliegenden Frames gebündelt
+     */
+    private void applyFrames() {
+        for (Sidebar sidebar : sidebars.values()) {
+            ScoreboardFrame frame = sidebar.pending.getAndSet(null);
+            if (frame != null) {
+                sidebar.renderer.render(frame.getLines());
+            }
         }
+    }
+    
+    /**
+     * Hauptthread: erfasst die Spieler für den nächsten Sammellauf
+     */
+    private void captureInputs() {
+        List<FrameInput> captured = new ArrayList<>(sidebars.size());
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            Sidebar sidebar = sidebars.get(player.getUniqueId());
+            if (sidebar != null) {
+                captured.add(capture(player, sidebar));
+            }
+        }
+        inputs = captured;
+    }
+    
+    /**
+     * Hauptthread: übernimmt die nicht threadsicheren Werte eines Spielers in einen {@link FrameInput}
+     */
+    private FrameInput capture(Player player, Sidebar sidebar) {
+        ConfigManager config = plugin.getConfigManager();
+        UUID uuid = player.getUniqueId();
         
-        // Alle Scores löschen
-        for (String entry : objective.getScoreboard().getEntries()) {
-            objective.getScoreboard().resetScores(entry);
+        String rank = config.isScoreboardShowRank() ? getPlayerRank(player) : null;
+        
+        int plotCount = 0;
+        int maxPlots = 0;
+        String currentPlot = null;
+        if (config.isPlotSquaredEnabled() && config.isScoreboardShowPlots()) {
+            plotCount = plotCounts.computeIfAbsent(uuid, plugin.getPlotManager()::getPlayerPlotCount);
+            maxPlots = plugin.getPlotManager().getMaxPlots(uuid);
+            
+            Plot plot = plugin.getPlotManager().getCurrentPlot(uuid);
+            if (plot != null) {
+                String owner = plot.getOwners().isEmpty() ? "N/A" : getOwnerName(plot.getOwners().iterator().next());
+                currentPlot = plot.getId() + " &7(&a" + owner + "&7)";
+            }
         }
         
-        // Neue Scores hinzufügen
-        addScoreboardLines(player, objective);
+        return new FrameInput(player, sidebar, rank, plotCount, maxPlots, currentPlot);
     }
     
     /**
-     * Fügt die Scoreboard-Zeilen hinzu
+     * Hauptthread: Name eines Plot-Besitzers, einmal aufgelöst und danach gecacht
      */
-    private void addScoreboardLines(Player player, Objective objective) {
-        int score = 15; // Start-Score (wird nach unten gezählt)
-        
-        // Leerzeile
-        addScore(objective, "", score--);
+    private String getOwnerName(UUID ownerUUID) {
+        return ownerNames.computeIfAbsent(ownerUUID, id -> {
+            String name = Bukkit.getOfflinePlayer(id).getName();
+            return name != null ? name : "Unbekannt";
+        });
+    }
+    
+    /**
+     * Baut das Zeilen-Layout mit den Aktualisierungs-Intervallen aus der Config auf.
+     * Höchstens {@link SidebarRenderer#MAX_LINES} Zeilen werden angezeigt.
+     */
+    private List<Line> buildLayout() {
+        ConfigManager config = plugin.getConfigManager();
+        List<Line> lines = new ArrayList<>();
         
         // Spieler-Info
-        addScore(objective, "&7Spieler: &e" + player.getName(), score--);
-        addScore(objective, "&7Rang: &a" + getPlayerRank(player), score--);
-        
-        // Leerzeile
-        addScore(objective, "", score--);
+        lines.add(new Line(0, input -> "&7Spieler: &e" + input.name));
+        if (config.isScoreboardShowRank()) {
+            lines.add(new Line(config.getScoreboardLineRefresh("rank", 100),
+                input -> "&7Rang: &a" + input.rank));
+        }
+        lines.add(blank());
         
         // Economy-Info
-        if (plugin.getConfigManager().isEconomyEnabled()) {
-            addScore(objective, "&6&lEconomy", score--);
-            
-            // Taschengeld
-            double pocketBalance = plugin.getEconomyManager().getBalance(player.getUniqueId());
-            addScore(objective, "&7Taschengeld: &a" + plugin.getEconomyManager().formatBalance(pocketBalance), score--);
-            
-            // Bankguthaben
+        if (config.isEconomyEnabled() && config.isScoreboardShowEconomy()) {
+            lines.add(new Line(0, input -> "&6&lEconomy"));
+            lines.add(new Line(config.getScoreboardLineRefresh("balance", 20), input ->
+                "&7Taschengeld: &a" + plugin.getEconomyManager().formatBalance(
+                    plugin.getEconomyManager().getBalance(input.uuid))));
             if (plugin.getBankManager() != null) {
-                double bankBalance = plugin.getBankManager().getBankBalance(player.getUniqueId());
-                addScore(objective, "&7Bankguthaben: &e" + plugin.getEconomyManager().formatBalance(bankBalance), score--);
+                // Liest nur aus dem BankAccountCache, nie aus der Datenbank
+                lines.add(new Line(config.getScoreboardLineRefresh("bank", 20), input ->
+                    "&7Bankguthaben: &e" + plugin.getEconomyManager().formatBalance(
+                        plugin.getBankManager().getBankBalance(input.uuid))));
             }
+            lines.add(blank());
         }
         
-        // Leerzeile
-        addScore(objective, "", score--);
-        
         // Plot-Info
-        if (plugin.getConfigManager().isPlotSquaredEnabled()) {
-            addScore(objective, "&6&lPlots", score--);
-            
-            int plotCount = plugin.getPlotManager().getPlayerPlotCount(player.getUniqueId());
-            int maxPlots = plugin.getPlotManager().getMaxPlotsForPlayer(player);
-            addScore(objective, "&7Plots: &a" + plotCount + "&7/&e" + maxPlots, score--);
-            
-            // Aktueller Plot
-            if (plugin.getPlotManager().isInPlot(player)) {
-                String plotId = plugin.getPlotManager().getCurrentPlotId(player);
-                String plotOwner = plugin.getPlotManager().getCurrentPlotOwner(player);
-                addScore(objective, "&7Aktueller Plot: &e" + plotId, score--);
-                addScore(objective, "&7Besitzer: &a" + plotOwner, score--);
-            }
+        if (config.isPlotSquaredEnabled() && config.isScoreboardShowPlots()) {
+            lines.add(new Line(0, input -> "&6&lPlots"));
+            lines.add(new Line(config.getScoreboardLineRefresh("plots", 100), input ->
+                "&7Plots: &a" + input.plotCount + "&7/&e" + input.maxPlots));
+            // Aktueller Plot in einer Zeile, damit das Layout in die Sidebar passt
+            lines.add(new Line(config.getScoreboardLineRefresh("current-plot", 20), input ->
+                input.currentPlot != null ? "&7Plot: &e" + input.currentPlot : null));
+            lines.add(blank());
         }
         
-        // Leerzeile
-        addScore(objective, "", score--);
-        
         // Server-Info
-        addScore(objective, "&6&lServer", score--);
-        addScore(objective, "&7Online: &a" + Bukkit.getOnlinePlayers().size() + "&7/&e" + Bukkit.getMaxPlayers(), score--);
-        addScore(objective, "&7TPS: &a" + getServerTPS(), score--);
-        
-        // Leerzeile
-        addScore(objective, "", score--);
+        if (config.isScoreboardShowServer()) {
+            lines.add(new Line(0, input -> "&6&lServer"));
+            lines.add(new Line(config.getScoreboardLineRefresh("online", 20), input ->
+                "&7Online: &a" + Bukkit.getOnlinePlayers().size() + "&7/&e" + Bukkit.getMaxPlayers()));
+            lines.add(new Line(config.getScoreboardLineRefresh("tps", 100), input ->
+                "&7TPS: &a" + getServerTPS()));
+        }
         
         // Footer
-        addScore(objective, "&7op-games.de", score--);
+        lines.add(new Line(0, input -> "&7op-games.de"));
+        return lines;
     }
     
-    /**
-     * Fügt eine Scoreboard-Zeile hinzu
-     */
-    private void addScore(Objective objective, String text, int score) {
-        String coloredText = plugin.getMessageManager().colorize(text);
-        objective.getScore(coloredText).setScore(score);
+    private static Line blank() {
+        return new Line(0, input -> "");
     }
     
     /**
-     * Holt den Spieler-Rang
+     * Holt den Spieler-Rang (nur im Hauptthread, Permission-Abfragen sind nicht threadsicher)
      */
     private String getPlayerRank(Player player) {
         if (player.hasPermission("cbsystem.admin.*")) {
@@ -217,27 +327,33 @@ public class ScoreboardManager {
     }
     
     /**
-     * Startet den Scoreboard-Update-Task
+     * Startet den asynchronen Sammel-Task und den gebündelten Übernahme-Task
      */
     private void startUpdateTask() {
-        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
-            for (Player player : Bukkit.getOnlinePlayers()) {
-                if (playerScoreboards.containsKey(player.getUniqueId())) {
-                    // Scoreboard-Update im Hauptthread ausführen
-                    Bukkit.getScheduler().runTask(plugin, () -> updateScoreboard(player));
+        int interval = Math.max(1, plugin.getConfigManager().getScoreboardUpdateInterval());
+        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> collectFrames(interval), interval, interval);
+        
+        // Fertige Frames jeden Tick übernehmen, Eingaben einmal pro Intervall erfassen
+        Bukkit.getScheduler().runTaskTimer(plugin, new Runnable() {
+            private int ticks;
+            
+            @Override
+            public void run() {
+                applyFrames();
+                if (ticks++ % interval == 0) {
+                    captureInputs();
                 }
             }
-        }, 0L, UPDATE_INTERVAL);
+        }, 1L, 1L);
     }
     
     /**
-     * Aktualisiert alle Scoreboards
+     * Baut das Layout neu auf und aktualisiert alle Scoreboards
      */
     public void updateAllScoreboards() {
+        layout = buildLayout();
         for (Player player : Bukkit.getOnlinePlayers()) {
-            if (playerScoreboards.containsKey(player.getUniqueId())) {
-                updateScoreboard(player);
-            }
+            updateScoreboard(player);
         }
     }
     
@@ -245,7 +361,7 @@ public class ScoreboardManager {
      * Überprüft ob ein Spieler ein Scoreboard hat
      */
     public boolean hasScoreboard(Player player) {
-        return playerScoreboards.containsKey(player.getUniqueId());
+        return sidebars.containsKey(player.getUniqueId());
     }
     
     /**
@@ -265,13 +381,73 @@ public class ScoreboardManager {
      * Räumt alle Scoreboards auf
      */
     public void cleanup() {
-        for (UUID playerUUID : playerScoreboards.keySet()) {
+        for (UUID playerUUID : new ArrayList<>(sidebars.keySet())) {
             Player player = Bukkit.getPlayer(playerUUID);
             if (player != null && player.isOnline()) {
                 removeScoreboard(player);
             }
         }
-        playerScoreboards.clear();
-        playerObjectives.clear();
+        sidebars.clear();
+        plotCounts.clear();
+        ownerNames.clear();
+    }
+    
+    /**
+     * Eine Sidebar-Zeile mit eigenem Aktualisierungs-Intervall (0 = statisch).
+     * Der Text wird asynchron berechnet und darf nur auf Caches zugreifen.
+     */
+    private static class Line {
+        private final int refreshTicks;
+        private final Function<FrameInput, String> text;
+        
+        Line(int refreshTicks, Function<FrameInput, String> text) {
+            this.refreshTicks = refreshTicks;
+            this.text = text;
+        }
+    }
+    
+    /**
+     * Im Hauptthread erfasste Eingaben eines Spielers für einen Sammellauf
+     */
+    private static class FrameInput {
+        private final Sidebar sidebar;
+        private final UUID uuid;
+        private final String name;
+        private final String rank;
+        private final int plotCount;
+        private final int maxPlots;
+        private final String currentPlot;
+        
+        FrameInput(Player player, Sidebar sidebar, String rank, int plotCount, int maxPlots, String currentPlot) {
+            this.sidebar = sidebar;
+            this.uuid = player.getUniqueId();
+            this.name = player.getName();
+            this.rank = rank;
+            this.plotCount = plotCount;
+            this.maxPlots = maxPlots;
+            this.currentPlot = currentPlot;
+        }
+    }
+    
+    /**
+     * Renderer (nur Hauptthread) und Sammelzustand (nur unter Sperre) eines Spielers
+     */
+    private static class Sidebar {
+        private final SidebarRenderer renderer;
+        private final AtomicReference<ScoreboardFrame> pending = new AtomicReference<>();
+        private List<Line> layout;
+        private String[] values;
+        private long[] nextRefresh;
+        private List<String> lastLines;
+        
+        Sidebar(SidebarRenderer renderer) {
+            this.renderer = renderer;
+        }
+        
+        void reset(List<Line> layout) {
+            this.layout = layout;
+            this.values = new String[layout.size()];
+            this.nextRefresh = new long[layout.size()];
+        }
     }
 }
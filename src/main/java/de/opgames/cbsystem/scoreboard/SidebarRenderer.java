@@ -0,0 +1,94 @@
+package de.opgames.cbsystem.scoreboard;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.bukkit.scoreboard.Team;
+
+import java.util.List;
+
+/**
+ * Flackerfreie Sidebar eines Spielers.
+ * Jede Zeile ist ein festes, unsichtbares Entry mit eigenem Team; der sichtbare Text steht
+ * im Prefix/Suffix des Teams. Beim Rendern werden nur Zeilen gesendet, deren Text sich
+ * gegenüber dem letzten Frame geändert hat - Scores werden nie zurückgesetzt.
+ */
+public class SidebarRenderer {
+
+    public static final int MAX_LINES = 15;
+    private static final int PREFIX_LENGTH = 64;
+
+    private final Scoreboard scoreboard;
+    private final Objective objective;
+    private final Team[] teams = new Team[MAX_LINES];
+    private final String[] entries = new String[MAX_LINES];
+    private final String[] shown = new String[MAX_LINES];
+    private int shownLines;
+
+    public SidebarRenderer(String title) {
+        this.scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
+        this.objective = scoreboard.registerNewObjective("cbsystem", "dummy", title);
+        this.objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+
+        for (int i = 0; i < MAX_LINES; i++) {
+            // Eindeutiger, unsichtbarer Entry pro Zeile
+            entries[i] = ChatColor.values()[i].toString() + ChatColor.RESET;
+            teams[i] = scoreboard.registerNewTeam("cb_line_" + i);
+            teams[i].addEntry(entries[i]);
+        }
+    }
+
+    public Scoreboard getScoreboard() {
+        return scoreboard;
+    }
+
+    /**
+     * Übernimmt einen Frame (bereits eingefärbte Zeilen, oben zuerst)
+     *
+     * @return Anzahl der tatsächlich gesendeten Zeilenänderungen
+     */
+    public int render(List<String> lines) {
+        int count = Math.min(lines.size(), MAX_LINES);
+        int changes = 0;
+
+        for (int i = 0; i < count; i++) {
+            String text = lines.get(i);
+            if (i >= shownLines) {
+                // Neue Zeile sichtbar machen
+                objective.getScore(entries[i]).setScore(MAX_LINES - i);
+                changes++;
+            }
+            if (!text.equals(shown[i])) {
+                setText(teams[i], text);
+                shown[i] = text;
+                changes++;
+            }
+        }
+
+        // Überzählige Zeilen ausblenden
+        for (int i = count; i < shownLines; i++) {
+            scoreboard.resetScores(entries[i]);
+            shown[i] = null;
+            changes++;
+        }
+
+        shownLines = count;
+        return changes;
+    }
+
+    private static void setText(Team team, String text) {
+        if (text.length() <= PREFIX_LENGTH) {
+            team.setPrefix(text);
+            team.setSuffix("");
+            return;
+        }
+
+        // Farbcode nicht zwischen Prefix und Suffix zerteilen
+        int split = text.charAt(PREFIX_LENGTH - 1) == ChatColor.COLOR_CHAR ? PREFIX_LENGTH - 1 : PREFIX_LENGTH;
+        String prefix = text.substring(0, split);
+        team.setPrefix(prefix);
+        team.setSuffix(ChatColor.getLastColors(prefix) + text.substring(split));
+    }
+}
@@ -1,6 +1,8 @@
 package de.opgames.cbsystem.utils;
 
 import de.opgames.cbsystem.CBSystem;
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 
 import java.util.List;
@@ -9,6 +11,7 @@ public class ConfigManager {
     
     private final CBSystem plugin;
     private FileConfiguration config;
+    private volatile int revision;
     
     public ConfigManager(CBSystem plugin) {
         this.plugin = plugin;
@@ -24,6 +27,14 @@ public class ConfigManager {
     public void reloadConfig() {
         plugin.reloadConfig();
         this.config = plugin.getConfig();
+        revision++;
+    }
+    
+    /**
+     * Wird bei jedem Reload erhöht, damit vorkompilierte Einstellungen sich neu aufbauen können
+     */
+    public int getRevision() {
+        return revision;
     }
     
     // Plugin-Einstellungen
@@ -151,6 +162,19 @@ public class ConfigManager {
         return config.getInt("warps.teleport-cooldown", 5);
     }
     
+    public String getWarpIcon(String warpName) {
+        return config.getString("warps.icons." + warpName);
+    }
+    
+    public boolean isWarpDefaultsSeeded() {
+        return config.getBoolean("warps.defaults-seeded", false);
+    }
+    
+    public void setWarpDefaultsSeeded(boolean seeded) {
+        config.set("warps.defaults-seeded", seeded);
+        plugin.saveConfig();
+    }
+    
     // Economy-Einstellungen
     public boolean isEconomyEnabled() {
         return config.getBoolean("economy.enabled", true);
@@ -340,6 +364,14 @@ public class ConfigManager {
         return config.getString("gui.fill-item-name", "&7");
     }
     
+    public long getGUIClickCooldown() {
+        return config.getLong("gui.click-cooldown-ms", 100);
+    }
+    
+    public int getGUILiveRefreshInterval() {
+        return config.getInt("gui.live-refresh-interval", 20);
+    }
+    
     // Plot-GUI-Einstellungen
     public String getPlotMenuTitle() {
         return config.getString("gui.plot-menu.title", "&8Plot-Menü");
@@ -355,17 +387,73 @@ public class ConfigManager {
     }
     
     public int getAutoSaveInterval() {
-        return config.getInt("performance.auto-save.interval", 300);
+        return config.getInt("performance.auto-save.interval", 60);
+    }
+    
+    public int getShutdownTimeout() {
+        return config.getInt("performance.shutdown.timeout", 10);
+    }
+    
+    public int getShutdownThreads() {
+        return config.getInt("performance.shutdown.threads", 4);
+    }
+    
+    public int getShutdownBatchSize() {
+        return config.getInt("performance.shutdown.batch-size", 50);
     }
     
     public int getPlayerDataCacheTime() {
         return config.getInt("performance.cache.player-data-cache-time", 600);
     }
     
+    public int getOfflinePlayerCacheSize() {
+        return config.getInt("performance.cache.offline-player-size", 500);
+    }
+    
+    public int getGUIItemTemplateCacheSize() {
+        return config.getInt("performance.cache.gui-item-templates", 512);
+    }
+    
+    public boolean isLoginPrefetchEnabled() {
+        return config.getBoolean("performance.prefetch.enabled", true);
+    }
+    
+    public int getLoginPrefetchTtl() {
+        return config.getInt("performance.prefetch.ttl", 30);
+    }
+    
     public int getPlotCacheTime() {
         return config.getInt("performance.cache.plot-cache-time", 300);
     }
     
+    public int getPlotLookupCacheSize() {
+        return config.getInt("performance.cache.plot-lookup-size", 8192);
+    }
+    
+    public int getTransactionJournalQueueCapacity() {
+        return config.getInt("performance.transaction-journal.queue-capacity", 10000);
+    }
+    
+    public int getTransactionJournalBatchSize() {
+        return config.getInt("performance.transaction-journal.batch-size", 500);
+    }
+    
+    public long getTransactionJournalFlushInterval() {
+        return config.getLong("performance.transaction-journal.flush-interval-ms", 1000);
+    }
+    
+    public long getTransactionJournalMaxSpillSize() {
+        return config.getLong("performance.transaction-journal.max-spill-size-mb", 64);
+    }
+    
+    public int getBankInterestChunkSize() {
+        return config.getInt("bank.interest-chunk-size", 500);
+    }
+    
+    public int getBankCacheRefreshInterval() {
+        return config.getInt("performance.cache.bank-refresh-interval", 60);
+    }
+    
     public boolean isAsyncDatabaseOperations() {
         return config.getBoolean("performance.async.database-operations", true);
     }
@@ -436,11 +524,27 @@ public class ConfigManager {
         return config.getBoolean("scoreboard.lines.show-rank", true);
     }
     
+    public int getScoreboardLineRefresh(String line, int defaultTicks) {
+        return config.getInt("scoreboard.refresh." + line, defaultTicks);
+    }
+    
     // Utility-Methoden
     public List<String> getStringList(String path) {
         return config.getStringList(path);
     }
     
+    public ConfigurationSection getConfigurationSection(String path) {
+        return config.getConfigurationSection(path);
+    }
+    
+    /**
+     * Holt einen Abschnitt aus der mitgelieferten config.yml (für Abschnitte, die in älteren Configs fehlen)
+     */
+    public ConfigurationSection getDefaultConfigurationSection(String path) {
+        Configuration defaults = config.getDefaults();
+        return defaults != null ? defaults.getConfigurationSection(path) : null;
+    }
+    
     public void set(String path, Object value) {
         config.set(path, value);
         plugin.saveConfig();
@@ -11,16 +11,27 @@ import java.io.File;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
+/**
+ * Lädt die Nachrichten der eingestellten Sprache und kompiliert sie beim Laden/Reload
+ * zu {@link MessageTemplate}s. Senden rendert Prefix und Nachricht in einem Durchlauf.
+ */
 public class MessageManager {
     
+    private static final String[] NO_REPLACEMENTS = new String[0];
+    
     private final CBSystem plugin;
     private FileConfiguration messages;
-    private final Map<String, String> messageCache = new HashMap<>();
+    private volatile Map<String, MessageTemplate> templates = new ConcurrentHashMap<>();
+    private volatile int revision;
+    
+    // Kolorierter Prefix, wird nach einem Config-Reload neu erzeugt
+    private volatile String colorizedPrefix;
+    private volatile int prefixRevision = -1;
     
     public MessageManager(CBSystem plugin) {
         this.plugin = plugin;
@@ -65,19 +76,78 @@ public class MessageManager {
             messages.setDefaults(defaultMessages);
         }
         
-        // Cache alle Nachrichten für bessere Performance
-        cacheMessages();
+        // Alle Nachrichten einmalig kompilieren
+        compileMessages();
         
         plugin.getLogger().info("Messages loaded! Language: " + language);
     }
     
-    private void cacheMessages() {
-        messageCache.clear();
+    private void compileMessages() {
+        Map<String, MessageTemplate> compiled = new ConcurrentHashMap<>();
         for (String key : messages.getKeys(true)) {
             if (!messages.isConfigurationSection(key)) {
-                messageCache.put(key, messages.getString(key));
+                String message = messages.getString(key);
+                if (message != null) {
+                    compiled.put(key, MessageTemplate.compile(message));
+                }
             }
         }
+        templates = compiled;
+        prefixRevision = -1;
+        revision++;
+    }
+    
+    /**
+     * Wird bei jedem (Neu-)Laden der Nachrichten erhöht, damit daraus gebaute Items sich neu aufbauen
+     */
+    public int getRevision() {
+        return revision;
+    }
+    
+    /**
+     * Holt das Template einer Nachricht (null wenn sie nicht existiert)
+     */
+    private MessageTemplate getTemplate(String messageKey) {
+        MessageTemplate template = templates.get(messageKey);
+        if (template != null) {
+            return template;
+        }
+        
+        // Fallback: nur in den Standardwerten vorhandene Nachricht nachträglich kompilieren
+        String message = messages.getString(messageKey);
+        if (message == null) {
+            plugin.getLogger().log(Level.WARNING, "Nachricht nicht gefunden: " + messageKey);
+            return null;
+        }
+        template = MessageTemplate.compile(message);
+        templates.put(messageKey, template);
+        return template;
+    }
+    
+    /**
+     * Rendert eine Nachricht (null wenn sie nicht existiert)
+     */
+    private String render(String head, String messageKey, String[] replacements, boolean colorize) {
+        MessageTemplate template = getTemplate(messageKey);
+        if (template == null) {
+            String missing = "&cNachricht nicht gefunden: " + messageKey;
+            return (head != null ? head : "") + (colorize ? colorize(missing) : missing);
+        }
+        
+        if (replacements.length % 2 != 0) {
+            plugin.getLogger().warning("Ungerade Anzahl von Platzhalter-Ersetzungen für Nachricht: " + messageKey);
+            replacements = NO_REPLACEMENTS;
+        }
+        return template.render(head, replacements, colorize);
+    }
+    
+    private String getColorizedPrefix() {
+        int revision = plugin.getConfigManager().getRevision();
+        if (prefixRevision != revision || colorizedPrefix == null) {
+            colorizedPrefix = colorize(plugin.getConfigManager().getPrefix());
+            prefixRevision = revision;
+        }
+        return colorizedPrefix;
     }
     
     public void reloadMessages() {
@@ -88,68 +158,38 @@ public class MessageManager {
      * Sendet eine Nachricht an einen CommandSender
      */
     public void sendMessage(CommandSender sender, String messageKey, String... replacements) {
-        String message = getMessage(messageKey, replacements);
-        if (message != null && !message.isEmpty()) {
-            sender.sendMessage(colorize(plugin.getConfigManager().getPrefix() + message));
-        }
+        if (isEmpty(messageKey)) return;
+        sender.sendMessage(render(getColorizedPrefix(), messageKey, replacements, true));
     }
     
     /**
      * Sendet eine Nachricht ohne Prefix
      */
     public void sendRawMessage(CommandSender sender, String messageKey, String... replacements) {
-        String message = getMessage(messageKey, replacements);
-        if (message != null && !message.isEmpty()) {
-            sender.sendMessage(colorize(message));
-        }
+        if (isEmpty(messageKey)) return;
+        sender.sendMessage(render(null, messageKey, replacements, true));
     }
     
     /**
-     * Holt eine Nachricht aus der Konfiguration
+     * Leere Nachrichten werden nicht gesendet (zum Abschalten einzelner Nachrichten)
      */
-    public String getMessage(String messageKey, String... replacements) {
-        String message = messageCache.get(messageKey);
-        
-        if (message == null) {
-            // Fallback: Versuche direkt aus der Config zu laden
-            message = messages.getString(messageKey);
-            if (message == null) {
-                plugin.getLogger().log(Level.WARNING, "Nachricht nicht gefunden: " + messageKey);
-                return "&cNachricht nicht gefunden: " + messageKey;
-            }
-        }
-        
-        // Platzhalter ersetzen
-        if (replacements.length > 0) {
-            message = replacePlaceholders(message, replacements);
-        }
-        
-        return message;
+    private boolean isEmpty(String messageKey) {
+        MessageTemplate template = templates.get(messageKey);
+        return template != null && template.isEmpty();
     }
     
     /**
-     * Holt eine kolorierte Nachricht
+     * Holt eine Nachricht aus der Konfiguration (Platzhalter ersetzt, nicht koloriert)
      */
-    public String getColorizedMessage(String messageKey, String... replacements) {
-        return colorize(getMessage(messageKey, replacements));
+    public String getMessage(String messageKey, String... replacements) {
+        return render(null, messageKey, replacements, false);
     }
     
     /**
-     * Ersetzt Platzhalter in einer Nachricht
+     * Holt eine kolorierte Nachricht
      */
-    private String replacePlaceholders(String message, String... replacements) {
-        if (replacements.length % 2 != 0) {
-            plugin.getLogger().warning("Ungerade Anzahl von Platzhalter-Ersetzungen für Nachricht: " + message);
-            return message;
-        }
-        
-        for (int i = 0; i < replacements.length; i += 2) {
-            String placeholder = "{" + replacements[i] + "}";
-            String replacement = replacements[i + 1];
-            message = message.replace(placeholder, replacement);
-        }
-        
-        return message;
+    public String getColorizedMessage(String messageKey, String... replacements) {
+        return render(null, messageKey, replacements, true);
     }
     
     /**
@@ -194,16 +234,15 @@ public class MessageManager {
      * Broadcast eine Nachricht an alle Spieler
      */
     public void broadcastMessage(String messageKey, String... replacements) {
-        String message = getColorizedMessage(messageKey, replacements);
-        plugin.getServer().broadcastMessage(colorize(plugin.getConfigManager().getPrefix() + message));
+        plugin.getServer().broadcastMessage(render(getColorizedPrefix(), messageKey, replacements, true));
     }
     
     /**
      * Sendet eine Nachricht an alle Spieler mit einer bestimmten Berechtigung
      */
     public void sendMessageToPlayersWithPermission(String permission, String messageKey, String... replacements) {
-        String message = getColorizedMessage(messageKey, replacements);
-        String fullMessage = colorize(plugin.getConfigManager().getPrefix() + message);
+        // Einmal rendern, für alle Empfänger wiederverwenden
+        String fullMessage = render(getColorizedPrefix(), messageKey, replacements, true);
         
         plugin.getServer().getOnlinePlayers().stream()
             .filter(player -> player.hasPermission(permission))
@@ -266,13 +305,14 @@ public class MessageManager {
      * Überprüft ob eine Nachricht existiert
      */
     public boolean hasMessage(String messageKey) {
-        return messageCache.containsKey(messageKey) || messages.contains(messageKey);
+        return templates.containsKey(messageKey) || messages.contains(messageKey);
     }
     
     /**
      * Fügt eine neue Nachricht hinzu (nur zur Laufzeit)
      */
     public void addMessage(String key, String message) {
-        messageCache.put(key, message);
+        templates.put(key, MessageTemplate.compile(message));
+        revision++;
     }
 }
@@ -0,0 +1,129 @@
+package de.opgames.cbsystem.utils;
+
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Vorkompilierte Nachricht: abwechselnd Text-Segmente und {@code {platzhalter}}-Slots.
+ * Die Segmente liegen roh und bereits koloriert vor, das Rendern ist damit ein einzelner
+ * Durchlauf über einen StringBuilder ohne erneutes Suchen oder Zwischen-Strings.
+ * Nicht übergebene Platzhalter bleiben wie bisher als {@code {name}} stehen.
+ */
+public final class MessageTemplate {
+
+    private final String[] literals;
+    private final String[] colorizedLiterals;
+    private final String[] placeholders;
+    private final int literalLength;
+
+    private MessageTemplate(List<String> literals, List<String> placeholders) {
+        this.literals = literals.toArray(new String[0]);
+        this.placeholders = placeholders.toArray(new String[0]);
+        this.colorizedLiterals = new String[this.literals.length];
+
+        int length = 0;
+        for (int i = 0; i < this.literals.length; i++) {
+            this.colorizedLiterals[i] = ChatColor.translateAlternateColorCodes('&', this.literals[i]);
+            length += this.literals[i].length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Zerlegt eine Nachricht in Text-Segmente und Platzhalter
+     */
+    public static MessageTemplate compile(String message) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < message.length()) {
+            char c = message.charAt(i);
+            int end = c == '{' ? findPlaceholderEnd(message, i + 1) : -1;
+            if (end < 0) {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            literals.add(literal.toString());
+            literal.setLength(0);
+            placeholders.add(message.substring(i + 1, end));
+            i = end + 1;
+        }
+        literals.add(literal.toString());
+
+        return new MessageTemplate(literals, placeholders);
+    }
+
+    private static int findPlaceholderEnd(String message, int start) {
+        for (int i = start; i < message.length(); i++) {
+            char c = message.charAt(i);
+            if (c == '}') {
+                return i > start ? i : -1;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '-' && c != '_' && c != '.') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Rendert die Nachricht
+     *
+     * @param head         vorangestellter Text (z.B. der bereits kolorierte Prefix) oder null
+     * @param replacements Paare aus Platzhalter-Name und Wert
+     * @param colorize     Text-Segmente und Werte mit Farbcodes kolorieren
+     */
+    public String render(String head, String[] replacements, boolean colorize) {
+        if (placeholders.length == 0 && head == null) {
+            return colorize ? colorizedLiterals[0] : literals[0];
+        }
+
+        String[] segments = colorize ? colorizedLiterals : literals;
+        StringBuilder builder = new StringBuilder((head != null ? head.length() : 0) + literalLength + placeholders.length * 16);
+        if (head != null) {
+            builder.append(head);
+        }
+
+        builder.append(segments[0]);
+        for (int i = 0; i < placeholders.length; i++) {
+            String value = lookup(placeholders[i], replacements);
+            if (value == null) {
+                builder.append('{').append(placeholders[i]).append('}');
+            } else if (colorize && value.indexOf('&') >= 0) {
+                builder.append(ChatColor.translateAlternateColorCodes('&', value));
+            } else {
+                builder.append(value);
+            }
+            builder.append(segments[i + 1]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Enthält die Nachricht Platzhalter, die beim Rendern ersetzt werden
+     */
+    public boolean hasPlaceholders() {
+        return placeholders.length > 0;
+    }
+
+    /**
+     * Leere Nachricht ohne Platzhalter
+     */
+    public boolean isEmpty() {
+        return placeholders.length == 0 && literals[0].isEmpty();
+    }
+
+    private static String lookup(String name, String[] replacements) {
+        for (int i = 0; i + 1 < replacements.length; i += 2) {
+            if (name.equals(replacements[i])) {
+                return replacements[i + 1];
+            }
+        }
+        return null;
+    }
+}
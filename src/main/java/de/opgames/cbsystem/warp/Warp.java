@@ -0,0 +1,81 @@
+package de.opgames.cbsystem.warp;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.UUID;
+
+/**
+ * Unveränderlicher Warp-Punkt aus {@code cb_warps}.
+ * Die Bukkit-Location wird beim ersten Zugriff aufgelöst und gecacht, solange die Welt geladen ist.
+ */
+public class Warp {
+
+    private final String name;
+    private final String displayName;
+    private final String worldName;
+    private final double x;
+    private final double y;
+    private final double z;
+    private final float yaw;
+    private final float pitch;
+    private final UUID creatorUUID;
+    private final String permission;
+
+    private volatile Location resolved;
+
+    public Warp(String name, String displayName, String worldName, double x, double y, double z,
+                float yaw, float pitch, UUID creatorUUID, String permission) {
+        this.name = name;
+        this.displayName = displayName;
+        this.worldName = worldName;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.yaw = yaw;
+        this.pitch = pitch;
+        this.creatorUUID = creatorUUID;
+        this.permission = permission;
+    }
+
+    public static Warp fromLocation(String name, Location location, UUID creatorUUID) {
+        return new Warp(name, null, location.getWorld().getName(), location.getX(), location.getY(), location.getZ(),
+            location.getYaw(), location.getPitch(), creatorUUID, null);
+    }
+
+    /**
+     * Holt eine Kopie der Warp-Location (null wenn die Welt nicht geladen ist)
+     */
+    public Location getLocation() {
+        Location location = resolved;
+        if (location == null || !location.isWorldLoaded()) {
+            World world = Bukkit.getWorld(worldName);
+            if (world == null) {
+                return null;
+            }
+            location = new Location(world, x, y, z, yaw, pitch);
+            resolved = location;
+        }
+        return location.clone();
+    }
+
+    /**
+     * Überprüft die optionale Warp-Berechtigung
+     */
+    public boolean canUse(Player player) {
+        return permission == null || permission.isEmpty() || player.hasPermission(permission);
+    }
+
+    public String getName() { return name; }
+    public String getDisplayName() { return displayName != null ? displayName : name; }
+    public String getWorldName() { return worldName; }
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getZ() { return z; }
+    public float getYaw() { return yaw; }
+    public float getPitch() { return pitch; }
+    public UUID getCreatorUUID() { return creatorUUID; }
+    public String getPermission() { return permission; }
+}
@@ -0,0 +1,322 @@
+package de.opgames.cbsystem.warp;
+
+import de.opgames.cbsystem.CBSystem;
+import de.opgames.cbsystem.database.DatabaseManager;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
+
+/**
+ * Warp-Registry auf Basis von {@code cb_warps}.
+ * Alle Warps werden beim Start einmal geladen und als unveränderliche Map veröffentlicht
+ * (Copy-on-Write bei /setwarp und /delwarp). Teleports, Listen, GUI und Tab-Vervollständigung
+ * lesen nur aus dem Speicher; Änderungen werden über einen eigenen Schreib-Thread asynchron
+ * und in Reihenfolge gespeichert.
+ */
+public class WarpManager {
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("[a-z0-9_-]{1,32}");
+
+    private static final String INSERT_SQL = """
+        INSERT INTO cb_warps (name, display_name, world, x, y, z, yaw, pitch, creator_uuid, permission)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+    """;
+
+    private final CBSystem plugin;
+    private final DatabaseManager databaseManager;
+    private final Object writeLock = new Object();
+
+    // Unveränderliche Snapshots, werden bei jeder Änderung ersetzt
+    private volatile Map<String, Warp> warps = Collections.emptyMap();
+    private volatile List<Warp> sortedWarps = Collections.emptyList();
+    private volatile WarpNameTrie nameIndex = WarpNameTrie.EMPTY;
+
+    // Erst nach dem ersten Laden sind Änderungen erlaubt, sonst kollidieren sie mit dem Datenbankstand
+    private volatile boolean loaded;
+
+    // Ein Thread hält die Schreibreihenfolge ein (z.B. /setwarp direkt gefolgt von /delwarp)
+    // und läuft im Gegensatz zu Bukkit-Async-Tasks auch während onDisable weiter
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "CBSystem-WarpStore");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public WarpManager(CBSystem plugin) {
+        this.plugin = plugin;
+        this.databaseManager = plugin.getDatabaseManager();
+        load();
+    }
+
+    /**
+     * Lädt alle Warps; beim ersten Start werden die Standard-Warps aus der Config einmalig angelegt
+     */
+    private void load() {
+        if (!databaseManager.isDatabaseEnabled()) {
+            publish(loadDefaultWarps());
+            loaded = true;
+            return;
+        }
+
+        writer.execute(() -> {
+            try {
+                Map<String, Warp> stored = queryAll();
+                if (!plugin.getConfigManager().isWarpDefaultsSeeded()) {
+                    // Nur bei leerer Tabelle; später gelöschte Standard-Warps kommen nicht zurück
+                    if (stored.isEmpty()) {
+                        stored = loadDefaultWarps();
+                        insertAll(stored.values());
+                    }
+                    plugin.getServer().getScheduler().runTask(plugin,
+                        () -> plugin.getConfigManager().setWarpDefaultsSeeded(true));
+                }
+
+                synchronized (writeLock) {
+                    publish(stored);
+                    loaded = true;
+                }
+                plugin.getLogger().info(warps.size() + " Warps geladen.");
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim Laden der Warps:", e);
+            }
+        });
+    }
+
+    private Map<String, Warp> queryAll() throws SQLException {
+        Map<String, Warp> loaded = new TreeMap<>();
+        String sql = "SELECT name, display_name, world, x, y, z, yaw, pitch, creator_uuid, permission FROM cb_warps";
+
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                String creator = rs.getString("creator_uuid");
+                Warp warp = new Warp(
+                    rs.getString("name"),
+                    rs.getString("display_name"),
+                    rs.getString("world"),
+                    rs.getDouble("x"),
+                    rs.getDouble("y"),
+                    rs.getDouble("z"),
+                    rs.getFloat("yaw"),
+                    rs.getFloat("pitch"),
+                    creator != null ? UUID.fromString(creator) : null,
+                    rs.getString("permission")
+                );
+                loaded.put(warp.getName(), warp);
+            }
+        }
+        return loaded;
+    }
+
+    private Map<String, Warp> loadDefaultWarps() {
+        Map<String, Warp> defaults = new TreeMap<>();
+        ConfigurationSection section = plugin.getConfigManager().getConfigurationSection("warps.default-warps");
+        if (section == null) return defaults;
+
+        for (String name : section.getKeys(false)) {
+            ConfigurationSection warp = section.getConfigurationSection(name);
+            if (warp == null) continue;
+            String key = name.toLowerCase(Locale.ROOT);
+            defaults.put(key, new Warp(key, null,
+                warp.getString("world", "world"),
+                warp.getDouble("x"), warp.getDouble("y"), warp.getDouble("z"),
+                (float) warp.getDouble("yaw"), (float) warp.getDouble("pitch"),
+                null, null));
+        }
+        return defaults;
+    }
+
+    private void insertAll(Iterable<Warp> toInsert) throws SQLException {
+        try (Connection connection = databaseManager.getConnection();
+             PreparedStatement stmt = connection.prepareStatement(INSERT_SQL)) {
+            for (Warp warp : toInsert) {
+                bindInsert(stmt, warp);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private static void bindInsert(PreparedStatement stmt, Warp warp) throws SQLException {
+        stmt.setString(1, warp.getName());
+        stmt.setString(2, warp.getDisplayName());
+        stmt.setString(3, warp.getWorldName());
+        stmt.setDouble(4, warp.getX());
+        stmt.setDouble(5, warp.getY());
+        stmt.setDouble(6, warp.getZ());
+        stmt.setFloat(7, warp.getYaw());
+        stmt.setFloat(8, warp.getPitch());
+        stmt.setString(9, warp.getCreatorUUID() != null ? warp.getCreatorUUID().toString() : null);
+        stmt.setString(10, warp.getPermission());
+    }
+
+    /**
+     * Veröffentlicht neue, unveränderliche Snapshots (nur unter writeLock oder beim Laden)
+     */
+    private void publish(Map<String, Warp> updated) {
+        Map<String, Warp> snapshot = Collections.unmodifiableMap(new TreeMap<>(updated));
+        this.sortedWarps = List.copyOf(snapshot.values());
+        this.nameIndex = new WarpNameTrie(snapshot.keySet());
+        this.warps = snapshot;
+    }
+
+    // ==================== Lesen (nur Speicher) ====================
+
+    public Warp getWarp(String name) {
+        return warps.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    public Location getWarpLocation(String name) {
+        Warp warp = getWarp(name);
+        return warp != null ? warp.getLocation() : null;
+    }
+
+    public boolean exists(String name) {
+        return warps.containsKey(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Alle Warps alphabetisch sortiert (unveränderlich)
+     */
+    public List<Warp> getWarps() {
+        return sortedWarps;
+    }
+
+    public int getWarpCount() {
+        return sortedWarps.size();
+    }
+
+    /**
+     * Warps einer Seite für GUIs
+     */
+    public List<Warp> getWarps(int offset, int limit) {
+        List<Warp> all = sortedWarps;
+        if (offset >= all.size()) return Collections.emptyList();
+        return all.subList(Math.max(0, offset), Math.min(all.size(), offset + limit));
+    }
+
+    public List<String> completeNames(String prefix, int limit) {
+        return nameIndex.complete(prefix.toLowerCase(Locale.ROOT), limit);
+    }
+
+    /**
+     * Ob die Warps geladen sind; vorher lehnen createWarp und deleteWarp Änderungen ab
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean isValidName(String name) {
+        return NAME_PATTERN.matcher(name).matches();
+    }
+
+    /**
+     * GUI-Icon eines Warps aus {@code warps.icons}
+     */
+    public Material getIcon(Warp warp) {
+        String configured = plugin.getConfigManager().getWarpIcon(warp.getName());
+        Material material = configured != null ? Material.matchMaterial(configured) : null;
+        return material != null && material.isItem() ? material : Material.ENDER_PEARL;
+    }
+
+    // ==================== Schreiben ====================
+
+    /**
+     * Legt einen Warp an der Position an (false wenn der Name bereits vergeben ist oder die Warps noch laden)
+     */
+    public boolean createWarp(String name, Location location, UUID creatorUUID) {
+        Warp warp = Warp.fromLocation(name.toLowerCase(Locale.ROOT), location, creatorUUID);
+
+        synchronized (writeLock) {
+            if (!loaded || warps.containsKey(warp.getName())) {
+                return false;
+            }
+            Map<String, Warp> updated = new TreeMap<>(warps);
+            updated.put(warp.getName(), warp);
+            publish(updated);
+        }
+
+        persist("Speichern von Warp " + warp.getName(), connection -> {
+            try (PreparedStatement stmt = connection.prepareStatement(INSERT_SQL)) {
+                bindInsert(stmt, warp);
+                stmt.executeUpdate();
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Löscht einen Warp (false wenn er nicht existiert oder die Warps noch laden)
+     */
+    public boolean deleteWarp(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+
+        synchronized (writeLock) {
+            if (!loaded || !warps.containsKey(key)) {
+                return false;
+            }
+            Map<String, Warp> updated = new TreeMap<>(warps);
+            updated.remove(key);
+            publish(updated);
+        }
+
+        persist("Löschen von Warp " + key, connection -> {
+            try (PreparedStatement stmt = connection.prepareStatement("DELETE FROM cb_warps WHERE name = ?")) {
+                stmt.setString(1, key);
+                stmt.executeUpdate();
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Hängt einen Schreibvorgang an die Warteschlange an (asynchron, in Reihenfolge)
+     */
+    private void persist(String description, SqlWork work) {
+        if (!databaseManager.isDatabaseEnabled()) return;
+
+        writer.execute(() -> {
+            try (Connection connection = databaseManager.getConnection()) {
+                work.run(connection);
+            } catch (SQLException e) {
+                plugin.getLogger().log(Level.SEVERE, "Fehler beim " + description + ":", e);
+            }
+        });
+    }
+
+    /**
+     * Wartet auf ausstehende Schreibvorgänge und beendet den Schreib-Thread
+     */
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Ausstehende Warp-Änderungen konnten nicht rechtzeitig gespeichert werden.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface SqlWork {
+        void run(Connection connection) throws SQLException;
+    }
+}
@@ -0,0 +1,60 @@
+package de.opgames.cbsystem.warp;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Unveränderlicher Präfix-Baum über die Warp-Namen für die Tab-Vervollständigung.
+ * Wird bei jeder Änderung der Warps neu aufgebaut; Abfragen laufen ohne Sperren.
+ */
+public class WarpNameTrie {
+
+    public static final WarpNameTrie EMPTY = new WarpNameTrie(List.of());
+
+    private final Node root = new Node();
+
+    public WarpNameTrie(Collection<String> names) {
+        for (String name : names) {
+            Node node = root;
+            for (int i = 0; i < name.length(); i++) {
+                node = node.children.computeIfAbsent(name.charAt(i), c -> new Node());
+            }
+            node.word = name;
+        }
+    }
+
+    /**
+     * Alle Namen mit diesem Präfix in alphabetischer Reihenfolge (höchstens {@code limit})
+     */
+    public List<String> complete(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+
+        List<String> result = new ArrayList<>();
+        if (node != null) {
+            collect(node, result, limit);
+        }
+        return result;
+    }
+
+    private static void collect(Node node, List<String> result, int limit) {
+        if (result.size() >= limit) return;
+        if (node.word != null) {
+            result.add(node.word);
+        }
+        for (Node child : node.children.values()) {
+            collect(child, result, limit);
+            if (result.size() >= limit) return;
+        }
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new TreeMap<>();
+        private String word;
+    }
+}